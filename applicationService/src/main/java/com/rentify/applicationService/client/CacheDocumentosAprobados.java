@@ -0,0 +1,179 @@
+package com.rentify.applicationService.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Caché stale-while-revalidate del estado de aprobación de documentos por usuario.
+ *
+ * - Hasta ttl desde la última verificación, la entrada se sirve sin consultar (hit).
+ * - Entre ttl y ttl + gracia se sirve la entrada vencida y se refresca en segundo plano (stale).
+ *   Si el refresco falla, la entrada sigue sirviéndose hasta que se cumple la gracia.
+ * - Sin entrada, o pasada la gracia, se consulta en línea (miss).
+ * - Las consultas simultáneas por un mismo usuario comparten un único refresco.
+ * - Solo se guardan usuarios con documentos aprobados: un resultado negativo siempre se
+ *   verifica en línea, para no rechazar a quien acaba de aprobar sus documentos.
+ *
+ * Métricas: rentify.client.cache.lookups (tag resultado: hit, stale, miss),
+ * rentify.client.cache.refreshes (tag resultado: ok, error) y rentify.client.cache.size.
+ */
+@Slf4j
+class CacheDocumentosAprobados {
+
+    /**
+     * Configuración de la caché. Con habilitada=false todas las consultas van al Document Service.
+     */
+    record Configuracion(boolean habilitada, Duration ttl, Duration gracia, int maxEntradas) {
+
+        static Configuracion deshabilitada() {
+            return new Configuracion(false, Duration.ZERO, Duration.ZERO, 0);
+        }
+    }
+
+    /**
+     * Momento (System.nanoTime()) de la última verificación exitosa del usuario.
+     */
+    private record Entrada(long verificado) {}
+
+    private final boolean habilitada;
+    private final long ttlNanos;
+    private final long vencimientoNanos;
+    private final int maxEntradas;
+    private final LongSupplier reloj;
+
+    private final Map<Long, Entrada> entradas = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Boolean>> enCurso = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter stales;
+    private final Counter misses;
+    private final Counter refrescos;
+    private final Counter refrescosFallidos;
+
+    CacheDocumentosAprobados(String servicio, Configuracion configuracion,
+                             MeterRegistry meterRegistry, LongSupplier reloj) {
+        this.habilitada = configuracion.habilitada();
+        this.ttlNanos = configuracion.ttl().toNanos();
+        this.vencimientoNanos = configuracion.ttl().plus(configuracion.gracia()).toNanos();
+        this.maxEntradas = configuracion.maxEntradas();
+        this.reloj = reloj;
+
+        this.hits = lookups(meterRegistry, servicio, "hit");
+        this.stales = lookups(meterRegistry, servicio, "stale");
+        this.misses = lookups(meterRegistry, servicio, "miss");
+        this.refrescos = refreshes(meterRegistry, servicio, "ok");
+        this.refrescosFallidos = refreshes(meterRegistry, servicio, "error");
+        Gauge.builder("rentify.client.cache.size", entradas, Map::size)
+                .description("Usuarios con documentos aprobados en la caché")
+                .tag("servicio", servicio)
+                .register(meterRegistry);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String servicio, String resultado) {
+        return Counter.builder("rentify.client.cache.lookups")
+                .description("Consultas resueltas desde la caché (hit), con un valor vencido (stale) o en línea (miss)")
+                .tag("servicio", servicio)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    private static Counter refreshes(MeterRegistry meterRegistry, String servicio, String resultado) {
+        return Counter.builder("rentify.client.cache.refreshes")
+                .description("Verificaciones contra el microservicio iniciadas por la caché")
+                .tag("servicio", servicio)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si el usuario tiene sus documentos aprobados.
+     *
+     * @param consulta verificación en línea; debe emitir error si el microservicio falla
+     */
+    Mono<Boolean> obtener(Long usuarioId, Supplier<Mono<Boolean>> consulta) {
+        if (!habilitada) {
+            return consulta.get();
+        }
+        return Mono.defer(() -> {
+            Entrada entrada = entradas.get(usuarioId);
+            long edad = entrada != null ? reloj.getAsLong() - entrada.verificado() : Long.MAX_VALUE;
+
+            if (edad <= ttlNanos) {
+                hits.increment();
+                return Mono.just(true);
+            }
+            if (edad <= vencimientoNanos) {
+                stales.increment();
+                refrescar(usuarioId, consulta);
+                return Mono.just(true);
+            }
+
+            misses.increment();
+            // suppressCancel: si quien espera cancela, el refresco compartido sigue para los demás
+            return Mono.fromFuture(refrescar(usuarioId, consulta), true);
+        });
+    }
+
+    /**
+     * Inicia la verificación del usuario, o retorna la que ya está en curso.
+     */
+    private CompletableFuture<Boolean> refrescar(Long usuarioId, Supplier<Mono<Boolean>> consulta) {
+        CompletableFuture<Boolean> nuevo = new CompletableFuture<>();
+        CompletableFuture<Boolean> previo = enCurso.putIfAbsent(usuarioId, nuevo);
+        if (previo != null) {
+            return previo;
+        }
+
+        consulta.get().defaultIfEmpty(false).subscribe(
+                aprobados -> {
+                    refrescos.increment();
+                    registrar(usuarioId, aprobados);
+                    enCurso.remove(usuarioId, nuevo);
+                    nuevo.complete(aprobados);
+                },
+                error -> {
+                    refrescosFallidos.increment();
+                    log.debug("No se pudo refrescar la caché de documentos del usuario {}: {}",
+                            usuarioId, error.getMessage());
+                    enCurso.remove(usuarioId, nuevo);
+                    nuevo.completeExceptionally(error);
+                });
+        return nuevo;
+    }
+
+    private void registrar(Long usuarioId, boolean aprobados) {
+        if (!aprobados) {
+            entradas.remove(usuarioId);
+            return;
+        }
+        if (entradas.size() >= maxEntradas && !entradas.containsKey(usuarioId)) {
+            descartarVencidas();
+            if (entradas.size() >= maxEntradas) {
+                return;
+            }
+        }
+        entradas.put(usuarioId, new Entrada(reloj.getAsLong()));
+    }
+
+    private void descartarVencidas() {
+        long ahora = reloj.getAsLong();
+        entradas.entrySet().removeIf(e -> ahora - e.getValue().verificado() > vencimientoNanos);
+    }
+
+    /**
+     * Cantidad de usuarios en la caché
+     */
+    int tamano() {
+        return entradas.size();
+    }
+}
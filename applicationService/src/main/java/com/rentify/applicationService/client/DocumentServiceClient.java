@@ -1,27 +1,72 @@
 package com.rentify.applicationService.client;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.LongSupplier;
 
 /**
  * Cliente para comunicación con el Document Service
  * Maneja la verificación de documentos de usuarios
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class DocumentServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String SERVICIO = "document-service";
 
-    @Value("${microservices.document-service.url}")
-    private String documentServiceUrl;
+    /**
+     * Máximo de consultas simultáneas al Document Service al verificar un lote de usuarios.
+     */
+    private static final int CONCURRENCIA_LOTE = 16;
+
+    private final WebClient webClient;
+    private final PoliticaResiliencia resiliencia;
+    private final CacheDocumentosAprobados cache;
+
+    @Autowired
+    public DocumentServiceClient(WebClient.Builder webClientBuilder,
+                                 @Value("${microservices.document-service.url}") String documentServiceUrl,
+                                 ResilienciaRegistro resilienciaRegistro,
+                                 @Value("${documentos.cache.habilitada:true}") boolean cacheHabilitada,
+                                 @Value("${documentos.cache.ttl-ms:60000}") long ttlMs,
+                                 @Value("${documentos.cache.gracia-ms:300000}") long graciaMs,
+                                 @Value("${documentos.cache.max-entradas:10000}") int maxEntradas,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this(webClientBuilder, documentServiceUrl, resilienciaRegistro,
+                new CacheDocumentosAprobados.Configuracion(cacheHabilitada, Duration.ofMillis(ttlMs),
+                        Duration.ofMillis(graciaMs), maxEntradas),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new), System::nanoTime);
+    }
+
+    /**
+     * Cliente sin caché de documentos aprobados (usado en tests).
+     */
+    public DocumentServiceClient(WebClient.Builder webClientBuilder, String documentServiceUrl,
+                                 ResilienciaRegistro resilienciaRegistro) {
+        this(webClientBuilder, documentServiceUrl, resilienciaRegistro,
+                CacheDocumentosAprobados.Configuracion.deshabilitada(), new SimpleMeterRegistry(), System::nanoTime);
+    }
+
+    DocumentServiceClient(WebClient.Builder webClientBuilder, String documentServiceUrl,
+                          ResilienciaRegistro resilienciaRegistro,
+                          CacheDocumentosAprobados.Configuracion cacheConfiguracion,
+                          MeterRegistry meterRegistry, LongSupplier reloj) {
+        this.webClient = webClientBuilder.clone().baseUrl(documentServiceUrl).build();
+        this.resiliencia = resilienciaRegistro.para(SERVICIO);
+        this.cache = new CacheDocumentosAprobados(SERVICIO, cacheConfiguracion, meterRegistry, reloj);
+    }
 
     /**
      * Verifica si un usuario tiene todos los documentos requeridos aprobados
@@ -33,17 +78,7 @@ public class DocumentServiceClient {
         try {
             log.debug("Verificando documentos aprobados para usuario {}", userId);
 
-            Boolean hasDocuments = webClientBuilder.build()
-                    .get()
-                    .uri(documentServiceUrl + "/api/documentos/usuario/" + userId + "/verificar-aprobados")
-                    .retrieve()
-                    .bodyToMono(Boolean.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .onErrorResume(error -> {
-                        log.error("Error al verificar documentos del usuario {}: {}", userId, error.getMessage());
-                        return Mono.just(false);
-                    })
-                    .block();
+            Boolean hasDocuments = hasApprovedDocumentsAsync(userId).block();
 
             boolean result = Boolean.TRUE.equals(hasDocuments);
             log.debug("Usuario {} tiene documentos aprobados: {}", userId, Boolean.valueOf(result));  // CORREGIDO
@@ -58,6 +93,53 @@ public class DocumentServiceClient {
         }
     }
 
+    /**
+     * Versión no bloqueante de {@link #hasApprovedDocuments(Long)}.
+     * Los usuarios aprobados se sirven desde {@link CacheDocumentosAprobados}; si el Document Service
+     * falla, se mantiene el último valor conocido dentro de la gracia. Sin valor conocido, emite false.
+     */
+    public Mono<Boolean> hasApprovedDocumentsAsync(Long userId) {
+        return RemoteLookupContext.memoize(SERVICIO, "aprobados:" + userId, () -> cache.obtener(userId,
+                        () -> verificarEnLinea(userId))
+                .onErrorResume(error -> {
+                    log.error("Error al verificar documentos del usuario {}: {}", userId, error.getMessage());
+                    return Mono.just(false);
+                })
+                .defaultIfEmpty(false));
+    }
+
+    /**
+     * Verifica los documentos de varios usuarios a la vez y emite un mapa por ID.
+     * Document Service no expone una consulta por lote, por lo que cada ID distinto pasa por
+     * {@link CacheDocumentosAprobados} y los que no están vigentes se consultan en paralelo
+     * (acotado a {@value #CONCURRENCIA_LOTE}). A diferencia de {@link #hasApprovedDocumentsAsync(Long)},
+     * un error no se traduce en false: los usuarios que no se pudieron verificar no aparecen en el mapa.
+     */
+    public Mono<Map<Long, Boolean>> hasApprovedDocumentsByUsersAsync(Collection<Long> userIds) {
+        return Flux.fromIterable(userIds)
+                .distinct()
+                .flatMap(userId -> cache.obtener(userId, () -> verificarEnLinea(userId))
+                        .map(aprobados -> Map.entry(userId, aprobados))
+                        .onErrorResume(error -> {
+                            log.error("Error al verificar documentos del usuario {}: {}", userId, error.getMessage());
+                            return Mono.empty();
+                        }), CONCURRENCIA_LOTE)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Consulta al Document Service si el usuario tiene sus documentos aprobados; emite error si falla
+     */
+    private Mono<Boolean> verificarEnLinea(Long userId) {
+        return resiliencia.ejecutar(() -> webClient
+                        .get()
+                        .uri("/api/documentos/usuario/{id}/verificar-aprobados", userId)
+                        .retrieve()
+                        .bodyToMono(Boolean.class)
+                        .timeout(Duration.ofSeconds(5)))
+                .map(Boolean.TRUE::equals);
+    }
+
     /**
      * Obtiene la cantidad de documentos aprobados de un usuario
      *
@@ -68,12 +150,12 @@ public class DocumentServiceClient {
         try {
             log.debug("Contando documentos aprobados para usuario {}", userId);
 
-            Integer count = webClientBuilder.build()
+            Integer count = resiliencia.ejecutar(() -> webClient
                     .get()
-                    .uri(documentServiceUrl + "/api/documentos/usuario/" + userId + "/contar-aprobados")
+                    .uri("/api/documentos/usuario/{id}/contar-aprobados", userId)
                     .retrieve()
                     .bodyToMono(Integer.class)
-                    .timeout(Duration.ofSeconds(5))
+                    .timeout(Duration.ofSeconds(5)))
                     .onErrorResume(error -> {
                         log.error("Error al contar documentos del usuario {}: {}", userId, error.getMessage());
                         return Mono.just(0);
@@ -97,9 +179,9 @@ public class DocumentServiceClient {
      */
     public boolean isServiceAvailable() {
         try {
-            webClientBuilder.build()
+            webClient
                     .get()
-                    .uri(documentServiceUrl + "/actuator/health")
+                    .uri("/actuator/health")
                     .retrieve()
                     .bodyToMono(String.class)
                     .timeout(Duration.ofSeconds(3))
@@ -2,7 +2,6 @@ package com.rentify.applicationService.client;
 
 import com.rentify.applicationService.dto.PropiedadDTO;
 import com.rentify.applicationService.exception.MicroserviceException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -10,34 +9,40 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class PropertyServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String SERVICIO = "property-service";
 
-    @Value("${microservices.property-service.url}")
-    private String propertyServiceUrl;
+    /**
+     * Campos de Property Service que se mapean en {@link PropiedadDTO}.
+     * Evita que la consulta por lote cargue fotos y categorías.
+     */
+    private static final String CAMPOS_PROPIEDAD =
+            "id,codigo,titulo,direccion,precioMensual,divisa,m2,nHabit,nBanos,petFriendly,tipoId,comunaId,fcreacion,tipo,comuna";
+
+    private final WebClient webClient;
+    private final PoliticaResiliencia resiliencia;
+    private final String propertyServiceUrl;
+
+    public PropertyServiceClient(WebClient.Builder webClientBuilder,
+                                 @Value("${microservices.property-service.url}") String propertyServiceUrl,
+                                 ResilienciaRegistro resilienciaRegistro) {
+        this.propertyServiceUrl = propertyServiceUrl;
+        this.webClient = webClientBuilder.clone().baseUrl(propertyServiceUrl).build();
+        this.resiliencia = resilienciaRegistro.para(SERVICIO);
+    }
 
     public PropiedadDTO getPropertyById(Long propertyId) {
         try {
             log.info("🔍 PropertyServiceClient: Intentando obtener propiedad {} desde URL: {}/api/propiedades/{}",
                     propertyId, propertyServiceUrl, propertyId);
 
-            PropiedadDTO propiedad = webClientBuilder.build()
-                    .get()
-                    .uri(propertyServiceUrl + "/api/propiedades/" + propertyId)
-                    .retrieve()
-                    .bodyToMono(PropiedadDTO.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .onErrorResume(error -> {
-                        log.error(" Error al obtener propiedad {}: {} - {}",
-                                propertyId, error.getClass().getSimpleName(), error.getMessage());
-                        return Mono.empty();
-                    })
-                    .block();
+            PropiedadDTO propiedad = getPropertyByIdAsync(propertyId).block();
 
             if (propiedad != null) {
                 log.info("Propiedad {} encontrada: ID={}, Título={}, PrecioMensual={}",
@@ -54,6 +59,49 @@ public class PropertyServiceClient {
         }
     }
 
+    /**
+     * Versión no bloqueante de {@link #getPropertyById(Long)}.
+     * Emite vacío si la propiedad no existe o el Property Service responde con error.
+     */
+    public Mono<PropiedadDTO> getPropertyByIdAsync(Long propertyId) {
+        return RemoteLookupContext.memoize(SERVICIO, "propiedad:" + propertyId, () -> resiliencia.ejecutar(() -> webClient
+                .get()
+                .uri("/api/propiedades/{id}", propertyId)
+                .retrieve()
+                .bodyToMono(PropiedadDTO.class)
+                .timeout(Duration.ofSeconds(10)))
+                .onErrorResume(error -> {
+                    log.error(" Error al obtener propiedad {}: {} - {}",
+                            propertyId, error.getClass().getSimpleName(), error.getMessage());
+                    return Mono.empty();
+                }));
+    }
+
+    /**
+     * Obtiene varias propiedades con una sola llamada a POST /api/propiedades/batch.
+     * Emite un mapa por ID; las propiedades inexistentes no aparecen y, ante un error
+     * del Property Service, el Mono emite una {@link MicroserviceException}.
+     */
+    public Mono<Map<Long, PropiedadDTO>> getPropertiesByIdsAsync(Collection<Long> propertyIds) {
+        if (propertyIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return RemoteLookupContext.memoize(SERVICIO, "propiedades:" + propertyIds, () -> resiliencia.ejecutar(() -> webClient
+                .post()
+                .uri("/api/propiedades/batch?fields={fields}", CAMPOS_PROPIEDAD)
+                .bodyValue(propertyIds)
+                .retrieve()
+                .bodyToFlux(PropiedadDTO.class)
+                .collectMap(PropiedadDTO::getId)
+                .timeout(Duration.ofSeconds(10)))
+                .onErrorMap(error -> {
+                    log.error(" Error al obtener {} propiedades por lote: {} - {}",
+                            propertyIds.size(), error.getClass().getSimpleName(), error.getMessage());
+                    return new MicroserviceException("No se pudieron obtener las propiedades. Intente nuevamente.");
+                }));
+    }
+
     public boolean existsProperty(Long propertyId) {
         try {
             PropiedadDTO property = getPropertyById(propertyId);
@@ -65,19 +113,11 @@ public class PropertyServiceClient {
     }
 
     /**
-     * Verifica si una propiedad está disponible
-     * Por ahora asumimos que si existe, está disponible
-     * Esto puede mejorarse cuando Property Service implemente disponibilidad
+     * Versión no bloqueante de {@link #existsProperty(Long)}.
      */
-    public boolean isPropertyAvailable(Long propertyId) {
-        try {
-            PropiedadDTO property = getPropertyById(propertyId);
-            // Por ahora, si la propiedad existe, la consideramos disponible
-            // En el futuro, Property Service podría devolver un campo "disponible"
-            return property != null;
-        } catch (Exception e) {
-            log.error("Error al verificar disponibilidad de la propiedad {}: {}", propertyId, e.getMessage());
-            return false;
-        }
+    public Mono<Boolean> existsPropertyAsync(Long propertyId) {
+        return getPropertyByIdAsync(propertyId)
+                .map(property -> property.getId() != null)
+                .defaultIfEmpty(false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.rentify.applicationService.client;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Memoización de consultas remotas con alcance de request HTTP.
+ *
+ * Dentro de un mismo request, llamadas idénticas a User, Property o Document Service
+ * (mismo servicio y misma clave) comparten un único Mono cacheado, incluso si la primera
+ * llamada aún está en curso. Fuera de un request (jobs, tests unitarios) no se memoiza.
+ *
+ * El contexto también cuenta las llamadas remotas reales y las deduplicadas por servicio,
+ * que luego se publican como métricas al terminar el request.
+ */
+public final class RemoteLookupContext {
+
+    public static final String ATRIBUTO = RemoteLookupContext.class.getName();
+
+    private final Map<String, Mono<?>> consultas = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> llamadas = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> deduplicadas = new ConcurrentHashMap<>();
+
+    private RemoteLookupContext() {
+    }
+
+    /**
+     * Ejecuta la consulta o reutiliza la ya iniciada en el request actual.
+     *
+     * @param servicio nombre del microservicio remoto (se usa como tag en métricas)
+     * @param clave    identifica la consulta dentro del servicio (ej: "usuario:5")
+     * @param consulta proveedor del Mono que realiza la llamada HTTP
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Mono<T> memoize(String servicio, String clave, Supplier<Mono<T>> consulta) {
+        RemoteLookupContext contexto = actual();
+        if (contexto == null) {
+            return consulta.get();
+        }
+
+        boolean[] nueva = {false};
+        Mono<?> mono = contexto.consultas.computeIfAbsent(servicio + ":" + clave, k -> {
+            nueva[0] = true;
+            return consulta.get().cache();
+        });
+        contexto.incrementar(nueva[0] ? contexto.llamadas : contexto.deduplicadas, servicio);
+
+        return (Mono<T>) mono;
+    }
+
+    /**
+     * Retorna el contexto del request actual, creándolo si aún no existe.
+     * Retorna null si no hay un request HTTP en curso.
+     */
+    static RemoteLookupContext actual() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+
+        synchronized (attributes) {
+            RemoteLookupContext contexto =
+                    (RemoteLookupContext) attributes.getAttribute(ATRIBUTO, RequestAttributes.SCOPE_REQUEST);
+            if (contexto == null) {
+                contexto = new RemoteLookupContext();
+                attributes.setAttribute(ATRIBUTO, contexto, RequestAttributes.SCOPE_REQUEST);
+            }
+            return contexto;
+        }
+    }
+
+    /**
+     * Llamadas remotas efectivamente realizadas en el request, por servicio.
+     */
+    public Map<String, Integer> getLlamadas() {
+        return snapshot(llamadas);
+    }
+
+    /**
+     * Consultas resueltas reutilizando una llamada previa del mismo request, por servicio.
+     */
+    public Map<String, Integer> getDeduplicadas() {
+        return snapshot(deduplicadas);
+    }
+
+    private void incrementar(Map<String, AtomicInteger> contadores, String servicio) {
+        contadores.computeIfAbsent(servicio, k -> new AtomicInteger()).incrementAndGet();
+    }
+
+    private static Map<String, Integer> snapshot(Map<String, AtomicInteger> contadores) {
+        Map<String, Integer> resultado = new ConcurrentHashMap<>();
+        contadores.forEach((servicio, contador) -> resultado.put(servicio, contador.get()));
+        return Collections.unmodifiableMap(resultado);
+    }
+}
@@ -2,42 +2,54 @@ package com.rentify.applicationService.client;
 
 import com.rentify.applicationService.dto.UsuarioDTO;
 import com.rentify.applicationService.exception.MicroserviceException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String SERVICIO = "user-service";
 
-    @Value("${microservices.user-service.url}")
-    private String userServiceUrl;
+    /**
+     * Máximo de IDs por llamada a POST /api/usuarios/batch (límite del User Service).
+     */
+    private static final int MAX_USUARIOS_POR_LOTE = 500;
+
+    /**
+     * Máximo de consultas individuales simultáneas si la consulta por lote falla.
+     */
+    private static final int CONCURRENCIA_LOTE = 16;
+
+    private final WebClient webClient;
+    private final PoliticaResiliencia resiliencia;
+    private final String userServiceUrl;
+
+    public UserServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${microservices.user-service.url}") String userServiceUrl,
+                             ResilienciaRegistro resilienciaRegistro) {
+        this.userServiceUrl = userServiceUrl;
+        this.webClient = webClientBuilder.clone().baseUrl(userServiceUrl).build();
+        this.resiliencia = resilienciaRegistro.para(SERVICIO);
+    }
 
     public UsuarioDTO getUserById(Long userId) {
         try {
             log.info("🔍 UserServiceClient: Intentando obtener usuario {} desde URL: {}/api/usuarios/{}",
                     userId, userServiceUrl, userId);
 
-            UsuarioDTO usuario = webClientBuilder.build()
-                    .get()
-                    .uri(userServiceUrl + "/api/usuarios/" + userId)
-                    .retrieve()
-                    .bodyToMono(UsuarioDTO.class)
-                    .timeout(Duration.ofSeconds(5))
-                    .onErrorResume(error -> {
-                        log.error(" Error HTTP al obtener usuario {}: {} - {}",
-                                userId, error.getClass().getSimpleName(), error.getMessage());
-                        return Mono.empty();
-                    })
-                    .block();
+            UsuarioDTO usuario = getUserByIdAsync(userId).block();
 
             if (usuario != null) {
                 log.info("✅ Usuario {} encontrado: ID={}, RolId={}, Email={}",
@@ -55,6 +67,76 @@ public class UserServiceClient {
         }
     }
 
+    /**
+     * Versión no bloqueante de {@link #getUserById(Long)}.
+     * Emite vacío si el usuario no existe o el User Service responde con error.
+     */
+    public Mono<UsuarioDTO> getUserByIdAsync(Long userId) {
+        return RemoteLookupContext.memoize(SERVICIO, "usuario:" + userId, () -> resiliencia.ejecutar(() -> webClient
+                .get()
+                .uri("/api/usuarios/{id}", userId)
+                .retrieve()
+                .bodyToMono(UsuarioDTO.class)
+                .timeout(Duration.ofSeconds(5)))
+                .onErrorResume(error -> {
+                    log.error(" Error HTTP al obtener usuario {}: {} - {}",
+                            userId, error.getClass().getSimpleName(), error.getMessage());
+                    return Mono.empty();
+                }));
+    }
+
+    /**
+     * Obtiene varios usuarios a la vez y emite un mapa por ID.
+     * Los IDs distintos se piden con POST /api/usuarios/batch, en lotes de hasta
+     * {@value #MAX_USUARIOS_POR_LOTE}. Si un lote falla se recurre a consultas individuales
+     * en paralelo (acotadas a {@value #CONCURRENCIA_LOTE}).
+     * Los usuarios que no existen no aparecen en el mapa; si el User Service no responde
+     * el Mono emite una {@link MicroserviceException}, para no confundir la falla con IDs desconocidos.
+     */
+    public Mono<Map<Long, UsuarioDTO>> getUsersByIdsAsync(Collection<Long> userIds) {
+        List<Long> ids = userIds.stream().filter(Objects::nonNull).distinct().toList();
+        return Flux.range(0, (ids.size() + MAX_USUARIOS_POR_LOTE - 1) / MAX_USUARIOS_POR_LOTE)
+                .map(i -> ids.subList(i * MAX_USUARIOS_POR_LOTE, Math.min(ids.size(), (i + 1) * MAX_USUARIOS_POR_LOTE)))
+                .concatMap(this::getLote)
+                .collectMap(UsuarioDTO::getId);
+    }
+
+    private Flux<UsuarioDTO> getLote(List<Long> lote) {
+        return resiliencia.ejecutar(() -> webClient
+                .post()
+                .uri("/api/usuarios/batch")
+                .bodyValue(lote)
+                .retrieve()
+                .bodyToFlux(UsuarioDTO.class)
+                .collectList()
+                .timeout(Duration.ofSeconds(5)))
+                .flatMapMany(Flux::fromIterable)
+                .onErrorResume(error -> {
+                    log.warn("Consulta por lote de {} usuarios fallida ({}), se consultan uno a uno",
+                            lote.size(), error.getMessage());
+                    return Flux.fromIterable(lote).flatMap(this::getUsuarioDelLote, CONCURRENCIA_LOTE);
+                });
+    }
+
+    /**
+     * Consulta individual de respaldo para {@link #getLote}: un 404 significa que el usuario
+     * no existe (vacío), cualquier otro error se propaga.
+     */
+    private Mono<UsuarioDTO> getUsuarioDelLote(Long userId) {
+        return RemoteLookupContext.memoize(SERVICIO, "usuario-lote:" + userId, () -> resiliencia.ejecutar(() -> webClient
+                .get()
+                .uri("/api/usuarios/{id}", userId)
+                .retrieve()
+                .bodyToMono(UsuarioDTO.class)
+                .timeout(Duration.ofSeconds(5)))
+                .onErrorResume(WebClientResponseException.NotFound.class, error -> Mono.empty())
+                .onErrorMap(error -> {
+                    log.error(" Error HTTP al obtener usuario {}: {} - {}",
+                            userId, error.getClass().getSimpleName(), error.getMessage());
+                    return new MicroserviceException("No se pudo obtener el usuario " + userId);
+                }));
+    }
+
     public boolean existsUser(Long userId) {
         try {
             UsuarioDTO user = getUserById(userId);
@@ -0,0 +1,234 @@
+package com.rentify.applicationService.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Verificación local de los tokens que emite User Service en el login (formato JWT, firma RS256).
+ *
+ * Las claves públicas se descargan de GET /api/auth/claves y se guardan en memoria. Un kid
+ * desconocido (por ejemplo, tras un reinicio de User Service) fuerza una nueva descarga, como
+ * máximo una vez cada tokens.claves.refresco-minimo-ms; las requests que llegan durante una descarga
+ * esperan esa misma descarga, sin monitores de por medio. Con un token válido, el rol y el estado
+ * del usuario se leen del token sin consultar User Service; sin token, o si no es válido, los
+ * llamadores mantienen la consulta remota.
+ */
+@Component
+@Slf4j
+public class VerificadorTokens {
+
+    private static final String ATRIBUTO_REQUEST = VerificadorTokens.class.getName() + ".usuario";
+    private static final String PREFIJO_BEARER = "Bearer ";
+    private static final String ALGORITMO = "RS256";
+    private static final long TOLERANCIA_RELOJ_SEGUNDOS = 30;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * Datos del usuario firmados en el token
+     */
+    public record UsuarioToken(Long usuarioId, Long rolId, String rol, Long estadoId, String estado) {}
+
+    private final Supplier<String> fuenteClaves;
+    private final String emisor;
+    private final long refrescoMinimoMs;
+    private final Clock reloj;
+
+    private volatile Map<String, PublicKey> claves = Map.of();
+    private final AtomicReference<CompletableFuture<Void>> descargaEnCurso = new AtomicReference<>();
+    private boolean descargadas;
+    private long ultimaDescarga;
+
+    @Autowired
+    public VerificadorTokens(WebClient.Builder webClientBuilder,
+                             @Value("${microservices.user-service.url}") String userServiceUrl,
+                             @Value("${tokens.emisor:rentify-userservice}") String emisor,
+                             @Value("${tokens.claves.refresco-minimo-ms:60000}") long refrescoMinimoMs) {
+        this(descargaDesde(webClientBuilder.clone().baseUrl(userServiceUrl).build()),
+                emisor, Duration.ofMillis(refrescoMinimoMs), Clock.systemUTC());
+    }
+
+    VerificadorTokens(Supplier<String> fuenteClaves, String emisor, Duration refrescoMinimo, Clock reloj) {
+        this.fuenteClaves = fuenteClaves;
+        this.emisor = emisor;
+        this.refrescoMinimoMs = refrescoMinimo.toMillis();
+        this.reloj = reloj;
+    }
+
+    private static Supplier<String> descargaDesde(WebClient webClient) {
+        return () -> webClient.get()
+                .uri("/api/auth/claves")
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofSeconds(5))
+                .block();
+    }
+
+    /**
+     * Usuario del token de la request en curso, si es válido y corresponde al ID dado
+     */
+    public Optional<UsuarioToken> paraUsuario(Long usuarioId) {
+        return delRequest().filter(usuario -> usuario.usuarioId().equals(usuarioId));
+    }
+
+    /**
+     * Usuario del token (header Authorization: Bearer) de la request en curso, si es válido.
+     * El resultado se guarda en la request para no verificar la firma más de una vez.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<UsuarioToken> delRequest() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos)) {
+            return Optional.empty();
+        }
+        HttpServletRequest request = atributos.getRequest();
+        if (request.getAttribute(ATRIBUTO_REQUEST) instanceof Optional<?> verificado) {
+            return (Optional<UsuarioToken>) verificado;
+        }
+
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        Optional<UsuarioToken> usuario = header != null && header.startsWith(PREFIJO_BEARER)
+                ? verificar(header.substring(PREFIJO_BEARER.length()).trim())
+                : Optional.empty();
+        request.setAttribute(ATRIBUTO_REQUEST, usuario);
+        return usuario;
+    }
+
+    /**
+     * Verifica firma, emisor y vigencia del token
+     */
+    public Optional<UsuarioToken> verificar(String token) {
+        String[] partes = token.split("\\.");
+        if (partes.length != 3) {
+            return rechazar("formato inválido");
+        }
+        try {
+            JsonNode header = leer(partes[0]);
+            if (!ALGORITMO.equals(header.path("alg").asText())) {
+                return rechazar("algoritmo no soportado");
+            }
+            PublicKey clave = clave(header.path("kid").asText());
+            if (clave == null) {
+                return rechazar("clave desconocida");
+            }
+
+            Signature firma = Signature.getInstance("SHA256withRSA");
+            firma.initVerify(clave);
+            firma.update((partes[0] + "." + partes[1]).getBytes(StandardCharsets.US_ASCII));
+            if (!firma.verify(Base64.getUrlDecoder().decode(partes[2]))) {
+                return rechazar("firma inválida");
+            }
+
+            JsonNode claims = leer(partes[1]);
+            if (!emisor.equals(claims.path("iss").asText())) {
+                return rechazar("emisor inválido");
+            }
+            if (claims.path("exp").asLong(0) + TOLERANCIA_RELOJ_SEGUNDOS < reloj.instant().getEpochSecond()) {
+                return rechazar("token vencido");
+            }
+            return Optional.of(new UsuarioToken(
+                    Long.valueOf(claims.path("sub").asText()),
+                    numero(claims, "rolId"),
+                    texto(claims, "rol"),
+                    numero(claims, "estadoId"),
+                    texto(claims, "estado")));
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            return rechazar(e.getMessage());
+        }
+    }
+
+    private static Optional<UsuarioToken> rechazar(String motivo) {
+        log.debug("Token rechazado: {}", motivo);
+        return Optional.empty();
+    }
+
+    private static JsonNode leer(String parte) throws IOException {
+        return JSON.readTree(Base64.getUrlDecoder().decode(parte));
+    }
+
+    private static Long numero(JsonNode claims, String campo) {
+        JsonNode valor = claims.path(campo);
+        return valor.canConvertToLong() ? valor.asLong() : null;
+    }
+
+    private static String texto(JsonNode claims, String campo) {
+        JsonNode valor = claims.path(campo);
+        return valor.isTextual() ? valor.asText() : null;
+    }
+
+    // ==================== Claves públicas ====================
+
+    private PublicKey clave(String kid) {
+        PublicKey clave = claves.get(kid);
+        return clave != null ? clave : descargarSiFalta(kid);
+    }
+
+    /**
+     * Descarga las claves si el kid sigue sin conocerse y ya pasó el intervalo mínimo desde la última descarga.
+     * Solo un hilo descarga; los demás esperan su resultado en vez de hacer cola en un monitor.
+     */
+    private PublicKey descargarSiFalta(String kid) {
+        CompletableFuture<Void> descarga = new CompletableFuture<>();
+        CompletableFuture<Void> enCurso = descargaEnCurso.compareAndExchange(null, descarga);
+        if (enCurso != null) {
+            enCurso.join();
+            return claves.get(kid);
+        }
+
+        // descargadas y ultimaDescarga solo se leen y escriben con la descarga tomada
+        try {
+            long ahora = reloj.millis();
+            if (!claves.containsKey(kid) && (!descargadas || ahora - ultimaDescarga >= refrescoMinimoMs)) {
+                descargadas = true;
+                ultimaDescarga = ahora;
+                claves = leerClaves(fuenteClaves.get());
+                log.info("Claves de verificación de tokens actualizadas: {}", claves.keySet());
+            }
+        } catch (RuntimeException | IOException | GeneralSecurityException e) {
+            log.warn("No se pudieron obtener las claves de User Service: {}", e.getMessage());
+        } finally {
+            descargaEnCurso.set(null);
+            descarga.complete(null);
+        }
+        return claves.get(kid);
+    }
+
+    private static Map<String, PublicKey> leerClaves(String jwks) throws IOException, GeneralSecurityException {
+        KeyFactory rsa = KeyFactory.getInstance("RSA");
+        Map<String, PublicKey> leidas = new HashMap<>();
+        for (JsonNode jwk : JSON.readTree(jwks).path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            BigInteger modulo = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("n").asText()));
+            BigInteger exponente = new BigInteger(1, Base64.getUrlDecoder().decode(jwk.path("e").asText()));
+            leidas.put(jwk.path("kid").asText(), rsa.generatePublic(new RSAPublicKeySpec(modulo, exponente)));
+        }
+        return Map.copyOf(leidas);
+    }
+}
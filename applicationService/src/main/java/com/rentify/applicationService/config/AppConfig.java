@@ -6,7 +6,6 @@ import io.swagger.v3.oas.models.info.Contact;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class AppConfig {
@@ -46,11 +45,6 @@ public class AppConfig {
         return modelMapper;
     }
 
-    @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
-    }
-
     @Bean
     public OpenAPI customOpenAPI() {
         System.out.println("========================================");
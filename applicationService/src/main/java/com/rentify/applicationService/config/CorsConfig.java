@@ -38,7 +38,9 @@ public class CorsConfig {
                 "Authorization",
                 "X-Requested-With",
                 "Access-Control-Request-Method",
-                "Access-Control-Request-Headers"
+                "Access-Control-Request-Headers",
+                "Idempotency-Key",
+                "Prefer"
         ));
 
         // Métodos HTTP permitidos
@@ -55,7 +57,11 @@ public class CorsConfig {
         config.setExposedHeaders(Arrays.asList(
                 "Access-Control-Allow-Origin",
                 "Access-Control-Allow-Credentials",
-                "Content-Type"
+                "Content-Type",
+                "Idempotent-Replayed",
+                "Location",
+                "Preference-Applied",
+                "X-Total-Count"
         ));
 
         // Tiempo de caché de la configuración CORS (en segundos)
@@ -0,0 +1,70 @@
+package com.rentify.applicationService.config;
+
+import com.rentify.applicationService.client.RemoteLookupContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * Publica, al terminar cada request, cuántas llamadas remotas realizó por microservicio
+ * y cuántas se resolvieron reutilizando una llamada previa ({@link RemoteLookupContext}).
+ *
+ * Métricas (Actuator /actuator/metrics):
+ * - rentify.remote.calls: llamadas HTTP reales por request (tags: servicio, uri)
+ * - rentify.remote.calls.deduplicated: consultas servidas desde la memoización (tags: servicio, uri)
+ */
+@Configuration
+public class RemoteCallMetricsConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RemoteCallMetricsConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                        Object handler, Exception ex) {
+                registrar(request);
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    private void registrar(HttpServletRequest request) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        Object atributo = request.getAttribute(RemoteLookupContext.ATRIBUTO);
+        if (registry == null || !(atributo instanceof RemoteLookupContext contexto)) {
+            return;
+        }
+
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+
+        registrar(registry, "rentify.remote.calls",
+                "Llamadas HTTP a otros microservicios por request", contexto.getLlamadas(), uri);
+        registrar(registry, "rentify.remote.calls.deduplicated",
+                "Consultas remotas resueltas desde la memoización del request", contexto.getDeduplicadas(), uri);
+    }
+
+    private void registrar(MeterRegistry registry, String nombre, String descripcion,
+                           Map<String, Integer> porServicio, String uri) {
+        porServicio.forEach((servicio, cantidad) -> DistributionSummary.builder(nombre)
+                .description(descripcion)
+                .tag("servicio", servicio)
+                .tag("uri", uri)
+                .register(registry)
+                .record(cantidad));
+    }
+}
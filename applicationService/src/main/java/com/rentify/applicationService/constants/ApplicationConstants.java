@@ -1,5 +1,8 @@
 package com.rentify.applicationService.constants;
 
+import java.util.List;
+import java.util.Set;
+
 /**
  * Clase de constantes para el Application Service
  * Centraliza valores constantes utilizados en todo el microservicio
@@ -14,10 +17,20 @@ public final class ApplicationConstants {
      * Estados posibles de una solicitud de arriendo
      */
     public static final class EstadoSolicitud {
+        /**
+         * Recibida en modo asíncrono, a la espera de las validaciones remotas.
+         * No se puede asignar manualmente.
+         */
+        public static final String RECIBIDA = "RECIBIDA";
         public static final String PENDIENTE = "PENDIENTE";
         public static final String ACEPTADA = "ACEPTADA";
         public static final String RECHAZADA = "RECHAZADA";
 
+        /**
+         * Estados que cuentan para el límite de solicitudes y para detectar duplicados.
+         */
+        public static final List<String> ACTIVOS = List.of(RECIBIDA, PENDIENTE);
+
         private EstadoSolicitud() {}
 
         public static boolean esValido(String estado) {
@@ -61,10 +74,25 @@ public final class ApplicationConstants {
     public static final class Limites {
         public static final int MAX_SOLICITUDES_ACTIVAS = 3;
         public static final int TIMEOUT_SECONDS = 5;
+        public static final int TAMANO_PAGINA_DEFECTO = 50;
+        public static final int MAX_SOLICITUDES_POR_LOTE = 500;
+        public static final int MAX_PROPIEDADES_POR_CONSULTA = 500;
 
         private Limites() {}
     }
 
+    /**
+     * Campos por los que se permite ordenar los listados paginados
+     */
+    public static final class Orden {
+        public static final Set<String> CAMPOS_SOLICITUDES =
+                Set.of("id", "fechaSolicitud", "estado", "usuarioId", "propiedadId");
+        public static final Set<String> CAMPOS_REGISTROS =
+                Set.of("id", "solicitudId", "fechaInicio", "fechaFin", "montoMensual", "activo");
+
+        private Orden() {}
+    }
+
     /**
      * Mensajes de error comunes
      */
@@ -82,6 +110,10 @@ public final class ApplicationConstants {
         public static final String REGISTRO_NO_ENCONTRADO = "Registro no encontrado con ID: %d";
         public static final String REGISTRO_YA_INACTIVO = "El registro ya está inactivo";
         public static final String ESTADO_INVALIDO = "Estado inválido: %s";
+        public static final String SOLICITUD_EN_VALIDACION = "La solicitud %d aún está en validación";
+        public static final String OTRA_SOLICITUD_ACEPTADA = "Se aceptó otra solicitud para la propiedad";
+        public static final String ORDEN_INVALIDO = "No se puede ordenar por '%s'. Campos permitidos: %s";
+        public static final String MAX_PROPIEDADES_SUPERADO = "Se puede consultar como máximo %d propiedades por petición";
         public static final String FECHAS_INVALIDAS = "La fecha de inicio no puede ser posterior a la fecha de fin";
 
         private Mensajes() {}
@@ -0,0 +1,36 @@
+package com.rentify.applicationService.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Respuesta de los listados paginados: el cuerpo sigue siendo un arreglo JSON y el total de elementos
+ * viaja en el header X-Total-Count. Sin page ni size se listan todos los elementos, como antes de la
+ * paginación, para que los clientes existentes (que no leen el header) no reciban solo la primera página.
+ */
+final class Paginado {
+
+    static final String HEADER_TOTAL = "X-Total-Count";
+
+    private Paginado() {}
+
+    /**
+     * La página resuelta si la request trae page o size; si no, todos los elementos con el orden pedido
+     */
+    static Pageable solicitado(Pageable pageable, HttpServletRequest request) {
+        if (request.getParameter("page") == null && request.getParameter("size") == null) {
+            return Pageable.unpaged(pageable.getSort());
+        }
+        return pageable;
+    }
+
+    static <T> ResponseEntity<List<T>> ok(Page<T> pagina) {
+        return ResponseEntity.ok()
+                .header(HEADER_TOTAL, String.valueOf(pagina.getTotalElements()))
+                .body(pagina.getContent());
+    }
+}
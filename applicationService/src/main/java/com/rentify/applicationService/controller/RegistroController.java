@@ -1,38 +1,66 @@
 package com.rentify.applicationService.controller;
 
+import com.rentify.applicationService.constants.ApplicationConstants.Limites;
+import com.rentify.applicationService.dto.EstadisticaMensualDTO;
+import com.rentify.applicationService.dto.OcupacionPropiedadDTO;
 import com.rentify.applicationService.dto.RegistroArriendoDTO;
+import com.rentify.applicationService.service.EstadisticasArriendoService;
+import com.rentify.applicationService.service.IdempotenciaService;
+import com.rentify.applicationService.service.OcupacionPropiedadesService;
 import com.rentify.applicationService.service.RegistroArriendoService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
+@ConditionalOnProperty(name = "rentify.web.modo", havingValue = "bloqueante", matchIfMissing = true)
 @RequestMapping("/api/registros")
 @RequiredArgsConstructor
 @Tag(name = "Registros de Arriendo", description = "Gestión de registros de arriendos activos")
 public class RegistroController {
 
     private final RegistroArriendoService service;
+    private final IdempotenciaService idempotenciaService;
+    private final EstadisticasArriendoService estadisticasService;
+    private final OcupacionPropiedadesService ocupacionService;
 
     @PostMapping
-    @Operation(summary = "Crear nuevo registro", description = "Crea un registro de arriendo para una solicitud aceptada")
+    @Operation(summary = "Crear nuevo registro", description = "Crea un registro de arriendo para una solicitud aceptada. " +
+            "Con el header Idempotency-Key los reintentos reciben la respuesta original sin crear otro registro")
     public ResponseEntity<RegistroArriendoDTO> crearRegistro(
+            @Parameter(description = "Clave única del intento, repetida en cada reintento")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody RegistroArriendoDTO registroDTO) {
-        RegistroArriendoDTO created = service.crearRegistro(registroDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return idempotenciaService.ejecutar("registros", idempotencyKey,
+                Arrays.asList(registroDTO.getSolicitudId(), registroDTO.getFechaInicio(),
+                        registroDTO.getFechaFin(), registroDTO.getMontoMensual()),
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(service.crearRegistro(registroDTO)));
     }
 
     @GetMapping
-    @Operation(summary = "Listar todos los registros")
+    @Operation(summary = "Listar registros", description = "Sin page ni size retorna todos los elementos; " +
+            "con ellos, listado paginado (page, size, sort). " +
+            "el total de registros se informa en el header X-Total-Count")
     public ResponseEntity<List<RegistroArriendoDTO>> listarTodos(
-            @RequestParam(defaultValue = "false") boolean includeDetails) {
-        return ResponseEntity.ok(service.listarTodos(includeDetails));
+            @RequestParam(defaultValue = "false") boolean includeDetails,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        return Paginado.ok(service.listarTodos(includeDetails, Paginado.solicitado(pageable, request)));
     }
 
     @GetMapping("/{id}")
@@ -55,4 +83,28 @@ public class RegistroController {
     public ResponseEntity<RegistroArriendoDTO> finalizarRegistro(@PathVariable Long id) {
         return ResponseEntity.ok(service.finalizarRegistro(id));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/estadisticas/mensual")
+    @Operation(summary = "Ingresos y ocupación por mes",
+            description = "Serie mensual de ingresos, registros vigentes, iniciados, finalizados y duración promedio " +
+                    "de contratos, calculada desde agregados en memoria. Por defecto, los últimos 12 meses")
+    public ResponseEntity<List<EstadisticaMensualDTO>> estadisticasMensuales(
+            @Parameter(description = "Mes inicial (yyyy-MM)", example = "2025-01")
+            @RequestParam(required = false) String desde,
+            @Parameter(description = "Mes final (yyyy-MM)", example = "2025-12")
+            @RequestParam(required = false) String hasta) {
+        return ResponseEntity.ok(estadisticasService.serieMensual(desde, hasta));
+    }
+
+    @GetMapping("/ocupacion")
+    @Operation(summary = "Ocupación de propiedades",
+            description = "Indica para cada propiedad si tiene un arriendo vigente o futuro a la fecha (por defecto, hoy), " +
+                    "desde un índice en memoria de los registros activos, sin consultar otros microservicios")
+    public ResponseEntity<List<OcupacionPropiedadDTO>> ocupacion(
+            @Parameter(description = "IDs de las propiedades", example = "1,2,3")
+            @RequestParam List<Long> propiedadIds,
+            @Parameter(description = "Fecha de referencia (yyyy-MM-dd)", example = "2025-12-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        return ResponseEntity.ok(ocupacionService.ocupacion(propiedadIds, fecha != null ? fecha : LocalDate.now()));
+    }
+}
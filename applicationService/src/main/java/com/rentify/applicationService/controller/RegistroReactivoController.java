@@ -0,0 +1,121 @@
+package com.rentify.applicationService.controller;
+
+import com.rentify.applicationService.constants.ApplicationConstants.Limites;
+import com.rentify.applicationService.dto.EstadisticaMensualDTO;
+import com.rentify.applicationService.dto.OcupacionPropiedadDTO;
+import com.rentify.applicationService.dto.RegistroArriendoDTO;
+import com.rentify.applicationService.service.ArriendoReactivoService;
+import com.rentify.applicationService.service.EstadisticasArriendoService;
+import com.rentify.applicationService.service.IdempotenciaService;
+import com.rentify.applicationService.service.OcupacionPropiedadesService;
+import com.rentify.applicationService.service.RegistroArriendoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mismos endpoints que {@link RegistroController}, sin bloquear el hilo del request
+ * (rentify.web.modo=reactivo). Ver {@link ArriendoReactivoService}.
+ */
+@RestController
+@ConditionalOnProperty(name = "rentify.web.modo", havingValue = "reactivo")
+@RequestMapping("/api/registros")
+@RequiredArgsConstructor
+@Tag(name = "Registros de Arriendo", description = "Gestión de registros de arriendos activos")
+public class RegistroReactivoController {
+
+    private final RegistroArriendoService service;
+    private final ArriendoReactivoService reactivo;
+    private final IdempotenciaService idempotenciaService;
+    private final EstadisticasArriendoService estadisticasService;
+    private final OcupacionPropiedadesService ocupacionService;
+
+    @PostMapping
+    @Operation(summary = "Crear nuevo registro", description = "Crea un registro de arriendo para una solicitud aceptada. " +
+            "Con el header Idempotency-Key los reintentos reciben la respuesta original sin crear otro registro")
+    public Mono<ResponseEntity<RegistroArriendoDTO>> crearRegistro(
+            @Parameter(description = "Clave única del intento, repetida en cada reintento")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody RegistroArriendoDTO registroDTO) {
+        return idempotenciaService.ejecutarAsync("registros", idempotencyKey,
+                Arrays.asList(registroDTO.getSolicitudId(), registroDTO.getFechaInicio(),
+                        registroDTO.getFechaFin(), registroDTO.getMontoMensual()),
+                () -> reactivo.crearRegistro(registroDTO)
+                        .map(creado -> ResponseEntity.status(HttpStatus.CREATED).body(creado)));
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar registros", description = "Sin page ni size retorna todos los elementos; " +
+            "con ellos, listado paginado (page, size, sort). " +
+            "el total de registros se informa en el header X-Total-Count")
+    public Mono<ResponseEntity<List<RegistroArriendoDTO>>> listarTodos(
+            @RequestParam(defaultValue = "false") boolean includeDetails,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        Pageable pedido = Paginado.solicitado(pageable, request);
+        return reactivo.listarRegistros(includeDetails, pedido).map(Paginado::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener registro por ID")
+    public Mono<ResponseEntity<RegistroArriendoDTO>> obtenerPorId(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "true") boolean includeDetails) {
+        return reactivo.obtenerRegistro(id, includeDetails).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/solicitud/{solicitudId}")
+    @Operation(summary = "Obtener registros por solicitud")
+    public Mono<ResponseEntity<List<RegistroArriendoDTO>>> obtenerPorSolicitud(
+            @PathVariable Long solicitudId) {
+        return reactivo.enJdbc(() -> service.obtenerPorSolicitud(solicitudId)).map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/{id}/finalizar")
+    @Operation(summary = "Finalizar registro", description = "Marca un registro como inactivo")
+    public Mono<ResponseEntity<RegistroArriendoDTO>> finalizarRegistro(@PathVariable Long id) {
+        return reactivo.finalizarRegistro(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/estadisticas/mensual")
+    @Operation(summary = "Ingresos y ocupación por mes",
+            description = "Serie mensual de ingresos, registros vigentes, iniciados, finalizados y duración promedio " +
+                    "de contratos, calculada desde agregados en memoria. Por defecto, los últimos 12 meses")
+    public ResponseEntity<List<EstadisticaMensualDTO>> estadisticasMensuales(
+            @Parameter(description = "Mes inicial (yyyy-MM)", example = "2025-01")
+            @RequestParam(required = false) String desde,
+            @Parameter(description = "Mes final (yyyy-MM)", example = "2025-12")
+            @RequestParam(required = false) String hasta) {
+        // Agregados en memoria: no hay E/S que liberar
+        return ResponseEntity.ok(estadisticasService.serieMensual(desde, hasta));
+    }
+
+    @GetMapping("/ocupacion")
+    @Operation(summary = "Ocupación de propiedades",
+            description = "Indica para cada propiedad si tiene un arriendo vigente o futuro a la fecha (por defecto, hoy), " +
+                    "desde un índice en memoria de los registros activos, sin consultar otros microservicios")
+    public ResponseEntity<List<OcupacionPropiedadDTO>> ocupacion(
+            @Parameter(description = "IDs de las propiedades", example = "1,2,3")
+            @RequestParam List<Long> propiedadIds,
+            @Parameter(description = "Fecha de referencia (yyyy-MM-dd)", example = "2025-12-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha) {
+        // Índice en memoria: no hay E/S que liberar
+        return ResponseEntity.ok(ocupacionService.ocupacion(propiedadIds, fecha != null ? fecha : LocalDate.now()));
+    }
+}
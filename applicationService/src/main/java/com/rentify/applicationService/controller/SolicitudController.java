@@ -1,40 +1,75 @@
 package com.rentify.applicationService.controller;
 
+import com.rentify.applicationService.constants.ApplicationConstants.Limites;
+import com.rentify.applicationService.dto.CambioEstadoLoteDTO;
+import com.rentify.applicationService.dto.ResultadoCambioEstadoDTO;
 import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.service.IdempotenciaService;
+import com.rentify.applicationService.service.RecepcionSolicitudesService;
 import com.rentify.applicationService.service.SolicitudArriendoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
+@ConditionalOnProperty(name = "rentify.web.modo", havingValue = "bloqueante", matchIfMissing = true)
 @RequestMapping("/api/solicitudes")
 @RequiredArgsConstructor
 @Tag(name = "Solicitudes de Arriendo", description = "Gestión de solicitudes de arriendo")
 public class SolicitudController {
 
     private final SolicitudArriendoService service;
+    private final IdempotenciaService idempotenciaService;
+    private final RecepcionSolicitudesService recepcionService;
 
     @PostMapping
-    @Operation(summary = "Crear nueva solicitud", description = "Crea una nueva solicitud de arriendo")
+    @Operation(summary = "Crear nueva solicitud", description = "Crea una nueva solicitud de arriendo. " +
+            "Con el header Idempotency-Key los reintentos reciben la respuesta original sin crear otra solicitud. " +
+            "En modo asíncrono (Prefer: respond-async) responde 202 con la solicitud RECIBIDA y su URL de estado")
     public ResponseEntity<SolicitudArriendoDTO> crearSolicitud(
+            @Parameter(description = "Clave única del intento, repetida en cada reintento")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "respond-async para validar la solicitud en segundo plano")
+            @RequestHeader(value = RecepcionSolicitudesService.HEADER_PREFER, required = false) String prefer,
             @Valid @RequestBody SolicitudArriendoDTO solicitudDTO) {
-        SolicitudArriendoDTO created = service.crearSolicitud(solicitudDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return idempotenciaService.ejecutar("solicitudes", idempotencyKey,
+                Arrays.asList(solicitudDTO.getUsuarioId(), solicitudDTO.getPropiedadId()),
+                () -> {
+                    if (recepcionService.usarAsincrona(prefer)) {
+                        SolicitudArriendoDTO recibida = recepcionService.recibir(solicitudDTO);
+                        return ResponseEntity.accepted()
+                                .location(URI.create("/api/solicitudes/" + recibida.getId()))
+                                .header("Preference-Applied", RecepcionSolicitudesService.PREFERENCIA_ASINCRONA)
+                                .body(recibida);
+                    }
+                    return ResponseEntity.status(HttpStatus.CREATED).body(service.crearSolicitud(solicitudDTO));
+                });
     }
 
     @GetMapping
-    @Operation(summary = "Listar todas las solicitudes")
+    @Operation(summary = "Listar solicitudes", description = "Sin page ni size retorna todos los elementos; " +
+            "con ellos, listado paginado (page, size, sort). " +
+            "el total de solicitudes se informa en el header X-Total-Count")
     public ResponseEntity<List<SolicitudArriendoDTO>> listarTodas(
             @Parameter(description = "Incluir detalles de usuario y propiedad")
-            @RequestParam(defaultValue = "false") boolean includeDetails) {
-        return ResponseEntity.ok(service.listarTodas(includeDetails));
+            @RequestParam(defaultValue = "false") boolean includeDetails,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        return Paginado.ok(service.listarTodas(includeDetails, Paginado.solicitado(pageable, request)));
     }
 
     @GetMapping("/{id}")
@@ -46,17 +81,23 @@ public class SolicitudController {
     }
 
     @GetMapping("/usuario/{usuarioId}")
-    @Operation(summary = "Obtener solicitudes por usuario")
+    @Operation(summary = "Obtener solicitudes por usuario", description = "Sin page ni size retorna todas; " +
+            "con ellos, listado paginado (page, size, sort)")
     public ResponseEntity<List<SolicitudArriendoDTO>> obtenerPorUsuario(
-            @PathVariable Long usuarioId) {
-        return ResponseEntity.ok(service.obtenerPorUsuario(usuarioId));
+            @PathVariable Long usuarioId,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        return Paginado.ok(service.obtenerPorUsuario(usuarioId, Paginado.solicitado(pageable, request)));
     }
 
     @GetMapping("/propiedad/{propiedadId}")
-    @Operation(summary = "Obtener solicitudes por propiedad")
+    @Operation(summary = "Obtener solicitudes por propiedad", description = "Sin page ni size retorna todas; " +
+            "con ellos, listado paginado (page, size, sort)")
     public ResponseEntity<List<SolicitudArriendoDTO>> obtenerPorPropiedad(
-            @PathVariable Long propiedadId) {
-        return ResponseEntity.ok(service.obtenerPorPropiedad(propiedadId));
+            @PathVariable Long propiedadId,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        return Paginado.ok(service.obtenerPorPropiedad(propiedadId, Paginado.solicitado(pageable, request)));
     }
 
     @PatchMapping("/{id}/estado")
@@ -66,4 +107,14 @@ public class SolicitudController {
             @RequestParam String estado) {
         return ResponseEntity.ok(service.actualizarEstado(id, estado));
     }
-}
\ No newline at end of file
+
+    @PatchMapping("/estado")
+    @Operation(summary = "Actualizar estado de varias solicitudes",
+            description = "Aplica el mismo estado a varias solicitudes con un solo UPDATE y retorna solo los IDs " +
+                    "afectados. Con rechazarOtrasPendientes=true, al aceptar se rechazan las demás solicitudes " +
+                    "pendientes de las mismas propiedades")
+    public ResponseEntity<ResultadoCambioEstadoDTO> actualizarEstadoLote(
+            @Valid @RequestBody CambioEstadoLoteDTO cambio) {
+        return ResponseEntity.ok(service.actualizarEstadoLote(cambio));
+    }
+}
@@ -0,0 +1,131 @@
+package com.rentify.applicationService.controller;
+
+import com.rentify.applicationService.constants.ApplicationConstants.Limites;
+import com.rentify.applicationService.dto.CambioEstadoLoteDTO;
+import com.rentify.applicationService.dto.ResultadoCambioEstadoDTO;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.service.ArriendoReactivoService;
+import com.rentify.applicationService.service.IdempotenciaService;
+import com.rentify.applicationService.service.RecepcionSolicitudesService;
+import com.rentify.applicationService.service.SolicitudArriendoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mismos endpoints que {@link SolicitudController}, sin bloquear el hilo del request
+ * (rentify.web.modo=reactivo). Ver {@link ArriendoReactivoService}.
+ */
+@RestController
+@ConditionalOnProperty(name = "rentify.web.modo", havingValue = "reactivo")
+@RequestMapping("/api/solicitudes")
+@RequiredArgsConstructor
+@Tag(name = "Solicitudes de Arriendo", description = "Gestión de solicitudes de arriendo")
+public class SolicitudReactivaController {
+
+    private final SolicitudArriendoService service;
+    private final ArriendoReactivoService reactivo;
+    private final IdempotenciaService idempotenciaService;
+    private final RecepcionSolicitudesService recepcionService;
+
+    @PostMapping
+    @Operation(summary = "Crear nueva solicitud", description = "Crea una nueva solicitud de arriendo. " +
+            "Con el header Idempotency-Key los reintentos reciben la respuesta original sin crear otra solicitud. " +
+            "En modo asíncrono (Prefer: respond-async) responde 202 con la solicitud RECIBIDA y su URL de estado")
+    public Mono<ResponseEntity<SolicitudArriendoDTO>> crearSolicitud(
+            @Parameter(description = "Clave única del intento, repetida en cada reintento")
+            @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+            @Parameter(description = "respond-async para validar la solicitud en segundo plano")
+            @RequestHeader(value = RecepcionSolicitudesService.HEADER_PREFER, required = false) String prefer,
+            @Valid @RequestBody SolicitudArriendoDTO solicitudDTO) {
+        return idempotenciaService.ejecutarAsync("solicitudes", idempotencyKey,
+                Arrays.asList(solicitudDTO.getUsuarioId(), solicitudDTO.getPropiedadId()),
+                () -> {
+                    if (recepcionService.usarAsincrona(prefer)) {
+                        return reactivo.enJdbc(() -> recepcionService.recibir(solicitudDTO))
+                                .map(recibida -> ResponseEntity.accepted()
+                                        .location(URI.create("/api/solicitudes/" + recibida.getId()))
+                                        .header("Preference-Applied", RecepcionSolicitudesService.PREFERENCIA_ASINCRONA)
+                                        .body(recibida));
+                    }
+                    return reactivo.crearSolicitud(solicitudDTO)
+                            .map(creada -> ResponseEntity.status(HttpStatus.CREATED).body(creada));
+                });
+    }
+
+    @GetMapping
+    @Operation(summary = "Listar solicitudes", description = "Sin page ni size retorna todos los elementos; " +
+            "con ellos, listado paginado (page, size, sort). " +
+            "el total de solicitudes se informa en el header X-Total-Count")
+    public Mono<ResponseEntity<List<SolicitudArriendoDTO>>> listarTodas(
+            @Parameter(description = "Incluir detalles de usuario y propiedad")
+            @RequestParam(defaultValue = "false") boolean includeDetails,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        Pageable pedido = Paginado.solicitado(pageable, request);
+        return reactivo.listarSolicitudes(includeDetails, pedido).map(Paginado::ok);
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener solicitud por ID")
+    public Mono<ResponseEntity<SolicitudArriendoDTO>> obtenerPorId(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "true") boolean includeDetails) {
+        return reactivo.obtenerSolicitud(id, includeDetails).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/usuario/{usuarioId}")
+    @Operation(summary = "Obtener solicitudes por usuario", description = "Sin page ni size retorna todas; " +
+            "con ellos, listado paginado (page, size, sort)")
+    public Mono<ResponseEntity<List<SolicitudArriendoDTO>>> obtenerPorUsuario(
+            @PathVariable Long usuarioId,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        Pageable pedido = Paginado.solicitado(pageable, request);
+        return reactivo.enJdbc(() -> service.obtenerPorUsuario(usuarioId, pedido)).map(Paginado::ok);
+    }
+
+    @GetMapping("/propiedad/{propiedadId}")
+    @Operation(summary = "Obtener solicitudes por propiedad", description = "Sin page ni size retorna todas; " +
+            "con ellos, listado paginado (page, size, sort)")
+    public Mono<ResponseEntity<List<SolicitudArriendoDTO>>> obtenerPorPropiedad(
+            @PathVariable Long propiedadId,
+            @ParameterObject @PageableDefault(size = Limites.TAMANO_PAGINA_DEFECTO, sort = "id") Pageable pageable,
+            HttpServletRequest request) {
+        Pageable pedido = Paginado.solicitado(pageable, request);
+        return reactivo.enJdbc(() -> service.obtenerPorPropiedad(propiedadId, pedido)).map(Paginado::ok);
+    }
+
+    @PatchMapping("/{id}/estado")
+    @Operation(summary = "Actualizar estado de solicitud")
+    public Mono<ResponseEntity<SolicitudArriendoDTO>> actualizarEstado(
+            @PathVariable Long id,
+            @RequestParam String estado) {
+        return reactivo.actualizarEstado(id, estado).map(ResponseEntity::ok);
+    }
+
+    @PatchMapping("/estado")
+    @Operation(summary = "Actualizar estado de varias solicitudes",
+            description = "Aplica el mismo estado a varias solicitudes con un solo UPDATE y retorna solo los IDs " +
+                    "afectados. Con rechazarOtrasPendientes=true, al aceptar se rechazan las demás solicitudes " +
+                    "pendientes de las mismas propiedades")
+    public Mono<ResponseEntity<ResultadoCambioEstadoDTO>> actualizarEstadoLote(
+            @Valid @RequestBody CambioEstadoLoteDTO cambio) {
+        return reactivo.enJdbc(() -> service.actualizarEstadoLote(cambio)).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,35 @@
+package com.rentify.applicationService.dto;
+
+import com.rentify.applicationService.constants.ApplicationConstants.Limites;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Cambio de estado aplicado a varias solicitudes a la vez")
+public class CambioEstadoLoteDTO {
+
+    @NotEmpty(message = "Debe indicar al menos una solicitud")
+    @Size(max = Limites.MAX_SOLICITUDES_POR_LOTE,
+            message = "Se pueden actualizar como máximo " + Limites.MAX_SOLICITUDES_POR_LOTE + " solicitudes por petición")
+    @Schema(description = "IDs de las solicitudes a actualizar", example = "[1, 2, 3]")
+    private List<@NotNull Long> ids;
+
+    @NotBlank(message = "El estado es obligatorio")
+    @Schema(description = "Estado destino", example = "ACEPTADA",
+            allowableValues = {"PENDIENTE", "ACEPTADA", "RECHAZADA"})
+    private String estado;
+
+    @Schema(description = "Al aceptar, rechazar las demás solicitudes pendientes de las mismas propiedades",
+            example = "false")
+    private boolean rechazarOtrasPendientes;
+}
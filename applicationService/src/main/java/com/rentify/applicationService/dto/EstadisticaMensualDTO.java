@@ -0,0 +1,32 @@
+package com.rentify.applicationService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ingresos y ocupación de los registros de arriendo en un mes")
+public class EstadisticaMensualDTO {
+
+    @Schema(description = "Mes (yyyy-MM)", example = "2025-11")
+    private String mes;
+
+    @Schema(description = "Suma de montos mensuales de los registros vigentes en el mes, en CLP", example = "1500000.0")
+    private Double ingresos;
+
+    @Schema(description = "Registros vigentes en algún momento del mes", example = "3")
+    private Long registrosActivos;
+
+    @Schema(description = "Registros que comenzaron en el mes", example = "1")
+    private Long registrosIniciados;
+
+    @Schema(description = "Registros que terminaron en el mes", example = "1")
+    private Long registrosFinalizados;
+
+    @Schema(description = "Duración promedio en días de los contratos terminados en el mes (null si no terminó ninguno)",
+            example = "365.0")
+    private Double duracionPromedioDias;
+}
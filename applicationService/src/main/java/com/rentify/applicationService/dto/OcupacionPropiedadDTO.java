@@ -0,0 +1,25 @@
+package com.rentify.applicationService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Ocupación de una propiedad según sus registros de arriendo activos")
+public class OcupacionPropiedadDTO {
+
+    @Schema(description = "ID de la propiedad", example = "1")
+    private Long propiedadId;
+
+    @Schema(description = "Tiene un arriendo vigente o futuro a la fecha consultada", example = "true")
+    private boolean ocupada;
+
+    @Schema(description = "Fecha de fin del último arriendo; null si está libre o el arriendo no tiene término",
+            example = "2026-12-31")
+    private LocalDate ocupadaHasta;
+}
@@ -0,0 +1,39 @@
+package com.rentify.applicationService.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resultado compacto de un cambio de estado por lote (solo IDs, sin detalles remotos)")
+public class ResultadoCambioEstadoDTO {
+
+    @Schema(description = "Estado aplicado", example = "ACEPTADA")
+    private String estado;
+
+    @Schema(description = "Solicitudes que cambiaron al estado indicado")
+    @Builder.Default
+    private List<Long> actualizadas = new ArrayList<>();
+
+    @Schema(description = "Solicitudes que ya estaban en el estado indicado")
+    @Builder.Default
+    private List<Long> sinCambio = new ArrayList<>();
+
+    @Schema(description = "Solicitudes RECIBIDAS, aún en validación asíncrona, que no se modificaron")
+    @Builder.Default
+    private List<Long> enValidacion = new ArrayList<>();
+
+    @Schema(description = "IDs que no corresponden a ninguna solicitud")
+    @Builder.Default
+    private List<Long> noEncontradas = new ArrayList<>();
+
+    @Schema(description = "Otras solicitudes pendientes de las propiedades aceptadas, rechazadas automáticamente")
+    @Builder.Default
+    private List<Long> rechazadasAutomaticamente = new ArrayList<>();
+}
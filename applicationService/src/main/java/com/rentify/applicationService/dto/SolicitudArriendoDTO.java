@@ -28,12 +28,17 @@ public class SolicitudArriendoDTO {
     @Schema(description = "ID de la propiedad solicitada", example = "1")  // SIN required
     private Long propiedadId;
 
-    @Schema(description = "Estado de la solicitud (PENDIENTE, ACEPTADA, RECHAZADA)",
+    @Schema(description = "Estado de la solicitud (RECIBIDA, PENDIENTE, ACEPTADA, RECHAZADA)",
             example = "PENDIENTE",
             accessMode = Schema.AccessMode.READ_ONLY,
-            allowableValues = {"PENDIENTE", "ACEPTADA", "RECHAZADA"})
+            allowableValues = {"RECIBIDA", "PENDIENTE", "ACEPTADA", "RECHAZADA"})
     private String estado;
 
+    @Schema(description = "Motivo del rechazo cuando la validación asíncrona rechaza la solicitud",
+            example = "La propiedad no está disponible para arriendo",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private String motivoRechazo;
+
     @Schema(description = "Fecha y hora de creación de la solicitud",
             example = "2025-11-13T10:30:00",
             accessMode = Schema.AccessMode.READ_ONLY)
@@ -0,0 +1,30 @@
+package com.rentify.applicationService.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * Lease de una tarea programada: solo la instancia que lo tiene vigente ejecuta la tarea.
+ */
+@Entity
+@Table(name = "bloqueos_tareas")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BloqueoTarea {
+
+    @Id
+    @Column(length = 64)
+    private String nombre;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "bloqueado_hasta", nullable = false)
+    private Date bloqueadoHasta;
+
+    @Column(name = "bloqueado_por", length = 100)
+    private String bloqueadoPor;
+}
@@ -8,7 +8,10 @@ import lombok.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "registros_arriendo")
+@Table(name = "registros_arriendo", indexes = {
+        @Index(name = "idx_registros_solicitud_activo", columnList = "solicitud_id, activo"),
+        @Index(name = "idx_registros_activo_fecha_fin", columnList = "activo, fecha_fin")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -7,7 +7,11 @@ import lombok.*;
 import java.util.Date;
 
 @Entity
-@Table(name = "solicitudes")
+@Table(name = "solicitudes", indexes = {
+        @Index(name = "idx_solicitudes_usuario_estado", columnList = "usuario_id, estado"),
+        @Index(name = "idx_solicitudes_propiedad_usuario_estado", columnList = "propiedad_id, usuario_id, estado"),
+        @Index(name = "idx_solicitudes_estado_id", columnList = "estado, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -29,7 +33,10 @@ public class SolicitudArriendo {
 
     @NotNull(message = "El estado es obligatorio")
     @Column(nullable = false, length = 20)
-    private String estado; // PENDIENTE, ACEPTADA, RECHAZADA
+    private String estado; // RECIBIDA, PENDIENTE, ACEPTADA, RECHAZADA
+
+    @Column(name = "motivo_rechazo")
+    private String motivoRechazo; // Rechazo por la validación asíncrona o por aceptarse otra solicitud de la propiedad
 
     @NotNull(message = "La fecha de solicitud es obligatoria")
     @Temporal(TemporalType.TIMESTAMP)
@@ -0,0 +1,45 @@
+package com.rentify.applicationService.repository;
+
+import com.rentify.applicationService.model.BloqueoTarea;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+/**
+ * Repository para los leases de tareas programadas.
+ * Las operaciones son UPDATE condicionales: la base de datos decide qué instancia obtiene el lease.
+ */
+public interface BloqueoTareaRepository extends JpaRepository<BloqueoTarea, String> {
+
+    /**
+     * Toma el lease si está libre o vencido. Retorna 1 si se obtuvo.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BloqueoTarea b SET b.bloqueadoHasta = :hasta, b.bloqueadoPor = :instancia " +
+            "WHERE b.nombre = :nombre AND b.bloqueadoHasta <= :ahora")
+    int tomar(@Param("nombre") String nombre, @Param("instancia") String instancia,
+              @Param("ahora") Date ahora, @Param("hasta") Date hasta);
+
+    /**
+     * Extiende el lease si sigue siendo de la instancia. Retorna 1 si se extendió.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BloqueoTarea b SET b.bloqueadoHasta = :hasta " +
+            "WHERE b.nombre = :nombre AND b.bloqueadoPor = :instancia")
+    int extender(@Param("nombre") String nombre, @Param("instancia") String instancia, @Param("hasta") Date hasta);
+
+    /**
+     * Libera el lease si sigue siendo de la instancia.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE BloqueoTarea b SET b.bloqueadoHasta = :ahora, b.bloqueadoPor = null " +
+            "WHERE b.nombre = :nombre AND b.bloqueadoPor = :instancia")
+    int liberar(@Param("nombre") String nombre, @Param("instancia") String instancia, @Param("ahora") Date ahora);
+}
@@ -1,10 +1,53 @@
 package com.rentify.applicationService.repository;
 
 import com.rentify.applicationService.model.RegistroArriendo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
 public interface RegistroArriendoRepository extends JpaRepository<RegistroArriendo, Long> {
     List<RegistroArriendo> findBySolicitudId(Long solicitudId);
+
+    /**
+     * Verifica si la solicitud ya tiene un registro activo, sin cargar su historial
+     */
+    boolean existsBySolicitudIdAndActivoTrue(Long solicitudId);
+
+    /**
+     * Página de registros con ID mayor a desdeId, ordenados por ID (recorrido por keyset, sin OFFSET)
+     */
+    @Query("SELECT r FROM RegistroArriendo r WHERE r.id > :desdeId ORDER BY r.id")
+    List<RegistroArriendo> findPaginaDesde(@Param("desdeId") Long desdeId, Pageable pageable);
+
+    /**
+     * IDs de registros activos cuya fecha de fin es anterior a la fecha dada, desde desdeId (keyset)
+     */
+    @Query("SELECT r.id FROM RegistroArriendo r " +
+            "WHERE r.activo = true AND r.fechaFin < :fecha AND r.id > :desdeId ORDER BY r.id")
+    List<Long> findIdsVencidos(@Param("fecha") Date fecha, @Param("desdeId") Long desdeId, Pageable pageable);
+
+    /**
+     * Registros activos con la propiedad de su solicitud, desde desdeId (keyset).
+     * Cada fila es [registroId, propiedadId, fechaInicio, fechaFin].
+     */
+    @Query("SELECT r.id, s.propiedadId, r.fechaInicio, r.fechaFin FROM RegistroArriendo r " +
+            "JOIN SolicitudArriendo s ON s.id = r.solicitudId " +
+            "WHERE r.activo = true AND r.id > :desdeId ORDER BY r.id")
+    List<Object[]> findActivosConPropiedadDesde(@Param("desdeId") Long desdeId, Pageable pageable);
+
+    /**
+     * Marca como inactivos los registros dados que sigan activos, con un solo UPDATE.
+     * Retorna la cantidad de registros finalizados.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE RegistroArriendo r SET r.activo = false WHERE r.id IN :ids AND r.activo = true")
+    int finalizarActivos(@Param("ids") Collection<Long> ids);
 }
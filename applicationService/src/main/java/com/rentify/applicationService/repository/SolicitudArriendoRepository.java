@@ -1,11 +1,18 @@
 package com.rentify.applicationService.repository;
 
 import com.rentify.applicationService.model.SolicitudArriendo;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,6 +32,16 @@ public interface SolicitudArriendoRepository extends JpaRepository<SolicitudArri
      */
     List<SolicitudArriendo> findByPropiedadId(Long propiedadId);
 
+    /**
+     * Página de solicitudes de un usuario (usa el índice usuario_id, estado)
+     */
+    Page<SolicitudArriendo> findByUsuarioId(Long usuarioId, Pageable pageable);
+
+    /**
+     * Página de solicitudes de una propiedad (usa el índice propiedad_id, usuario_id, estado)
+     */
+    Page<SolicitudArriendo> findByPropiedadId(Long propiedadId, Pageable pageable);
+
     /**
      * Busca solicitudes por usuario y estado
      */
@@ -36,6 +53,20 @@ public interface SolicitudArriendoRepository extends JpaRepository<SolicitudArri
      */
     long countByUsuarioIdAndEstado(Long usuarioId, String estado);
 
+    /**
+     * Cuenta cuántas solicitudes tiene un usuario en cualquiera de los estados dados
+     */
+    long countByUsuarioIdAndEstadoIn(Long usuarioId, Collection<String> estados);
+
+    /**
+     * Cuenta las solicitudes en los estados dados para varios usuarios con una sola consulta.
+     * Cada fila es [usuarioId, cantidad]; los usuarios sin solicitudes no aparecen.
+     */
+    @Query("SELECT s.usuarioId, COUNT(s) FROM SolicitudArriendo s " +
+            "WHERE s.usuarioId IN :usuarioIds AND s.estado IN :estados GROUP BY s.usuarioId")
+    List<Object[]> countGroupedByUsuarioIdAndEstadoIn(@Param("usuarioIds") Collection<Long> usuarioIds,
+                                                      @Param("estados") Collection<String> estados);
+
     /**
      * Verifica si existe una solicitud con los parámetros dados
      * Útil para prevenir solicitudes duplicadas
@@ -46,6 +77,17 @@ public interface SolicitudArriendoRepository extends JpaRepository<SolicitudArri
             String estado
     );
 
+    /**
+     * Verifica si existe una solicitud del usuario para la propiedad en alguno de los estados dados
+     */
+    boolean existsByUsuarioIdAndPropiedadIdAndEstadoIn(Long usuarioId, Long propiedadId, Collection<String> estados);
+
+    /**
+     * IDs de las solicitudes más antiguas en un estado (recuperación de la recepción asíncrona)
+     */
+    @Query("SELECT s.id FROM SolicitudArriendo s WHERE s.estado = :estado ORDER BY s.id")
+    List<Long> findIdsByEstado(@Param("estado") String estado, Pageable pageable);
+
     /**
      * Busca solicitudes por estado
      */
@@ -56,4 +98,35 @@ public interface SolicitudArriendoRepository extends JpaRepository<SolicitudArri
      */
     @Query("SELECT s FROM SolicitudArriendo s WHERE s.usuarioId = :usuarioId AND s.estado = 'PENDIENTE'")
     List<SolicitudArriendo> findSolicitudesPendientesByUsuario(@Param("usuarioId") Long usuarioId);
-}
\ No newline at end of file
+
+    /**
+     * Carga y bloquea las solicitudes dadas hasta el fin de la transacción, para que su estado
+     * no cambie entre la lectura y el UPDATE por lote.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SolicitudArriendo s WHERE s.id IN :ids")
+    List<SolicitudArriendo> findAllByIdParaActualizar(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Carga y bloquea las solicitudes de las propiedades dadas en un estado, excepto las indicadas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM SolicitudArriendo s " +
+            "WHERE s.propiedadId IN :propiedadIds AND s.estado = :estado AND s.id NOT IN :excluidas")
+    List<SolicitudArriendo> findOtrasParaActualizar(@Param("propiedadIds") Collection<Long> propiedadIds,
+                                                    @Param("estado") String estado,
+                                                    @Param("excluidas") Collection<Long> excluidas);
+
+    /**
+     * Cambia el estado de las solicitudes dadas con un solo UPDATE; el motivo de rechazo solo se
+     * escribe si viene informado (con null se conserva el guardado).
+     * Retorna la cantidad de solicitudes actualizadas.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE SolicitudArriendo s SET s.estado = :estado, " +
+            "s.motivoRechazo = COALESCE(:motivo, s.motivoRechazo) WHERE s.id IN :ids")
+    int actualizarEstado(@Param("ids") Collection<Long> ids,
+                         @Param("estado") String estado,
+                         @Param("motivo") String motivoRechazo);
+}
@@ -0,0 +1,326 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.dto.RegistroArriendoDTO;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.exception.ResourceNotFoundException;
+import com.rentify.applicationService.model.RegistroArriendo;
+import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.rentify.applicationService.constants.ApplicationConstants.Mensajes;
+import static com.rentify.applicationService.constants.ApplicationConstants.Orden;
+
+/**
+ * Variante no bloqueante de las operaciones de solicitudes y registros (rentify.web.modo=reactivo).
+ *
+ * Las llamadas a User, Property y Document Service se componen como Monos sin bloquear ningún hilo.
+ * JPA sigue siendo bloqueante, así que cada acceso a la base de datos se ejecuta en un scheduler
+ * acotado (reactivo.jdbc.hilos, del tamaño del pool de conexiones) en vez de en el hilo del request.
+ * En ese scheduler solo corre trabajo de base de datos: las consultas remotas se encadenan después,
+ * para que una respuesta lenta no retenga hilos que corresponden a conexiones.
+ */
+@Service
+@ConditionalOnProperty(name = "rentify.web.modo", havingValue = "reactivo")
+@Slf4j
+public class ArriendoReactivoService {
+
+    private final SolicitudArriendoService solicitudService;
+    private final RegistroArriendoService registroService;
+    private final SolicitudArriendoRepository solicitudRepository;
+    private final RegistroArriendoRepository registroRepository;
+    private final CupoSolicitudesService cupoSolicitudes;
+    private final ModelMapper modelMapper;
+    private final Scheduler jdbc;
+
+    @Autowired
+    public ArriendoReactivoService(SolicitudArriendoService solicitudService,
+                                   RegistroArriendoService registroService,
+                                   SolicitudArriendoRepository solicitudRepository,
+                                   RegistroArriendoRepository registroRepository,
+                                   CupoSolicitudesService cupoSolicitudes,
+                                   ModelMapper modelMapper,
+                                   @Value("${reactivo.jdbc.hilos:10}") int hilos,
+                                   @Value("${reactivo.jdbc.cola:10000}") int cola) {
+        this(solicitudService, registroService, solicitudRepository, registroRepository, cupoSolicitudes,
+                modelMapper, Schedulers.newBoundedElastic(hilos, cola, "jdbc"));
+    }
+
+    ArriendoReactivoService(SolicitudArriendoService solicitudService,
+                            RegistroArriendoService registroService,
+                            SolicitudArriendoRepository solicitudRepository,
+                            RegistroArriendoRepository registroRepository,
+                            CupoSolicitudesService cupoSolicitudes,
+                            ModelMapper modelMapper,
+                            Scheduler jdbc) {
+        this.solicitudService = solicitudService;
+        this.registroService = registroService;
+        this.solicitudRepository = solicitudRepository;
+        this.registroRepository = registroRepository;
+        this.cupoSolicitudes = cupoSolicitudes;
+        this.modelMapper = modelMapper;
+        this.jdbc = jdbc;
+    }
+
+    @PreDestroy
+    void cerrar() {
+        jdbc.dispose();
+    }
+
+    /**
+     * Ejecuta una operación bloqueante (JPA) en el scheduler de base de datos.
+     */
+    public <T> Mono<T> enJdbc(Callable<T> operacion) {
+        return Mono.fromCallable(operacion).subscribeOn(jdbc);
+    }
+
+    /**
+     * Paso que arma consultas remotas a partir del resultado de {@link #enJdbc}. Corre en el hilo que
+     * emitió ese resultado, así que se le devuelven los atributos del request en curso: sin ellos no
+     * habría memoización por request ({@code RemoteLookupContext}).
+     */
+    private <T, R> Function<T, Mono<R>> conRequest(Function<T, Mono<R>> paso) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        return valor -> {
+            RequestAttributes previos = RequestContextHolder.getRequestAttributes();
+            RequestContextHolder.setRequestAttributes(request);
+            try {
+                return paso.apply(valor);
+            } finally {
+                RequestContextHolder.setRequestAttributes(previos);
+            }
+        };
+    }
+
+    /**
+     * Crea una solicitud con las mismas validaciones que {@link SolicitudArriendoService#crearSolicitud}:
+     * las remotas parten de inmediato y corren en paralelo con las locales, y el cupo reservado se
+     * cierra al terminar (también si la petición se cancela, junto con las validaciones remotas).
+     */
+    public Mono<SolicitudArriendoDTO> crearSolicitud(SolicitudArriendoDTO solicitudDTO) {
+        return Mono.defer(() -> {
+            log.info("Creando nueva solicitud (reactiva) para usuario {} y propiedad {}",
+                    solicitudDTO.getUsuarioId(), solicitudDTO.getPropiedadId());
+            CompletableFuture<Void> validacionesRemotas = solicitudService.validarRemotamente(solicitudDTO).toFuture();
+            Reserva reserva = new Reserva(solicitudDTO.getUsuarioId());
+
+            return enJdbc(() -> {
+                solicitudService.validarLocalmente(solicitudDTO);
+                reserva.tomada();
+                return Boolean.TRUE;
+            })
+                    .flatMap(reservado -> Mono.fromFuture(validacionesRemotas)
+                            .then(enJdbc(() -> guardar(solicitudDTO, reserva))))
+                    .doFinally(senal -> {
+                        validacionesRemotas.cancel(true);
+                        reserva.terminar();
+                    })
+                    .doOnNext(saved -> log.info("Solicitud creada exitosamente con ID: {}", saved.getId()))
+                    .flatMap(conRequest(solicitudService::conDetalles));
+        });
+    }
+
+    /**
+     * Guarda la solicitud, salvo que la petición ya se haya cancelado (retorna null).
+     */
+    private SolicitudArriendo guardar(SolicitudArriendoDTO solicitudDTO, Reserva reserva) {
+        if (!reserva.empezarGuardado()) {
+            return null;
+        }
+        boolean guardada = false;
+        try {
+            SolicitudArriendo saved = solicitudRepository.save(solicitudService.nuevaSolicitud(solicitudDTO));
+            guardada = true;
+            return saved;
+        } finally {
+            reserva.terminarGuardado(guardada);
+        }
+    }
+
+    /**
+     * Reserva de cupo de una creación reactiva. El cupo se toma y la solicitud se guarda en el
+     * scheduler de base de datos, pero la cancelación llega por otro hilo: la reserva se cierra una
+     * sola vez, cuando la petición terminó y no queda un paso de base de datos en curso que la use.
+     */
+    private final class Reserva {
+
+        private final Long usuarioId;
+        private final AtomicBoolean tomada = new AtomicBoolean();
+        private final AtomicBoolean guardando = new AtomicBoolean();
+        private final AtomicBoolean guardada = new AtomicBoolean();
+        private final AtomicBoolean terminada = new AtomicBoolean();
+        private final AtomicBoolean cerrada = new AtomicBoolean();
+
+        private Reserva(Long usuarioId) {
+            this.usuarioId = usuarioId;
+        }
+
+        void tomada() {
+            tomada.set(true);
+            cerrarSiTermino();
+        }
+
+        /**
+         * @return false si la petición ya terminó y no se debe guardar
+         */
+        boolean empezarGuardado() {
+            guardando.set(true);
+            if (terminada.get()) {
+                guardando.set(false);
+                cerrarSiTermino();
+                return false;
+            }
+            return true;
+        }
+
+        void terminarGuardado(boolean ok) {
+            guardada.set(ok);
+            guardando.set(false);
+            cerrarSiTermino();
+        }
+
+        void terminar() {
+            terminada.set(true);
+            cerrarSiTermino();
+        }
+
+        private void cerrarSiTermino() {
+            if (terminada.get() && tomada.get() && !guardando.get() && cerrada.compareAndSet(false, true)) {
+                cupoSolicitudes.finalizarReserva(usuarioId, guardada.get());
+            }
+        }
+    }
+
+    /**
+     * Obtiene una solicitud por su ID; los detalles se consultan sin bloquear
+     */
+    public Mono<SolicitudArriendoDTO> obtenerSolicitud(Long id, boolean includeDetails) {
+        return enJdbc(() -> solicitudRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format(Mensajes.SOLICITUD_NO_ENCONTRADA, id))))
+                .flatMap(conRequest(solicitud -> includeDetails
+                        ? solicitudService.conDetalles(solicitud)
+                        : Mono.just(modelMapper.map(solicitud, SolicitudArriendoDTO.class))));
+    }
+
+    /**
+     * Lista una página de solicitudes; con includeDetails, usuarios y propiedades se consultan por
+     * lote y sin bloquear, una vez leída la página
+     */
+    public Mono<Page<SolicitudArriendoDTO>> listarSolicitudes(boolean includeDetails, Pageable pageable) {
+        return enJdbc(() -> solicitudRepository.findAll(Paginas.validarOrden(pageable, Orden.CAMPOS_SOLICITUDES)))
+                .flatMap(conRequest(pagina -> includeDetails
+                        ? solicitudService.conDetalles(pagina.getContent()).map(dtos -> conContenido(dtos, pagina))
+                        : Mono.just(pagina.map(s -> modelMapper.map(s, SolicitudArriendoDTO.class)))));
+    }
+
+    /**
+     * Actualiza el estado de una solicitud; los detalles se consultan sin bloquear
+     */
+    public Mono<SolicitudArriendoDTO> actualizarEstado(Long id, String estado) {
+        return enJdbc(() -> solicitudService.cambiarEstado(id, estado))
+                .flatMap(conRequest(solicitudService::conDetalles));
+    }
+
+    /**
+     * Crea un registro con las validaciones de {@link RegistroArriendoService#crearRegistro}
+     */
+    public Mono<RegistroArriendoDTO> crearRegistro(RegistroArriendoDTO registroDTO) {
+        return enJdbc(() -> registroService.guardarRegistro(registroDTO))
+                .flatMap(conRequest(this::registroConDetalles));
+    }
+
+    /**
+     * Obtiene un registro por su ID; la solicitud y sus detalles se consultan sin bloquear
+     */
+    public Mono<RegistroArriendoDTO> obtenerRegistro(Long id, boolean includeDetails) {
+        return enJdbc(() -> registroRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format(Mensajes.REGISTRO_NO_ENCONTRADO, id))))
+                .flatMap(conRequest(registro -> includeDetails
+                        ? registroConDetalles(registro)
+                        : Mono.just(modelMapper.map(registro, RegistroArriendoDTO.class))));
+    }
+
+    /**
+     * Lista una página de registros; con includeDetails, las solicitudes se leen en una sola consulta
+     * y sus detalles remotos se consultan por lote y sin bloquear
+     */
+    public Mono<Page<RegistroArriendoDTO>> listarRegistros(boolean includeDetails, Pageable pageable) {
+        return enJdbc(() -> registroRepository.findAll(Paginas.validarOrden(pageable, Orden.CAMPOS_REGISTROS)))
+                .flatMap(conRequest(pagina -> includeDetails
+                        ? registrosConDetalles(pagina)
+                        : Mono.just(pagina.map(r -> modelMapper.map(r, RegistroArriendoDTO.class)))));
+    }
+
+    /**
+     * Finaliza un registro; la solicitud y sus detalles se consultan sin bloquear
+     */
+    public Mono<RegistroArriendoDTO> finalizarRegistro(Long id) {
+        return enJdbc(() -> registroService.finalizar(id))
+                .flatMap(conRequest(this::registroConDetalles));
+    }
+
+    private Mono<Page<RegistroArriendoDTO>> registrosConDetalles(Page<RegistroArriendo> pagina) {
+        Set<Long> solicitudIds = pagina.getContent().stream()
+                .map(RegistroArriendo::getSolicitudId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return enJdbc(() -> solicitudRepository.findAllById(solicitudIds))
+                .flatMap(conRequest(solicitudService::conDetalles))
+                .map(solicitudes -> {
+                    Map<Long, SolicitudArriendoDTO> porId = solicitudes.stream()
+                            .collect(Collectors.toMap(SolicitudArriendoDTO::getId, s -> s, (a, b) -> a));
+                    List<RegistroArriendoDTO> dtos = pagina.getContent().stream()
+                            .map(r -> {
+                                RegistroArriendoDTO dto = modelMapper.map(r, RegistroArriendoDTO.class);
+                                dto.setSolicitud(porId.get(r.getSolicitudId()));
+                                return dto;
+                            })
+                            .toList();
+                    return conContenido(dtos, pagina);
+                });
+    }
+
+    private static <T> Page<T> conContenido(List<T> contenido, Page<?> pagina) {
+        return new PageImpl<>(contenido, pagina.getPageable(), pagina.getTotalElements());
+    }
+
+    private Mono<RegistroArriendoDTO> registroConDetalles(RegistroArriendo registro) {
+        RegistroArriendoDTO dto = modelMapper.map(registro, RegistroArriendoDTO.class);
+        return enJdbc(() -> solicitudRepository.findById(registro.getSolicitudId()))
+                .flatMap(conRequest(solicitud -> solicitud.map(solicitudService::conDetalles).orElseGet(Mono::empty)))
+                .doOnNext(dto::setSolicitud)
+                .onErrorResume(e -> {
+                    log.warn("No se pudo obtener información de la solicitud {}: {}",
+                            registro.getSolicitudId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .thenReturn(dto);
+    }
+}
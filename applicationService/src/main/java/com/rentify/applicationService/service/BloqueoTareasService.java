@@ -0,0 +1,70 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.model.BloqueoTarea;
+import com.rentify.applicationService.repository.BloqueoTareaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Leases de tareas programadas guardados en la tabla bloqueos_tareas, para que una tarea
+ * se ejecute en una sola instancia a la vez aunque el servicio esté replicado.
+ *
+ * Un lease vence solo: si la instancia que lo tiene se cae, otra lo puede tomar al vencer.
+ * Las tareas largas lo extienden entre lotes y se detienen si lo perdieron.
+ */
+@Service
+@Slf4j
+public class BloqueoTareasService {
+
+    private final BloqueoTareaRepository repository;
+    private final String instancia;
+
+    public BloqueoTareasService(BloqueoTareaRepository repository) {
+        this.repository = repository;
+        this.instancia = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * Toma el lease de la tarea por la duración dada.
+     *
+     * @return false si otra instancia lo tiene vigente
+     */
+    public boolean tomar(String tarea, Duration duracion) {
+        if (!repository.existsById(tarea)) {
+            try {
+                repository.saveAndFlush(new BloqueoTarea(tarea, new Date(0), null));
+            } catch (DataIntegrityViolationException e) {
+                // Otra instancia creó la fila al mismo tiempo
+                log.debug("Fila de bloqueo {} creada por otra instancia", tarea);
+            }
+        }
+        long ahora = System.currentTimeMillis();
+        boolean tomado = repository.tomar(tarea, instancia, new Date(ahora), new Date(ahora + duracion.toMillis())) == 1;
+        if (!tomado) {
+            log.debug("La tarea {} está bloqueada por otra instancia", tarea);
+        }
+        return tomado;
+    }
+
+    /**
+     * Extiende el lease de la tarea.
+     *
+     * @return false si la instancia ya no lo tiene
+     */
+    public boolean extender(String tarea, Duration duracion) {
+        return repository.extender(tarea, instancia, new Date(System.currentTimeMillis() + duracion.toMillis())) == 1;
+    }
+
+    /**
+     * Libera el lease de la tarea si la instancia lo tiene.
+     */
+    public void liberar(String tarea) {
+        repository.liberar(tarea, instancia, new Date());
+    }
+}
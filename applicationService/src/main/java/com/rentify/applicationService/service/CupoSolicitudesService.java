@@ -0,0 +1,261 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.rentify.applicationService.constants.ApplicationConstants.*;
+
+/**
+ * Control de admisión del límite de solicitudes activas ({@link EstadoSolicitud#ACTIVOS}) por usuario
+ * ({@link Limites#MAX_SOLICITUDES_ACTIVAS}).
+ *
+ * Cada usuario tiene un contador en memoria que se inicializa con un COUNT la primera vez
+ * y luego admite o rechaza en O(1) con compare-and-set, por lo que dos solicitudes
+ * simultáneas del mismo usuario nunca superan el límite.
+ *
+ * Ciclo de una reserva: {@link #reservar} → {@link #confirmar} si la solicitud se guardó,
+ * o {@link #cancelar} si se rechazó o la transacción no se confirmó. Los cambios de estado
+ * posteriores se informan con {@link #salioDePendiente} y {@link #volvioAPendiente}.
+ *
+ * Periódicamente los contadores se reconcilian con la base de datos (cambios hechos
+ * por otras instancias o directamente en la tabla) y se descartan los que quedaron en cero.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CupoSolicitudesService {
+
+    /**
+     * Contador de un usuario. Las reservas en curso aún no están en la base de datos,
+     * por lo que la reconciliación solo se aplica cuando no hay ninguna.
+     */
+    private static final class Cupo {
+        /**
+         * Valor de un contador descartado por la reconciliación: quien lo encuentre carga uno nuevo.
+         */
+        private static final int DESCARTADO = -1;
+
+        private final AtomicInteger pendientes;
+        private final AtomicInteger enCurso = new AtomicInteger();
+        private final AtomicLong cambios = new AtomicLong();
+
+        private Cupo(int pendientes) {
+            this.pendientes = new AtomicInteger(pendientes);
+        }
+    }
+
+    private final SolicitudArriendoRepository repository;
+    private final Map<Long, Cupo> cupos = new ConcurrentHashMap<>();
+
+    /**
+     * Reserva un cupo de solicitud pendiente para el usuario.
+     *
+     * @return false si el usuario ya alcanzó el límite
+     */
+    public boolean reservar(Long usuarioId) {
+        while (true) {
+            Cupo cupo = cupo(usuarioId);
+            int actuales = cupo.pendientes.get();
+            if (actuales == Cupo.DESCARTADO) {
+                cupos.remove(usuarioId, cupo);
+                continue;
+            }
+            if (actuales >= Limites.MAX_SOLICITUDES_ACTIVAS) {
+                return false;
+            }
+            if (cupo.pendientes.compareAndSet(actuales, actuales + 1)) {
+                cupo.enCurso.incrementAndGet();
+                cupo.cambios.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * La solicitud reservada quedó guardada en un estado activo.
+     */
+    public void confirmar(Long usuarioId) {
+        Cupo cupo = cupos.get(usuarioId);
+        if (cupo != null) {
+            cupo.cambios.incrementAndGet();
+            cupo.enCurso.decrementAndGet();
+        }
+    }
+
+    /**
+     * La reserva no se usó: la solicitud fue rechazada o no se guardó.
+     */
+    public void cancelar(Long usuarioId) {
+        Cupo cupo = cupos.get(usuarioId);
+        if (cupo != null) {
+            cupo.cambios.incrementAndGet();
+            decrementar(cupo.pendientes);
+            cupo.enCurso.decrementAndGet();
+        }
+    }
+
+    /**
+     * Una solicitud del usuario dejó de estar activa.
+     */
+    public void salioDePendiente(Long usuarioId) {
+        Cupo cupo = cupos.get(usuarioId);
+        if (cupo != null) {
+            cupo.cambios.incrementAndGet();
+            decrementar(cupo.pendientes);
+        }
+    }
+
+    /**
+     * Una solicitud del usuario volvió a un estado activo (no se valida el límite).
+     */
+    public void volvioAPendiente(Long usuarioId) {
+        Cupo cupo = cupos.get(usuarioId);
+        if (cupo != null) {
+            cupo.cambios.incrementAndGet();
+            cupo.pendientes.getAndUpdate(valor -> valor == Cupo.DESCARTADO ? valor : valor + 1);
+        }
+    }
+
+    /**
+     * Cierra una reserva: si la solicitud se guardó, se confirma cuando la transacción hace commit
+     * (o se cancela si hace rollback); si no se guardó, se cancela de inmediato.
+     */
+    public void finalizarReserva(Long usuarioId, boolean guardada) {
+        if (!guardada) {
+            cancelar(usuarioId);
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        confirmar(usuarioId);
+                    } else {
+                        cancelar(usuarioId);
+                    }
+                }
+            });
+        } else {
+            confirmar(usuarioId);
+        }
+    }
+
+    /**
+     * Informa un cambio de estado de una solicitud del usuario; se aplica después del commit.
+     */
+    public void cambioDeEstado(Long usuarioId, String anterior, String nuevo) {
+        boolean eraActiva = EstadoSolicitud.ACTIVOS.contains(anterior);
+        boolean esActiva = EstadoSolicitud.ACTIVOS.contains(nuevo);
+        if (eraActiva == esActiva) {
+            return;
+        }
+        Runnable cambio = eraActiva ? () -> salioDePendiente(usuarioId) : () -> volvioAPendiente(usuarioId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+
+    /**
+     * Solicitudes activas registradas para el usuario (incluye reservas en curso).
+     */
+    public int pendientes(Long usuarioId) {
+        return cupo(usuarioId).pendientes.get();
+    }
+
+    /**
+     * El COUNT de un usuario nuevo corre fuera del mapa (computeIfAbsent retendría el lock del bin,
+     * y con él a otros usuarios, durante toda la consulta). Si dos hilos lo cargan a la vez, el que
+     * pierde usa el contador del que ganó.
+     */
+    private Cupo cupo(Long usuarioId) {
+        Cupo cupo = cupos.get(usuarioId);
+        if (cupo != null) {
+            return cupo;
+        }
+        Cupo nuevo = new Cupo((int) repository.countByUsuarioIdAndEstadoIn(usuarioId, EstadoSolicitud.ACTIVOS));
+        Cupo existente = cupos.putIfAbsent(usuarioId, nuevo);
+        return existente != null ? existente : nuevo;
+    }
+
+    /**
+     * Los cambios sobre un contador descartado se ignoran: el nuevo se carga desde la base de datos,
+     * que ya los incluye porque se informan después del commit.
+     */
+    private static void decrementar(AtomicInteger contador) {
+        contador.getAndUpdate(valor -> valor > 0 ? valor - 1 : valor);
+    }
+
+    /**
+     * Ajusta los contadores al COUNT de la base de datos con una sola consulta agrupada.
+     * Un contador solo se reemplaza si no cambió mientras se consultaba; los que quedan
+     * en cero sin reservas en curso se descartan y se vuelven a cargar al usarse.
+     */
+    @Scheduled(fixedDelayString = "${cupos.reconciliacion.intervalo-ms:300000}",
+            initialDelayString = "${cupos.reconciliacion.intervalo-ms:300000}")
+    public void reconciliar() {
+        Map<Long, Long> versiones = new HashMap<>();
+        cupos.forEach((usuarioId, cupo) -> {
+            if (cupo.enCurso.get() == 0) {
+                versiones.put(usuarioId, cupo.cambios.get());
+            }
+        });
+        if (versiones.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Integer> enBaseDeDatos = new HashMap<>();
+        for (Object[] fila : repository.countGroupedByUsuarioIdAndEstadoIn(
+                new ArrayList<>(versiones.keySet()), EstadoSolicitud.ACTIVOS)) {
+            enBaseDeDatos.put((Long) fila[0], ((Number) fila[1]).intValue());
+        }
+
+        List<Long> ajustados = new ArrayList<>();
+        versiones.forEach((usuarioId, version) -> {
+            Cupo cupo = cupos.get(usuarioId);
+            if (cupo == null || cupo.enCurso.get() != 0 || cupo.cambios.get() != version) {
+                return;
+            }
+            int actuales = cupo.pendientes.get();
+            if (actuales == Cupo.DESCARTADO) {
+                return;
+            }
+            int reales = enBaseDeDatos.getOrDefault(usuarioId, 0);
+            if (reales == 0) {
+                // Se descarta con un CAS: una reserva concurrente o lo impide o ve el contador descartado
+                if (cupo.pendientes.compareAndSet(actuales, Cupo.DESCARTADO)) {
+                    cupos.remove(usuarioId, cupo);
+                    if (actuales != 0) {
+                        ajustados.add(usuarioId);
+                    }
+                }
+            } else if (actuales != reales && cupo.pendientes.compareAndSet(actuales, reales)) {
+                ajustados.add(usuarioId);
+            }
+        });
+
+        if (!ajustados.isEmpty()) {
+            log.warn("Contadores de solicitudes pendientes ajustados a la base de datos para usuarios {}", ajustados);
+        }
+        log.debug("Cupos reconciliados: {} usuarios revisados, {} en memoria", versiones.size(), cupos.size());
+    }
+}
@@ -0,0 +1,314 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.dto.EstadisticaMensualDTO;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.model.RegistroArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Agregados mensuales de ingresos y ocupación sobre registros_arriendo.
+ *
+ * Cada registro aporta su monto mensual a todos los meses entre su fecha de inicio y su fecha de fin
+ * (o indefinidamente si no tiene). En vez de guardar cada mes, se guardan deltas por mes: +monto al
+ * comenzar y -monto el mes siguiente al de término, de modo que crear o finalizar un registro toca a
+ * lo más tres buckets. Las series se obtienen de las sumas acumuladas de esos deltas, que se recalculan
+ * solo cuando hubo cambios; cada mes de la respuesta se resuelve en tiempo constante sin consultar la tabla.
+ *
+ * Los cambios se aplican después del commit. Cada estadisticas.reconstruccion.intervalo-ms los agregados
+ * se reconstruyen desde la base de datos (recorrido por id en páginas) para corregir cambios hechos
+ * por otras instancias o directamente en la tabla.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EstadisticasArriendoService {
+
+    private static final int TAMANO_PAGINA = 1000;
+    private static final int MAX_MESES_SERIE = 120;
+    private static final int MESES_POR_DEFECTO = 12;
+
+    /**
+     * Aporte de un registro a los agregados. fin es null si el registro no tiene fecha de término.
+     */
+    private record Aporte(Long registroId, YearMonth inicio, YearMonth fin, double monto, long dias) {
+
+        static Aporte de(Long registroId, Date fechaInicio, Date fechaFin, Double montoMensual) {
+            if (fechaInicio == null || montoMensual == null) {
+                return null;
+            }
+            LocalDate inicio = aFecha(fechaInicio);
+            LocalDate fin = fechaFin != null ? aFecha(fechaFin) : null;
+            if (fin != null && fin.isBefore(inicio)) {
+                // Finalizado antes de comenzar: se considera vigente solo en su mes de inicio
+                fin = inicio;
+            }
+            return new Aporte(registroId, YearMonth.from(inicio), fin != null ? YearMonth.from(fin) : null,
+                    montoMensual, fin != null ? ChronoUnit.DAYS.between(inicio, fin) : 0);
+        }
+    }
+
+    /**
+     * Deltas de un mes. Los ingresos y activos del mes son la suma acumulada de los deltas hasta él.
+     */
+    private static final class Bucket {
+        private double deltaIngresos;
+        private long deltaActivos;
+        private long iniciados;
+        private long finalizados;
+        private long diasFinalizados;
+
+        private boolean vacio() {
+            return Math.abs(deltaIngresos) < 0.005 && deltaActivos == 0 && iniciados == 0 && finalizados == 0;
+        }
+    }
+
+    /**
+     * Totales acumulados hasta un mes (inclusive).
+     */
+    private record Acumulado(double ingresos, long activos) {
+    }
+
+    /**
+     * Cambio recibido mientras se reconstruye; visitado indica si la reconstrucción ya había leído el registro.
+     */
+    private record Cambio(Aporte antes, Aporte despues, boolean visitado) {
+    }
+
+    private final RegistroArriendoRepository repository;
+
+    private NavigableMap<YearMonth, Bucket> buckets = new TreeMap<>();
+    private NavigableMap<YearMonth, Acumulado> acumulados;
+    private boolean construido;
+
+    private List<Cambio> cambiosDuranteReconstruccion;
+    private long cursorReconstruccion;
+
+    // ==================== Actualización incremental ====================
+
+    /**
+     * Suma el aporte de un registro recién creado.
+     */
+    public void registroCreado(RegistroArriendo registro) {
+        Aporte aporte = Aporte.de(registro.getId(), registro.getFechaInicio(), registro.getFechaFin(),
+                registro.getMontoMensual());
+        despuesDelCommit(() -> aplicarCambio(null, aporte));
+    }
+
+    /**
+     * Reemplaza el aporte de un registro al que se le asignó una nueva fecha de fin.
+     */
+    public void registroFinalizado(RegistroArriendo registro, Date fechaFinAnterior) {
+        Aporte antes = Aporte.de(registro.getId(), registro.getFechaInicio(), fechaFinAnterior,
+                registro.getMontoMensual());
+        Aporte despues = Aporte.de(registro.getId(), registro.getFechaInicio(), registro.getFechaFin(),
+                registro.getMontoMensual());
+        despuesDelCommit(() -> aplicarCambio(antes, despues));
+    }
+
+    private static void despuesDelCommit(Runnable cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cambio.run();
+                }
+            });
+        } else {
+            cambio.run();
+        }
+    }
+
+    private synchronized void aplicarCambio(Aporte antes, Aporte despues) {
+        aplicar(buckets, antes, -1);
+        aplicar(buckets, despues, 1);
+        acumulados = null;
+        if (cambiosDuranteReconstruccion != null) {
+            Long id = despues != null ? despues.registroId() : antes.registroId();
+            cambiosDuranteReconstruccion.add(new Cambio(antes, despues, id != null && id <= cursorReconstruccion));
+        }
+    }
+
+    private static void aplicar(NavigableMap<YearMonth, Bucket> destino, Aporte aporte, int signo) {
+        if (aporte == null) {
+            return;
+        }
+        Bucket inicio = destino.computeIfAbsent(aporte.inicio(), mes -> new Bucket());
+        inicio.deltaIngresos += signo * aporte.monto();
+        inicio.deltaActivos += signo;
+        inicio.iniciados += signo;
+
+        if (aporte.fin() != null) {
+            Bucket fin = destino.computeIfAbsent(aporte.fin(), mes -> new Bucket());
+            fin.finalizados += signo;
+            fin.diasFinalizados += signo * aporte.dias();
+
+            Bucket siguiente = destino.computeIfAbsent(aporte.fin().plusMonths(1), mes -> new Bucket());
+            siguiente.deltaIngresos -= signo * aporte.monto();
+            siguiente.deltaActivos -= signo;
+            if (siguiente.vacio()) {
+                destino.remove(aporte.fin().plusMonths(1));
+            }
+            if (fin.vacio()) {
+                destino.remove(aporte.fin());
+            }
+        }
+        if (inicio.vacio()) {
+            destino.remove(aporte.inicio());
+        }
+    }
+
+    // ==================== Consulta ====================
+
+    /**
+     * Serie mensual entre desde y hasta (yyyy-MM, ambos inclusive). Por defecto, los últimos 12 meses.
+     */
+    public List<EstadisticaMensualDTO> serieMensual(String desde, String hasta) {
+        YearMonth mesHasta = hasta != null ? parsearMes(hasta) : YearMonth.now();
+        YearMonth mesDesde = desde != null ? parsearMes(desde) : mesHasta.minusMonths(MESES_POR_DEFECTO - 1);
+        if (mesDesde.isAfter(mesHasta)) {
+            throw new BusinessValidationException("El mes de inicio no puede ser posterior al mes de fin");
+        }
+        if (ChronoUnit.MONTHS.between(mesDesde, mesHasta) >= MAX_MESES_SERIE) {
+            throw new BusinessValidationException(
+                    String.format("La serie no puede superar %d meses", MAX_MESES_SERIE));
+        }
+
+        if (!estaConstruido()) {
+            reconstruir();
+        }
+        return serie(mesDesde, mesHasta);
+    }
+
+    private synchronized boolean estaConstruido() {
+        return construido;
+    }
+
+    private synchronized List<EstadisticaMensualDTO> serie(YearMonth desde, YearMonth hasta) {
+        if (acumulados == null) {
+            acumulados = new TreeMap<>();
+            double ingresos = 0;
+            long activos = 0;
+            for (Map.Entry<YearMonth, Bucket> entrada : buckets.entrySet()) {
+                ingresos += entrada.getValue().deltaIngresos;
+                activos += entrada.getValue().deltaActivos;
+                acumulados.put(entrada.getKey(), new Acumulado(ingresos, activos));
+            }
+        }
+
+        List<EstadisticaMensualDTO> serie = new ArrayList<>();
+        for (YearMonth mes = desde; !mes.isAfter(hasta); mes = mes.plusMonths(1)) {
+            Map.Entry<YearMonth, Acumulado> acumulado = acumulados.floorEntry(mes);
+            Bucket bucket = buckets.get(mes);
+            long finalizados = bucket != null ? bucket.finalizados : 0;
+            serie.add(EstadisticaMensualDTO.builder()
+                    .mes(mes.toString())
+                    .ingresos(acumulado != null ? Math.round(acumulado.getValue().ingresos() * 100) / 100.0 : 0.0)
+                    .registrosActivos(acumulado != null ? acumulado.getValue().activos() : 0L)
+                    .registrosIniciados(bucket != null ? bucket.iniciados : 0L)
+                    .registrosFinalizados(finalizados)
+                    .duracionPromedioDias(finalizados > 0 ? (double) bucket.diasFinalizados / finalizados : null)
+                    .build());
+        }
+        return serie;
+    }
+
+    private static YearMonth parsearMes(String mes) {
+        try {
+            return YearMonth.parse(mes);
+        } catch (DateTimeParseException e) {
+            throw new BusinessValidationException(String.format("Mes inválido: %s (formato yyyy-MM)", mes));
+        }
+    }
+
+    // ==================== Reconstrucción ====================
+
+    /**
+     * Recalcula los agregados desde registros_arriendo sin bloquear las actualizaciones incrementales.
+     * Los cambios recibidos durante el recorrido se vuelven a aplicar sobre el resultado si el recorrido
+     * no los vio: registros ya leídos cuando ocurrió el cambio o creados después del último leído.
+     */
+    @Scheduled(fixedDelayString = "${estadisticas.reconstruccion.intervalo-ms:3600000}",
+            initialDelayString = "${estadisticas.reconstruccion.retardo-inicial-ms:10000}")
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        synchronized (this) {
+            if (cambiosDuranteReconstruccion != null) {
+                return;
+            }
+            cambiosDuranteReconstruccion = new ArrayList<>();
+            cursorReconstruccion = 0;
+        }
+
+        NavigableMap<YearMonth, Bucket> nuevos = new TreeMap<>();
+        long ultimoId = 0;
+        int registros = 0;
+        try {
+            List<RegistroArriendo> pagina;
+            do {
+                pagina = repository.findPaginaDesde(ultimoId, PageRequest.of(0, TAMANO_PAGINA));
+                for (RegistroArriendo registro : pagina) {
+                    aplicar(nuevos, Aporte.de(registro.getId(), registro.getFechaInicio(),
+                            registro.getFechaFin(), registro.getMontoMensual()), 1);
+                }
+                if (!pagina.isEmpty()) {
+                    ultimoId = pagina.get(pagina.size() - 1).getId();
+                    registros += pagina.size();
+                    synchronized (this) {
+                        cursorReconstruccion = ultimoId;
+                    }
+                }
+            } while (pagina.size() == TAMANO_PAGINA);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                cambiosDuranteReconstruccion = null;
+            }
+            log.error("No se pudieron reconstruir las estadísticas de arriendo: {}", e.getMessage());
+            throw e;
+        }
+
+        synchronized (this) {
+            for (Cambio cambio : cambiosDuranteReconstruccion) {
+                Long id = cambio.despues() != null ? cambio.despues().registroId() : cambio.antes().registroId();
+                if (cambio.visitado() || id == null || id > ultimoId) {
+                    aplicar(nuevos, cambio.antes(), -1);
+                    aplicar(nuevos, cambio.despues(), 1);
+                }
+            }
+            buckets = nuevos;
+            acumulados = null;
+            construido = true;
+            cambiosDuranteReconstruccion = null;
+        }
+        log.info("Estadísticas de arriendo reconstruidas: {} registros, {} meses en {} ms",
+                registros, nuevos.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Convierte una fecha de JPA (java.sql.Date no admite toInstant) a LocalDate.
+     */
+    private static LocalDate aFecha(Date fecha) {
+        if (fecha instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return fecha.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
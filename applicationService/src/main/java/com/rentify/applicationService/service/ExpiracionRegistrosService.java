@@ -0,0 +1,118 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Finaliza los registros activos cuya fecha de fin ya pasó.
+ *
+ * - Recorre los vencidos por id en lotes de registros.expiracion.tamano-lote (keyset, sin OFFSET)
+ *   y finaliza cada lote con un solo UPDATE, sin cargar ni guardar entidades.
+ * - El UPDATE solo afecta registros que siguen activos, por lo que repetir la tarea no tiene efecto.
+ * - Solo se ejecuta en la instancia que obtiene el lease "expiracion-registros"
+ *   ({@link BloqueoTareasService}), que se extiende entre lotes.
+ *
+ * Métricas: rentify.registros.expirados y rentify.registros.expiracion.duracion.
+ */
+@Service
+@Slf4j
+public class ExpiracionRegistrosService {
+
+    static final String TAREA = "expiracion-registros";
+
+    private final RegistroArriendoRepository repository;
+    private final BloqueoTareasService bloqueos;
+    private final int tamanoLote;
+    private final Duration duracionBloqueo;
+
+    private final Counter expirados;
+    private final Timer duracion;
+
+    @Autowired
+    public ExpiracionRegistrosService(RegistroArriendoRepository repository,
+                                      BloqueoTareasService bloqueos,
+                                      @Value("${registros.expiracion.tamano-lote:500}") int tamanoLote,
+                                      @Value("${registros.expiracion.bloqueo-ms:600000}") long bloqueoMs,
+                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        this(repository, bloqueos, tamanoLote, Duration.ofMillis(bloqueoMs),
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    ExpiracionRegistrosService(RegistroArriendoRepository repository, BloqueoTareasService bloqueos,
+                               int tamanoLote, Duration duracionBloqueo, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.bloqueos = bloqueos;
+        this.tamanoLote = tamanoLote;
+        this.duracionBloqueo = duracionBloqueo;
+        this.expirados = Counter.builder("rentify.registros.expirados")
+                .description("Registros finalizados automáticamente por fecha de fin vencida")
+                .register(meterRegistry);
+        this.duracion = Timer.builder("rentify.registros.expiracion.duracion")
+                .description("Duración de cada ejecución de la expiración de registros")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finaliza los registros vencidos (fecha de fin anterior a hoy).
+     *
+     * @return cantidad de registros finalizados; 0 si otra instancia tiene el lease
+     */
+    @Scheduled(fixedDelayString = "${registros.expiracion.intervalo-ms:3600000}",
+            initialDelayString = "${registros.expiracion.retardo-inicial-ms:60000}")
+    public int expirarVencidos() {
+        if (!bloqueos.tomar(TAREA, duracionBloqueo)) {
+            return 0;
+        }
+
+        long inicio = System.nanoTime();
+        Date hoy = java.sql.Date.valueOf(LocalDate.now());
+        int total = 0;
+        int lotes = 0;
+        try {
+            long ultimoId = 0;
+            while (true) {
+                List<Long> ids = repository.findIdsVencidos(hoy, ultimoId, PageRequest.of(0, tamanoLote));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                int finalizados = repository.finalizarActivos(ids);
+                expirados.increment(finalizados);
+                total += finalizados;
+                lotes++;
+                ultimoId = ids.get(ids.size() - 1);
+
+                if (ids.size() < tamanoLote) {
+                    break;
+                }
+                if (!bloqueos.extender(TAREA, duracionBloqueo)) {
+                    log.warn("Se perdió el lease de {} tras {} lotes; la próxima ejecución continúa", TAREA, lotes);
+                    break;
+                }
+            }
+        } finally {
+            duracion.record(Duration.ofNanos(System.nanoTime() - inicio));
+            bloqueos.liberar(TAREA);
+        }
+
+        if (total > 0) {
+            log.info("Registros vencidos finalizados: {} en {} lotes ({} ms)",
+                    total, lotes, (System.nanoTime() - inicio) / 1_000_000);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,200 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.exception.BusinessValidationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Almacén de claves de idempotencia (header Idempotency-Key) para las operaciones de creación.
+ *
+ * - La primera petición con una clave ejecuta la operación y su respuesta queda guardada
+ *   durante idempotencia.ttl-ms; los reintentos reciben esa respuesta sin volver a validar
+ *   ni llamar a otros microservicios.
+ * - Las peticiones simultáneas con la misma clave esperan a la primera en curso.
+ * - Si la operación falla, la clave se libera para que el cliente pueda reintentar.
+ * - Reutilizar una clave con otro contenido se rechaza.
+ */
+@Service
+@Slf4j
+public class IdempotenciaService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    private static final int MAX_LARGO_CLAVE = 128;
+
+    /**
+     * Ejecución asociada a una clave. La huella identifica el contenido de la petición original.
+     */
+    private record Entrada(Object huella, CompletableFuture<ResponseEntity<?>> respuesta, long expiraNanos) {
+    }
+
+    private final Duration ttl;
+    private final int maxClaves;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public IdempotenciaService(@Value("${idempotencia.ttl-ms:86400000}") long ttlMs,
+                               @Value("${idempotencia.max-claves:10000}") int maxClaves) {
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.maxClaves = maxClaves;
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por clave y ámbito.
+     *
+     * @param ambito    operación protegida (p. ej. "solicitudes"), para que una clave no cruce endpoints
+     * @param clave     valor del header Idempotency-Key; si es null la operación se ejecuta normalmente
+     * @param huella    contenido relevante de la petición, comparado con equals
+     * @param operacion operación a ejecutar
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> ejecutar(String ambito, String clave, Object huella,
+                                          Supplier<ResponseEntity<T>> operacion) {
+        if (clave == null || clave.isBlank()) {
+            return operacion.get();
+        }
+        String id = id(ambito, clave);
+        Entrada nueva = new Entrada(huella, new CompletableFuture<>(), System.nanoTime() + ttl.toNanos());
+        Entrada existente = registrar(id, nueva);
+        if (existente != nueva) {
+            return (ResponseEntity<T>) repetir(id, existente, huella);
+        }
+
+        try {
+            ResponseEntity<T> respuesta = operacion.get();
+            nueva.respuesta().complete(respuesta);
+            return respuesta;
+        } catch (RuntimeException e) {
+            // La clave no queda asociada a un error: el siguiente reintento vuelve a ejecutar
+            entradas.remove(id, nueva);
+            nueva.respuesta().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Variante no bloqueante de {@link #ejecutar}: la operación es un Mono y las peticiones
+     * simultáneas con la misma clave esperan a la primera sin ocupar un hilo.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<ResponseEntity<T>> ejecutarAsync(String ambito, String clave, Object huella,
+                                                     Supplier<Mono<ResponseEntity<T>>> operacion) {
+        return Mono.defer(() -> {
+            if (clave == null || clave.isBlank()) {
+                return operacion.get();
+            }
+            String id = id(ambito, clave);
+            Entrada nueva = new Entrada(huella, new CompletableFuture<>(), System.nanoTime() + ttl.toNanos());
+            Entrada existente = registrar(id, nueva);
+            if (existente != nueva) {
+                validarHuella(id, existente, huella);
+                return Mono.fromFuture(existente.respuesta(), true)
+                        .map(original -> (ResponseEntity<T>) repetida(id, original));
+            }
+
+            return operacion.get()
+                    .doOnNext(respuesta -> nueva.respuesta().complete(respuesta))
+                    .doOnError(e -> {
+                        entradas.remove(id, nueva);
+                        nueva.respuesta().completeExceptionally(e);
+                    })
+                    .doOnCancel(() -> {
+                        entradas.remove(id, nueva);
+                        nueva.respuesta().cancel(false);
+                    });
+        });
+    }
+
+    private String id(String ambito, String clave) {
+        if (clave.length() > MAX_LARGO_CLAVE) {
+            throw new BusinessValidationException(
+                    String.format("El header %s no puede superar %d caracteres", HEADER, MAX_LARGO_CLAVE));
+        }
+        return ambito + ":" + clave;
+    }
+
+    /**
+     * Asocia la entrada nueva a la clave, salvo que ya exista una vigente: retorna la entrada que quedó asociada.
+     */
+    private Entrada registrar(String id, Entrada nueva) {
+        long ahora = System.nanoTime();
+        Entrada existente = entradas.compute(id, (k, actual) ->
+                actual == null || actual.expiraNanos() - ahora < 0 ? nueva : actual);
+        if (existente != nueva) {
+            return existente;
+        }
+
+        if (entradas.size() > maxClaves) {
+            purgarExpiradas();
+            if (entradas.size() > maxClaves) {
+                log.warn("Almacén de idempotencia lleno ({} claves): la clave {} no se guarda", maxClaves, id);
+                entradas.remove(id, nueva);
+            }
+        }
+        return nueva;
+    }
+
+    private void validarHuella(String id, Entrada existente, Object huella) {
+        if (!Objects.equals(existente.huella(), huella)) {
+            log.warn("Clave de idempotencia {} reutilizada con otro contenido", id);
+            throw new BusinessValidationException(
+                    String.format("El %s ya se usó con una petición distinta", HEADER));
+        }
+    }
+
+    private ResponseEntity<?> repetir(String id, Entrada existente, Object huella) {
+        validarHuella(id, existente, huella);
+
+        if (!existente.respuesta().isDone()) {
+            log.debug("Petición con clave {} en curso: se espera su resultado", id);
+        }
+        try {
+            return repetida(id, existente.respuesta().join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    private ResponseEntity<?> repetida(String id, ResponseEntity<?> original) {
+        log.info("Respuesta repetida para clave de idempotencia {}", id);
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(HEADER_REPETIDA, "true")
+                .body(original.getBody());
+    }
+
+    /**
+     * Elimina las claves vencidas.
+     */
+    @Scheduled(fixedDelayString = "${idempotencia.limpieza.intervalo-ms:60000}")
+    public void purgarExpiradas() {
+        long ahora = System.nanoTime();
+        int antes = entradas.size();
+        entradas.entrySet().removeIf(e -> e.getValue().expiraNanos() - ahora < 0);
+        if (antes != entradas.size()) {
+            log.debug("Claves de idempotencia vencidas eliminadas: {}", antes - entradas.size());
+        }
+    }
+
+    /**
+     * Cantidad de claves almacenadas.
+     */
+    public int cantidadClaves() {
+        return entradas.size();
+    }
+}
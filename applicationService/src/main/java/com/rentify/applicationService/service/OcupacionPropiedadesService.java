@@ -0,0 +1,240 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.dto.OcupacionPropiedadDTO;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.model.RegistroArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static com.rentify.applicationService.constants.ApplicationConstants.*;
+
+/**
+ * Índice en memoria de la ocupación de cada propiedad según sus registros de arriendo activos.
+ *
+ * Por propiedad se guardan los intervalos [fechaInicio, fechaFin] de sus registros activos, ordenados
+ * por fecha de fin (sin fecha de fin = indefinido, al final). Una propiedad está ocupada a una fecha si
+ * tiene un arriendo vigente o futuro, es decir, si el último intervalo termina en esa fecha o después:
+ * la consulta es una búsqueda en el mapa más un last() del conjunto ordenado, sin consultar la tabla
+ * ni otros microservicios.
+ *
+ * Los cambios de crearRegistro y finalizarRegistro se aplican después del commit. Los registros que
+ * vencen sin finalizarse dejan de ocupar la propiedad por su fecha de fin, y se descartan del índice
+ * en la reconstrucción, que se hace al iniciar y cada ocupacion.reconstruccion.intervalo-ms para
+ * incorporar cambios hechos por otras instancias.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OcupacionPropiedadesService {
+
+    private static final int TAMANO_PAGINA = 1000;
+
+    /**
+     * Registro activo de una propiedad. fin es null si el arriendo no tiene fecha de término.
+     */
+    private record Intervalo(Long registroId, Long propiedadId, LocalDate inicio, LocalDate fin) {
+
+        LocalDate finOMaximo() {
+            return fin != null ? fin : LocalDate.MAX;
+        }
+    }
+
+    private static final Comparator<Intervalo> POR_FIN =
+            Comparator.comparing(Intervalo::finOMaximo).thenComparing(Intervalo::registroId);
+
+    /**
+     * Intervalos por propiedad, más el acceso por registro para finalizarlos.
+     */
+    private static final class Indice {
+        private final Map<Long, NavigableSet<Intervalo>> porPropiedad = new HashMap<>();
+        private final Map<Long, Intervalo> porRegistro = new HashMap<>();
+
+        private void agregar(Intervalo intervalo) {
+            quitar(intervalo.registroId());
+            porPropiedad.computeIfAbsent(intervalo.propiedadId(), id -> new TreeSet<>(POR_FIN)).add(intervalo);
+            porRegistro.put(intervalo.registroId(), intervalo);
+        }
+
+        private void quitar(Long registroId) {
+            Intervalo intervalo = porRegistro.remove(registroId);
+            if (intervalo == null) {
+                return;
+            }
+            NavigableSet<Intervalo> intervalos = porPropiedad.get(intervalo.propiedadId());
+            intervalos.remove(intervalo);
+            if (intervalos.isEmpty()) {
+                porPropiedad.remove(intervalo.propiedadId());
+            }
+        }
+    }
+
+    private final RegistroArriendoRepository repository;
+
+    private Indice indice = new Indice();
+    private boolean construido;
+    private List<Consumer<Indice>> cambiosDuranteReconstruccion;
+
+    // ==================== Actualización incremental ====================
+
+    /**
+     * Agrega el registro recién creado a la ocupación de su propiedad.
+     */
+    public void registroCreado(RegistroArriendo registro, Long propiedadId) {
+        Intervalo intervalo = new Intervalo(registro.getId(), propiedadId,
+                aFecha(registro.getFechaInicio()), aFecha(registro.getFechaFin()));
+        despuesDelCommit(i -> i.agregar(intervalo));
+    }
+
+    /**
+     * Quita el registro finalizado de la ocupación de su propiedad.
+     */
+    public void registroFinalizado(Long registroId) {
+        despuesDelCommit(i -> i.quitar(registroId));
+    }
+
+    private void despuesDelCommit(Consumer<Indice> cambio) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    aplicarCambio(cambio);
+                }
+            });
+        } else {
+            aplicarCambio(cambio);
+        }
+    }
+
+    private synchronized void aplicarCambio(Consumer<Indice> cambio) {
+        cambio.accept(indice);
+        if (cambiosDuranteReconstruccion != null) {
+            cambiosDuranteReconstruccion.add(cambio);
+        }
+    }
+
+    // ==================== Consulta ====================
+
+    /**
+     * Indica si la propiedad tiene un arriendo vigente o futuro a la fecha dada.
+     */
+    public boolean ocupada(Long propiedadId, LocalDate fecha) {
+        return ocupacion(List.of(propiedadId), fecha).get(0).isOcupada();
+    }
+
+    /**
+     * Ocupación a la fecha dada de cada propiedad, en el orden recibido y sin repetir IDs.
+     */
+    public List<OcupacionPropiedadDTO> ocupacion(Collection<Long> propiedadIds, LocalDate fecha) {
+        if (propiedadIds.size() > Limites.MAX_PROPIEDADES_POR_CONSULTA) {
+            throw new BusinessValidationException(
+                    String.format(Mensajes.MAX_PROPIEDADES_SUPERADO, Limites.MAX_PROPIEDADES_POR_CONSULTA));
+        }
+        if (!estaConstruido()) {
+            reconstruir();
+        }
+
+        List<OcupacionPropiedadDTO> resultado = new ArrayList<>();
+        synchronized (this) {
+            for (Long propiedadId : new LinkedHashSet<>(propiedadIds)) {
+                NavigableSet<Intervalo> intervalos = indice.porPropiedad.get(propiedadId);
+                Intervalo ultimo = intervalos != null ? intervalos.last() : null;
+                boolean ocupada = ultimo != null && !ultimo.finOMaximo().isBefore(fecha);
+                resultado.add(OcupacionPropiedadDTO.builder()
+                        .propiedadId(propiedadId)
+                        .ocupada(ocupada)
+                        .ocupadaHasta(ocupada ? ultimo.fin() : null)
+                        .build());
+            }
+        }
+        return resultado;
+    }
+
+    private synchronized boolean estaConstruido() {
+        return construido;
+    }
+
+    // ==================== Reconstrucción ====================
+
+    /**
+     * Recalcula el índice desde los registros activos sin bloquear las actualizaciones incrementales.
+     * Los cambios recibidos durante el recorrido se vuelven a aplicar sobre el resultado: agregar y
+     * quitar por ID de registro son idempotentes, así que no importa si el recorrido ya los había visto.
+     */
+    @Scheduled(fixedDelayString = "${ocupacion.reconstruccion.intervalo-ms:600000}",
+            initialDelayString = "${ocupacion.reconstruccion.retardo-inicial-ms:0}")
+    public void reconstruir() {
+        long inicio = System.nanoTime();
+        synchronized (this) {
+            if (cambiosDuranteReconstruccion != null) {
+                return;
+            }
+            cambiosDuranteReconstruccion = new ArrayList<>();
+        }
+
+        LocalDate hoy = LocalDate.now();
+        Indice nuevo = new Indice();
+        long ultimoId = 0;
+        try {
+            List<Object[]> pagina;
+            do {
+                pagina = repository.findActivosConPropiedadDesde(ultimoId, PageRequest.of(0, TAMANO_PAGINA));
+                for (Object[] fila : pagina) {
+                    Intervalo intervalo = new Intervalo((Long) fila[0], (Long) fila[1],
+                            aFecha((Date) fila[2]), aFecha((Date) fila[3]));
+                    if (!intervalo.finOMaximo().isBefore(hoy)) {
+                        nuevo.agregar(intervalo);
+                    }
+                    ultimoId = intervalo.registroId();
+                }
+            } while (pagina.size() == TAMANO_PAGINA);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                cambiosDuranteReconstruccion = null;
+            }
+            log.error("No se pudo reconstruir el índice de ocupación: {}", e.getMessage());
+            throw e;
+        }
+
+        synchronized (this) {
+            cambiosDuranteReconstruccion.forEach(cambio -> cambio.accept(nuevo));
+            indice = nuevo;
+            construido = true;
+            cambiosDuranteReconstruccion = null;
+        }
+        log.info("Índice de ocupación reconstruido: {} propiedades ocupadas, {} registros en {} ms",
+                nuevo.porPropiedad.size(), nuevo.porRegistro.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Convierte una fecha de JPA (java.sql.Date no admite toInstant) a LocalDate.
+     */
+    private static LocalDate aFecha(Date fecha) {
+        if (fecha == null) {
+            return null;
+        }
+        if (fecha instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return fecha.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+}
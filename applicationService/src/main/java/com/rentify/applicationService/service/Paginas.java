@@ -0,0 +1,31 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.constants.ApplicationConstants.Mensajes;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Validación común de los parámetros de paginación de los listados
+ */
+final class Paginas {
+
+    private Paginas() {}
+
+    /**
+     * Verifica que la página solo ordene por campos permitidos.
+     * Un campo desconocido fallaría al armar la consulta (error 500); aquí se rechaza como error de validación.
+     */
+    static Pageable validarOrden(Pageable pageable, Set<String> camposPermitidos) {
+        for (Sort.Order orden : pageable.getSort()) {
+            if (!camposPermitidos.contains(orden.getProperty())) {
+                throw new BusinessValidationException(String.format(Mensajes.ORDEN_INVALIDO,
+                        orden.getProperty(), String.join(", ", new TreeSet<>(camposPermitidos))));
+            }
+        }
+        return pageable;
+    }
+}
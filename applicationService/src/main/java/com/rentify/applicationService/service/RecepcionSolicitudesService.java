@@ -0,0 +1,413 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.client.DocumentServiceClient;
+import com.rentify.applicationService.client.PropertyServiceClient;
+import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.dto.PropiedadDTO;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.dto.UsuarioDTO;
+import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple3;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.rentify.applicationService.constants.ApplicationConstants.*;
+
+/**
+ * Recepción asíncrona de solicitudes de arriendo.
+ *
+ * - {@link #recibir} aplica solo las validaciones locales (duplicados y límite de solicitudes),
+ *   guarda la solicitud como RECIBIDA y la deja en cola; el cliente consulta su estado en
+ *   GET /api/solicitudes/{id}.
+ * - solicitudes.recepcion.workers hilos vacían la cola en lotes de hasta solicitudes.recepcion.max-lote
+ *   (esperando a lo más solicitudes.recepcion.max-espera-ms para completar un lote). Cada lote resuelve
+ *   usuarios, propiedades y documentos con una llamada por lote a cada microservicio y pasa cada
+ *   solicitud a PENDIENTE, o a RECHAZADA con el motivo.
+ * - Si User o Property Service fallan, o Document Service no responde para un usuario, las solicitudes
+ *   afectadas quedan RECIBIDAS. Un usuario o propiedad inexistente no es una falla: se rechaza.
+ *   Cada solicitudes.recepcion.recuperacion.intervalo-ms se vuelven a encolar las RECIBIDAS que no están
+ *   en cola (reintentos, cola llena o reinicio de la instancia).
+ *
+ * Métricas: rentify.intake.queue.depth, rentify.intake.batch.size, rentify.intake.lag
+ * (desde la recepción hasta la decisión) y rentify.intake.processed (tag resultado).
+ */
+@Service
+@Slf4j
+public class RecepcionSolicitudesService implements SmartLifecycle {
+
+    public static final String HEADER_PREFER = "Prefer";
+    public static final String PREFERENCIA_ASINCRONA = "respond-async";
+
+    private final SolicitudArriendoRepository repository;
+    private final SolicitudArriendoService solicitudService;
+    private final CupoSolicitudesService cupoSolicitudes;
+    private final UserServiceClient userServiceClient;
+    private final PropertyServiceClient propertyServiceClient;
+    private final DocumentServiceClient documentServiceClient;
+    private final ReplicaLecturaService replicaLectura;
+    private final ModelMapper modelMapper;
+
+    private final boolean asincrona;
+    private final int workers;
+    private final int maxLote;
+    private final long maxEsperaNanos;
+
+    private final BlockingQueue<Long> cola;
+    private final Set<Long> encoladas = ConcurrentHashMap.newKeySet();
+    private final List<Thread> hilos = new ArrayList<>();
+    private volatile boolean activo;
+
+    private final DistributionSummary tamanoLote;
+    private final Timer demora;
+    private final Counter aceptadas;
+    private final Counter rechazadas;
+    private final Counter reintentos;
+
+    @Autowired
+    public RecepcionSolicitudesService(SolicitudArriendoRepository repository,
+                                       SolicitudArriendoService solicitudService,
+                                       CupoSolicitudesService cupoSolicitudes,
+                                       UserServiceClient userServiceClient,
+                                       PropertyServiceClient propertyServiceClient,
+                                       DocumentServiceClient documentServiceClient,
+                                       ReplicaLecturaService replicaLectura,
+                                       ModelMapper modelMapper,
+                                       @Value("${solicitudes.recepcion.asincrona:false}") boolean asincrona,
+                                       @Value("${solicitudes.recepcion.workers:2}") int workers,
+                                       @Value("${solicitudes.recepcion.capacidad:10000}") int capacidad,
+                                       @Value("${solicitudes.recepcion.max-lote:50}") int maxLote,
+                                       @Value("${solicitudes.recepcion.max-espera-ms:200}") long maxEsperaMs,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        this(repository, solicitudService, cupoSolicitudes, userServiceClient, propertyServiceClient,
+                documentServiceClient, replicaLectura, modelMapper, asincrona, workers, capacidad, maxLote,
+                Duration.ofMillis(maxEsperaMs), meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    RecepcionSolicitudesService(SolicitudArriendoRepository repository,
+                                SolicitudArriendoService solicitudService,
+                                CupoSolicitudesService cupoSolicitudes,
+                                UserServiceClient userServiceClient,
+                                PropertyServiceClient propertyServiceClient,
+                                DocumentServiceClient documentServiceClient,
+                                ReplicaLecturaService replicaLectura,
+                                ModelMapper modelMapper,
+                                boolean asincrona, int workers, int capacidad, int maxLote,
+                                Duration maxEspera, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.solicitudService = solicitudService;
+        this.cupoSolicitudes = cupoSolicitudes;
+        this.userServiceClient = userServiceClient;
+        this.propertyServiceClient = propertyServiceClient;
+        this.documentServiceClient = documentServiceClient;
+        this.replicaLectura = replicaLectura;
+        this.modelMapper = modelMapper;
+        this.asincrona = asincrona;
+        this.workers = workers;
+        this.maxLote = maxLote;
+        this.maxEsperaNanos = maxEspera.toNanos();
+        this.cola = new LinkedBlockingQueue<>(capacidad);
+
+        Gauge.builder("rentify.intake.queue.depth", cola, Collection::size)
+                .description("Solicitudes recibidas a la espera de validación")
+                .register(meterRegistry);
+        this.tamanoLote = DistributionSummary.builder("rentify.intake.batch.size")
+                .description("Solicitudes validadas por lote")
+                .register(meterRegistry);
+        this.demora = Timer.builder("rentify.intake.lag")
+                .description("Tiempo desde la recepción de una solicitud hasta su decisión")
+                .register(meterRegistry);
+        this.aceptadas = procesadas(meterRegistry, "pendiente");
+        this.rechazadas = procesadas(meterRegistry, "rechazada");
+        this.reintentos = procesadas(meterRegistry, "reintento");
+    }
+
+    private static Counter procesadas(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("rentify.intake.processed")
+                .description("Solicitudes recibidas procesadas por resultado")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si la petición se atiende en modo asíncrono: por configuración o porque el cliente
+     * lo pidió con el header Prefer: respond-async.
+     */
+    public boolean usarAsincrona(String prefer) {
+        return asincrona || (prefer != null && prefer.toLowerCase().contains(PREFERENCIA_ASINCRONA));
+    }
+
+    /**
+     * Guarda la solicitud como RECIBIDA y la deja en cola para su validación remota.
+     * Las validaciones locales y el límite de solicitudes se aplican de inmediato.
+     */
+    public SolicitudArriendoDTO recibir(SolicitudArriendoDTO solicitudDTO) {
+        log.info("Recibiendo solicitud asíncrona para usuario {} y propiedad {}",
+                solicitudDTO.getUsuarioId(), solicitudDTO.getPropiedadId());
+
+        solicitudService.validarLocalmente(solicitudDTO);
+
+        boolean guardada = false;
+        SolicitudArriendo saved;
+        try {
+            SolicitudArriendo solicitud = new SolicitudArriendo();
+            solicitud.setUsuarioId(solicitudDTO.getUsuarioId());
+            solicitud.setPropiedadId(solicitudDTO.getPropiedadId());
+            solicitud.setEstado(EstadoSolicitud.RECIBIDA);
+            solicitud.setFechaSolicitud(new Date());
+
+            saved = repository.save(solicitud);
+            guardada = true;
+        } finally {
+            cupoSolicitudes.finalizarReserva(solicitudDTO.getUsuarioId(), guardada);
+        }
+
+        encolar(saved.getId());
+        log.info("Solicitud {} recibida, en cola para validación", saved.getId());
+        return modelMapper.map(saved, SolicitudArriendoDTO.class);
+    }
+
+    /**
+     * Deja la solicitud en cola si no lo está. Con la cola llena queda RECIBIDA
+     * y la recupera {@link #recuperar}.
+     */
+    private boolean encolar(Long id) {
+        if (!encoladas.add(id)) {
+            return false;
+        }
+        if (!cola.offer(id)) {
+            encoladas.remove(id);
+            log.warn("Cola de recepción llena: la solicitud {} se validará en la próxima recuperación", id);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Solicitudes en cola.
+     */
+    public int enCola() {
+        return cola.size();
+    }
+
+    // ==================== Workers ====================
+
+    @Override
+    public synchronized void start() {
+        if (activo) {
+            return;
+        }
+        activo = true;
+        for (int i = 0; i < workers; i++) {
+            Thread hilo = new Thread(this::drenar, "recepcion-solicitudes-" + i);
+            hilo.setDaemon(true);
+            hilo.start();
+            hilos.add(hilo);
+        }
+        log.info("Recepción asíncrona de solicitudes iniciada con {} workers", workers);
+    }
+
+    @Override
+    public synchronized void stop() {
+        activo = false;
+        hilos.forEach(Thread::interrupt);
+        hilos.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return activo;
+    }
+
+    private void drenar() {
+        while (activo) {
+            try {
+                List<Long> lote = siguienteLote();
+                if (!lote.isEmpty()) {
+                    procesarLote(lote);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Error al procesar un lote de solicitudes recibidas: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Espera la primera solicitud y completa el lote con las que lleguen dentro de max-espera.
+     */
+    private List<Long> siguienteLote() throws InterruptedException {
+        Long primera = cola.poll(1, TimeUnit.SECONDS);
+        if (primera == null) {
+            return List.of();
+        }
+
+        List<Long> lote = new ArrayList<>(maxLote);
+        lote.add(primera);
+        long limite = System.nanoTime() + maxEsperaNanos;
+        while (lote.size() < maxLote) {
+            cola.drainTo(lote, maxLote - lote.size());
+            long restante = limite - System.nanoTime();
+            if (lote.size() >= maxLote || restante <= 0) {
+                break;
+            }
+            Long siguiente = cola.poll(restante, TimeUnit.NANOSECONDS);
+            if (siguiente == null) {
+                break;
+            }
+            lote.add(siguiente);
+        }
+        return lote;
+    }
+
+    /**
+     * Valida un lote de solicitudes recibidas con una llamada por lote a User, Property
+     * y Document Service (en paralelo) y guarda el resultado con un solo saveAll.
+     */
+    void procesarLote(List<Long> ids) {
+        tamanoLote.record(ids.size());
+        try {
+            List<SolicitudArriendo> recibidas = repository.findAllById(ids).stream()
+                    .filter(s -> EstadoSolicitud.RECIBIDA.equals(s.getEstado()))
+                    .toList();
+            if (recibidas.isEmpty()) {
+                return;
+            }
+
+            Set<Long> usuarioIds = recibidas.stream()
+                    .map(SolicitudArriendo::getUsuarioId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            Set<Long> propiedadIds = recibidas.stream()
+                    .map(SolicitudArriendo::getPropiedadId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+
+            Tuple3<Map<Long, UsuarioDTO>, Map<Long, PropiedadDTO>, Map<Long, Boolean>> datos;
+            try {
+                datos = Mono.zip(
+                        userServiceClient.getUsersByIdsAsync(usuarioIds),
+                        propertyServiceClient.getPropertiesByIdsAsync(propiedadIds),
+                        documentServiceClient.hasApprovedDocumentsByUsersAsync(usuarioIds)
+                ).block();
+            } catch (RuntimeException e) {
+                // El microservicio no respondió: no se rechaza nada por su causa
+                log.warn("No se pudo validar un lote de {} solicitudes ({}); se reintentará",
+                        recibidas.size(), e.getMessage());
+                reintentos.increment(recibidas.size());
+                return;
+            }
+            Map<Long, UsuarioDTO> usuarios = datos.getT1();
+            Map<Long, PropiedadDTO> propiedades = datos.getT2();
+            Map<Long, Boolean> documentos = datos.getT3();
+            replicaLectura.registrarUsuarios(usuarios.values());
+            replicaLectura.registrarPropiedades(propiedades.values());
+
+            List<SolicitudArriendo> decididas = new ArrayList<>(recibidas.size());
+            for (SolicitudArriendo solicitud : recibidas) {
+                Long usuarioId = solicitud.getUsuarioId();
+                if (usuarios.containsKey(usuarioId) && !documentos.containsKey(usuarioId)) {
+                    // Document Service no respondió para este usuario: se reintenta más tarde
+                    reintentos.increment();
+                    continue;
+                }
+                String motivo = motivoRechazo(solicitud, usuarios, propiedades, documentos);
+                solicitud.setEstado(motivo == null ? EstadoSolicitud.PENDIENTE : EstadoSolicitud.RECHAZADA);
+                solicitud.setMotivoRechazo(motivo);
+                decididas.add(solicitud);
+            }
+
+            repository.saveAll(decididas);
+
+            long ahora = System.currentTimeMillis();
+            for (SolicitudArriendo solicitud : decididas) {
+                if (EstadoSolicitud.RECHAZADA.equals(solicitud.getEstado())) {
+                    cupoSolicitudes.cambioDeEstado(solicitud.getUsuarioId(),
+                            EstadoSolicitud.RECIBIDA, EstadoSolicitud.RECHAZADA);
+                    rechazadas.increment();
+                    log.info("Solicitud {} rechazada: {}", solicitud.getId(), solicitud.getMotivoRechazo());
+                } else {
+                    aceptadas.increment();
+                }
+                demora.record(Duration.ofMillis(ahora - solicitud.getFechaSolicitud().getTime()));
+            }
+            log.debug("Lote de {} solicitudes recibidas validado ({} decididas)", recibidas.size(), decididas.size());
+        } finally {
+            ids.forEach(encoladas::remove);
+        }
+    }
+
+    /**
+     * Aplica las mismas reglas que la creación síncrona; null si la solicitud es válida.
+     */
+    private static String motivoRechazo(SolicitudArriendo solicitud, Map<Long, UsuarioDTO> usuarios,
+                                        Map<Long, PropiedadDTO> propiedades, Map<Long, Boolean> documentos) {
+        UsuarioDTO usuario = usuarios.get(solicitud.getUsuarioId());
+        if (usuario == null) {
+            return String.format(Mensajes.USUARIO_NO_EXISTE, solicitud.getUsuarioId());
+        }
+        if (!Roles.puedeCrearSolicitud(usuario.getRolId())) {
+            return Mensajes.ROL_INVALIDO_SOLICITUD;
+        }
+        if (!propiedades.containsKey(solicitud.getPropiedadId())) {
+            return String.format(Mensajes.PROPIEDAD_NO_EXISTE, solicitud.getPropiedadId());
+        }
+        if (!Boolean.TRUE.equals(documentos.get(solicitud.getUsuarioId()))) {
+            return Mensajes.DOCUMENTOS_NO_APROBADOS;
+        }
+        return null;
+    }
+
+    // ==================== Recuperación ====================
+
+    /**
+     * Vuelve a encolar las solicitudes RECIBIDAS que no están en cola: lotes que no se pudieron
+     * validar, solicitudes que no cupieron en la cola o que quedaron pendientes al reiniciar.
+     */
+    @Scheduled(fixedDelayString = "${solicitudes.recepcion.recuperacion.intervalo-ms:60000}",
+            initialDelayString = "${solicitudes.recepcion.recuperacion.intervalo-ms:60000}")
+    public void recuperar() {
+        int espacio = cola.remainingCapacity();
+        if (espacio == 0) {
+            return;
+        }
+
+        int recuperadas = 0;
+        for (Long id : repository.findIdsByEstado(EstadoSolicitud.RECIBIDA, PageRequest.of(0, espacio))) {
+            if (encolar(id)) {
+                recuperadas++;
+            }
+        }
+        if (recuperadas > 0) {
+            log.info("Solicitudes recibidas vueltas a encolar: {}", recuperadas);
+        }
+    }
+}
@@ -11,10 +11,17 @@ import com.rentify.applicationService.repository.SolicitudArriendoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static com.rentify.applicationService.constants.ApplicationConstants.*;
@@ -32,12 +39,22 @@ public class RegistroArriendoService {
     private final SolicitudArriendoRepository solicitudRepository;
     private final SolicitudArriendoService solicitudService;
     private final ModelMapper modelMapper;
+    private final EstadisticasArriendoService estadisticas;
+    private final OcupacionPropiedadesService ocupacion;
 
     /**
      * Crea un nuevo registro de arriendo con todas las validaciones
      */
     @Transactional
     public RegistroArriendoDTO crearRegistro(RegistroArriendoDTO registroDTO) {
+        return convertToDTO(guardarRegistro(registroDTO), true);
+    }
+
+    /**
+     * Valida y guarda el registro, sin resolver los detalles de la solicitud
+     */
+    @Transactional
+    RegistroArriendo guardarRegistro(RegistroArriendoDTO registroDTO) {
         log.info("Creando nuevo registro para solicitud {}", registroDTO.getSolicitudId());
 
         // 1. Validar que la solicitud existe
@@ -56,12 +73,7 @@ public class RegistroArriendoService {
         }
 
         // 3. Validar que no existe ya un registro activo para esta solicitud
-        List<RegistroArriendo> registrosActivos = repository.findBySolicitudId(registroDTO.getSolicitudId())
-                .stream()
-                .filter(RegistroArriendo::getActivo)
-                .toList();
-
-        if (!registrosActivos.isEmpty()) {
+        if (repository.existsBySolicitudIdAndActivoTrue(registroDTO.getSolicitudId())) {
             log.warn("Ya existe registro activo para solicitud {}", solicitud.getId());
             throw new BusinessValidationException(Mensajes.REGISTRO_YA_EXISTE);
         }
@@ -79,20 +91,41 @@ public class RegistroArriendoService {
         registro.setActivo(Boolean.TRUE);  // CORREGIDO
 
         RegistroArriendo saved = repository.save(registro);
+        estadisticas.registroCreado(saved);
+        ocupacion.registroCreado(saved, solicitud.getPropiedadId());
         log.info("Registro creado exitosamente con ID: {}", saved.getId());
 
-        return convertToDTO(saved, true);
+        return saved;
     }
 
     /**
-     * Lista todos los registros con opción de incluir detalles
+     * Lista una página de registros con opción de incluir detalles
      */
     @Transactional(readOnly = true)
-    public List<RegistroArriendoDTO> listarTodos(boolean includeDetails) {
-        log.debug("Listando todos los registros (includeDetails: {})", Boolean.valueOf(includeDetails));  // CORREGIDO
-        return repository.findAll().stream()
-                .map(r -> convertToDTO(r, includeDetails))
+    public Page<RegistroArriendoDTO> listarTodos(boolean includeDetails, Pageable pageable) {
+        log.debug("Listando registros, página {} (includeDetails: {})", pageable, Boolean.valueOf(includeDetails));
+        Page<RegistroArriendo> pagina = repository.findAll(Paginas.validarOrden(pageable, Orden.CAMPOS_REGISTROS));
+
+        if (!includeDetails) {
+            return pagina.map(r -> convertToDTO(r, false));
+        }
+        List<RegistroArriendo> registros = pagina.getContent();
+
+        // Solicitudes en una sola consulta y sus detalles remotos por lote, en vez de 3 llamadas por registro
+        Set<Long> solicitudIds = registros.stream()
+                .map(RegistroArriendo::getSolicitudId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, SolicitudArriendoDTO> solicitudes = solicitudService.obtenerPorIds(solicitudIds, true);
+
+        List<RegistroArriendoDTO> dtos = registros.stream()
+                .map(r -> {
+                    RegistroArriendoDTO dto = convertToDTO(r, false);
+                    dto.setSolicitud(solicitudes.get(r.getSolicitudId()));
+                    return dto;
+                })
                 .collect(Collectors.toList());
+        return new PageImpl<>(dtos, pagina.getPageable(), pagina.getTotalElements());
     }
 
     /**
@@ -124,6 +157,14 @@ public class RegistroArriendoService {
      */
     @Transactional
     public RegistroArriendoDTO finalizarRegistro(Long id) {
+        return convertToDTO(finalizar(id), true);
+    }
+
+    /**
+     * Finaliza un registro y retorna la entidad, sin consultar otros microservicios
+     */
+    @Transactional
+    public RegistroArriendo finalizar(Long id) {
         log.info("Finalizando registro {}", id);
 
         RegistroArriendo registro = repository.findById(id)
@@ -136,13 +177,16 @@ public class RegistroArriendoService {
             throw new BusinessValidationException(Mensajes.REGISTRO_YA_INACTIVO);
         }
 
+        java.util.Date fechaFinAnterior = registro.getFechaFin();
         registro.setActivo(Boolean.FALSE);  // CORREGIDO
         registro.setFechaFin(new java.util.Date());
 
         RegistroArriendo updated = repository.save(registro);
+        estadisticas.registroFinalizado(updated, fechaFinAnterior);
+        ocupacion.registroFinalizado(updated.getId());
         log.info("Registro {} finalizado exitosamente", id);
 
-        return convertToDTO(updated, true);
+        return updated;
     }
 
     /**
@@ -0,0 +1,290 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.client.PropertyServiceClient;
+import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.dto.PropiedadDTO;
+import com.rentify.applicationService.dto.UsuarioDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Réplica local de los datos de User y Property Service que se usan al validar solicitudes:
+ * rol y estado de cada usuario, y existencia de cada propiedad. La disponibilidad no se replica:
+ * se valida localmente con {@link OcupacionPropiedadesService}.
+ *
+ * - Las consultas se responden desde la réplica si la entrada tiene menos de
+ *   replica.max-antiguedad-ms; si no, se consulta al microservicio y se actualiza la réplica.
+ * - Solo se replican resultados positivos: un usuario o propiedad inexistente siempre se
+ *   verifica en línea, por lo que la réplica nunca rechaza una solicitud por sí sola.
+ * - Cada replica.sincronizacion.intervalo-ms se refrescan por lote las entradas usadas
+ *   recientemente; las que no se usan durante replica.retencion-ms se descartan.
+ *
+ * Métricas: rentify.replica.lookups (tags entidad, resultado) y rentify.replica.size (tag entidad).
+ */
+@Service
+@Slf4j
+public class ReplicaLecturaService {
+
+    private static final int TAMANO_LOTE_SINCRONIZACION = 500;
+
+    /**
+     * Datos replicados de un usuario. Las marcas de tiempo son de System.nanoTime().
+     */
+    private record UsuarioReplica(Integer rolId, UsuarioDTO.EstadoInfo estado, long sincronizado, long ultimoUso) {
+        UsuarioReplica usado(long ahora) {
+            return new UsuarioReplica(rolId, estado, sincronizado, ahora);
+        }
+    }
+
+    /**
+     * Datos replicados de una propiedad existente.
+     */
+    private record PropiedadReplica(long sincronizado, long ultimoUso) {
+        PropiedadReplica usado(long ahora) {
+            return new PropiedadReplica(sincronizado, ahora);
+        }
+    }
+
+    private final UserServiceClient userServiceClient;
+    private final PropertyServiceClient propertyServiceClient;
+    private final boolean habilitada;
+    private final long maxAntiguedadNanos;
+    private final long retencionNanos;
+    private final int maxEntradas;
+    private final LongSupplier reloj;
+
+    private final Map<Long, UsuarioReplica> usuarios = new ConcurrentHashMap<>();
+    private final Map<Long, PropiedadReplica> propiedades = new ConcurrentHashMap<>();
+
+    private final Counter usuarioHits;
+    private final Counter usuarioMisses;
+    private final Counter propiedadHits;
+    private final Counter propiedadMisses;
+
+    @Autowired
+    public ReplicaLecturaService(UserServiceClient userServiceClient,
+                                 PropertyServiceClient propertyServiceClient,
+                                 @Value("${replica.habilitada:true}") boolean habilitada,
+                                 @Value("${replica.max-antiguedad-ms:120000}") long maxAntiguedadMs,
+                                 @Value("${replica.retencion-ms:3600000}") long retencionMs,
+                                 @Value("${replica.max-entradas:10000}") int maxEntradas,
+                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        this(userServiceClient, propertyServiceClient, habilitada, Duration.ofMillis(maxAntiguedadMs),
+                Duration.ofMillis(retencionMs), maxEntradas,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new), System::nanoTime);
+    }
+
+    ReplicaLecturaService(UserServiceClient userServiceClient, PropertyServiceClient propertyServiceClient,
+                          boolean habilitada, Duration maxAntiguedad, Duration retencion, int maxEntradas,
+                          MeterRegistry meterRegistry, LongSupplier reloj) {
+        this.userServiceClient = userServiceClient;
+        this.propertyServiceClient = propertyServiceClient;
+        this.habilitada = habilitada;
+        this.maxAntiguedadNanos = maxAntiguedad.toNanos();
+        this.retencionNanos = retencion.toNanos();
+        this.maxEntradas = maxEntradas;
+        this.reloj = reloj;
+
+        this.usuarioHits = lookups(meterRegistry, "usuario", "hit");
+        this.usuarioMisses = lookups(meterRegistry, "usuario", "miss");
+        this.propiedadHits = lookups(meterRegistry, "propiedad", "hit");
+        this.propiedadMisses = lookups(meterRegistry, "propiedad", "miss");
+        Gauge.builder("rentify.replica.size", usuarios, Map::size)
+                .description("Entradas en la réplica local")
+                .tag("entidad", "usuario")
+                .register(meterRegistry);
+        Gauge.builder("rentify.replica.size", propiedades, Map::size)
+                .description("Entradas en la réplica local")
+                .tag("entidad", "propiedad")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Réplica deshabilitada: todas las consultas van directo a los microservicios (usado en tests).
+     */
+    public static ReplicaLecturaService sinReplica(UserServiceClient userServiceClient,
+                                                   PropertyServiceClient propertyServiceClient) {
+        return new ReplicaLecturaService(userServiceClient, propertyServiceClient, false,
+                Duration.ZERO, Duration.ZERO, 0, new SimpleMeterRegistry(), System::nanoTime);
+    }
+
+    private static Counter lookups(MeterRegistry meterRegistry, String entidad, String resultado) {
+        return Counter.builder("rentify.replica.lookups")
+                .description("Consultas de validación resueltas desde la réplica (hit) o en línea (miss)")
+                .tag("entidad", entidad)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    // ==================== Consultas ====================
+
+    /**
+     * Usuario con su rol y estado. Desde la réplica solo se completan id, rolId y estado.
+     */
+    public Mono<UsuarioDTO> obtenerUsuario(Long usuarioId) {
+        return Mono.defer(() -> {
+            UsuarioReplica replica = usuarioVigente(usuarioId);
+            if (replica != null) {
+                usuarioHits.increment();
+                UsuarioDTO usuario = new UsuarioDTO();
+                usuario.setId(usuarioId);
+                usuario.setRolId(replica.rolId());
+                usuario.setEstado(replica.estado());
+                return Mono.just(usuario);
+            }
+
+            usuarioMisses.increment();
+            return userServiceClient.getUserByIdAsync(usuarioId)
+                    .doOnNext(this::registrarUsuario);
+        });
+    }
+
+    /**
+     * Indica si la propiedad existe. Solo las existentes quedan en la réplica.
+     */
+    public Mono<Boolean> existePropiedad(Long propiedadId) {
+        return Mono.defer(() -> {
+            if (propiedadVigente(propiedadId) != null) {
+                propiedadHits.increment();
+                return Mono.just(true);
+            }
+
+            propiedadMisses.increment();
+            return propertyServiceClient.existsPropertyAsync(propiedadId)
+                    .doOnNext(existe -> {
+                        if (existe) {
+                            registrarPropiedad(propiedadId);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Entrada de la réplica si existe y no supera la antigüedad máxima; marca su uso.
+     */
+    private UsuarioReplica usuarioVigente(Long usuarioId) {
+        if (!habilitada) {
+            return null;
+        }
+        long ahora = reloj.getAsLong();
+        UsuarioReplica replica = usuarios.computeIfPresent(usuarioId, (id, u) -> u.usado(ahora));
+        return replica != null && vigente(replica.sincronizado(), ahora) ? replica : null;
+    }
+
+    private PropiedadReplica propiedadVigente(Long propiedadId) {
+        if (!habilitada) {
+            return null;
+        }
+        long ahora = reloj.getAsLong();
+        PropiedadReplica replica = propiedades.computeIfPresent(propiedadId, (id, p) -> p.usado(ahora));
+        return replica != null && vigente(replica.sincronizado(), ahora) ? replica : null;
+    }
+
+    private boolean vigente(long sincronizado, long ahora) {
+        return ahora - sincronizado <= maxAntiguedadNanos;
+    }
+
+    // ==================== Actualización ====================
+
+    /**
+     * Registra en la réplica usuarios obtenidos de User Service (por ejemplo, en listados con detalle).
+     */
+    public void registrarUsuarios(Collection<UsuarioDTO> obtenidos) {
+        obtenidos.forEach(this::registrarUsuario);
+    }
+
+    /**
+     * Registra en la réplica propiedades obtenidas de Property Service.
+     */
+    public void registrarPropiedades(Collection<PropiedadDTO> obtenidas) {
+        obtenidas.forEach(p -> registrarPropiedad(p.getId()));
+    }
+
+    private void registrarUsuario(UsuarioDTO usuario) {
+        if (!habilitada || usuario.getId() == null || !hayEspacio(usuarios, usuario.getId())) {
+            return;
+        }
+        long ahora = reloj.getAsLong();
+        usuarios.compute(usuario.getId(), (id, anterior) -> new UsuarioReplica(
+                usuario.getRolId(), usuario.getEstado(), ahora, anterior != null ? anterior.ultimoUso() : ahora));
+    }
+
+    private void registrarPropiedad(Long propiedadId) {
+        if (!habilitada || propiedadId == null || !hayEspacio(propiedades, propiedadId)) {
+            return;
+        }
+        long ahora = reloj.getAsLong();
+        propiedades.compute(propiedadId, (id, anterior) -> new PropiedadReplica(
+                ahora, anterior != null ? anterior.ultimoUso() : ahora));
+    }
+
+    private boolean hayEspacio(Map<Long, ?> replica, Long id) {
+        return replica.size() < maxEntradas || replica.containsKey(id);
+    }
+
+    /**
+     * Refresca por lote las entradas usadas recientemente y descarta las que ya no se usan.
+     * Las entradas que el microservicio ya no retorna envejecen y vuelven a validarse en línea.
+     */
+    @Scheduled(fixedDelayString = "${replica.sincronizacion.intervalo-ms:60000}",
+            initialDelayString = "${replica.sincronizacion.intervalo-ms:60000}")
+    public void sincronizar() {
+        if (!habilitada) {
+            return;
+        }
+
+        long ahora = reloj.getAsLong();
+        usuarios.entrySet().removeIf(e -> ahora - e.getValue().ultimoUso() > retencionNanos);
+        propiedades.entrySet().removeIf(e -> ahora - e.getValue().ultimoUso() > retencionNanos);
+
+        int usuariosSincronizados = 0;
+        int propiedadesSincronizadas = 0;
+        try {
+            for (List<Long> lote : lotes(usuarios.keySet())) {
+                Map<Long, UsuarioDTO> obtenidos = userServiceClient.getUsersByIdsAsync(lote).block();
+                if (obtenidos != null) {
+                    registrarUsuarios(obtenidos.values());
+                    usuariosSincronizados += obtenidos.size();
+                }
+            }
+            for (List<Long> lote : lotes(propiedades.keySet())) {
+                Map<Long, PropiedadDTO> obtenidas = propertyServiceClient.getPropertiesByIdsAsync(lote).block();
+                if (obtenidas != null) {
+                    registrarPropiedades(obtenidas.values());
+                    propiedadesSincronizadas += obtenidas.size();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Sincronización de la réplica interrumpida: {}", e.getMessage());
+        }
+
+        log.debug("Réplica sincronizada: {}/{} usuarios y {}/{} propiedades",
+                usuariosSincronizados, usuarios.size(), propiedadesSincronizadas, propiedades.size());
+    }
+
+    private static List<List<Long>> lotes(Collection<Long> ids) {
+        List<Long> todos = new ArrayList<>(ids);
+        List<List<Long>> lotes = new ArrayList<>();
+        for (int i = 0; i < todos.size(); i += TAMANO_LOTE_SINCRONIZACION) {
+            lotes.add(todos.subList(i, Math.min(i + TAMANO_LOTE_SINCRONIZACION, todos.size())));
+        }
+        return lotes;
+    }
+}
@@ -3,7 +3,11 @@ package com.rentify.applicationService.service;
 import com.rentify.applicationService.client.DocumentServiceClient;
 import com.rentify.applicationService.client.PropertyServiceClient;
 import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.client.VerificadorTokens;
+import com.rentify.applicationService.client.VerificadorTokens.UsuarioToken;
+import com.rentify.applicationService.dto.CambioEstadoLoteDTO;
 import com.rentify.applicationService.dto.PropiedadDTO;
+import com.rentify.applicationService.dto.ResultadoCambioEstadoDTO;
 import com.rentify.applicationService.dto.SolicitudArriendoDTO;
 import com.rentify.applicationService.dto.UsuarioDTO;
 import com.rentify.applicationService.exception.BusinessValidationException;
@@ -13,11 +17,26 @@ import com.rentify.applicationService.repository.SolicitudArriendoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static com.rentify.applicationService.constants.ApplicationConstants.*;
@@ -36,6 +55,10 @@ public class SolicitudArriendoService {
     private final PropertyServiceClient propertyServiceClient;
     private final DocumentServiceClient documentServiceClient;
     private final ModelMapper modelMapper;
+    private final ReplicaLecturaService replicaLectura;
+    private final CupoSolicitudesService cupoSolicitudes;
+    private final OcupacionPropiedadesService ocupacion;
+    private final VerificadorTokens verificadorTokens;
 
     /**
      * Crea una nueva solicitud de arriendo con todas las validaciones de negocio
@@ -45,90 +68,180 @@ public class SolicitudArriendoService {
         log.info("Creando nueva solicitud para usuario {} y propiedad {}",
                 solicitudDTO.getUsuarioId(), solicitudDTO.getPropiedadId());
 
-        // 1. Validar que el usuario existe y obtener su información completa
-        UsuarioDTO usuario = userServiceClient.getUserById(solicitudDTO.getUsuarioId());
-        if (usuario == null) {
-            throw new BusinessValidationException(
-                    String.format(Mensajes.USUARIO_NO_EXISTE, solicitudDTO.getUsuarioId())
-            );
+        // 1. Lanzar en paralelo las validaciones remotas (usuario, propiedad, documentos).
+        //    Mono.when falla en cuanto una de ellas rechaza la solicitud y cancela el resto.
+        CompletableFuture<Void> validacionesRemotas = validarRemotamente(solicitudDTO).toFuture();
+
+        // 2. Mientras tanto, ejecutar las validaciones locales y reservar el cupo de solicitudes pendientes
+        try {
+            validarLocalmente(solicitudDTO);
+        } catch (RuntimeException e) {
+            validacionesRemotas.cancel(true);
+            throw e;
         }
 
-        // 2. Validar que el usuario tenga rol ARRIENDATARIO o ADMIN
-        if (!Roles.puedeCrearSolicitud(usuario.getRolId())) {
-            log.warn("Usuario {} con rolId {} intentó crear solicitud",
-                    usuario.getId(), usuario.getRolId());
-            throw new BusinessValidationException(Mensajes.ROL_INVALIDO_SOLICITUD);
+        boolean guardada = false;
+        SolicitudArriendo saved;
+        try {
+            // 3. Esperar el resultado remoto: la latencia queda acotada por la dependencia más lenta
+            esperarValidacionesRemotas(validacionesRemotas);
+
+            // 4. Crear la solicitud
+            saved = repository.save(nuevaSolicitud(solicitudDTO));
+            guardada = true;
+        } finally {
+            cupoSolicitudes.finalizarReserva(solicitudDTO.getUsuarioId(), guardada);
         }
+        log.info("Solicitud creada exitosamente con ID: {}", saved.getId());
 
-        // 3. Validar que el usuario no tenga más de 3 solicitudes activas
-        long solicitudesActivas = repository.countByUsuarioIdAndEstado(
-                solicitudDTO.getUsuarioId(),
-                EstadoSolicitud.PENDIENTE
-        );
+        return convertToDTO(saved, true);
+    }
 
-        if (solicitudesActivas >= Limites.MAX_SOLICITUDES_ACTIVAS) {
-            log.warn("Usuario {} alcanzó el límite de solicitudes activas: {}",
-                    usuario.getId(), Long.valueOf(solicitudesActivas));
-            throw new BusinessValidationException(
-                    String.format(Mensajes.MAX_SOLICITUDES_ALCANZADO, Limites.MAX_SOLICITUDES_ACTIVAS)
-            );
+    /**
+     * Solicitud PENDIENTE lista para guardar, una vez superadas las validaciones
+     */
+    SolicitudArriendo nuevaSolicitud(SolicitudArriendoDTO solicitudDTO) {
+        SolicitudArriendo solicitud = new SolicitudArriendo();
+        solicitud.setUsuarioId(solicitudDTO.getUsuarioId());
+        solicitud.setPropiedadId(solicitudDTO.getPropiedadId());
+        solicitud.setEstado(EstadoSolicitud.PENDIENTE);
+        solicitud.setFechaSolicitud(new Date());
+        return solicitud;
+    }
+
+    /**
+     * Compone las validaciones contra User, Property y Document Service para ejecutarlas en paralelo.
+     * Usuario y propiedad se validan contra la réplica local si está vigente ({@link ReplicaLecturaService}).
+     * Si la request trae un token válido del mismo usuario, su rol se lee del token ({@link VerificadorTokens}).
+     * Cada validación emite error con el mensaje de negocio correspondiente si no se cumple.
+     */
+    Mono<Void> validarRemotamente(SolicitudArriendoDTO solicitudDTO) {
+        Long usuarioId = solicitudDTO.getUsuarioId();
+        Long propiedadId = solicitudDTO.getPropiedadId();
+
+        // Usuario existe y tiene rol ARRIENDATARIO o ADMIN
+        Mono<Void> usuario = verificadorTokens.paraUsuario(usuarioId)
+                .map(token -> Mono.just(usuarioDelToken(token)))
+                .orElseGet(() -> replicaLectura.obtenerUsuario(usuarioId))
+                .switchIfEmpty(Mono.error(() -> new BusinessValidationException(
+                        String.format(Mensajes.USUARIO_NO_EXISTE, usuarioId))))
+                .flatMap(u -> {
+                    if (!Roles.puedeCrearSolicitud(u.getRolId())) {
+                        log.warn("Usuario {} con rolId {} intentó crear solicitud", u.getId(), u.getRolId());
+                        return Mono.error(new BusinessValidationException(Mensajes.ROL_INVALIDO_SOLICITUD));
+                    }
+                    return Mono.empty();
+                });
+
+        // La propiedad existe
+        Mono<Void> propiedad = replicaLectura.existePropiedad(propiedadId)
+                .flatMap(existe -> existe
+                        ? Mono.<Void>empty()
+                        : Mono.error(new BusinessValidationException(
+                                String.format(Mensajes.PROPIEDAD_NO_EXISTE, propiedadId))));
+
+        // El usuario tiene documentos aprobados
+        // NOTA: Esta validación puede ser comentada durante desarrollo si Document Service no está listo
+        Mono<Void> documentos = documentServiceClient.hasApprovedDocumentsAsync(usuarioId)
+                .flatMap(aprobados -> {
+                    if (!aprobados) {
+                        log.warn("Usuario {} no tiene documentos aprobados", usuarioId);
+                        return Mono.error(new BusinessValidationException(Mensajes.DOCUMENTOS_NO_APROBADOS));
+                    }
+                    return Mono.empty();
+                });
+
+        return Mono.when(usuario, propiedad, documentos);
+    }
+
+
+    /**
+     * Datos del usuario necesarios para validar la solicitud, leídos del token verificado
+     */
+    private static UsuarioDTO usuarioDelToken(UsuarioToken token) {
+        UsuarioDTO usuario = new UsuarioDTO();
+        usuario.setId(token.usuarioId());
+        usuario.setRolId(token.rolId() != null ? token.rolId().intValue() : null);
+        return usuario;
+    }
+    /**
+     * Validaciones que solo dependen de datos locales. Si todas pasan, deja reservado un cupo
+     * de solicitud activa que se cierra con {@link CupoSolicitudesService#finalizarReserva}.
+     * También la usa la recepción asíncrona ({@link RecepcionSolicitudesService}).
+     */
+    void validarLocalmente(SolicitudArriendoDTO solicitudDTO) {
+        // La propiedad no tiene un arriendo vigente o futuro (índice de ocupación en memoria)
+        if (ocupacion.ocupada(solicitudDTO.getPropiedadId(), LocalDate.now())) {
+            log.warn("Propiedad {} está ocupada por un arriendo activo", solicitudDTO.getPropiedadId());
+            throw new BusinessValidationException(Mensajes.PROPIEDAD_NO_DISPONIBLE);
         }
 
-        // 4. Verificar que no existe solicitud pendiente para esta propiedad
-        boolean existeSolicitudPendiente = repository.existsByUsuarioIdAndPropiedadIdAndEstado(
+        // No existe solicitud pendiente (o recibida y aún en validación) para esta propiedad
+        boolean existeSolicitudPendiente = repository.existsByUsuarioIdAndPropiedadIdAndEstadoIn(
                 solicitudDTO.getUsuarioId(),
                 solicitudDTO.getPropiedadId(),
-                EstadoSolicitud.PENDIENTE
+                EstadoSolicitud.ACTIVOS
         );
 
         if (existeSolicitudPendiente) {
             log.warn("Usuario {} ya tiene solicitud pendiente para propiedad {}",
-                    usuario.getId(), solicitudDTO.getPropiedadId());
+                    solicitudDTO.getUsuarioId(), solicitudDTO.getPropiedadId());
             throw new BusinessValidationException(Mensajes.SOLICITUD_DUPLICADA);
         }
 
-        // 5. Validar que la propiedad existe
-        if (!propertyServiceClient.existsProperty(solicitudDTO.getPropiedadId())) {
+        // El usuario no tiene más de 3 solicitudes activas (reserva atómica, sin COUNT por request)
+        if (!cupoSolicitudes.reservar(solicitudDTO.getUsuarioId())) {
+            log.warn("Usuario {} alcanzó el límite de solicitudes activas: {}",
+                    solicitudDTO.getUsuarioId(), Limites.MAX_SOLICITUDES_ACTIVAS);
             throw new BusinessValidationException(
-                    String.format(Mensajes.PROPIEDAD_NO_EXISTE, solicitudDTO.getPropiedadId())
+                    String.format(Mensajes.MAX_SOLICITUDES_ALCANZADO, Limites.MAX_SOLICITUDES_ACTIVAS)
             );
         }
+    }
 
-        // 6. Validar que la propiedad está disponible
-        if (!propertyServiceClient.isPropertyAvailable(solicitudDTO.getPropiedadId())) {
-            log.warn("Propiedad {} no está disponible", solicitudDTO.getPropiedadId());
-            throw new BusinessValidationException(Mensajes.PROPIEDAD_NO_DISPONIBLE);
-        }
-
-        // 7. Validar que el usuario tenga documentos aprobados
-        // NOTA: Esta validación puede ser comentada durante desarrollo si Document Service no está listo
-        if (!documentServiceClient.hasApprovedDocuments(solicitudDTO.getUsuarioId())) {
-            log.warn("Usuario {} no tiene documentos aprobados", usuario.getId());
-            throw new BusinessValidationException(Mensajes.DOCUMENTOS_NO_APROBADOS);
+    private void esperarValidacionesRemotas(CompletableFuture<Void> validacionesRemotas) {
+        try {
+            validacionesRemotas.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
         }
+    }
 
-        // 8. Crear la solicitud
-        SolicitudArriendo solicitud = new SolicitudArriendo();
-        solicitud.setUsuarioId(solicitudDTO.getUsuarioId());
-        solicitud.setPropiedadId(solicitudDTO.getPropiedadId());
-        solicitud.setEstado(EstadoSolicitud.PENDIENTE);
-        solicitud.setFechaSolicitud(new Date());
-
-        SolicitudArriendo saved = repository.save(solicitud);
-        log.info("Solicitud creada exitosamente con ID: {}", saved.getId());
+    /**
+     * Lista una página de solicitudes con opción de incluir detalles
+     */
+    @Transactional(readOnly = true)
+    public Page<SolicitudArriendoDTO> listarTodas(boolean includeDetails, Pageable pageable) {
+        log.debug("Listando solicitudes, página {} (includeDetails: {})",
+                pageable, Boolean.valueOf(includeDetails));
+        Page<SolicitudArriendo> pagina = repository.findAll(
+                Paginas.validarOrden(pageable, Orden.CAMPOS_SOLICITUDES));
 
-        return convertToDTO(saved, true);
+        if (includeDetails) {
+            return new PageImpl<>(convertToDTOs(pagina.getContent()), pagina.getPageable(),
+                    pagina.getTotalElements());
+        }
+        return pagina.map(s -> convertToDTO(s, false));
     }
 
     /**
-     * Lista todas las solicitudes con opción de incluir detalles
+     * Obtiene varias solicitudes por ID con una sola consulta, indexadas por ID.
+     * Los IDs inexistentes no aparecen en el resultado.
      */
     @Transactional(readOnly = true)
-    public List<SolicitudArriendoDTO> listarTodas(boolean includeDetails) {
-        log.debug("Listando todas las solicitudes (includeDetails: {})", Boolean.valueOf(includeDetails));
-        return repository.findAll().stream()
-                .map(s -> convertToDTO(s, includeDetails))
-                .collect(Collectors.toList());
+    public Map<Long, SolicitudArriendoDTO> obtenerPorIds(Collection<Long> ids, boolean includeDetails) {
+        log.debug("Obteniendo {} solicitudes por lote (includeDetails: {})", ids.size(), Boolean.valueOf(includeDetails));
+        List<SolicitudArriendo> solicitudes = repository.findAllById(new LinkedHashSet<>(ids));
+
+        List<SolicitudArriendoDTO> dtos = includeDetails
+                ? convertToDTOs(solicitudes)
+                : solicitudes.stream().map(s -> convertToDTO(s, false)).toList();
+
+        return dtos.stream()
+                .collect(Collectors.toMap(SolicitudArriendoDTO::getId, dto -> dto, (a, b) -> a, LinkedHashMap::new));
     }
 
     /**
@@ -145,25 +258,23 @@ public class SolicitudArriendoService {
     }
 
     /**
-     * Obtiene todas las solicitudes de un usuario
+     * Obtiene una página de las solicitudes de un usuario
      */
     @Transactional(readOnly = true)
-    public List<SolicitudArriendoDTO> obtenerPorUsuario(Long usuarioId) {
+    public Page<SolicitudArriendoDTO> obtenerPorUsuario(Long usuarioId, Pageable pageable) {
         log.debug("Obteniendo solicitudes del usuario: {}", usuarioId);
-        return repository.findByUsuarioId(usuarioId).stream()
-                .map(s -> convertToDTO(s, false))
-                .collect(Collectors.toList());
+        return repository.findByUsuarioId(usuarioId, Paginas.validarOrden(pageable, Orden.CAMPOS_SOLICITUDES))
+                .map(s -> convertToDTO(s, false));
     }
 
     /**
-     * Obtiene todas las solicitudes para una propiedad
+     * Obtiene una página de las solicitudes para una propiedad
      */
     @Transactional(readOnly = true)
-    public List<SolicitudArriendoDTO> obtenerPorPropiedad(Long propiedadId) {
+    public Page<SolicitudArriendoDTO> obtenerPorPropiedad(Long propiedadId, Pageable pageable) {
         log.debug("Obteniendo solicitudes de la propiedad: {}", propiedadId);
-        return repository.findByPropiedadId(propiedadId).stream()
-                .map(s -> convertToDTO(s, false))
-                .collect(Collectors.toList());
+        return repository.findByPropiedadId(propiedadId, Paginas.validarOrden(pageable, Orden.CAMPOS_SOLICITUDES))
+                .map(s -> convertToDTO(s, false));
     }
 
     /**
@@ -171,6 +282,14 @@ public class SolicitudArriendoService {
      */
     @Transactional
     public SolicitudArriendoDTO actualizarEstado(Long id, String nuevoEstado) {
+        return convertToDTO(cambiarEstado(id, nuevoEstado), true);
+    }
+
+    /**
+     * Actualiza el estado de una solicitud y retorna la entidad, sin consultar otros microservicios
+     */
+    @Transactional
+    public SolicitudArriendo cambiarEstado(Long id, String nuevoEstado) {
         log.info("Actualizando estado de solicitud {} a {}", id, nuevoEstado);
 
         SolicitudArriendo solicitud = repository.findById(id)
@@ -178,19 +297,91 @@ public class SolicitudArriendoService {
                         String.format(Mensajes.SOLICITUD_NO_ENCONTRADA, id)
                 ));
 
-        String estadoUpper = nuevoEstado.toUpperCase();
+        String estadoUpper = validarEstado(nuevoEstado);
 
-        if (!EstadoSolicitud.esValido(estadoUpper)) {
-            throw new BusinessValidationException(
-                    String.format(Mensajes.ESTADO_INVALIDO, nuevoEstado)
-            );
+        // Una solicitud recibida solo cambia de estado al terminar su validación asíncrona
+        if (EstadoSolicitud.RECIBIDA.equals(solicitud.getEstado())) {
+            throw new BusinessValidationException(String.format(Mensajes.SOLICITUD_EN_VALIDACION, id));
         }
 
+        String estadoAnterior = solicitud.getEstado();
         solicitud.setEstado(estadoUpper);
         SolicitudArriendo updated = repository.save(solicitud);
+        cupoSolicitudes.cambioDeEstado(solicitud.getUsuarioId(), estadoAnterior, estadoUpper);
         log.info("Estado de solicitud {} actualizado exitosamente a: {}", id, estadoUpper);
 
-        return convertToDTO(updated, true);
+        return updated;
+    }
+
+    /**
+     * Cambia el estado de varias solicitudes con un solo UPDATE. El estado se valida una vez; las
+     * solicitudes inexistentes, en validación o que ya están en ese estado se informan sin modificarse.
+     * Con rechazarOtrasPendientes, al aceptar se rechazan las demás solicitudes pendientes de las
+     * mismas propiedades. El resultado solo contiene IDs: no se consultan otros microservicios.
+     */
+    @Transactional
+    public ResultadoCambioEstadoDTO actualizarEstadoLote(CambioEstadoLoteDTO cambio) {
+        String estado = validarEstado(cambio.getEstado());
+        Set<Long> ids = new LinkedHashSet<>(cambio.getIds());
+        log.info("Actualizando estado de {} solicitudes a {}", ids.size(), estado);
+
+        Map<Long, SolicitudArriendo> encontradas = repository.findAllByIdParaActualizar(ids).stream()
+                .collect(Collectors.toMap(SolicitudArriendo::getId, s -> s));
+
+        ResultadoCambioEstadoDTO resultado = ResultadoCambioEstadoDTO.builder().estado(estado).build();
+        List<SolicitudArriendo> aActualizar = new ArrayList<>();
+        for (Long id : ids) {
+            SolicitudArriendo solicitud = encontradas.get(id);
+            if (solicitud == null) {
+                resultado.getNoEncontradas().add(id);
+            } else if (EstadoSolicitud.RECIBIDA.equals(solicitud.getEstado())) {
+                resultado.getEnValidacion().add(id);
+            } else if (estado.equals(solicitud.getEstado())) {
+                resultado.getSinCambio().add(id);
+            } else {
+                aActualizar.add(solicitud);
+                resultado.getActualizadas().add(id);
+            }
+        }
+        aplicarEstado(aActualizar, estado, null);
+
+        if (cambio.isRechazarOtrasPendientes() && EstadoSolicitud.ACEPTADA.equals(estado)) {
+            List<Long> aceptadas = new ArrayList<>(resultado.getActualizadas());
+            aceptadas.addAll(resultado.getSinCambio());
+            Set<Long> propiedades = aceptadas.stream()
+                    .map(id -> encontradas.get(id).getPropiedadId())
+                    .collect(Collectors.toSet());
+            if (!propiedades.isEmpty()) {
+                List<SolicitudArriendo> otras = repository.findOtrasParaActualizar(
+                        propiedades, EstadoSolicitud.PENDIENTE, aceptadas);
+                aplicarEstado(otras, EstadoSolicitud.RECHAZADA, Mensajes.OTRA_SOLICITUD_ACEPTADA);
+                otras.forEach(s -> resultado.getRechazadasAutomaticamente().add(s.getId()));
+            }
+        }
+
+        log.info("Cambio de estado por lote a {}: {} actualizadas, {} rechazadas automáticamente",
+                estado, resultado.getActualizadas().size(), resultado.getRechazadasAutomaticamente().size());
+        return resultado;
+    }
+
+    /**
+     * Aplica el estado con un solo UPDATE e informa cada cambio al cupo de solicitudes activas
+     */
+    private void aplicarEstado(List<SolicitudArriendo> solicitudes, String estado, String motivoRechazo) {
+        if (solicitudes.isEmpty()) {
+            return;
+        }
+        repository.actualizarEstado(solicitudes.stream().map(SolicitudArriendo::getId).toList(),
+                estado, motivoRechazo);
+        solicitudes.forEach(s -> cupoSolicitudes.cambioDeEstado(s.getUsuarioId(), s.getEstado(), estado));
+    }
+
+    private String validarEstado(String estado) {
+        String estadoUpper = estado.toUpperCase();
+        if (!EstadoSolicitud.esValido(estadoUpper)) {
+            throw new BusinessValidationException(String.format(Mensajes.ESTADO_INVALIDO, estado));
+        }
+        return estadoUpper;
     }
 
     /**
@@ -198,26 +389,104 @@ public class SolicitudArriendoService {
      * Opcionalmente incluye información detallada de usuario y propiedad
      */
     private SolicitudArriendoDTO convertToDTO(SolicitudArriendo solicitud, boolean includeDetails) {
+        if (includeDetails) {
+            return conDetalles(solicitud).block();
+        }
+        return modelMapper.map(solicitud, SolicitudArriendoDTO.class);
+    }
+
+    /**
+     * Convierte la solicitud a DTO con su usuario y propiedad, consultados en paralelo y sin bloquear.
+     * Si alguno no se puede obtener, el DTO queda sin ese detalle.
+     */
+    Mono<SolicitudArriendoDTO> conDetalles(SolicitudArriendo solicitud) {
         SolicitudArriendoDTO dto = modelMapper.map(solicitud, SolicitudArriendoDTO.class);
 
-        if (includeDetails) {
-            try {
-                UsuarioDTO usuario = userServiceClient.getUserById(solicitud.getUsuarioId());
-                dto.setUsuario(usuario);
-            } catch (Exception e) {
-                log.warn("No se pudo obtener información del usuario {}: {}",
-                        solicitud.getUsuarioId(), e.getMessage());
-            }
+        Mono<Optional<UsuarioDTO>> usuario = Mono.defer(() -> userServiceClient.getUserByIdAsync(solicitud.getUsuarioId()))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+        Mono<Optional<PropiedadDTO>> propiedad = Mono.defer(() -> propertyServiceClient.getPropertyByIdAsync(solicitud.getPropiedadId()))
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+
+        return Mono.zip(usuario, propiedad)
+                .map(detalles -> {
+                    detalles.getT1().ifPresentOrElse(dto::setUsuario, () ->
+                            log.warn("No se pudo obtener información del usuario {}", solicitud.getUsuarioId()));
+                    detalles.getT2().ifPresentOrElse(dto::setPropiedad, () ->
+                            log.warn("No se pudo obtener información de la propiedad {}", solicitud.getPropiedadId()));
+                    return dto;
+                })
+                .onErrorResume(e -> {
+                    log.warn("No se pudo obtener información de usuario {} y propiedad {}: {}",
+                            solicitud.getUsuarioId(), solicitud.getPropiedadId(), e.getMessage());
+                    return Mono.just(dto);
+                });
+    }
 
-            try {
-                PropiedadDTO propiedad = propertyServiceClient.getPropertyById(solicitud.getPropiedadId());
-                dto.setPropiedad(propiedad);
-            } catch (Exception e) {
-                log.warn("No se pudo obtener información de la propiedad {}: {}",
-                        solicitud.getPropiedadId(), e.getMessage());
-            }
+    /**
+     * Convierte un listado incluyendo usuario y propiedad con un número constante de llamadas remotas
+     */
+    private List<SolicitudArriendoDTO> convertToDTOs(List<SolicitudArriendo> solicitudes) {
+        return conDetalles(solicitudes).block();
+    }
+
+    /**
+     * Convierte un listado incluyendo usuario y propiedad, sin bloquear: se reúnen los IDs distintos y
+     * se resuelven por lote, con User y Property Service en paralelo. Si un servicio falla se muestra
+     * lo que haya respondido el otro.
+     */
+    Mono<List<SolicitudArriendoDTO>> conDetalles(List<SolicitudArriendo> solicitudes) {
+        if (solicitudes.isEmpty()) {
+            return Mono.just(List.of());
+        }
+
+        Set<Long> usuarioIds = solicitudes.stream()
+                .map(SolicitudArriendo::getUsuarioId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<Long> propiedadIds = solicitudes.stream()
+                .map(SolicitudArriendo::getPropiedadId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return Mono.zip(
+                        Mono.defer(() -> userServiceClient.getUsersByIdsAsync(usuarioIds)).onErrorReturn(Map.of()),
+                        Mono.defer(() -> propertyServiceClient.getPropertiesByIdsAsync(propiedadIds)).onErrorReturn(Map.of()))
+                .map(detalles -> {
+                    replicaLectura.registrarUsuarios(detalles.getT1().values());
+                    replicaLectura.registrarPropiedades(detalles.getT2().values());
+                    return armarConDetalles(solicitudes, detalles.getT1(), detalles.getT2(), usuarioIds, propiedadIds);
+                })
+                .onErrorResume(e -> {
+                    log.warn("No se pudo obtener información de {} usuarios y {} propiedades: {}",
+                            usuarioIds.size(), propiedadIds.size(), e.getMessage());
+                    return Mono.just(armarConDetalles(solicitudes, Map.of(), Map.of(), usuarioIds, propiedadIds));
+                });
+    }
+
+    private List<SolicitudArriendoDTO> armarConDetalles(List<SolicitudArriendo> solicitudes,
+                                                        Map<Long, UsuarioDTO> usuarios,
+                                                        Map<Long, PropiedadDTO> propiedades,
+                                                        Set<Long> usuarioIds,
+                                                        Set<Long> propiedadIds) {
+        List<SolicitudArriendoDTO> dtos = new ArrayList<>(solicitudes.size());
+        for (SolicitudArriendo solicitud : solicitudes) {
+            SolicitudArriendoDTO dto = modelMapper.map(solicitud, SolicitudArriendoDTO.class);
+            dto.setUsuario(usuarios.get(solicitud.getUsuarioId()));
+            dto.setPropiedad(propiedades.get(solicitud.getPropiedadId()));
+            dtos.add(dto);
+        }
+
+        Set<Long> usuariosFaltantes = new LinkedHashSet<>(usuarioIds);
+        usuariosFaltantes.removeAll(usuarios.keySet());
+        Set<Long> propiedadesFaltantes = new LinkedHashSet<>(propiedadIds);
+        propiedadesFaltantes.removeAll(propiedades.keySet());
+        if (!usuariosFaltantes.isEmpty() || !propiedadesFaltantes.isEmpty()) {
+            log.warn("No se pudo obtener información de usuarios {} y propiedades {}",
+                    usuariosFaltantes, propiedadesFaltantes);
         }
 
-        return dto;
+        return dtos;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,147 @@
+package com.rentify.applicationService.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests de CacheDocumentosAprobados con un reloj controlado
+ */
+@DisplayName("Tests de CacheDocumentosAprobados")
+class CacheDocumentosAprobadosTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+    private static final Duration GRACIA = Duration.ofSeconds(300);
+
+    private final AtomicLong reloj = new AtomicLong();
+    private final AtomicInteger consultas = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private CacheDocumentosAprobados cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new CacheDocumentosAprobados("document-service",
+                new CacheDocumentosAprobados.Configuracion(true, TTL, GRACIA, 2), meterRegistry, reloj::get);
+    }
+
+    private Supplier<Mono<Boolean>> responde(Mono<Boolean> respuesta) {
+        return () -> {
+            consultas.incrementAndGet();
+            return respuesta;
+        };
+    }
+
+    private void avanzar(Duration tiempo) {
+        reloj.addAndGet(tiempo.toNanos());
+    }
+
+    private double lookups(String resultado) {
+        return meterRegistry.get("rentify.client.cache.lookups").tag("resultado", resultado).counter().count();
+    }
+
+    @Test
+    @DisplayName("Un usuario aprobado se sirve desde la caché mientras está vigente")
+    void obtener_Vigente_NoConsulta() {
+        // Arrange
+        cache.obtener(1L, responde(Mono.just(true))).block();
+
+        // Act
+        avanzar(TTL.minusSeconds(1));
+        Boolean aprobados = cache.obtener(1L, responde(Mono.just(false))).block();
+
+        // Assert
+        assertThat(aprobados).isTrue();
+        assertThat(consultas).hasValue(1);
+        assertThat(lookups("miss")).isEqualTo(1);
+        assertThat(lookups("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Vencido dentro de la gracia, sirve el valor anterior y refresca una sola vez en segundo plano")
+    void obtener_DentroDeGracia_SirveVencidoYRefresca() {
+        // Arrange
+        cache.obtener(1L, responde(Mono.just(true))).block();
+        avanzar(TTL.plusSeconds(1));
+        Sinks.One<Boolean> refresco = Sinks.one();
+
+        // Act
+        Boolean primera = cache.obtener(1L, responde(refresco.asMono())).block();
+        Boolean segunda = cache.obtener(1L, responde(refresco.asMono())).block();
+
+        // Assert
+        assertThat(primera).isTrue();
+        assertThat(segunda).isTrue();
+        assertThat(consultas).as("los refrescos simultáneos se deduplican").hasValue(2);
+        assertThat(lookups("stale")).isEqualTo(2);
+
+        refresco.tryEmitValue(true);
+        assertThat(cache.obtener(1L, responde(Mono.just(false))).block()).isTrue();
+        assertThat(lookups("hit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Si el refresco falla, el valor anterior se sigue sirviendo hasta terminar la gracia")
+    void obtener_RefrescoFalla_MantieneValorHastaFinDeGracia() {
+        // Arrange
+        cache.obtener(1L, responde(Mono.just(true))).block();
+        Mono<Boolean> caido = Mono.error(new IllegalStateException("Document Service caído"));
+
+        // Act & Assert
+        avanzar(TTL.plusSeconds(1));
+        assertThat(cache.obtener(1L, responde(caido)).block()).isTrue();
+        assertThat(meterRegistry.get("rentify.client.cache.refreshes").tag("resultado", "error").counter().count())
+                .isEqualTo(1);
+
+        avanzar(GRACIA);
+        assertThatThrownBy(() -> cache.obtener(1L, responde(caido)).block())
+                .hasMessageContaining("caído");
+        assertThat(lookups("miss")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Las consultas simultáneas sin entrada comparten una sola verificación")
+    void obtener_MissConcurrente_UnaSolaConsulta() {
+        // Arrange
+        Sinks.One<Boolean> respuesta = Sinks.one();
+        Mono<Boolean> primera = cache.obtener(1L, responde(respuesta.asMono())).cache();
+        Mono<Boolean> segunda = cache.obtener(1L, responde(respuesta.asMono())).cache();
+        primera.subscribe();
+        segunda.subscribe();
+
+        // Act
+        respuesta.tryEmitValue(true);
+
+        // Assert
+        assertThat(primera.block()).isTrue();
+        assertThat(segunda.block()).isTrue();
+        assertThat(consultas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Los resultados negativos no se guardan y la caché respeta su tamaño máximo")
+    void obtener_NegativosYTamanoMaximo() {
+        // Act
+        cache.obtener(1L, responde(Mono.just(false))).block();
+        cache.obtener(2L, responde(Mono.just(true))).block();
+        cache.obtener(3L, responde(Mono.just(true))).block();
+        cache.obtener(4L, responde(Mono.just(true))).block();
+
+        // Assert
+        assertThat(cache.tamano()).isEqualTo(2);
+        assertThat(cache.obtener(1L, responde(Mono.just(true))).block()).isTrue();
+        assertThat(consultas).hasValue(5);
+        assertThat(meterRegistry.get("rentify.client.cache.size").gauge().value()).isEqualTo(2);
+    }
+}
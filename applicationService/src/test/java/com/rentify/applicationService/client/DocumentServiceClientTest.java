@@ -1,5 +1,6 @@
 package com.rentify.applicationService.client;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
@@ -9,7 +10,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -30,18 +35,10 @@ class DocumentServiceClientTest {
 
         String baseUrl = mockWebServer.url("/").toString();
 
-        // Crear el cliente con el builder real
+        // Crear el cliente con el builder real apuntando al mock server
         WebClient.Builder webClientBuilder = WebClient.builder();
-        client = new DocumentServiceClient(webClientBuilder);
-
-        // Usar reflexión para inyectar la URL del mock server
-        try {
-            var field = DocumentServiceClient.class.getDeclaredField("documentServiceUrl");
-            field.setAccessible(true);
-            field.set(client, baseUrl.substring(0, baseUrl.length() - 1)); // Remover última /
-        } catch (Exception e) {
-            throw new RuntimeException("Error configurando test", e);
-        }
+        client = new DocumentServiceClient(webClientBuilder, baseUrl.substring(0, baseUrl.length() - 1),
+                ResilienciaRegistro.sinPoliticas()); // Remover última /
     }
 
     @AfterEach
@@ -202,4 +199,51 @@ class DocumentServiceClientTest {
         // Assert
         assertThat(count).isZero();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Con caché, una caída del Document Service no rechaza a un usuario ya verificado")
+    void hasApprovedDocuments_ConCache_CaidaDentroDeGracia_ReturnsTrue() {
+        // Arrange
+        AtomicLong reloj = new AtomicLong();
+        String baseUrl = mockWebServer.url("/").toString();
+        DocumentServiceClient conCache = new DocumentServiceClient(WebClient.builder(),
+                baseUrl.substring(0, baseUrl.length() - 1), ResilienciaRegistro.sinPoliticas(),
+                new CacheDocumentosAprobados.Configuracion(true, Duration.ofSeconds(60), Duration.ofSeconds(300), 100),
+                new SimpleMeterRegistry(), reloj::get);
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("true")
+                .addHeader("Content-Type", "application/json"));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        assertThat(conCache.hasApprovedDocuments(1L)).isTrue();
+
+        // Act
+        reloj.addAndGet(Duration.ofSeconds(61).toNanos());
+        boolean result = conCache.hasApprovedDocuments(1L);
+
+        // Assert
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    @DisplayName("La verificación por lote usa la caché y omite a los usuarios que no se pudieron verificar")
+    void hasApprovedDocumentsByUsersAsync_ConCache_UsaCacheYOmiteFallidos() {
+        // Arrange - el usuario 1 queda en la caché; después el Document Service falla
+        String baseUrl = mockWebServer.url("/").toString();
+        DocumentServiceClient conCache = new DocumentServiceClient(WebClient.builder(),
+                baseUrl.substring(0, baseUrl.length() - 1), ResilienciaRegistro.sinPoliticas(),
+                new CacheDocumentosAprobados.Configuracion(true, Duration.ofSeconds(60), Duration.ofSeconds(300), 100),
+                new SimpleMeterRegistry(), System::nanoTime);
+        mockWebServer.enqueue(new MockResponse()
+                .setBody("true")
+                .addHeader("Content-Type", "application/json"));
+        assertThat(conCache.hasApprovedDocuments(1L)).isTrue();
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+
+        // Act
+        Map<Long, Boolean> result = conCache.hasApprovedDocumentsByUsersAsync(List.of(1L, 2L)).block();
+
+        // Assert - el usuario 1 sale de la caché y el 2, que falló, no aparece
+        assertThat(result).containsExactly(Map.entry(1L, true));
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+}
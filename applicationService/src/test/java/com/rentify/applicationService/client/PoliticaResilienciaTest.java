@@ -0,0 +1,332 @@
+package com.rentify.applicationService.client;
+
+import com.rentify.applicationService.exception.MicroserviceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tests de PoliticaResiliencia")
+class PoliticaResilienciaTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong reloj;
+    private AtomicInteger llamadas;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        reloj = new AtomicLong();
+        llamadas = new AtomicInteger();
+    }
+
+    private PoliticaResiliencia politica(PoliticaResiliencia.Configuracion config) {
+        return new PoliticaResiliencia("user-service", config, meterRegistry, reloj::get);
+    }
+
+    private PoliticaResiliencia.Configuracion.ConfiguracionBuilder sinReintentos() {
+        return PoliticaResiliencia.Configuracion.builder()
+                .ventanaLlamadas(4)
+                .minimoLlamadas(4)
+                .umbralFallos(50)
+                .esperaAbierto(Duration.ofSeconds(10))
+                .llamadasPrueba(2)
+                .maxReintentos(0);
+    }
+
+    private Mono<String> falla(HttpStatus status) {
+        return Mono.defer(() -> {
+            llamadas.incrementAndGet();
+            return Mono.error(WebClientResponseException.create(status.value(), status.name(), null, null, null));
+        });
+    }
+
+    private Mono<String> responde() {
+        return Mono.fromSupplier(() -> {
+            llamadas.incrementAndGet();
+            return "ok";
+        });
+    }
+
+    @Test
+    @DisplayName("El circuito se abre tras superar el umbral de fallos y rechaza sin llamar al servicio")
+    void circuito_SeAbreYRechaza() {
+        // Arrange
+        PoliticaResiliencia politica = politica(sinReintentos().build());
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.SERVICE_UNAVAILABLE)).block())
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+
+        // Act & Assert
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.ABIERTO);
+        assertThatThrownBy(() -> politica.ejecutar(this::responde).block())
+                .isInstanceOf(MicroserviceException.class)
+                .hasMessageContaining("circuito abierto");
+        assertThat(llamadas.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("rentify.client.rejections").tag("motivo", "circuito_abierto")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("rentify.client.circuit.state").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Tras la espera el circuito pasa a semi-abierto y cierra con llamadas de prueba exitosas")
+    void circuito_SemiAbiertoCierraConPruebasExitosas() {
+        // Arrange
+        PoliticaResiliencia politica = politica(sinReintentos().build());
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.INTERNAL_SERVER_ERROR)).block());
+        }
+
+        // Act
+        reloj.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        // Assert
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.SEMI_ABIERTO);
+        assertThat(politica.ejecutar(this::responde).block()).isEqualTo("ok");
+        assertThat(politica.ejecutar(this::responde).block()).isEqualTo("ok");
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.CERRADO);
+    }
+
+    @Test
+    @DisplayName("Un fallo en semi-abierto vuelve a abrir el circuito")
+    void circuito_FalloEnSemiAbiertoReabre() {
+        // Arrange
+        PoliticaResiliencia politica = politica(sinReintentos().build());
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.BAD_GATEWAY)).block());
+        }
+        reloj.addAndGet(Duration.ofSeconds(11).toNanos());
+
+        // Act
+        assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.BAD_GATEWAY)).block());
+
+        // Assert
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.ABIERTO);
+    }
+
+    private void abrirYEsperar(PoliticaResiliencia politica) {
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.SERVICE_UNAVAILABLE)).block());
+        }
+        reloj.addAndGet(Duration.ofSeconds(11).toNanos());
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.SEMI_ABIERTO);
+    }
+
+    @Test
+    @DisplayName("Cancelar una llamada que no es de prueba no libera un lugar de prueba")
+    void semiAbierto_CancelarNoPruebaNoLiberaLugar() {
+        // Arrange - una llamada iniciada con el circuito cerrado sigue pendiente
+        PoliticaResiliencia politica = politica(sinReintentos().build());
+        Disposable previa = politica.ejecutar(() -> Sinks.<String>one().asMono()).subscribe();
+        abrirYEsperar(politica);
+        politica.ejecutar(() -> Sinks.<String>one().asMono()).subscribe();
+        politica.ejecutar(() -> Sinks.<String>one().asMono()).subscribe();
+
+        // Act
+        previa.dispose();
+
+        // Assert - las 2 pruebas siguen en curso
+        assertThatThrownBy(() -> politica.ejecutar(this::responde).block())
+                .isInstanceOf(MicroserviceException.class)
+                .hasMessageContaining("circuito abierto");
+    }
+
+    @Test
+    @DisplayName("El resultado de una llamada iniciada con el circuito cerrado no cuenta como prueba")
+    void semiAbierto_ResultadoDeOtroEstadoNoCuenta() {
+        // Arrange
+        PoliticaResiliencia politica = politica(sinReintentos().build());
+        Sinks.One<String> exitosa = Sinks.one();
+        Sinks.One<String> fallida = Sinks.one();
+        politica.ejecutar(exitosa::asMono).subscribe();
+        politica.ejecutar(fallida::asMono).subscribe(valor -> { }, error -> { });
+        abrirYEsperar(politica);
+
+        // Act
+        exitosa.tryEmitValue("ok");
+        fallida.tryEmitError(WebClientResponseException.create(503, "SERVICE_UNAVAILABLE", null, null, null));
+
+        // Assert - ni cierra ni reabre; se necesitan las 2 pruebas
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.SEMI_ABIERTO);
+        assertThat(politica.ejecutar(this::responde).block()).isEqualTo("ok");
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.SEMI_ABIERTO);
+        assertThat(politica.ejecutar(this::responde).block()).isEqualTo("ok");
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.CERRADO);
+    }
+
+    @Test
+    @DisplayName("Las respuestas 4xx no abren el circuito ni se reintentan")
+    void errores4xx_NoCuentanNiSeReintentan() {
+        // Arrange
+        PoliticaResiliencia politica = politica(sinReintentos().maxReintentos(2).build());
+
+        // Act
+        for (int i = 0; i < 6; i++) {
+            assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.NOT_FOUND)).block())
+                    .isInstanceOf(WebClientResponseException.NotFound.class);
+        }
+
+        // Assert
+        assertThat(llamadas.get()).isEqualTo(6);
+        assertThat(politica.getEstado()).isEqualTo(PoliticaResiliencia.EstadoCircuito.CERRADO);
+    }
+
+    @Test
+    @DisplayName("Los errores 5xx se reintentan con backoff hasta el máximo configurado")
+    void errores5xx_SeReintentan() {
+        // Arrange
+        PoliticaResiliencia politica = politica(PoliticaResiliencia.Configuracion.builder()
+                .maxReintentos(2)
+                .backoffInicial(Duration.ofMillis(1))
+                .backoffMaximo(Duration.ofMillis(5))
+                .build());
+
+        // Act
+        assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.SERVICE_UNAVAILABLE)).block())
+                .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+
+        // Assert
+        assertThat(llamadas.get()).isEqualTo(3);
+        assertThat(meterRegistry.get("rentify.client.retries").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Un 5xx seguido de éxito retorna la respuesta del reintento")
+    void errores5xx_ReintentoExitoso() {
+        // Arrange
+        PoliticaResiliencia politica = politica(PoliticaResiliencia.Configuracion.builder()
+                .backoffInicial(Duration.ofMillis(1))
+                .build());
+
+        // Act
+        String resultado = politica.ejecutar(() -> llamadas.get() == 0
+                ? falla(HttpStatus.INTERNAL_SERVER_ERROR)
+                : responde()).block();
+
+        // Assert
+        assertThat(resultado).isEqualTo("ok");
+        assertThat(llamadas.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Los timeouts no se reintentan por defecto")
+    void timeouts_NoSeReintentanPorDefecto() {
+        // Arrange
+        PoliticaResiliencia politica = politica(PoliticaResiliencia.Configuracion.builder()
+                .maxReintentos(2)
+                .backoffInicial(Duration.ofMillis(1))
+                .build());
+        PoliticaResiliencia conTimeouts = politica(PoliticaResiliencia.Configuracion.builder()
+                .maxReintentos(2)
+                .backoffInicial(Duration.ofMillis(1))
+                .reintentarTimeouts(true)
+                .build());
+        Supplier<Mono<String>> timeout = () -> Mono.defer(() -> {
+            llamadas.incrementAndGet();
+            return Mono.error(new TimeoutException("sin respuesta"));
+        });
+
+        // Act & Assert
+        assertThatThrownBy(() -> politica.ejecutar(timeout).block()).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(llamadas.get()).isEqualTo(1);
+
+        llamadas.set(0);
+        assertThatThrownBy(() -> conTimeouts.ejecutar(timeout).block()).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(llamadas.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("No se inicia un reintento pasado el plazo de reintentos")
+    void reintentos_RespetanPlazo() {
+        // Arrange - cada llamada avanza el reloj falso 3 s
+        PoliticaResiliencia politica = politica(PoliticaResiliencia.Configuracion.builder()
+                .maxReintentos(5)
+                .backoffInicial(Duration.ofMillis(1))
+                .plazoReintentos(Duration.ofSeconds(5))
+                .build());
+
+        // Act
+        assertThatThrownBy(() -> politica.ejecutar(() -> {
+            reloj.addAndGet(Duration.ofSeconds(3).toNanos());
+            return falla(HttpStatus.SERVICE_UNAVAILABLE);
+        }).block()).isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+
+        // Assert - 3 s: reintenta; 6 s: fuera de plazo
+        assertThat(llamadas.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("El bulkhead rechaza las llamadas que exceden el máximo de concurrentes")
+    void bulkhead_RechazaExcedente() {
+        // Arrange
+        PoliticaResiliencia politica = politica(sinReintentos().maxConcurrentes(1).build());
+        Sinks.One<String> pendiente = Sinks.one();
+        politica.ejecutar(pendiente::asMono).subscribe();
+
+        // Act & Assert
+        assertThatThrownBy(() -> politica.ejecutar(this::responde).block())
+                .isInstanceOf(MicroserviceException.class)
+                .hasMessageContaining("demasiadas llamadas concurrentes");
+        assertThat(llamadas.get()).isZero();
+
+        pendiente.tryEmitValue("ok");
+        assertThat(politica.ejecutar(this::responde).block()).isEqualTo("ok");
+        assertThat(meterRegistry.get("rentify.client.rejections").tag("motivo", "bulkhead")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Con hedging habilitado se lanza un segundo intento si el primero supera el p95")
+    void hedging_LanzaSegundoIntento() {
+        // Arrange - latencias registradas con el reloj falso: 1 ms cada una
+        PoliticaResiliencia politica = new PoliticaResiliencia("user-service",
+                sinReintentos().hedging(true).hedgingRetardoMinimo(Duration.ofMillis(20)).build(),
+                meterRegistry,
+                () -> reloj.getAndAdd(Duration.ofMillis(1).toNanos()));
+        assertThat(politica.retardoHedging()).isNull();
+        for (int i = 0; i < 20; i++) {
+            politica.ejecutar(this::responde).block();
+        }
+        assertThat(politica.retardoHedging()).isEqualTo(Duration.ofMillis(20));
+        llamadas.set(0);
+
+        // Act - el primer intento nunca responde, el segundo sí
+        String resultado = politica.ejecutar(() -> llamadas.getAndIncrement() == 0
+                ? Mono.never()
+                : Mono.just("ok")).block(Duration.ofSeconds(5));
+
+        // Assert
+        assertThat(resultado).isEqualTo("ok");
+        assertThat(llamadas.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("rentify.client.hedges").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Una política deshabilitada ejecuta la llamada sin reintentos")
+    void deshabilitada_EjecutaTalCual() {
+        // Arrange
+        PoliticaResiliencia politica = politica(PoliticaResiliencia.Configuracion.builder()
+                .habilitada(false)
+                .build());
+
+        // Act
+        assertThatThrownBy(() -> politica.ejecutar(() -> falla(HttpStatus.SERVICE_UNAVAILABLE)).block());
+
+        // Assert
+        assertThat(llamadas.get()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,96 @@
+package com.rentify.applicationService.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests unitarios para RemoteLookupContext
+ */
+@DisplayName("Tests de RemoteLookupContext")
+class RemoteLookupContextTest {
+
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Consultas idénticas en el mismo request se ejecutan una sola vez")
+    void memoize_MismaClave_UnaSolaLlamada() {
+        AtomicInteger suscripciones = new AtomicInteger();
+        Mono<String> llamada = Mono.fromCallable(() -> {
+            suscripciones.incrementAndGet();
+            return "usuario";
+        });
+
+        String primero = RemoteLookupContext.memoize("user-service", "usuario:1", () -> llamada).block();
+        String segundo = RemoteLookupContext.memoize("user-service", "usuario:1", () -> llamada).block();
+
+        assertThat(primero).isEqualTo("usuario");
+        assertThat(segundo).isEqualTo("usuario");
+        assertThat(suscripciones).hasValue(1);
+
+        RemoteLookupContext contexto = (RemoteLookupContext) request.getAttribute(RemoteLookupContext.ATRIBUTO);
+        assertThat(contexto.getLlamadas()).containsEntry("user-service", 1);
+        assertThat(contexto.getDeduplicadas()).containsEntry("user-service", 1);
+    }
+
+    @Test
+    @DisplayName("Una consulta en curso es compartida por los suscriptores concurrentes")
+    void memoize_ConsultaEnCurso_Compartida() {
+        AtomicInteger suscripciones = new AtomicInteger();
+        Mono<Long> lenta = Mono.delay(Duration.ofMillis(200))
+                .doOnSubscribe(s -> suscripciones.incrementAndGet());
+
+        Mono<Long> a = RemoteLookupContext.memoize("property-service", "propiedad:10", () -> lenta);
+        Mono<Long> b = RemoteLookupContext.memoize("property-service", "propiedad:10", () -> lenta);
+
+        Mono.zip(a, b).block();
+
+        assertThat(suscripciones).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Claves distintas no se deduplican")
+    void memoize_ClavesDistintas_LlamadasSeparadas() {
+        AtomicInteger suscripciones = new AtomicInteger();
+        Mono<Integer> llamada = Mono.fromCallable(suscripciones::incrementAndGet);
+
+        RemoteLookupContext.memoize("user-service", "usuario:1", () -> llamada).block();
+        RemoteLookupContext.memoize("user-service", "usuario:2", () -> llamada).block();
+
+        assertThat(suscripciones).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Fuera de un request no se memoiza")
+    void memoize_SinRequest_NoMemoiza() {
+        RequestContextHolder.resetRequestAttributes();
+        AtomicInteger suscripciones = new AtomicInteger();
+        Mono<Integer> llamada = Mono.fromCallable(suscripciones::incrementAndGet);
+
+        RemoteLookupContext.memoize("user-service", "usuario:1", () -> llamada).block();
+        RemoteLookupContext.memoize("user-service", "usuario:1", () -> llamada).block();
+
+        assertThat(suscripciones).hasValue(2);
+    }
+}
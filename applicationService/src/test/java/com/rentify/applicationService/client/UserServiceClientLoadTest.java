@@ -0,0 +1,180 @@
+package com.rentify.applicationService.client;
+
+import com.rentify.applicationService.dto.UsuarioDTO;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Prueba de carga de llamadas bloqueantes al User Service con una dependencia lenta.
+ *
+ * Simula los requests entrantes con un pool acotado de hilos de plataforma (como el de Tomcat)
+ * y con un hilo virtual por request (spring.threads.virtual.enabled=true). El caso con hilos
+ * virtuales solo se ejecuta en Java 21+.
+ *
+ * Es un benchmark: registra los tiempos en el log sin compararlos y queda fuera de mvn test
+ * (se ejecuta con mvn test -Pbenchmark).
+ */
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Prueba de carga de UserServiceClient con dependencia lenta")
+class UserServiceClientLoadTest {
+
+    private static final long RETARDO_MS = 200;
+    private static final int REQUESTS = 60;
+    private static final int HILOS_TOMCAT = 10;
+
+    private MockWebServer userServer;
+    private volatile boolean loteNoDisponible;
+    private ConnectionProvider connectionProvider;
+    private UserServiceClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userServer = new MockWebServer();
+        userServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getPath();
+                String body;
+                if (path.startsWith("/api/usuarios/batch")) {
+                    if (loteNoDisponible) {
+                        return new MockResponse().setResponseCode(404);
+                    }
+                    // El body es un arreglo JSON de IDs: se responde un usuario por ID
+                    body = Arrays.stream(request.getBody().readUtf8().replaceAll("[\\[\\]\\s]", "").split(","))
+                            .map(id -> "{\"id\": " + id + ", \"rolId\": 3}")
+                            .collect(Collectors.joining(",", "[", "]"));
+                } else {
+                    body = "{\"id\": " + path.replaceAll("\\D", "") + ", \"rolId\": 3}";
+                }
+                return new MockResponse()
+                        .setBody(body)
+                        .addHeader("Content-Type", "application/json")
+                        .setHeadersDelay(RETARDO_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+        userServer.start();
+
+        // Pool con capacidad para todos los requests: el límite a medir es el de hilos
+        connectionProvider = ConnectionProvider.create("carga", REQUESTS);
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)));
+
+        String url = userServer.url("/").toString();
+        client = new UserServiceClient(builder, url.substring(0, url.length() - 1), ResilienciaRegistro.sinPoliticas());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        connectionProvider.dispose();
+        userServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Con hilos de plataforma el throughput queda limitado por el tamaño del pool")
+    void hilosDePlataforma_ThroughputLimitadoPorPool() throws Exception {
+        // Act
+        long duracionMs = ejecutar(Executors.newFixedThreadPool(HILOS_TOMCAT));
+
+        // Resultado - se esperan 60 requests / 10 hilos = 6 rondas de 200 ms
+        log.info("Hilos de plataforma ({}): {} requests en {} ms ({} req/s)",
+                HILOS_TOMCAT, REQUESTS, duracionMs, String.format("%.1f", REQUESTS * 1000.0 / duracionMs));
+    }
+
+    @Test
+    @DisplayName("Con hilos virtuales los requests esperan en paralelo a la dependencia lenta")
+    void hilosVirtuales_ThroughputNoLimitadoPorPool() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Los hilos virtuales requieren Java 21+");
+
+        // Arrange - se obtiene por reflexión para compilar con Java 17
+        ExecutorService virtuales = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+
+        // Act
+        long duracionMs = ejecutar(virtuales);
+
+        // Resultado - todos los requests esperan a la vez: cerca de una sola ronda
+        log.info("Hilos virtuales: {} requests en {} ms ({} req/s)",
+                REQUESTS, duracionMs, String.format("%.1f", REQUESTS * 1000.0 / duracionMs));
+    }
+
+    @Test
+    @DisplayName("La consulta por lote resuelve cientos de usuarios en una llamada")
+    void getUsersByIdsAsync_LoteVsIndividual() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 300).boxed().toList();
+        client.getUserByIdAsync(1L).block();
+        int llamadasIniciales = userServer.getRequestCount();
+
+        // Act - lote
+        long inicio = System.nanoTime();
+        Map<Long, UsuarioDTO> porLote = client.getUsersByIdsAsync(ids).block();
+        long loteMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        int llamadasLote = userServer.getRequestCount() - llamadasIniciales;
+
+        // Act - individual (lo que hacía getUsersByIdsAsync antes del endpoint por lote)
+        loteNoDisponible = true;
+        inicio = System.nanoTime();
+        Map<Long, UsuarioDTO> individual = client.getUsersByIdsAsync(ids).block();
+        long individualMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        // Assert
+        assertThat(porLote).hasSize(300).containsKeys(1L, 150L, 300L);
+        assertThat(individual).hasSize(300);
+        assertThat(llamadasLote).isEqualTo(1);
+        log.info("300 usuarios: lote {} ms ({} llamada), individual {} ms ({} ms/usuario vs {} ms/usuario)",
+                loteMs, llamadasLote, individualMs,
+                String.format("%.2f", loteMs / 300.0), String.format("%.2f", individualMs / 300.0));
+    }
+
+    /**
+     * Lanza REQUESTS llamadas bloqueantes en el executor y retorna cuánto tardaron en completarse.
+     */
+    private long ejecutar(ExecutorService executor) throws Exception {
+        try {
+            // Calentar conexiones y clases para que la medición refleje solo la espera
+            client.getUserById(1L);
+
+            long inicio = System.nanoTime();
+            List<Future<UsuarioDTO>> resultados = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                long id = i;
+                resultados.add(executor.submit(() -> client.getUserById(id)));
+            }
+            for (Future<UsuarioDTO> resultado : resultados) {
+                assertThat(resultado.get(30, TimeUnit.SECONDS)).isNotNull();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,19 +1,30 @@
 package com.rentify.applicationService.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.applicationService.dto.EstadisticaMensualDTO;
+import com.rentify.applicationService.dto.OcupacionPropiedadDTO;
 import com.rentify.applicationService.dto.RegistroArriendoDTO;
 import com.rentify.applicationService.exception.BusinessValidationException;
 import com.rentify.applicationService.exception.ResourceNotFoundException;
+import com.rentify.applicationService.service.EstadisticasArriendoService;
+import com.rentify.applicationService.service.IdempotenciaService;
+import com.rentify.applicationService.service.OcupacionPropiedadesService;
 import com.rentify.applicationService.service.RegistroArriendoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;  // CAMBIADO
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -25,6 +36,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(RegistroController.class)
+@Import(IdempotenciaService.class)
 @DisplayName("Tests de integración para RegistroController")
 class RegistroControllerTest {
 
@@ -37,6 +49,12 @@ class RegistroControllerTest {
     @MockitoBean  // CAMBIADO de @MockBean
     private RegistroArriendoService service;
 
+    @MockitoBean
+    private EstadisticasArriendoService estadisticasService;
+
+    @MockitoBean
+    private OcupacionPropiedadesService ocupacionService;
+
     private RegistroArriendoDTO registroDTO;
 
     @BeforeEach
@@ -70,6 +88,31 @@ class RegistroControllerTest {
         verify(service, times(1)).crearRegistro(any(RegistroArriendoDTO.class));
     }
 
+    @Test
+    @DisplayName("POST /api/registros - Un reintento con el mismo Idempotency-Key repite la respuesta sin volver a crear")
+    void crearRegistro_ReintentoConIdempotencyKey_NoDuplica() throws Exception {
+        // Given
+        when(service.crearRegistro(any(RegistroArriendoDTO.class))).thenReturn(registroDTO);
+        String body = objectMapper.writeValueAsString(registroDTO);
+
+        // When & Then
+        mockMvc.perform(post("/api/registros")
+                        .header("Idempotency-Key", "reintento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        mockMvc.perform(post("/api/registros")
+                        .header("Idempotency-Key", "reintento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(service, times(1)).crearRegistro(any(RegistroArriendoDTO.class));
+    }
+
     @Test
     @DisplayName("POST /api/registros - Validación fallida")
     void crearRegistro_DatosInvalidos_DeberiaRetornar400() throws Exception {
@@ -103,20 +146,41 @@ class RegistroControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/registros - Listar todos")
+    @DisplayName("GET /api/registros - Sin page ni size retorna todos los registros")
+    void listarTodos_SinPaginacion_RetornaTodos() throws Exception {
+        // Given
+        Pageable todos = Pageable.unpaged(Sort.by("id"));
+        when(service.listarTodos(false, todos)).thenReturn(new PageImpl<>(Arrays.asList(registroDTO)));
+
+        // When & Then
+        mockMvc.perform(get("/api/registros"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(service, times(1)).listarTodos(false, todos);
+    }
+
+    @Test
+    @DisplayName("GET /api/registros - Listar una página con el total en X-Total-Count")
     void listarTodos_DeberiaRetornar200ConLista() throws Exception {
         // Given
         List<RegistroArriendoDTO> registros = Arrays.asList(registroDTO);
-        when(service.listarTodos(false)).thenReturn(registros);
+        Pageable pageable = PageRequest.of(2, 10, Sort.by(Sort.Direction.DESC, "fechaInicio"));
+        when(service.listarTodos(false, pageable)).thenReturn(new PageImpl<>(registros, pageable, 21));
 
         // When & Then
         mockMvc.perform(get("/api/registros")
-                        .param("includeDetails", "false"))
+                        .param("includeDetails", "false")
+                        .param("page", "2")
+                        .param("size", "10")
+                        .param("sort", "fechaInicio,desc"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "21"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(1));
 
-        verify(service, times(1)).listarTodos(false);
+        verify(service, times(1)).listarTodos(false, pageable);
     }
 
     @Test
@@ -207,4 +271,48 @@ class RegistroControllerTest {
 
         verify(service, times(1)).finalizarRegistro(999L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("GET /api/registros/estadisticas/mensual - Retorna la serie mensual")
+    void estadisticasMensuales_DeberiaRetornar200() throws Exception {
+        // Given
+        EstadisticaMensualDTO mes = EstadisticaMensualDTO.builder()
+                .mes("2025-11")
+                .ingresos(500000.0)
+                .registrosActivos(1L)
+                .registrosIniciados(1L)
+                .registrosFinalizados(0L)
+                .build();
+        when(estadisticasService.serieMensual("2025-11", "2025-11")).thenReturn(List.of(mes));
+
+        // When & Then
+        mockMvc.perform(get("/api/registros/estadisticas/mensual")
+                        .param("desde", "2025-11")
+                        .param("hasta", "2025-11"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].mes").value("2025-11"))
+                .andExpect(jsonPath("$[0].ingresos").value(500000.0));
+    }
+
+    @Test
+    @DisplayName("GET /api/registros/ocupacion - Retorna la ocupación de varias propiedades")
+    void ocupacion_DeberiaRetornar200() throws Exception {
+        // Given
+        LocalDate fecha = LocalDate.of(2025, 12, 1);
+        when(ocupacionService.ocupacion(List.of(1L, 2L), fecha)).thenReturn(List.of(
+                OcupacionPropiedadDTO.builder().propiedadId(1L).ocupada(true)
+                        .ocupadaHasta(LocalDate.of(2026, 6, 30)).build(),
+                OcupacionPropiedadDTO.builder().propiedadId(2L).ocupada(false).build()));
+
+        // When & Then
+        mockMvc.perform(get("/api/registros/ocupacion")
+                        .param("propiedadIds", "1,2")
+                        .param("fecha", "2025-12-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].ocupada").value(true))
+                .andExpect(jsonPath("$[0].ocupadaHasta").value("2026-06-30"))
+                .andExpect(jsonPath("$[1].ocupada").value(false));
+    }
+}
@@ -1,15 +1,24 @@
 package com.rentify.applicationService.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.applicationService.dto.CambioEstadoLoteDTO;
+import com.rentify.applicationService.dto.ResultadoCambioEstadoDTO;
 import com.rentify.applicationService.dto.SolicitudArriendoDTO;
 import com.rentify.applicationService.exception.BusinessValidationException;
 import com.rentify.applicationService.exception.ResourceNotFoundException;
+import com.rentify.applicationService.service.IdempotenciaService;
+import com.rentify.applicationService.service.RecepcionSolicitudesService;
 import com.rentify.applicationService.service.SolicitudArriendoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;  // CAMBIADO
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,6 +37,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Valida las respuestas HTTP y el comportamiento del endpoint
  */
 @WebMvcTest(SolicitudController.class)
+@Import(IdempotenciaService.class)
 @DisplayName("Tests de SolicitudController")
 class SolicitudControllerTest {
 
@@ -40,6 +50,9 @@ class SolicitudControllerTest {
     @MockitoBean  // CAMBIADO de @MockBean
     private SolicitudArriendoService service;
 
+    @MockitoBean
+    private RecepcionSolicitudesService recepcionService;
+
     private SolicitudArriendoDTO solicitudDTO;
 
     @BeforeEach
@@ -72,6 +85,57 @@ class SolicitudControllerTest {
         verify(service, times(1)).crearSolicitud(any(SolicitudArriendoDTO.class));
     }
 
+    @Test
+    @DisplayName("POST /api/solicitudes - Un reintento con el mismo Idempotency-Key repite la respuesta sin volver a crear")
+    void crearSolicitud_ReintentoConIdempotencyKey_NoDuplica() throws Exception {
+        // Arrange
+        when(service.crearSolicitud(any(SolicitudArriendoDTO.class))).thenReturn(solicitudDTO);
+        String body = objectMapper.writeValueAsString(solicitudDTO);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/solicitudes")
+                        .header("Idempotency-Key", "reintento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        mockMvc.perform(post("/api/solicitudes")
+                        .header("Idempotency-Key", "reintento-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(1));
+
+        verify(service, times(1)).crearSolicitud(any(SolicitudArriendoDTO.class));
+    }
+
+    @Test
+    @DisplayName("POST /api/solicitudes - Con Prefer: respond-async retorna 202 con la solicitud RECIBIDA y su URL")
+    void crearSolicitud_PreferRespondAsync_Returns202() throws Exception {
+        // Arrange
+        SolicitudArriendoDTO recibida = SolicitudArriendoDTO.builder()
+                .id(7L)
+                .usuarioId(1L)
+                .propiedadId(1L)
+                .estado("RECIBIDA")
+                .build();
+        when(recepcionService.usarAsincrona("respond-async")).thenReturn(true);
+        when(recepcionService.recibir(any(SolicitudArriendoDTO.class))).thenReturn(recibida);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/solicitudes")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(solicitudDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/solicitudes/7"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.estado").value("RECIBIDA"));
+
+        verify(service, never()).crearSolicitud(any(SolicitudArriendoDTO.class));
+    }
+
     @Test
     @DisplayName("POST /api/solicitudes - Debe retornar 400 cuando faltan datos requeridos")
     void crearSolicitud_SinUsuarioId_Returns400() throws Exception {
@@ -106,16 +170,18 @@ class SolicitudControllerTest {
     @DisplayName("GET /api/solicitudes - Debe listar todas las solicitudes")
     void listarTodas_Returns200() throws Exception {
         // Arrange
-        when(service.listarTodas(false)).thenReturn(Arrays.asList(solicitudDTO));
+        when(service.listarTodas(eq(false), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(solicitudDTO)));
 
         // Act & Assert
         mockMvc.perform(get("/api/solicitudes")
                         .param("includeDetails", "false"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].id").value(1));
 
-        verify(service, times(1)).listarTodas(false);
+        verify(service, times(1)).listarTodas(eq(false), any(Pageable.class));
     }
 
     @Test
@@ -152,22 +218,28 @@ class SolicitudControllerTest {
     @DisplayName("GET /api/solicitudes/usuario/{usuarioId} - Debe retornar solicitudes del usuario")
     void obtenerPorUsuario_Returns200() throws Exception {
         // Arrange
-        when(service.obtenerPorUsuario(1L)).thenReturn(Arrays.asList(solicitudDTO));
+        Pageable pageable = PageRequest.of(1, 5, Sort.by("fechaSolicitud"));
+        when(service.obtenerPorUsuario(1L, pageable)).thenReturn(new PageImpl<>(Arrays.asList(solicitudDTO), pageable, 6));
 
         // Act & Assert
-        mockMvc.perform(get("/api/solicitudes/usuario/1"))
+        mockMvc.perform(get("/api/solicitudes/usuario/1")
+                        .param("page", "1")
+                        .param("size", "5")
+                        .param("sort", "fechaSolicitud"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "6"))
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].usuarioId").value(1));
 
-        verify(service, times(1)).obtenerPorUsuario(1L);
+        verify(service, times(1)).obtenerPorUsuario(1L, pageable);
     }
 
     @Test
     @DisplayName("GET /api/solicitudes/propiedad/{propiedadId} - Debe retornar solicitudes de la propiedad")
     void obtenerPorPropiedad_Returns200() throws Exception {
         // Arrange
-        when(service.obtenerPorPropiedad(1L)).thenReturn(Arrays.asList(solicitudDTO));
+        when(service.obtenerPorPropiedad(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(solicitudDTO)));
 
         // Act & Assert
         mockMvc.perform(get("/api/solicitudes/propiedad/1"))
@@ -175,7 +247,7 @@ class SolicitudControllerTest {
                 .andExpect(jsonPath("$", hasSize(1)))
                 .andExpect(jsonPath("$[0].propiedadId").value(1));
 
-        verify(service, times(1)).obtenerPorPropiedad(1L);
+        verify(service, times(1)).obtenerPorPropiedad(eq(1L), any(Pageable.class));
     }
 
     @Test
@@ -210,15 +282,93 @@ class SolicitudControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/solicitudes - Debe usar includeDetails=false por defecto")
+    @DisplayName("PATCH /api/solicitudes/estado - Debe actualizar el lote y retornar solo IDs")
+    void actualizarEstadoLote_Returns200() throws Exception {
+        // Arrange
+        CambioEstadoLoteDTO cambio = CambioEstadoLoteDTO.builder()
+                .ids(Arrays.asList(1L, 2L))
+                .estado("ACEPTADA")
+                .rechazarOtrasPendientes(true)
+                .build();
+        ResultadoCambioEstadoDTO resultado = ResultadoCambioEstadoDTO.builder()
+                .estado("ACEPTADA")
+                .actualizadas(Arrays.asList(1L, 2L))
+                .rechazadasAutomaticamente(Arrays.asList(7L))
+                .build();
+        when(service.actualizarEstadoLote(any(CambioEstadoLoteDTO.class))).thenReturn(resultado);
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/solicitudes/estado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cambio)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.actualizadas.length()").value(2))
+                .andExpect(jsonPath("$.rechazadasAutomaticamente[0]").value(7))
+                .andExpect(jsonPath("$.usuario").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("PATCH /api/solicitudes/estado - Debe retornar 400 sin IDs")
+    void actualizarEstadoLote_SinIds_Returns400() throws Exception {
+        // Arrange
+        CambioEstadoLoteDTO cambio = CambioEstadoLoteDTO.builder()
+                .ids(Arrays.asList())
+                .estado("ACEPTADA")
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(patch("/api/solicitudes/estado")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(cambio)))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).actualizarEstadoLote(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/solicitudes - Sin page ni size usa includeDetails=false y lista todas las solicitudes")
     void listarTodas_SinParametro_UsaDefaultFalse() throws Exception {
         // Arrange
-        when(service.listarTodas(false)).thenReturn(Arrays.asList(solicitudDTO));
+        Pageable todas = Pageable.unpaged(Sort.by("id"));
+        when(service.listarTodas(false, todas)).thenReturn(new PageImpl<>(Arrays.asList(solicitudDTO)));
 
         // Act & Assert
         mockMvc.perform(get("/api/solicitudes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        verify(service, times(1)).listarTodas(false, todas);
+    }
+
+    @Test
+    @DisplayName("GET /api/solicitudes/usuario/{usuarioId} - Sin page ni size lista todas; solo con size, la primera página")
+    void obtenerPorUsuario_SinPaginacion_ListaTodas() throws Exception {
+        // Arrange
+        when(service.obtenerPorUsuario(eq(1L), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(solicitudDTO)));
+
+        // Act
+        mockMvc.perform(get("/api/solicitudes/usuario/1"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/solicitudes/usuario/1").param("size", "5"))
                 .andExpect(status().isOk());
 
-        verify(service, times(1)).listarTodas(false);
+        // Assert
+        verify(service, times(1)).obtenerPorUsuario(1L, Pageable.unpaged(Sort.by("id")));
+        verify(service, times(1)).obtenerPorUsuario(1L, PageRequest.of(0, 5, Sort.by("id")));
+    }
+
+    @Test
+    @DisplayName("GET /api/solicitudes - Debe retornar 400 al ordenar por un campo no permitido")
+    void listarTodas_OrdenNoPermitido_Returns400() throws Exception {
+        // Arrange
+        when(service.listarTodas(eq(false), any(Pageable.class)))
+                .thenThrow(new BusinessValidationException("No se puede ordenar por 'clave'"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/solicitudes")
+                        .param("sort", "clave"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("clave")));
     }
 }
\ No newline at end of file
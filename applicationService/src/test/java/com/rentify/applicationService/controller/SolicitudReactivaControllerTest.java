@@ -0,0 +1,124 @@
+package com.rentify.applicationService.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.service.ArriendoReactivoService;
+import com.rentify.applicationService.service.IdempotenciaService;
+import com.rentify.applicationService.service.RecepcionSolicitudesService;
+import com.rentify.applicationService.service.SolicitudArriendoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import java.util.Date;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de SolicitudReactivaController (rentify.web.modo=reactivo)
+ * Las respuestas son asíncronas: se despachan con asyncDispatch
+ */
+@WebMvcTest(SolicitudReactivaController.class)
+@Import(IdempotenciaService.class)
+@TestPropertySource(properties = "rentify.web.modo=reactivo")
+@DisplayName("Tests de SolicitudReactivaController")
+class SolicitudReactivaControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockitoBean
+    private SolicitudArriendoService service;
+
+    @MockitoBean
+    private ArriendoReactivoService reactivo;
+
+    @MockitoBean
+    private RecepcionSolicitudesService recepcionService;
+
+    private SolicitudArriendoDTO solicitudDTO;
+
+    @BeforeEach
+    void setUp() {
+        solicitudDTO = SolicitudArriendoDTO.builder()
+                .id(1L)
+                .usuarioId(1L)
+                .propiedadId(1L)
+                .estado("PENDIENTE")
+                .fechaSolicitud(new Date())
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /api/solicitudes - Debe crear la solicitud sin bloquear y retornar 201")
+    void crearSolicitud_Returns201() throws Exception {
+        // Arrange
+        when(reactivo.crearSolicitud(any(SolicitudArriendoDTO.class))).thenReturn(Mono.just(solicitudDTO));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(post("/api/solicitudes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(solicitudDTO)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1));
+        verify(service, never()).crearSolicitud(any());
+    }
+
+    @Test
+    @DisplayName("POST /api/solicitudes - Un error de validación del Mono se traduce en 400")
+    void crearSolicitud_ErrorDeValidacion_Returns400() throws Exception {
+        // Arrange
+        when(reactivo.crearSolicitud(any(SolicitudArriendoDTO.class)))
+                .thenReturn(Mono.error(new BusinessValidationException("El usuario con ID 1 no existe")));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(post("/api/solicitudes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(solicitudDTO)))
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("no existe")));
+    }
+
+    @Test
+    @DisplayName("GET /api/solicitudes/{id} - Debe retornar la solicitud con detalles")
+    void obtenerPorId_Returns200() throws Exception {
+        // Arrange
+        when(reactivo.obtenerSolicitud(1L, true)).thenReturn(Mono.just(solicitudDTO));
+
+        // Act
+        MvcResult resultado = mockMvc.perform(get("/api/solicitudes/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estado").value("PENDIENTE"));
+    }
+}
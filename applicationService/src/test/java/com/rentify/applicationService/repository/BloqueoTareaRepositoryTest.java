@@ -0,0 +1,51 @@
+package com.rentify.applicationService.repository;
+
+import com.rentify.applicationService.service.BloqueoTareasService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Tests de integración para BloqueoTareaRepository")
+class BloqueoTareaRepositoryTest {
+
+    @Autowired
+    private BloqueoTareaRepository repository;
+
+    @Test
+    @DisplayName("Solo una instancia obtiene el lease hasta que se libera")
+    void tomar_UnaInstanciaALaVez() {
+        // Given - dos instancias del servicio sobre la misma tabla
+        BloqueoTareasService instanciaA = new BloqueoTareasService(repository);
+        BloqueoTareasService instanciaB = new BloqueoTareasService(repository);
+
+        // When & Then
+        assertThat(instanciaA.tomar("tarea", Duration.ofMinutes(5))).isTrue();
+        assertThat(instanciaB.tomar("tarea", Duration.ofMinutes(5))).isFalse();
+        assertThat(instanciaB.extender("tarea", Duration.ofMinutes(5))).isFalse();
+        assertThat(instanciaA.extender("tarea", Duration.ofMinutes(5))).isTrue();
+
+        instanciaA.liberar("tarea");
+        assertThat(instanciaB.tomar("tarea", Duration.ofMinutes(5))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Un lease vencido lo puede tomar otra instancia")
+    void tomar_LeaseVencido() {
+        // Given
+        BloqueoTareasService caida = new BloqueoTareasService(repository);
+        BloqueoTareasService otra = new BloqueoTareasService(repository);
+        caida.tomar("tarea", Duration.ZERO);
+
+        // When & Then
+        assertThat(otra.tomar("tarea", Duration.ofMinutes(5))).isTrue();
+        assertThat(caida.extender("tarea", Duration.ofMinutes(5))).isFalse();
+    }
+}
@@ -0,0 +1,134 @@
+package com.rentify.applicationService.repository;
+
+import com.rentify.applicationService.model.RegistroArriendo;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark de las consultas de listado y de la validación de registro activo sobre un
+ * conjunto de datos grande (H2 en memoria).
+ *
+ * Compara el camino anterior (cargar todas las filas y filtrar en memoria) con el actual
+ * (consulta paginada y probe de existencia apoyados en los índices compuestos) y registra
+ * los tiempos de cada uno. Fuera de mvn test; se ejecuta con -Pbenchmark. Los resultados de las
+ * consultas se verifican en {@link ConsultasIndexadasTest}.
+ */
+@Tag("benchmark")
+@Slf4j
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Benchmark de consultas indexadas y paginadas")
+class ConsultasIndexadasBenchmarkTest {
+
+    private static final int SOLICITUDES = 20_000;
+    private static final int USUARIOS = 2_000;
+    private static final int REGISTROS_HISTORICOS = 5_000;
+    private static final long SOLICITUD_CON_HISTORIAL = 1L;
+    private static final int ITERACIONES = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private SolicitudArriendoRepository solicitudRepository;
+
+    @Autowired
+    private RegistroArriendoRepository registroRepository;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        List<Object[]> solicitudes = new ArrayList<>(SOLICITUDES);
+        for (int i = 0; i < SOLICITUDES; i++) {
+            solicitudes.add(new Object[]{(long) (i % USUARIOS) + 1, (long) (i % 500) + 1,
+                    i % 10 == 0 ? "PENDIENTE" : "RECHAZADA", ahora});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO solicitudes (usuario_id, propiedad_id, estado, fecha_solicitud) " +
+                "VALUES (?, ?, ?, ?)", solicitudes);
+
+        // Una solicitud con un historial largo de registros inactivos y un solo registro activo,
+        // más un registro por cada otra solicitud
+        Date inicio = Date.valueOf(LocalDate.of(2020, 1, 1));
+        Date fin = Date.valueOf(LocalDate.of(2020, 12, 31));
+        List<Object[]> registros = new ArrayList<>();
+        for (int i = 0; i < REGISTROS_HISTORICOS; i++) {
+            registros.add(new Object[]{SOLICITUD_CON_HISTORIAL, inicio, fin, 300000.0, false});
+        }
+        registros.add(new Object[]{SOLICITUD_CON_HISTORIAL, inicio, null, 300000.0, true});
+        for (long solicitudId = 2; solicitudId <= SOLICITUDES; solicitudId++) {
+            registros.add(new Object[]{solicitudId, inicio, fin, 300000.0, solicitudId % 2 == 0});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO registros_arriendo (solicitud_id, fecha_inicio, fecha_fin, " +
+                "monto_mensual, activo) VALUES (?, ?, ?, ?, ?)", registros);
+    }
+
+    /**
+     * Ejecuta la consulta varias veces (después de un calentamiento) y registra el tiempo promedio en
+     * microsegundos. Se limpia el contexto de persistencia para que cada vuelta vaya a la base de datos.
+     */
+    private <T> void medir(String nombre, Supplier<T> consulta) {
+        consulta.get();
+        entityManager.clear();
+        long inicio = System.nanoTime();
+        for (int i = 0; i < ITERACIONES; i++) {
+            consulta.get();
+            entityManager.clear();
+        }
+        long promedioUs = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - inicio) / ITERACIONES;
+        log.info("{}: {} us", nombre, promedioUs);
+    }
+
+    @Test
+    @DisplayName("El probe de existencia evita cargar el historial de registros de la solicitud")
+    void registroActivo_ProbeVsFiltroEnMemoria() {
+        medir("findBySolicitudId + filtro en memoria", () ->
+                registroRepository.findBySolicitudId(SOLICITUD_CON_HISTORIAL).stream()
+                        .anyMatch(RegistroArriendo::getActivo));
+        medir("existsBySolicitudIdAndActivoTrue", () ->
+                registroRepository.existsBySolicitudIdAndActivoTrue(SOLICITUD_CON_HISTORIAL));
+    }
+
+    @Test
+    @DisplayName("Una página de solicitudes se lee sin cargar la tabla completa")
+    void listado_PaginaVsTablaCompleta() {
+        // Arrange
+        Pageable pagina = PageRequest.of(10, 50, Sort.by("id"));
+
+        // Act
+        medir("findAll (tabla completa)", () -> solicitudRepository.findAll());
+        medir("findAll(page=10, size=50, sort=id)", () -> solicitudRepository.findAll(pagina));
+    }
+
+    @Test
+    @DisplayName("Las solicitudes de un usuario se leen por página usando el índice (usuario_id, estado)")
+    void listadoPorUsuario_PaginaVsListaCompleta() {
+        // Arrange
+        Pageable pagina = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "fechaSolicitud"));
+
+        // Act
+        medir("findByUsuarioId (lista completa)", () -> solicitudRepository.findByUsuarioId(7L));
+        medir("findByUsuarioId(page=0, size=5)", () -> solicitudRepository.findByUsuarioId(7L, pagina));
+    }
+}
@@ -0,0 +1,123 @@
+package com.rentify.applicationService.repository;
+
+import com.rentify.applicationService.model.SolicitudArriendo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Índices compuestos, probe de registro activo y consultas paginadas sobre H2 en memoria.
+ * Los tiempos contra el camino anterior están en {@link ConsultasIndexadasBenchmarkTest}.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Tests de consultas indexadas y paginadas")
+class ConsultasIndexadasTest {
+
+    private static final int SOLICITUDES = 200;
+    private static final int USUARIOS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SolicitudArriendoRepository solicitudRepository;
+
+    @Autowired
+    private RegistroArriendoRepository registroRepository;
+
+    @BeforeEach
+    void setUp() {
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        List<Object[]> solicitudes = new ArrayList<>(SOLICITUDES);
+        for (int i = 0; i < SOLICITUDES; i++) {
+            solicitudes.add(new Object[]{(long) (i % USUARIOS) + 1, (long) (i % 50) + 1,
+                    i % 10 == 0 ? "PENDIENTE" : "RECHAZADA", ahora});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO solicitudes (usuario_id, propiedad_id, estado, fecha_solicitud) " +
+                "VALUES (?, ?, ?, ?)", solicitudes);
+
+        // La solicitud 1 tiene historial inactivo y un registro activo; la 3 solo historial
+        Date inicio = Date.valueOf(LocalDate.of(2020, 1, 1));
+        Date fin = Date.valueOf(LocalDate.of(2020, 12, 31));
+        jdbcTemplate.batchUpdate("INSERT INTO registros_arriendo (solicitud_id, fecha_inicio, fecha_fin, " +
+                "monto_mensual, activo) VALUES (?, ?, ?, ?, ?)", List.of(
+                new Object[]{1L, inicio, fin, 300000.0, false},
+                new Object[]{1L, inicio, fin, 300000.0, false},
+                new Object[]{1L, inicio, null, 300000.0, true},
+                new Object[]{3L, inicio, fin, 300000.0, false}));
+    }
+
+    @Test
+    @DisplayName("Las tablas tienen los índices compuestos de las rutas de acceso")
+    void indicesCompuestos_Existen() {
+        List<String> indices = jdbcTemplate.queryForList(
+                "SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES " +
+                        "WHERE LOWER(TABLE_NAME) IN ('solicitudes', 'registros_arriendo')", String.class);
+
+        assertThat(indices).contains(
+                "idx_solicitudes_usuario_estado",
+                "idx_solicitudes_propiedad_usuario_estado",
+                "idx_solicitudes_estado_id",
+                "idx_registros_solicitud_activo",
+                "idx_registros_activo_fecha_fin");
+    }
+
+    @Test
+    @DisplayName("El probe de existencia distingue solicitudes con y sin registro activo")
+    void existsBySolicitudIdAndActivoTrue_DistingueRegistroActivo() {
+        assertThat(registroRepository.existsBySolicitudIdAndActivoTrue(1L)).isTrue();
+        assertThat(registroRepository.existsBySolicitudIdAndActivoTrue(3L)).isFalse();
+        assertThat(registroRepository.existsBySolicitudIdAndActivoTrue(99L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Una página de solicitudes trae solo su tamaño y el total de la tabla")
+    void findAll_Paginado() {
+        // Act
+        Page<SolicitudArriendo> resultado = solicitudRepository.findAll(PageRequest.of(2, 50, Sort.by("id")));
+
+        // Assert
+        assertThat(resultado.getContent()).hasSize(50);
+        assertThat(resultado.getTotalElements()).isEqualTo(SOLICITUDES);
+    }
+
+    @Test
+    @DisplayName("Sin paginación se leen todas las solicitudes con el orden pedido")
+    void findAll_SinPaginar() {
+        // Act
+        Page<SolicitudArriendo> resultado = solicitudRepository.findAll(Pageable.unpaged(Sort.by("id")));
+
+        // Assert
+        assertThat(resultado.getContent()).hasSize(SOLICITUDES);
+        assertThat(resultado.getTotalElements()).isEqualTo(SOLICITUDES);
+    }
+
+    @Test
+    @DisplayName("Las solicitudes de un usuario se leen por página")
+    void findByUsuarioId_Paginado() {
+        // Act
+        Page<SolicitudArriendo> resultado = solicitudRepository.findByUsuarioId(7L,
+                PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "fechaSolicitud")));
+
+        // Assert
+        assertThat(resultado.getContent()).hasSize(5).allMatch(s -> s.getUsuarioId().equals(7L));
+        assertThat(resultado.getTotalElements()).isEqualTo(SOLICITUDES / USUARIOS);
+    }
+}
@@ -1,12 +1,14 @@
 package com.rentify.applicationService.repository;
 
 import com.rentify.applicationService.model.RegistroArriendo;
+import com.rentify.applicationService.model.SolicitudArriendo;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Date;
@@ -104,4 +106,85 @@ class RegistroArriendoRepositoryTest {
         assertThat(activos).hasSize(1);
         assertThat(activos.get(0).getActivo()).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("existsBySolicitudIdAndActivoTrue - Solo considera los registros activos")
+    void existsBySolicitudIdAndActivoTrue_SoloRegistrosActivos() {
+        // Given - la solicitud 2 solo tiene un registro inactivo
+        entityManager.persist(RegistroArriendo.builder()
+                .solicitudId(2L)
+                .fechaInicio(new Date())
+                .montoMensual(400000.0)
+                .activo(false)
+                .build());
+        entityManager.flush();
+
+        // When / Then
+        assertThat(repository.existsBySolicitudIdAndActivoTrue(1L)).isTrue();
+        assertThat(repository.existsBySolicitudIdAndActivoTrue(2L)).isFalse();
+        assertThat(repository.existsBySolicitudIdAndActivoTrue(999L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("findIdsVencidos y finalizarActivos - Finalizan por lote solo los registros activos vencidos")
+    void finalizarActivos_RegistrosVencidos() {
+        // Given
+        Date ayer = new Date(System.currentTimeMillis() - 86_400_000L);
+        RegistroArriendo vencido = entityManager.persist(RegistroArriendo.builder()
+                .solicitudId(3L)
+                .fechaInicio(new Date(System.currentTimeMillis() - 30 * 86_400_000L))
+                .fechaFin(ayer)
+                .montoMensual(400000.0)
+                .activo(true)
+                .build());
+        entityManager.flush();
+
+        // When
+        List<Long> ids = repository.findIdsVencidos(new Date(), 0L, PageRequest.of(0, 10));
+        int finalizados = repository.finalizarActivos(ids);
+        int repetidos = repository.finalizarActivos(ids);
+        entityManager.clear();
+
+        // Then
+        assertThat(ids).containsExactly(vencido.getId());
+        assertThat(finalizados).isEqualTo(1);
+        assertThat(repetidos).isZero();
+        assertThat(repository.findById(vencido.getId())).get()
+                .extracting(RegistroArriendo::getActivo).isEqualTo(false);
+        assertThat(repository.findIdsVencidos(new Date(), 0L, PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findActivosConPropiedadDesde - Retorna los registros activos con la propiedad de su solicitud")
+    void findActivosConPropiedadDesde_RegistrosActivos() {
+        // Given
+        SolicitudArriendo solicitud = entityManager.persist(SolicitudArriendo.builder()
+                .usuarioId(1L)
+                .propiedadId(77L)
+                .estado("ACEPTADA")
+                .fechaSolicitud(new Date())
+                .build());
+        RegistroArriendo activo = entityManager.persist(RegistroArriendo.builder()
+                .solicitudId(solicitud.getId())
+                .fechaInicio(new Date())
+                .montoMensual(450000.0)
+                .activo(true)
+                .build());
+        RegistroArriendo inactivo = entityManager.persist(RegistroArriendo.builder()
+                .solicitudId(solicitud.getId())
+                .fechaInicio(new Date())
+                .montoMensual(450000.0)
+                .activo(false)
+                .build());
+        entityManager.flush();
+
+        // When
+        List<Object[]> filas = repository.findActivosConPropiedadDesde(0L, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(filas).extracting(fila -> fila[0]).contains(activo.getId()).doesNotContain(inactivo.getId());
+        assertThat(filas).filteredOn(fila -> activo.getId().equals(fila[0]))
+                .singleElement().satisfies(fila -> assertThat(fila[1]).isEqualTo(77L));
+        assertThat(repository.findActivosConPropiedadDesde(activo.getId(), PageRequest.of(0, 10))).isEmpty();
+    }
+}
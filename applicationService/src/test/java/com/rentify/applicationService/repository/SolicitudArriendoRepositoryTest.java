@@ -4,9 +4,13 @@ import com.rentify.applicationService.model.SolicitudArriendo;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Date;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -46,6 +50,24 @@ class SolicitudArriendoRepositoryTest {
         assertEquals(1, repository.findByUsuarioId(7L).size());
     }
 
+    @Test
+    void buscarPorUsuarioPaginado() {
+        for (long propiedadId = 1; propiedadId <= 5; propiedadId++) {
+            repository.save(SolicitudArriendo.builder()
+                    .usuarioId(8L)
+                    .propiedadId(propiedadId)
+                    .estado("PENDIENTE")
+                    .fechaSolicitud(new Date())
+                    .build());
+        }
+
+        Page<SolicitudArriendo> pagina = repository.findByUsuarioId(8L,
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "propiedadId")));
+
+        assertEquals(5, pagina.getTotalElements());
+        assertEquals(List.of(3L, 2L), pagina.getContent().stream().map(SolicitudArriendo::getPropiedadId).toList());
+    }
+
     @Test
     void countByUsuarioIdAndEstado_ok() {
         SolicitudArriendo sol = SolicitudArriendo.builder()
@@ -61,4 +83,38 @@ class SolicitudArriendoRepositoryTest {
 
         assertEquals(1L, count);
     }
+
+    @Test
+    void actualizarEstado_unSoloUpdatePorLote() {
+        SolicitudArriendo aceptada = repository.save(SolicitudArriendo.builder()
+                .usuarioId(1L).propiedadId(40L).estado("PENDIENTE").fechaSolicitud(new Date()).build());
+        SolicitudArriendo otra = repository.save(SolicitudArriendo.builder()
+                .usuarioId(2L).propiedadId(40L).estado("PENDIENTE").fechaSolicitud(new Date()).build());
+        SolicitudArriendo ajena = repository.save(SolicitudArriendo.builder()
+                .usuarioId(3L).propiedadId(41L).estado("PENDIENTE").fechaSolicitud(new Date()).build());
+
+        assertEquals(1, repository.findAllByIdParaActualizar(List.of(aceptada.getId(), 999L)).size());
+        assertEquals(1, repository.actualizarEstado(List.of(aceptada.getId()), "ACEPTADA", null));
+
+        List<SolicitudArriendo> otras = repository.findOtrasParaActualizar(
+                List.of(40L), "PENDIENTE", List.of(aceptada.getId()));
+        assertEquals(List.of(otra.getId()), otras.stream().map(SolicitudArriendo::getId).toList());
+
+        repository.actualizarEstado(List.of(otra.getId()), "RECHAZADA", "Otra aceptada");
+        assertEquals("ACEPTADA", repository.findById(aceptada.getId()).orElseThrow().getEstado());
+        assertEquals("Otra aceptada", repository.findById(otra.getId()).orElseThrow().getMotivoRechazo());
+        assertEquals("PENDIENTE", repository.findById(ajena.getId()).orElseThrow().getEstado());
+    }
+
+    @Test
+    void actualizarEstado_sinMotivoConservaElGuardado() {
+        SolicitudArriendo rechazada = repository.save(SolicitudArriendo.builder()
+                .usuarioId(1L).propiedadId(50L).estado("RECHAZADA").motivoRechazo("Documentos no aprobados")
+                .fechaSolicitud(new Date()).build());
+
+        assertEquals(1, repository.actualizarEstado(List.of(rechazada.getId()), "RECHAZADA", null));
+
+        assertEquals("Documentos no aprobados",
+                repository.findById(rechazada.getId()).orElseThrow().getMotivoRechazo());
+    }
 }
@@ -0,0 +1,231 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.client.DocumentServiceClient;
+import com.rentify.applicationService.client.PropertyServiceClient;
+import com.rentify.applicationService.client.ResilienciaRegistro;
+import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.client.VerificadorTokens;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import com.sun.management.HotSpotDiagnosticMXBean;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Prueba de carga comparativa de crearSolicitud en modo bloqueante y en modo reactivo
+ * (rentify.web.modo), con User, Property y Document Service simulados por MockWebServer con retardo.
+ *
+ * El modo bloqueante atiende los requests con un pool acotado de hilos (como el de Tomcat); el
+ * reactivo los lanza todos a la vez sobre {@link ArriendoReactivoService}. Para cada modo se informa
+ * el throughput y los hilos extra que necesitó, con la pila reservada por request concurrente.
+ * Fuera de mvn test; se ejecuta con -Pbenchmark.
+ */
+@Tag("benchmark")
+@Slf4j
+@DisplayName("Prueba de carga de crearSolicitud: bloqueante vs reactivo")
+class ArriendoReactivoLoadTest {
+
+    private static final long RETARDO_MS = 500;
+    private static final int REQUESTS = 100;
+    private static final int HILOS_TOMCAT = 20;
+    private static final int HILOS_JDBC = 10;
+
+    private final List<MockWebServer> servidores = new ArrayList<>();
+    private ConnectionProvider connectionProvider;
+    private Scheduler jdbc;
+    private final AtomicLong usuarios = new AtomicLong();
+
+    private SolicitudArriendoService service;
+    private ArriendoReactivoService reactivo;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SolicitudArriendoRepository repository = mock(SolicitudArriendoRepository.class);
+        AtomicLong ids = new AtomicLong();
+        when(repository.save(any(SolicitudArriendo.class))).thenAnswer(invocation -> {
+            SolicitudArriendo s = invocation.getArgument(0);
+            s.setId(ids.incrementAndGet());
+            return s;
+        });
+
+        // Pool de conexiones con capacidad para todos los requests: el límite a medir es el de hilos
+        connectionProvider = ConnectionProvider.create("carga-reactiva", REQUESTS * 3);
+        WebClient.Builder builder = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)));
+
+        UserServiceClient userClient = new UserServiceClient(builder,
+                iniciarServidor("{\"id\": 1, \"rolId\": 3}"), ResilienciaRegistro.sinPoliticas());
+        PropertyServiceClient propertyClient = new PropertyServiceClient(builder,
+                iniciarServidor("{\"id\": 10, \"titulo\": \"Depto\"}"), ResilienciaRegistro.sinPoliticas());
+        DocumentServiceClient documentClient = new DocumentServiceClient(builder,
+                iniciarServidor("true"), ResilienciaRegistro.sinPoliticas());
+
+        ModelMapper mapper = new ModelMapper();
+        CupoSolicitudesService cupos = new CupoSolicitudesService(repository);
+        service = new SolicitudArriendoService(repository, userClient, propertyClient, documentClient, mapper,
+                ReplicaLecturaService.sinReplica(userClient, propertyClient), cupos,
+                new OcupacionPropiedadesService(mock(RegistroArriendoRepository.class)),
+                mock(VerificadorTokens.class));
+        jdbc = Schedulers.newBoundedElastic(HILOS_JDBC, REQUESTS, "jdbc-carga");
+        reactivo = new ArriendoReactivoService(service, mock(RegistroArriendoService.class), repository,
+                mock(RegistroArriendoRepository.class), cupos, mapper, jdbc);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        jdbc.dispose();
+        connectionProvider.dispose();
+        for (MockWebServer servidor : servidores) {
+            servidor.shutdown();
+        }
+    }
+
+    private String iniciarServidor(String body) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setBody(body)
+                        .addHeader("Content-Type", "application/json")
+                        .setHeadersDelay(RETARDO_MS, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        servidores.add(server);
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+
+    /**
+     * Cada request es de un usuario distinto, para no chocar con el límite de solicitudes activas
+     */
+    private SolicitudArriendoDTO nuevaSolicitud() {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(usuarios.incrementAndGet());
+        dto.setPropiedadId(10L);
+        return dto;
+    }
+
+    private record Resultado(long duracionMs, int hilosExtra) {
+        double throughput() {
+            return REQUESTS * 1000.0 / duracionMs;
+        }
+    }
+
+    /**
+     * Hilos vivos del lado cliente. Los de MockWebServer (un hilo por conexión) simulan a los otros
+     * microservicios y no cuentan.
+     */
+    private static int hilosCliente() {
+        return (int) Thread.getAllStackTraces().keySet().stream()
+                .filter(hilo -> !hilo.getName().startsWith("MockWebServer"))
+                .count();
+    }
+
+    /**
+     * Ejecuta la carga y registra la duración y el máximo de hilos cliente vivos por sobre los que había al comenzar.
+     * La pila reservada se reparte entre los requests que el modo mantiene en vuelo a la vez (concurrencia).
+     */
+    private void medir(String modo, int concurrencia, LongFunction<Integer> carga) {
+        ScheduledExecutorService muestreo = Executors.newSingleThreadScheduledExecutor();
+        AtomicInteger maximo = new AtomicInteger();
+        int hilosIniciales;
+        long inicio;
+        int completados;
+        try {
+            muestreo.scheduleAtFixedRate(() -> maximo.accumulateAndGet(hilosCliente(), Math::max),
+                    0, 10, TimeUnit.MILLISECONDS);
+            hilosIniciales = hilosCliente() + 1;
+            inicio = System.nanoTime();
+            completados = carga.apply(REQUESTS);
+        } finally {
+            muestreo.shutdownNow();
+        }
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        Resultado resultado = new Resultado(duracionMs, Math.max(0, maximo.get() - hilosIniciales));
+
+        long pilaKb = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                .getVMOption("ThreadStackSize").getValue().transform(Long::parseLong);
+        log.info("{}: {} requests en {} ms -> {} req/s | hilos extra: {} | pila por request concurrente: {} KB",
+                modo, completados, duracionMs, String.format("%.1f", resultado.throughput()), resultado.hilosExtra(),
+                resultado.hilosExtra() * pilaKb / concurrencia);
+        assertThat(completados).isEqualTo(REQUESTS);
+    }
+
+    private int bloqueante(long requests) {
+        ExecutorService tomcat = Executors.newFixedThreadPool(HILOS_TOMCAT);
+        try {
+            List<Future<SolicitudArriendoDTO>> futuros = new ArrayList<>();
+            for (long i = 0; i < requests; i++) {
+                futuros.add(tomcat.submit(() -> service.crearSolicitud(nuevaSolicitud())));
+            }
+            int completados = 0;
+            for (Future<SolicitudArriendoDTO> futuro : futuros) {
+                if (futuro.get(30, TimeUnit.SECONDS).getId() != null) {
+                    completados++;
+                }
+            }
+            return completados;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            tomcat.shutdownNow();
+        }
+    }
+
+    private int reactiva(long requests) {
+        Long completados = Flux.range(0, (int) requests)
+                .flatMap(i -> reactivo.crearSolicitud(nuevaSolicitud()), (int) requests)
+                .count()
+                .block();
+        return completados.intValue();
+    }
+
+    @Test
+    @DisplayName("Throughput e hilos de crearSolicitud en modo bloqueante y en modo reactivo")
+    void crearSolicitud_BloqueanteVsReactivo() {
+        // Arrange - calentar conexiones, event loops y clases de ambos caminos
+        bloqueante(HILOS_TOMCAT);
+        reactiva(HILOS_TOMCAT);
+
+        // Act - bloqueante: se esperan REQUESTS / HILOS_TOMCAT rondas de 2 x RETARDO_MS; reactivo: una sola ronda
+        medir("bloqueante", HILOS_TOMCAT, this::bloqueante);
+        medir("reactivo", REQUESTS, this::reactiva);
+    }
+}
@@ -0,0 +1,227 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.dto.RegistroArriendoDTO;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.model.RegistroArriendo;
+import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de ArriendoReactivoService")
+class ArriendoReactivoServiceTest {
+
+    private SolicitudArriendoService solicitudService;
+    private SolicitudArriendoRepository repository;
+    private RegistroArriendoRepository registroRepository;
+    private RegistroArriendoService registroService;
+    private CupoSolicitudesService cupos;
+    private Scheduler jdbc;
+    private ArriendoReactivoService reactivo;
+
+    /**
+     * Marca la cancelación de las validaciones remotas, que no terminan por sí solas
+     */
+    private final AtomicBoolean remotasCanceladas = new AtomicBoolean();
+
+    /**
+     * Peticiones que llegaron a las consultas remotas posteriores a la base de datos
+     */
+    private final CountDownLatch enRemotas = new CountDownLatch(2);
+
+    /**
+     * Respuesta remota que no llega
+     */
+    private <T> Mono<T> remotaPendiente(CompletableFuture<T> respuesta) {
+        enRemotas.countDown();
+        return Mono.fromFuture(respuesta);
+    }
+
+    @BeforeEach
+    void setUp() {
+        solicitudService = mock(SolicitudArriendoService.class);
+        repository = mock(SolicitudArriendoRepository.class);
+        cupos = mock(CupoSolicitudesService.class);
+        jdbc = Schedulers.newBoundedElastic(2, 10, "jdbc-test");
+        registroRepository = mock(RegistroArriendoRepository.class);
+        registroService = mock(RegistroArriendoService.class);
+        reactivo = new ArriendoReactivoService(solicitudService, registroService, repository,
+                registroRepository, cupos, new ModelMapper(), jdbc);
+
+        when(solicitudService.validarRemotamente(any()))
+                .thenReturn(Mono.<Void>never().doOnCancel(() -> remotasCanceladas.set(true)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.dispose();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    private SolicitudArriendoDTO solicitud() {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(1L);
+        dto.setPropiedadId(10L);
+        return dto;
+    }
+
+    @Test
+    @DisplayName("Cancelar mientras se esperan las validaciones remotas libera el cupo y cancela las remotas")
+    void crearSolicitud_CanceladaEsperandoRemotas_LiberaCupo() {
+        // Act
+        Disposable peticion = reactivo.crearSolicitud(solicitud()).subscribe();
+        verify(solicitudService, timeout(1000)).validarLocalmente(any());
+        peticion.dispose();
+
+        // Assert
+        verify(cupos, timeout(1000)).finalizarReserva(1L, false);
+        assertThat(remotasCanceladas).isTrue();
+        verify(repository, never()).save(any(SolicitudArriendo.class));
+    }
+
+    @Test
+    @DisplayName("Cancelar durante la reserva local libera el cupo cuando la reserva termina")
+    void crearSolicitud_CanceladaDuranteReservaLocal_LiberaCupo() throws InterruptedException {
+        // Arrange - la validación local (que no atiende la interrupción, como una consulta JDBC)
+        // queda detenida hasta que la petición se cancela
+        CountDownLatch enValidacion = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        doAnswer(inv -> {
+            enValidacion.countDown();
+            while (continuar.getCount() > 0) {
+                Thread.onSpinWait();
+            }
+            return null;
+        }).when(solicitudService).validarLocalmente(any());
+
+        // Act
+        Disposable peticion = reactivo.crearSolicitud(solicitud()).subscribe();
+        assertThat(enValidacion.await(1, TimeUnit.SECONDS)).isTrue();
+        peticion.dispose();
+        verify(cupos, never()).finalizarReserva(anyLong(), anyBoolean());
+        continuar.countDown();
+
+        // Assert - una sola vez, aunque la reserva se tomó después de la cancelación
+        verify(cupos, timeout(1000).times(1)).finalizarReserva(1L, false);
+        assertThat(remotasCanceladas).isTrue();
+        verify(repository, never()).save(any(SolicitudArriendo.class));
+    }
+
+    private static SolicitudArriendo entidad(Long id) {
+        SolicitudArriendo solicitud = new SolicitudArriendo();
+        solicitud.setId(id);
+        solicitud.setUsuarioId(1L);
+        solicitud.setPropiedadId(10L);
+        return solicitud;
+    }
+
+    /**
+     * Deja tantas peticiones como hilos tiene el scheduler de base de datos esperando una respuesta
+     * remota que no llega (cada una marca {@code enRemotas} al pedirla), y comprueba que el scheduler
+     * sigue atendiendo consultas
+     */
+    private void assertJdbcLibreEsperandoRemotas(Supplier<Mono<?>> peticion) throws InterruptedException {
+        List<Disposable> enCurso = List.of(peticion.get().subscribe(), peticion.get().subscribe());
+        try {
+            assertThat(enRemotas.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(reactivo.enJdbc(() -> "consulta").block(Duration.ofSeconds(2))).isEqualTo("consulta");
+        } finally {
+            enCurso.forEach(Disposable::dispose);
+        }
+    }
+
+    @Test
+    @DisplayName("Listar solicitudes con detalles no retiene hilos de base de datos mientras responden los servicios remotos")
+    void listarSolicitudes_ConDetalles_NoRetieneHilosJdbc() throws InterruptedException {
+        // Arrange
+        when(repository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entidad(1L))));
+        when(solicitudService.conDetalles(anyList()))
+                .thenAnswer(inv -> remotaPendiente(new CompletableFuture<List<SolicitudArriendoDTO>>()));
+
+        // Act & Assert
+        assertJdbcLibreEsperandoRemotas(() -> reactivo.listarSolicitudes(true, Pageable.unpaged()));
+    }
+
+    @Test
+    @DisplayName("Actualizar estado no retiene hilos de base de datos mientras responden los servicios remotos")
+    void actualizarEstado_NoRetieneHilosJdbc() throws InterruptedException {
+        // Arrange
+        when(solicitudService.cambiarEstado(1L, "ACEPTADA")).thenReturn(entidad(1L));
+        when(solicitudService.conDetalles(any(SolicitudArriendo.class)))
+                .thenAnswer(inv -> remotaPendiente(new CompletableFuture<SolicitudArriendoDTO>()));
+
+        // Act & Assert
+        assertJdbcLibreEsperandoRemotas(() -> reactivo.actualizarEstado(1L, "ACEPTADA"));
+    }
+
+    @Test
+    @DisplayName("Listar registros con detalles no retiene hilos de base de datos y arma cada registro con su solicitud")
+    void listarRegistros_ConDetalles_NoRetieneHilosJdbc() throws InterruptedException {
+        // Arrange
+        RegistroArriendo registro = new RegistroArriendo();
+        registro.setId(5L);
+        registro.setSolicitudId(1L);
+        when(registroRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(registro)));
+        when(repository.findAllById(any())).thenReturn(List.of(entidad(1L)));
+        when(solicitudService.conDetalles(anyList()))
+                .thenAnswer(inv -> remotaPendiente(new CompletableFuture<List<SolicitudArriendoDTO>>()));
+
+        // Act & Assert
+        assertJdbcLibreEsperandoRemotas(() -> reactivo.listarRegistros(true, Pageable.unpaged()));
+
+        SolicitudArriendoDTO solicitud = new SolicitudArriendoDTO();
+        solicitud.setId(1L);
+        when(solicitudService.conDetalles(anyList())).thenReturn(Mono.just(List.of(solicitud)));
+        Page<RegistroArriendoDTO> pagina = reactivo.listarRegistros(true, Pageable.unpaged()).block(Duration.ofSeconds(2));
+        assertThat(pagina.getContent()).singleElement()
+                .satisfies(dto -> assertThat(dto.getSolicitud()).isSameAs(solicitud));
+    }
+
+    @Test
+    @DisplayName("Las consultas remotas posteriores a la base de datos ven el request en curso")
+    void listarSolicitudes_ConDetalles_ConsultasRemotasVenElRequest() {
+        // Arrange
+        RequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        AtomicReference<RequestAttributes> vistos = new AtomicReference<>();
+        when(repository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(entidad(1L))));
+        when(solicitudService.conDetalles(anyList())).thenAnswer(inv -> {
+            vistos.set(RequestContextHolder.getRequestAttributes());
+            return Mono.just(List.<SolicitudArriendoDTO>of());
+        });
+
+        // Act
+        reactivo.listarSolicitudes(true, Pageable.unpaged()).block(Duration.ofSeconds(2));
+
+        // Assert
+        assertThat(vistos.get()).isSameAs(request);
+    }
+}
@@ -0,0 +1,271 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.client.DocumentServiceClient;
+import com.rentify.applicationService.client.PropertyServiceClient;
+import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.client.VerificadorTokens;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.dto.UsuarioDTO;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.rentify.applicationService.constants.ApplicationConstants.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de CupoSolicitudesService")
+class CupoSolicitudesServiceTest {
+
+    private static final int MAX = Limites.MAX_SOLICITUDES_ACTIVAS;
+
+    private SolicitudArriendoRepository repository;
+    private CupoSolicitudesService cupos;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SolicitudArriendoRepository.class);
+        cupos = new CupoSolicitudesService(repository);
+    }
+
+    @Test
+    @DisplayName("Admite reservas hasta el límite y el contador se carga una sola vez desde la base de datos")
+    void reservar_HastaElLimite() {
+        // Arrange
+        when(repository.countByUsuarioIdAndEstadoIn(1L, EstadoSolicitud.ACTIVOS)).thenReturn(1L);
+
+        // Act & Assert
+        for (int i = 1; i < MAX; i++) {
+            assertThat(cupos.reservar(1L)).isTrue();
+        }
+        assertThat(cupos.reservar(1L)).isFalse();
+        verify(repository, times(1)).countByUsuarioIdAndEstadoIn(1L, EstadoSolicitud.ACTIVOS);
+    }
+
+    @Test
+    @DisplayName("La carga del contador de un usuario no bloquea a otro usuario del mismo bin del mapa")
+    void reservar_CargaEnCurso_NoBloqueaOtrosUsuarios() throws Exception {
+        // Arrange - 1 y 17 caen en el mismo bin de un ConcurrentHashMap de 16 posiciones;
+        // el COUNT del usuario 1 queda detenido
+        CountDownLatch enConsulta = new CountDownLatch(1);
+        CountDownLatch continuar = new CountDownLatch(1);
+        when(repository.countByUsuarioIdAndEstadoIn(1L, EstadoSolicitud.ACTIVOS)).thenAnswer(inv -> {
+            enConsulta.countDown();
+            continuar.await(5, TimeUnit.SECONDS);
+            return 0L;
+        });
+        ExecutorService hilos = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Boolean> lento = hilos.submit(() -> cupos.reservar(1L));
+            assertThat(enConsulta.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // Act
+            Future<Boolean> otro = hilos.submit(() -> cupos.reservar(17L));
+
+            // Assert
+            assertThat(otro.get(1, TimeUnit.SECONDS)).isTrue();
+            continuar.countDown();
+            assertThat(lento.get(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(cupos.pendientes(1L)).isEqualTo(1);
+        } finally {
+            continuar.countDown();
+            hilos.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelar una reserva o sacar una solicitud de los estados activos libera el cupo")
+    void cancelarYCambioDeEstado_LiberanCupo() {
+        // Arrange
+        for (int i = 0; i < MAX; i++) {
+            cupos.reservar(1L);
+        }
+
+        // Act & Assert
+        cupos.cancelar(1L);
+        assertThat(cupos.reservar(1L)).isTrue();
+        cupos.confirmar(1L);
+
+        cupos.cambioDeEstado(1L, EstadoSolicitud.RECIBIDA, EstadoSolicitud.PENDIENTE);
+        assertThat(cupos.pendientes(1L)).isEqualTo(MAX);
+
+        cupos.cambioDeEstado(1L, EstadoSolicitud.PENDIENTE, EstadoSolicitud.ACEPTADA);
+        assertThat(cupos.pendientes(1L)).isEqualTo(MAX - 1);
+
+        cupos.cambioDeEstado(1L, EstadoSolicitud.RECHAZADA, EstadoSolicitud.PENDIENTE);
+        assertThat(cupos.pendientes(1L)).isEqualTo(MAX);
+        assertThat(cupos.reservar(1L)).isFalse();
+    }
+
+    @Test
+    @DisplayName("La reconciliación ajusta el contador al COUNT de la base de datos")
+    void reconciliar_AjustaContador() {
+        // Arrange
+        cupos.reservar(1L);
+        cupos.confirmar(1L);
+        cupos.reservar(2L);
+        cupos.confirmar(2L);
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(new Object[]{1L, 3L});
+        when(repository.countGroupedByUsuarioIdAndEstadoIn(anyCollection(), eq(EstadoSolicitud.ACTIVOS)))
+                .thenReturn(filas);
+
+        // Act
+        cupos.reconciliar();
+
+        // Assert - el usuario 1 quedó en 3 y el 2 (sin pendientes) se recarga desde la base de datos
+        assertThat(cupos.reservar(1L)).isFalse();
+        assertThat(cupos.pendientes(2L)).isZero();
+        verify(repository, times(2)).countByUsuarioIdAndEstadoIn(2L, EstadoSolicitud.ACTIVOS);
+    }
+
+    @Test
+    @DisplayName("La reconciliación no toca contadores con reservas en curso")
+    void reconciliar_IgnoraReservasEnCurso() {
+        // Arrange
+        cupos.reservar(1L);
+        when(repository.countGroupedByUsuarioIdAndEstadoIn(anyCollection(), any())).thenReturn(List.of());
+
+        // Act
+        cupos.reconciliar();
+
+        // Assert
+        assertThat(cupos.pendientes(1L)).isEqualTo(1);
+        verify(repository, never()).countGroupedByUsuarioIdAndEstadoIn(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("Con cientos de reservas simultáneas del mismo usuario nunca se supera el límite")
+    void reservar_Concurrente_NuncaSuperaElLimite() throws Exception {
+        // Arrange
+        int intentos = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch inicio = new CountDownLatch(1);
+        AtomicInteger admitidas = new AtomicInteger();
+        AtomicInteger maximoObservado = new AtomicInteger();
+        AtomicInteger enVuelo = new AtomicInteger();
+
+        // Act - la mitad de las reservas admitidas se cancela para volver a abrir cupos
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int i = 0; i < intentos; i++) {
+            boolean cancela = i % 2 == 0;
+            tareas.add(executor.submit(() -> {
+                inicio.await();
+                if (cupos.reservar(1L)) {
+                    maximoObservado.accumulateAndGet(enVuelo.incrementAndGet(), Math::max);
+                    admitidas.incrementAndGet();
+                    if (cancela) {
+                        enVuelo.decrementAndGet();
+                        cupos.cancelar(1L);
+                    } else {
+                        cupos.confirmar(1L);
+                    }
+                }
+                return null;
+            }));
+        }
+        inicio.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(maximoObservado.get()).isLessThanOrEqualTo(MAX);
+        assertThat(cupos.pendientes(1L)).isLessThanOrEqualTo(MAX);
+        assertThat(admitidas.get()).isGreaterThanOrEqualTo(MAX);
+    }
+
+    @Test
+    @DisplayName("Cientos de crearSolicitud en paralelo guardan exactamente el máximo por usuario")
+    void crearSolicitud_Concurrente_RespetaElLimite() throws Exception {
+        // Arrange - "base de datos" en memoria con un save lento para ampliar la ventana de carrera
+        Map<Long, AtomicInteger> guardadasPorUsuario = new ConcurrentHashMap<>();
+        AtomicLong ids = new AtomicLong();
+        when(repository.countByUsuarioIdAndEstadoIn(anyLong(), eq(EstadoSolicitud.ACTIVOS)))
+                .thenAnswer(inv -> (long) guardadasPorUsuario
+                        .computeIfAbsent(inv.getArgument(0), id -> new AtomicInteger()).get());
+        when(repository.save(any(SolicitudArriendo.class))).thenAnswer(inv -> {
+            SolicitudArriendo s = inv.getArgument(0);
+            Thread.sleep(2);
+            guardadasPorUsuario.computeIfAbsent(s.getUsuarioId(), id -> new AtomicInteger()).incrementAndGet();
+            s.setId(ids.incrementAndGet());
+            return s;
+        });
+
+        UserServiceClient userClient = mock(UserServiceClient.class);
+        PropertyServiceClient propertyClient = mock(PropertyServiceClient.class);
+        DocumentServiceClient documentClient = mock(DocumentServiceClient.class);
+        when(userClient.getUserByIdAsync(anyLong())).thenAnswer(inv -> {
+            UsuarioDTO usuario = new UsuarioDTO();
+            usuario.setId(inv.getArgument(0));
+            usuario.setRolId(Roles.ARRIENDATARIO);
+            return Mono.just(usuario);
+        });
+        when(propertyClient.existsPropertyAsync(anyLong())).thenReturn(Mono.just(true));
+        when(documentClient.hasApprovedDocumentsAsync(anyLong())).thenReturn(Mono.just(true));
+
+        SolicitudArriendoService service = new SolicitudArriendoService(
+                repository, userClient, propertyClient, documentClient, new ModelMapper(),
+                ReplicaLecturaService.sinReplica(userClient, propertyClient), cupos,
+                new OcupacionPropiedadesService(mock(RegistroArriendoRepository.class)),
+                mock(VerificadorTokens.class));
+
+        int usuarios = 4;
+        int solicitudesPorUsuario = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch inicio = new CountDownLatch(1);
+        AtomicInteger rechazadas = new AtomicInteger();
+
+        // Act - cada solicitud es para una propiedad distinta, así solo aplica el límite
+        List<Future<?>> tareas = new ArrayList<>();
+        for (long usuarioId = 1; usuarioId <= usuarios; usuarioId++) {
+            for (long propiedadId = 1; propiedadId <= solicitudesPorUsuario; propiedadId++) {
+                SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+                dto.setUsuarioId(usuarioId);
+                dto.setPropiedadId(propiedadId);
+                tareas.add(executor.submit(() -> {
+                    inicio.await();
+                    try {
+                        service.crearSolicitud(dto);
+                    } catch (BusinessValidationException e) {
+                        rechazadas.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        inicio.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        for (long usuarioId = 1; usuarioId <= usuarios; usuarioId++) {
+            assertThat(guardadasPorUsuario.get(usuarioId).get()).isEqualTo(MAX);
+            assertThat(cupos.pendientes(usuarioId)).isEqualTo(MAX);
+        }
+        assertThat(rechazadas.get()).isEqualTo(usuarios * (solicitudesPorUsuario - MAX));
+    }
+}
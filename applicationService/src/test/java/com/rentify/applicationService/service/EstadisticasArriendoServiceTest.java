@@ -0,0 +1,154 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.dto.EstadisticaMensualDTO;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.model.RegistroArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de EstadisticasArriendoService")
+class EstadisticasArriendoServiceTest {
+
+    private RegistroArriendoRepository repository;
+    private EstadisticasArriendoService estadisticas;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RegistroArriendoRepository.class);
+        estadisticas = new EstadisticasArriendoService(repository);
+        when(repository.findPaginaDesde(any(), any(Pageable.class))).thenReturn(List.of());
+    }
+
+    private RegistroArriendo registro(Long id, String inicio, String fin, double monto) {
+        RegistroArriendo registro = new RegistroArriendo();
+        registro.setId(id);
+        registro.setSolicitudId(id);
+        registro.setFechaInicio(Date.valueOf(LocalDate.parse(inicio)));
+        registro.setFechaFin(fin != null ? Date.valueOf(LocalDate.parse(fin)) : null);
+        registro.setMontoMensual(monto);
+        registro.setActivo(true);
+        return registro;
+    }
+
+    private void assertMes(EstadisticaMensualDTO mes, String nombre, double ingresos, long activos) {
+        assertThat(mes.getMes()).isEqualTo(nombre);
+        assertThat(mes.getIngresos()).isEqualTo(ingresos);
+        assertThat(mes.getRegistrosActivos()).isEqualTo(activos);
+    }
+
+    @Test
+    @DisplayName("Cada registro aporta su monto a los meses en que está vigente")
+    void registroCreado_AportaALosMesesVigentes() {
+        // Arrange
+        estadisticas.reconstruir();
+
+        // Act
+        estadisticas.registroCreado(registro(1L, "2025-01-15", "2025-03-10", 100.0));
+        estadisticas.registroCreado(registro(2L, "2025-02-01", null, 50.0));
+        List<EstadisticaMensualDTO> serie = estadisticas.serieMensual("2024-12", "2025-04");
+
+        // Assert
+        assertThat(serie).hasSize(5);
+        assertMes(serie.get(0), "2024-12", 0.0, 0);
+        assertMes(serie.get(1), "2025-01", 100.0, 1);
+        assertMes(serie.get(2), "2025-02", 150.0, 2);
+        assertMes(serie.get(3), "2025-03", 150.0, 2);
+        assertMes(serie.get(4), "2025-04", 50.0, 1);
+        assertThat(serie.get(1).getRegistrosIniciados()).isEqualTo(1);
+        assertThat(serie.get(3).getRegistrosFinalizados()).isEqualTo(1);
+        assertThat(serie.get(3).getDuracionPromedioDias()).isEqualTo(54.0);
+        assertThat(serie.get(2).getDuracionPromedioDias()).isNull();
+    }
+
+    @Test
+    @DisplayName("Finalizar un registro acorta su vigencia y registra la duración del contrato")
+    void registroFinalizado_ReemplazaElAporte() {
+        // Arrange
+        estadisticas.reconstruir();
+        RegistroArriendo registro = registro(1L, "2025-01-01", null, 100.0);
+        estadisticas.registroCreado(registro);
+
+        // Act
+        registro.setFechaFin(Date.valueOf(LocalDate.parse("2025-02-20")));
+        registro.setActivo(false);
+        estadisticas.registroFinalizado(registro, null);
+        List<EstadisticaMensualDTO> serie = estadisticas.serieMensual("2025-01", "2025-03");
+
+        // Assert
+        assertMes(serie.get(0), "2025-01", 100.0, 1);
+        assertMes(serie.get(1), "2025-02", 100.0, 1);
+        assertMes(serie.get(2), "2025-03", 0.0, 0);
+        assertThat(serie.get(1).getRegistrosFinalizados()).isEqualTo(1);
+        assertThat(serie.get(1).getDuracionPromedioDias()).isEqualTo(50.0);
+    }
+
+    @Test
+    @DisplayName("La reconstrucción recorre la tabla por páginas y produce los mismos agregados")
+    void reconstruir_DesdeLaBaseDeDatos() {
+        // Arrange
+        when(repository.findPaginaDesde(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                registro(1L, "2025-01-15", "2025-03-10", 100.0),
+                registro(2L, "2025-02-01", null, 50.0)));
+
+        // Act - la primera consulta construye los agregados
+        List<EstadisticaMensualDTO> serie = estadisticas.serieMensual("2025-01", "2025-04");
+
+        // Assert
+        assertMes(serie.get(0), "2025-01", 100.0, 1);
+        assertMes(serie.get(1), "2025-02", 150.0, 2);
+        assertMes(serie.get(3), "2025-04", 50.0, 1);
+        verify(repository, times(1)).findPaginaDesde(eq(0L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Los cambios ocurridos durante la reconstrucción no se pierden")
+    void reconstruir_ConCambiosConcurrentes() {
+        // Arrange - una primera página completa (registro 1 más contratos de 2020 que no afectan la serie)
+        List<RegistroArriendo> pagina = new ArrayList<>();
+        pagina.add(registro(1L, "2025-01-01", null, 100.0));
+        for (long id = 2; id <= 1000; id++) {
+            pagina.add(registro(id, "2020-01-01", "2020-01-02", 1.0));
+        }
+        when(repository.findPaginaDesde(eq(0L), any(Pageable.class))).thenReturn(pagina);
+
+        // Mientras se pide la segunda página se finaliza el registro 1 (ya leído) y se crea el 1001 (no leído)
+        when(repository.findPaginaDesde(eq(1000L), any(Pageable.class))).thenAnswer(inv -> {
+            estadisticas.registroFinalizado(registro(1L, "2025-01-01", "2025-01-31", 100.0), null);
+            estadisticas.registroCreado(registro(1001L, "2025-02-01", null, 70.0));
+            return List.of();
+        });
+
+        // Act
+        estadisticas.reconstruir();
+        List<EstadisticaMensualDTO> serie = estadisticas.serieMensual("2025-01", "2025-02");
+
+        // Assert
+        assertMes(serie.get(0), "2025-01", 100.0, 1);
+        assertMes(serie.get(1), "2025-02", 70.0, 1);
+    }
+
+    @Test
+    @DisplayName("Rechaza rangos invertidos y meses con formato inválido")
+    void serieMensual_ParametrosInvalidos() {
+        assertThatThrownBy(() -> estadisticas.serieMensual("2025-05", "2025-01"))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> estadisticas.serieMensual("2025/01", null))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("yyyy-MM");
+        assertThatThrownBy(() -> estadisticas.serieMensual("2000-01", "2025-01"))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de ExpiracionRegistrosService")
+class ExpiracionRegistrosServiceTest {
+
+    private RegistroArriendoRepository repository;
+    private BloqueoTareasService bloqueos;
+    private SimpleMeterRegistry meterRegistry;
+    private ExpiracionRegistrosService expiracion;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RegistroArriendoRepository.class);
+        bloqueos = mock(BloqueoTareasService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        expiracion = new ExpiracionRegistrosService(repository, bloqueos, 2, Duration.ofMinutes(10), meterRegistry);
+        when(bloqueos.tomar(eq(ExpiracionRegistrosService.TAREA), any())).thenReturn(true);
+        when(bloqueos.extender(eq(ExpiracionRegistrosService.TAREA), any())).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Recorre los vencidos por keyset y finaliza cada lote con un UPDATE")
+    void expirarVencidos_RecorrePorLotes() {
+        // Arrange
+        when(repository.findIdsVencidos(any(), eq(0L), any(Pageable.class))).thenReturn(List.of(3L, 5L));
+        when(repository.findIdsVencidos(any(), eq(5L), any(Pageable.class))).thenReturn(List.of(8L));
+        when(repository.finalizarActivos(List.of(3L, 5L))).thenReturn(2);
+        when(repository.finalizarActivos(List.of(8L))).thenReturn(1);
+
+        // Act
+        int total = expiracion.expirarVencidos();
+
+        // Assert
+        assertThat(total).isEqualTo(3);
+        verify(repository, never()).findById(any());
+        verify(repository, never()).save(any());
+        verify(bloqueos).liberar(ExpiracionRegistrosService.TAREA);
+        assertThat(meterRegistry.get("rentify.registros.expirados").counter().count()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("rentify.registros.expiracion.duracion").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("No hace nada si otra instancia tiene el lease")
+    void expirarVencidos_SinLease_NoEjecuta() {
+        // Arrange
+        when(bloqueos.tomar(eq(ExpiracionRegistrosService.TAREA), any())).thenReturn(false);
+
+        // Act
+        int total = expiracion.expirarVencidos();
+
+        // Assert
+        assertThat(total).isZero();
+        verifyNoInteractions(repository);
+        verify(bloqueos, never()).liberar(any());
+    }
+
+    @Test
+    @DisplayName("Se detiene entre lotes si pierde el lease")
+    void expirarVencidos_PierdeLease_SeDetiene() {
+        // Arrange
+        when(repository.findIdsVencidos(any(), eq(0L), any(Pageable.class))).thenReturn(List.of(3L, 5L));
+        when(repository.finalizarActivos(anyCollection())).thenReturn(2);
+        when(bloqueos.extender(eq(ExpiracionRegistrosService.TAREA), any())).thenReturn(false);
+
+        // Act
+        int total = expiracion.expirarVencidos();
+
+        // Assert
+        assertThat(total).isEqualTo(2);
+        verify(repository, times(1)).findIdsVencidos(any(), anyLong(), any(Pageable.class));
+    }
+}
@@ -0,0 +1,164 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.exception.BusinessValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Tests de IdempotenciaService")
+class IdempotenciaServiceTest {
+
+    private IdempotenciaService idempotencia;
+    private AtomicInteger ejecuciones;
+
+    @BeforeEach
+    void setUp() {
+        idempotencia = new IdempotenciaService(60_000, 100);
+        ejecuciones = new AtomicInteger();
+    }
+
+    private ResponseEntity<String> crear() {
+        return ResponseEntity.status(HttpStatus.CREATED).body("creado-" + ejecuciones.incrementAndGet());
+    }
+
+    @Test
+    @DisplayName("Un reintento con la misma clave recibe la respuesta original sin ejecutar de nuevo")
+    void ejecutar_MismaClave_RepiteRespuesta() {
+        // Act
+        ResponseEntity<String> primera = idempotencia.ejecutar("solicitudes", "abc", 1L, this::crear);
+        ResponseEntity<String> repetida = idempotencia.ejecutar("solicitudes", "abc", 1L, this::crear);
+
+        // Assert
+        assertThat(ejecuciones.get()).isEqualTo(1);
+        assertThat(repetida.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(repetida.getBody()).isEqualTo(primera.getBody());
+        assertThat(repetida.getHeaders().getFirst(IdempotenciaService.HEADER_REPETIDA)).isEqualTo("true");
+        assertThat(primera.getHeaders().containsKey(IdempotenciaService.HEADER_REPETIDA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sin clave, o con la misma clave en otro ámbito, la operación se ejecuta cada vez")
+    void ejecutar_SinClaveOOtroAmbito_EjecutaSiempre() {
+        // Act
+        idempotencia.ejecutar("solicitudes", null, 1L, this::crear);
+        idempotencia.ejecutar("solicitudes", null, 1L, this::crear);
+        idempotencia.ejecutar("solicitudes", "abc", 1L, this::crear);
+        idempotencia.ejecutar("registros", "abc", 1L, this::crear);
+
+        // Assert
+        assertThat(ejecuciones.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Reutilizar una clave con otro contenido se rechaza")
+    void ejecutar_ClaveConOtroContenido_Rechaza() {
+        // Arrange
+        idempotencia.ejecutar("solicitudes", "abc", List.of(1L, 10L), this::crear);
+
+        // Act & Assert
+        assertThatThrownBy(() -> idempotencia.ejecutar("solicitudes", "abc", List.of(1L, 11L), this::crear))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("Idempotency-Key");
+        assertThat(ejecuciones.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Si la operación falla la clave se libera y el reintento vuelve a ejecutar")
+    void ejecutar_Falla_LiberaClave() {
+        // Arrange
+        assertThatThrownBy(() -> idempotencia.ejecutar("solicitudes", "abc", 1L, () -> {
+            throw new BusinessValidationException("rechazada");
+        })).isInstanceOf(BusinessValidationException.class);
+
+        // Act
+        ResponseEntity<String> reintento = idempotencia.ejecutar("solicitudes", "abc", 1L, this::crear);
+
+        // Assert
+        assertThat(reintento.getBody()).isEqualTo("creado-1");
+        assertThat(reintento.getHeaders().containsKey(IdempotenciaService.HEADER_REPETIDA)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Las claves vencidas se eliminan y la operación vuelve a ejecutarse")
+    void purgarExpiradas_EliminaClavesVencidas() throws InterruptedException {
+        // Arrange
+        IdempotenciaService corta = new IdempotenciaService(1, 100);
+        corta.ejecutar("solicitudes", "abc", 1L, this::crear);
+        Thread.sleep(5);
+
+        // Act
+        corta.purgarExpiradas();
+        corta.ejecutar("solicitudes", "abc", 1L, this::crear);
+
+        // Assert
+        assertThat(ejecuciones.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Las peticiones simultáneas con la misma clave esperan a la primera en curso")
+    void ejecutar_Concurrente_UnaSolaEjecucion() throws Exception {
+        // Arrange
+        int peticiones = 50;
+        ExecutorService executor = Executors.newFixedThreadPool(peticiones);
+        CountDownLatch inicio = new CountDownLatch(1);
+
+        // Act
+        List<Future<ResponseEntity<String>>> respuestas = new ArrayList<>();
+        for (int i = 0; i < peticiones; i++) {
+            respuestas.add(executor.submit(() -> {
+                inicio.await();
+                return idempotencia.ejecutar("solicitudes", "abc", 1L, () -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return crear();
+                });
+            }));
+        }
+        inicio.countDown();
+
+        // Assert
+        for (Future<ResponseEntity<String>> respuesta : respuestas) {
+            assertThat(respuesta.get(10, TimeUnit.SECONDS).getBody()).isEqualTo("creado-1");
+        }
+        executor.shutdown();
+        assertThat(ejecuciones.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("ejecutarAsync repite la respuesta a los reintentos y libera la clave si la operación falla")
+    void ejecutarAsync_MismaClave_RepiteYLiberaEnError() {
+        // Act
+        ResponseEntity<String> primera = idempotencia.ejecutarAsync("solicitudes", "abc", 1L,
+                () -> Mono.fromSupplier(this::crear)).block();
+        ResponseEntity<String> repetida = idempotencia.ejecutarAsync("solicitudes", "abc", 1L,
+                () -> Mono.fromSupplier(this::crear)).block();
+        assertThatThrownBy(() -> idempotencia.ejecutarAsync("registros", "abc", 1L,
+                () -> Mono.<ResponseEntity<String>>error(new BusinessValidationException("rechazada"))).block())
+                .isInstanceOf(BusinessValidationException.class);
+        ResponseEntity<String> reintento = idempotencia.ejecutarAsync("registros", "abc", 1L,
+                () -> Mono.fromSupplier(this::crear)).block();
+
+        // Assert
+        assertThat(repetida.getBody()).isEqualTo(primera.getBody());
+        assertThat(repetida.getHeaders().getFirst(IdempotenciaService.HEADER_REPETIDA)).isEqualTo("true");
+        assertThat(reintento.getBody()).isEqualTo("creado-2");
+        assertThat(ejecuciones.get()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,124 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.dto.OcupacionPropiedadDTO;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.model.RegistroArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de OcupacionPropiedadesService")
+class OcupacionPropiedadesServiceTest {
+
+    private static final LocalDate HOY = LocalDate.now();
+
+    private RegistroArriendoRepository repository;
+    private OcupacionPropiedadesService ocupacion;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RegistroArriendoRepository.class);
+        ocupacion = new OcupacionPropiedadesService(repository);
+        when(repository.findActivosConPropiedadDesde(any(), any(Pageable.class))).thenReturn(List.of());
+    }
+
+    private static Object[] fila(long registroId, long propiedadId, LocalDate inicio, LocalDate fin) {
+        return new Object[]{registroId, propiedadId, Date.valueOf(inicio), fin != null ? Date.valueOf(fin) : null};
+    }
+
+    private static RegistroArriendo registro(long id, LocalDate inicio, LocalDate fin) {
+        RegistroArriendo registro = new RegistroArriendo();
+        registro.setId(id);
+        registro.setFechaInicio(Date.valueOf(inicio));
+        registro.setFechaFin(fin != null ? Date.valueOf(fin) : null);
+        registro.setActivo(true);
+        return registro;
+    }
+
+    @Test
+    @DisplayName("Se construye desde los registros activos y descarta los ya vencidos")
+    void reconstruir_DesdeRegistrosActivos() {
+        // Arrange
+        List<Object[]> filas = new ArrayList<>();
+        filas.add(fila(1, 10, HOY.minusMonths(6), HOY.plusMonths(6)));
+        filas.add(fila(2, 20, HOY.minusYears(1), null));
+        filas.add(fila(3, 30, HOY.minusYears(2), HOY.minusDays(1)));
+        when(repository.findActivosConPropiedadDesde(eq(0L), any(Pageable.class))).thenReturn(filas);
+
+        // Act
+        List<OcupacionPropiedadDTO> resultado = ocupacion.ocupacion(List.of(10L, 20L, 30L, 40L), HOY);
+
+        // Assert
+        assertThat(resultado).extracting(OcupacionPropiedadDTO::getPropiedadId).containsExactly(10L, 20L, 30L, 40L);
+        assertThat(resultado).extracting(OcupacionPropiedadDTO::isOcupada).containsExactly(true, true, false, false);
+        assertThat(resultado.get(0).getOcupadaHasta()).isEqualTo(HOY.plusMonths(6));
+        assertThat(resultado.get(1).getOcupadaHasta()).isNull();
+        verify(repository, times(1)).findActivosConPropiedadDesde(any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Crear y finalizar registros actualiza la ocupación sin volver a consultar la tabla")
+    void registroCreadoYFinalizado_ActualizanElIndice() {
+        // Arrange
+        assertThat(ocupacion.ocupada(10L, HOY)).isFalse();
+
+        // Act & Assert
+        ocupacion.registroCreado(registro(1L, HOY.plusMonths(1), HOY.plusYears(1)), 10L);
+        assertThat(ocupacion.ocupada(10L, HOY)).as("arriendo futuro").isTrue();
+        assertThat(ocupacion.ocupada(10L, HOY.plusYears(1).plusDays(1))).isFalse();
+
+        ocupacion.registroCreado(registro(2L, HOY.plusYears(1).plusDays(1), null), 10L);
+        assertThat(ocupacion.ocupacion(List.of(10L), HOY).get(0).getOcupadaHasta()).isNull();
+
+        ocupacion.registroFinalizado(2L);
+        ocupacion.registroFinalizado(99L);
+        assertThat(ocupacion.ocupacion(List.of(10L), HOY).get(0).getOcupadaHasta()).isEqualTo(HOY.plusYears(1));
+
+        ocupacion.registroFinalizado(1L);
+        assertThat(ocupacion.ocupada(10L, HOY)).isFalse();
+        verify(repository, times(1)).findActivosConPropiedadDesde(any(), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("La reconstrucción recorre la tabla por páginas (keyset)")
+    void reconstruir_RecorrePorPaginas() {
+        // Arrange
+        List<Object[]> primera = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> fila(id, id, HOY, HOY.plusDays(30)))
+                .toList();
+        when(repository.findActivosConPropiedadDesde(eq(0L), any(Pageable.class))).thenReturn(primera);
+        when(repository.findActivosConPropiedadDesde(eq(1000L), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(fila(1001, 1001, HOY, null)));
+
+        // Act
+        ocupacion.reconstruir();
+
+        // Assert
+        assertThat(ocupacion.ocupada(1L, HOY)).isTrue();
+        assertThat(ocupacion.ocupada(1001L, HOY)).isTrue();
+        verify(repository).findActivosConPropiedadDesde(eq(1000L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Rechaza consultas con demasiadas propiedades")
+    void ocupacion_DemasiadasPropiedades() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        assertThatThrownBy(() -> ocupacion.ocupacion(ids, HOY))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("500");
+    }
+}
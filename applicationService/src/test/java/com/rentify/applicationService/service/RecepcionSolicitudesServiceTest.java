@@ -0,0 +1,303 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.client.DocumentServiceClient;
+import com.rentify.applicationService.client.PropertyServiceClient;
+import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.client.VerificadorTokens;
+import com.rentify.applicationService.dto.PropiedadDTO;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.dto.UsuarioDTO;
+import com.rentify.applicationService.exception.MicroserviceException;
+import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.rentify.applicationService.constants.ApplicationConstants.*;
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de RecepcionSolicitudesService")
+class RecepcionSolicitudesServiceTest {
+
+    private SolicitudArriendoRepository repository;
+    private UserServiceClient userClient;
+    private PropertyServiceClient propertyClient;
+    private DocumentServiceClient documentClient;
+    private CupoSolicitudesService cupos;
+    private SimpleMeterRegistry meterRegistry;
+    private RecepcionSolicitudesService recepcion;
+
+    /**
+     * "Base de datos" en memoria para las solicitudes.
+     */
+    private final Map<Long, SolicitudArriendo> tabla = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(SolicitudArriendoRepository.class);
+        userClient = mock(UserServiceClient.class);
+        propertyClient = mock(PropertyServiceClient.class);
+        documentClient = mock(DocumentServiceClient.class);
+        cupos = new CupoSolicitudesService(repository);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(repository.save(any(SolicitudArriendo.class))).thenAnswer(inv -> {
+            SolicitudArriendo s = inv.getArgument(0);
+            s.setId(ids.incrementAndGet());
+            tabla.put(s.getId(), s);
+            return s;
+        });
+        when(repository.findAllById(anyIterable())).thenAnswer(inv -> {
+            Iterable<Long> buscados = inv.getArgument(0);
+            List<SolicitudArriendo> encontradas = new ArrayList<>();
+            buscados.forEach(id -> {
+                if (tabla.containsKey(id)) {
+                    encontradas.add(tabla.get(id));
+                }
+            });
+            return encontradas;
+        });
+        when(repository.saveAll(anyIterable())).thenAnswer(inv -> inv.getArgument(0));
+
+        ModelMapper mapper = new ModelMapper();
+        SolicitudArriendoService solicitudService = new SolicitudArriendoService(
+                repository, userClient, propertyClient, documentClient, mapper,
+                ReplicaLecturaService.sinReplica(userClient, propertyClient), cupos,
+                new OcupacionPropiedadesService(mock(RegistroArriendoRepository.class)),
+                mock(VerificadorTokens.class));
+        recepcion = new RecepcionSolicitudesService(repository, solicitudService, cupos, userClient,
+                propertyClient, documentClient, ReplicaLecturaService.sinReplica(userClient, propertyClient),
+                mapper, false, 2, 100, 10, Duration.ofMillis(50), meterRegistry);
+    }
+
+    private SolicitudArriendoDTO solicitud(Long usuarioId, Long propiedadId) {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(usuarioId);
+        dto.setPropiedadId(propiedadId);
+        return dto;
+    }
+
+    private void recibidaEnBaseDeDatos(Long id, Long usuarioId) {
+        tabla.put(id, SolicitudArriendo.builder().id(id).usuarioId(usuarioId).propiedadId(10L)
+                .estado(EstadoSolicitud.RECIBIDA).fechaSolicitud(new Date()).build());
+    }
+
+    private void usuariosArrendatarios() {
+        when(userClient.getUsersByIdsAsync(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> usuarioIds = inv.getArgument(0);
+            return Mono.just(usuarioIds.stream().collect(Collectors.toMap(Function.identity(), id -> {
+                UsuarioDTO usuario = new UsuarioDTO();
+                usuario.setId(id);
+                usuario.setRolId(Roles.ARRIENDATARIO);
+                return usuario;
+            })));
+        });
+    }
+
+    private void propiedadesExistentes() {
+        when(propertyClient.getPropertiesByIdsAsync(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> propiedadIds = inv.getArgument(0);
+            return Mono.just(propiedadIds.stream().collect(Collectors.toMap(Function.identity(), id -> {
+                PropiedadDTO propiedad = new PropiedadDTO();
+                propiedad.setId(id);
+                return propiedad;
+            })));
+        });
+    }
+
+    private void documentos(boolean aprobados) {
+        when(documentClient.hasApprovedDocumentsByUsersAsync(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> usuarioIds = inv.getArgument(0);
+            return Mono.just(usuarioIds.stream().collect(Collectors.toMap(Function.identity(), id -> aprobados)));
+        });
+    }
+
+    @Test
+    @DisplayName("recibir guarda la solicitud como RECIBIDA, reserva el cupo y la deja en cola sin llamar a otros servicios")
+    void recibir_GuardaRecibidaYEncola() {
+        // Act
+        SolicitudArriendoDTO resultado = recepcion.recibir(solicitud(1L, 10L));
+
+        // Assert
+        assertThat(resultado.getId()).isEqualTo(1L);
+        assertThat(resultado.getEstado()).isEqualTo(EstadoSolicitud.RECIBIDA);
+        assertThat(recepcion.enCola()).isEqualTo(1);
+        assertThat(cupos.pendientes(1L)).isEqualTo(1);
+        verifyNoInteractions(userClient, propertyClient, documentClient);
+        assertThat(meterRegistry.get("rentify.intake.queue.depth").gauge().value()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Un lote se valida con una llamada por servicio y cada solicitud pasa a PENDIENTE o RECHAZADA")
+    void procesarLote_DecideCadaSolicitud() {
+        // Arrange - el usuario 2 tiene rol PROPIETARIO
+        recepcion.recibir(solicitud(1L, 10L));
+        recepcion.recibir(solicitud(1L, 11L));
+        recepcion.recibir(solicitud(2L, 10L));
+        when(userClient.getUsersByIdsAsync(anyCollection())).thenAnswer(inv -> {
+            UsuarioDTO arrendatario = new UsuarioDTO();
+            arrendatario.setId(1L);
+            arrendatario.setRolId(Roles.ARRIENDATARIO);
+            UsuarioDTO propietario = new UsuarioDTO();
+            propietario.setId(2L);
+            propietario.setRolId(Roles.PROPIETARIO);
+            return Mono.just(Map.of(1L, arrendatario, 2L, propietario));
+        });
+        propiedadesExistentes();
+        documentos(true);
+
+        // Act
+        recepcion.procesarLote(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertThat(tabla.get(1L).getEstado()).isEqualTo(EstadoSolicitud.PENDIENTE);
+        assertThat(tabla.get(2L).getEstado()).isEqualTo(EstadoSolicitud.PENDIENTE);
+        assertThat(tabla.get(3L).getEstado()).isEqualTo(EstadoSolicitud.RECHAZADA);
+        assertThat(tabla.get(3L).getMotivoRechazo()).isEqualTo(Mensajes.ROL_INVALIDO_SOLICITUD);
+        assertThat(cupos.pendientes(2L)).isZero();
+        verify(userClient, times(1)).getUsersByIdsAsync(anyCollection());
+        verify(propertyClient, times(1)).getPropertiesByIdsAsync(anyCollection());
+        verify(documentClient, times(1)).hasApprovedDocumentsByUsersAsync(anyCollection());
+        verify(repository, times(1)).saveAll(anyIterable());
+        assertThat(meterRegistry.get("rentify.intake.batch.size").summary().totalAmount()).isEqualTo(3.0);
+        assertThat(meterRegistry.get("rentify.intake.processed").tag("resultado", "rechazada").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("rentify.intake.lag").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Si un servicio no responde, el lote queda RECIBIDO y la recuperación lo vuelve a encolar")
+    void procesarLote_ServicioCaido_ReintentaEnLaRecuperacion() {
+        // Arrange - dos solicitudes RECIBIDAS que un worker ya sacó de la cola
+        recibidaEnBaseDeDatos(1L, 1L);
+        recibidaEnBaseDeDatos(2L, 2L);
+        when(userClient.getUsersByIdsAsync(anyCollection()))
+                .thenReturn(Mono.error(new MicroserviceException("User Service no disponible")));
+        propiedadesExistentes();
+        documentos(true);
+        when(repository.findIdsByEstado(eq(EstadoSolicitud.RECIBIDA), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L));
+
+        // Act
+        recepcion.procesarLote(List.of(1L, 2L));
+        recepcion.recuperar();
+
+        // Assert
+        assertThat(tabla.values()).allMatch(s -> EstadoSolicitud.RECIBIDA.equals(s.getEstado()));
+        verify(repository, never()).saveAll(anyIterable());
+        assertThat(meterRegistry.get("rentify.intake.processed").tag("resultado", "reintento").counter().count())
+                .isEqualTo(2.0);
+        assertThat(recepcion.enCola()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Un lote con solo usuarios inexistentes se rechaza en vez de quedar RECIBIDO")
+    void procesarLote_SoloUsuariosInexistentes_Rechaza() {
+        // Arrange - User Service responde, pero ninguno de los usuarios existe
+        recepcion.recibir(solicitud(98L, 10L));
+        recepcion.recibir(solicitud(99L, 10L));
+        when(userClient.getUsersByIdsAsync(anyCollection())).thenReturn(Mono.just(Map.of()));
+        propiedadesExistentes();
+        when(documentClient.hasApprovedDocumentsByUsersAsync(anyCollection())).thenReturn(Mono.just(Map.of()));
+
+        // Act
+        recepcion.procesarLote(List.of(1L, 2L));
+
+        // Assert
+        assertThat(tabla.get(1L).getEstado()).isEqualTo(EstadoSolicitud.RECHAZADA);
+        assertThat(tabla.get(1L).getMotivoRechazo()).isEqualTo(String.format(Mensajes.USUARIO_NO_EXISTE, 98L));
+        assertThat(tabla.get(2L).getMotivoRechazo()).isEqualTo(String.format(Mensajes.USUARIO_NO_EXISTE, 99L));
+        assertThat(cupos.pendientes(98L)).isZero();
+        assertThat(cupos.pendientes(99L)).isZero();
+        assertThat(meterRegistry.find("rentify.intake.processed").tag("resultado", "reintento").counter().count())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Un lote con solo propiedades inexistentes se rechaza en vez de quedar RECIBIDO")
+    void procesarLote_SoloPropiedadesInexistentes_Rechaza() {
+        // Arrange
+        recepcion.recibir(solicitud(1L, 404L));
+        usuariosArrendatarios();
+        when(propertyClient.getPropertiesByIdsAsync(anyCollection())).thenReturn(Mono.just(Map.of()));
+        documentos(true);
+
+        // Act
+        recepcion.procesarLote(List.of(1L));
+
+        // Assert
+        assertThat(tabla.get(1L).getEstado()).isEqualTo(EstadoSolicitud.RECHAZADA);
+        assertThat(tabla.get(1L).getMotivoRechazo()).isEqualTo(String.format(Mensajes.PROPIEDAD_NO_EXISTE, 404L));
+        assertThat(cupos.pendientes(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("La recuperación encola las solicitudes RECIBIDAS que no están en cola")
+    void recuperar_EncolaRecibidasHuerfanas() {
+        // Arrange - solicitudes que quedaron RECIBIDAS en la base de datos (por ejemplo, tras un reinicio)
+        for (long id = 1; id <= 3; id++) {
+            recibidaEnBaseDeDatos(id, id);
+        }
+        when(repository.findIdsByEstado(eq(EstadoSolicitud.RECIBIDA), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        // Act
+        recepcion.recuperar();
+        recepcion.recuperar();
+
+        // Assert
+        assertThat(recepcion.enCola()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Los workers vacían la cola en lotes y todas las solicitudes terminan decididas")
+    void workers_ProcesanLaColaEnLotes() throws InterruptedException {
+        // Arrange
+        usuariosArrendatarios();
+        propiedadesExistentes();
+        documentos(false);
+        int solicitudes = 60;
+        for (long usuarioId = 1; usuarioId <= solicitudes; usuarioId++) {
+            recepcion.recibir(solicitud(usuarioId, 10L));
+        }
+
+        // Act
+        recepcion.start();
+        long limite = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < limite && tabla.values().stream()
+                .anyMatch(s -> EstadoSolicitud.RECIBIDA.equals(s.getEstado()))) {
+            Thread.sleep(20);
+        }
+        recepcion.stop();
+
+        // Assert - con lotes de 10 basta una fracción de las llamadas que haría la validación individual
+        assertThat(tabla.values()).allSatisfy(s -> {
+            assertThat(s.getEstado()).isEqualTo(EstadoSolicitud.RECHAZADA);
+            assertThat(s.getMotivoRechazo()).isEqualTo(Mensajes.DOCUMENTOS_NO_APROBADOS);
+        });
+        assertThat(recepcion.enCola()).isZero();
+        verify(userClient, atMost(solicitudes / 2)).getUsersByIdsAsync(anyCollection());
+        verify(userClient, never()).getUserByIdAsync(anyLong());
+        assertThat(cupos.pendientes(1L)).isZero();
+    }
+}
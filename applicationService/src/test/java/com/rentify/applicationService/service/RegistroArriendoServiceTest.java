@@ -16,6 +16,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.*;
 
@@ -43,6 +48,12 @@ class RegistroArriendoServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private EstadisticasArriendoService estadisticas;
+
+    @Mock
+    private OcupacionPropiedadesService ocupacion;
+
     @InjectMocks
     private RegistroArriendoService service;
 
@@ -88,7 +99,7 @@ class RegistroArriendoServiceTest {
     void crearRegistro_SolicitudAceptada_Success() {
         // Arrange
         when(solicitudRepository.findById(1L)).thenReturn(Optional.of(solicitudAceptada));
-        when(repository.findBySolicitudId(1L)).thenReturn(Collections.emptyList());
+        when(repository.existsBySolicitudIdAndActivoTrue(1L)).thenReturn(false);
         when(modelMapper.map(any(RegistroArriendoDTO.class), eq(RegistroArriendo.class)))
                 .thenReturn(registroEntity);
         when(repository.save(any(RegistroArriendo.class))).thenReturn(registroEntity);
@@ -101,6 +112,8 @@ class RegistroArriendoServiceTest {
         // Assert
         assertThat(resultado).isNotNull();
         verify(repository, times(1)).save(any(RegistroArriendo.class));
+        verify(estadisticas, times(1)).registroCreado(registroEntity);
+        verify(ocupacion, times(1)).registroCreado(registroEntity, solicitudAceptada.getPropiedadId());
     }
 
     @Test
@@ -136,12 +149,8 @@ class RegistroArriendoServiceTest {
     @DisplayName("Debe lanzar excepción cuando ya existe un registro activo")
     void crearRegistro_RegistroActivoExiste_ThrowsException() {
         // Arrange
-        RegistroArriendo registroActivo = new RegistroArriendo();
-        registroActivo.setId(2L);
-        registroActivo.setActivo(true);
-
         when(solicitudRepository.findById(1L)).thenReturn(Optional.of(solicitudAceptada));
-        when(repository.findBySolicitudId(1L)).thenReturn(Arrays.asList(registroActivo));
+        when(repository.existsBySolicitudIdAndActivoTrue(1L)).thenReturn(true);
 
         // Act & Assert
         assertThatThrownBy(() -> service.crearRegistro(registroDTO))
@@ -149,6 +158,7 @@ class RegistroArriendoServiceTest {
                 .hasMessageContaining("Ya existe un registro activo");
 
         verify(repository, never()).save(any());
+        verify(repository, never()).findBySolicitudId(anyLong());
     }
 
     @Test
@@ -161,7 +171,7 @@ class RegistroArriendoServiceTest {
         registroDTO.setFechaFin(cal.getTime());
 
         when(solicitudRepository.findById(1L)).thenReturn(Optional.of(solicitudAceptada));
-        when(repository.findBySolicitudId(1L)).thenReturn(Collections.emptyList());
+        when(repository.existsBySolicitudIdAndActivoTrue(1L)).thenReturn(false);
 
         // Act & Assert
         assertThatThrownBy(() -> service.crearRegistro(registroDTO))
@@ -177,7 +187,7 @@ class RegistroArriendoServiceTest {
         // Arrange
         registroDTO.setFechaFin(null);
         when(solicitudRepository.findById(1L)).thenReturn(Optional.of(solicitudAceptada));
-        when(repository.findBySolicitudId(1L)).thenReturn(Collections.emptyList());
+        when(repository.existsBySolicitudIdAndActivoTrue(1L)).thenReturn(false);
         when(modelMapper.map(any(RegistroArriendoDTO.class), eq(RegistroArriendo.class)))
                 .thenReturn(registroEntity);
         when(repository.save(any(RegistroArriendo.class))).thenReturn(registroEntity);
@@ -193,21 +203,61 @@ class RegistroArriendoServiceTest {
     }
 
     @Test
-    @DisplayName("Debe listar todos los registros")
-    void listarTodos_RetornaListado() {
+    @DisplayName("Debe listar una página de registros con el total de elementos")
+    void listarTodos_RetornaPagina() {
         // Arrange
         RegistroArriendo registro2 = new RegistroArriendo();
         registro2.setId(2L);
-        when(repository.findAll()).thenReturn(Arrays.asList(registroEntity, registro2));
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("id"));
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(Arrays.asList(registroEntity, registro2), pageable, 5));
         when(modelMapper.map(any(RegistroArriendo.class), eq(RegistroArriendoDTO.class)))
                 .thenReturn(registroDTO);
 
         // Act
-        List<RegistroArriendoDTO> resultado = service.listarTodos(false);
+        Page<RegistroArriendoDTO> resultado = service.listarTodos(false, pageable);
+
+        // Assert
+        assertThat(resultado.getContent()).hasSize(2);
+        assertThat(resultado.getTotalElements()).isEqualTo(5);
+        verify(repository, times(1)).findAll(pageable);
+        verify(repository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar el orden por un campo no permitido")
+    void listarTodos_OrdenNoPermitido_ThrowsException() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("clave"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> service.listarTodos(false, pageable))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("clave");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Debe listar registros con detalles resolviendo las solicitudes por lote")
+    void listarTodos_ConDetalles_ResuelveSolicitudesPorLote() {
+        // Arrange
+        RegistroArriendo registro2 = new RegistroArriendo();
+        registro2.setId(2L);
+        registro2.setSolicitudId(1L);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(Arrays.asList(registroEntity, registro2)));
+        when(modelMapper.map(any(RegistroArriendo.class), eq(RegistroArriendoDTO.class)))
+                .thenAnswer(invocation -> new RegistroArriendoDTO());
+        SolicitudArriendoDTO solicitudDTO = SolicitudArriendoDTO.builder().id(1L).build();
+        when(solicitudService.obtenerPorIds(Set.of(1L), true)).thenReturn(Map.of(1L, solicitudDTO));
+
+        // Act
+        List<RegistroArriendoDTO> resultado = service.listarTodos(true, pageable).getContent();
 
         // Assert
         assertThat(resultado).hasSize(2);
-        verify(repository, times(1)).findAll();
+        assertThat(resultado).allSatisfy(r -> assertThat(r.getSolicitud()).isSameAs(solicitudDTO));
+        verify(solicitudService, times(1)).obtenerPorIds(Set.of(1L), true);
+        verify(solicitudService, never()).obtenerPorId(anyLong(), anyBoolean());
     }
 
     @Test
@@ -269,6 +319,8 @@ class RegistroArriendoServiceTest {
         // Assert
         assertThat(resultado).isNotNull();
         verify(repository, times(1)).save(any(RegistroArriendo.class));
+        verify(estadisticas, times(1)).registroFinalizado(eq(registroEntity), any());
+        verify(ocupacion, times(1)).registroFinalizado(registroEntity.getId());
     }
 
     @Test
@@ -301,13 +353,9 @@ class RegistroArriendoServiceTest {
     @Test
     @DisplayName("Debe permitir crear múltiples registros si los anteriores están inactivos")
     void crearRegistro_RegistrosInactivosExisten_Success() {
-        // Arrange
-        RegistroArriendo registroInactivo = new RegistroArriendo();
-        registroInactivo.setId(2L);
-        registroInactivo.setActivo(false);
-
+        // Arrange - la solicitud solo tiene registros inactivos
         when(solicitudRepository.findById(1L)).thenReturn(Optional.of(solicitudAceptada));
-        when(repository.findBySolicitudId(1L)).thenReturn(Arrays.asList(registroInactivo));
+        when(repository.existsBySolicitudIdAndActivoTrue(1L)).thenReturn(false);
         when(modelMapper.map(any(RegistroArriendoDTO.class), eq(RegistroArriendo.class)))
                 .thenReturn(registroEntity);
         when(repository.save(any(RegistroArriendo.class))).thenReturn(registroEntity);
@@ -0,0 +1,177 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.client.PropertyServiceClient;
+import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.dto.PropiedadDTO;
+import com.rentify.applicationService.dto.UsuarioDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Tests de ReplicaLecturaService")
+class ReplicaLecturaServiceTest {
+
+    private static final Duration MAX_ANTIGUEDAD = Duration.ofMinutes(2);
+    private static final Duration RETENCION = Duration.ofHours(1);
+
+    private UserServiceClient userClient;
+    private PropertyServiceClient propertyClient;
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong reloj;
+    private ReplicaLecturaService replica;
+
+    @BeforeEach
+    void setUp() {
+        userClient = mock(UserServiceClient.class);
+        propertyClient = mock(PropertyServiceClient.class);
+        meterRegistry = new SimpleMeterRegistry();
+        reloj = new AtomicLong();
+        replica = new ReplicaLecturaService(userClient, propertyClient, true,
+                MAX_ANTIGUEDAD, RETENCION, 100, meterRegistry, reloj::get);
+    }
+
+    private UsuarioDTO usuario(Long id, Integer rolId) {
+        UsuarioDTO usuario = new UsuarioDTO();
+        usuario.setId(id);
+        usuario.setRolId(rolId);
+        return usuario;
+    }
+
+    private void avanzar(Duration duracion) {
+        reloj.addAndGet(duracion.toNanos());
+    }
+
+    @Test
+    @DisplayName("La segunda consulta de un usuario se responde desde la réplica")
+    void obtenerUsuario_SegundaConsultaDesdeReplica() {
+        // Arrange
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.just(usuario(1L, 3)));
+
+        // Act
+        replica.obtenerUsuario(1L).block();
+        avanzar(Duration.ofSeconds(30));
+        UsuarioDTO resultado = replica.obtenerUsuario(1L).block();
+
+        // Assert
+        assertThat(resultado.getId()).isEqualTo(1L);
+        assertThat(resultado.getRolId()).isEqualTo(3);
+        verify(userClient, times(1)).getUserByIdAsync(1L);
+        assertThat(meterRegistry.get("rentify.replica.lookups").tag("entidad", "usuario").tag("resultado", "hit")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Una entrada más antigua que el máximo configurado se vuelve a consultar en línea")
+    void obtenerUsuario_EntradaVencida_ConsultaEnLinea() {
+        // Arrange
+        when(userClient.getUserByIdAsync(1L))
+                .thenReturn(Mono.just(usuario(1L, 3)))
+                .thenReturn(Mono.just(usuario(1L, 2)));
+        replica.obtenerUsuario(1L).block();
+
+        // Act
+        avanzar(MAX_ANTIGUEDAD.plusSeconds(1));
+        UsuarioDTO resultado = replica.obtenerUsuario(1L).block();
+
+        // Assert
+        assertThat(resultado.getRolId()).isEqualTo(2);
+        verify(userClient, times(2)).getUserByIdAsync(1L);
+    }
+
+    @Test
+    @DisplayName("Un usuario inexistente no queda en la réplica")
+    void obtenerUsuario_Inexistente_NoSeReplica() {
+        // Arrange
+        when(userClient.getUserByIdAsync(99L)).thenReturn(Mono.empty());
+
+        // Act
+        replica.obtenerUsuario(99L).block();
+        replica.obtenerUsuario(99L).block();
+
+        // Assert
+        verify(userClient, times(2)).getUserByIdAsync(99L);
+    }
+
+    @Test
+    @DisplayName("Una propiedad existente queda replicada y la segunda consulta no va al microservicio")
+    void existePropiedad_SeReplica() {
+        // Arrange
+        when(propertyClient.existsPropertyAsync(10L)).thenReturn(Mono.just(true));
+
+        // Act
+        replica.existePropiedad(10L).block();
+        boolean existe = replica.existePropiedad(10L).block();
+
+        // Assert
+        assertThat(existe).isTrue();
+        verify(propertyClient, times(1)).existsPropertyAsync(10L);
+    }
+
+    @Test
+    @DisplayName("Las propiedades obtenidas en un listado con detalle alimentan la réplica")
+    void registrarPropiedades_AlimentaReplica() {
+        // Arrange
+        PropiedadDTO propiedad = new PropiedadDTO();
+        propiedad.setId(10L);
+
+        // Act
+        replica.registrarPropiedades(List.of(propiedad));
+
+        // Assert
+        assertThat(replica.existePropiedad(10L).block()).isTrue();
+        verify(propertyClient, never()).existsPropertyAsync(any());
+    }
+
+    @Test
+    @DisplayName("La sincronización refresca por lote las entradas usadas y descarta las que no se usan")
+    void sincronizar_RefrescaYDescarta() {
+        // Arrange
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.just(usuario(1L, 3)));
+        when(userClient.getUserByIdAsync(2L)).thenReturn(Mono.just(usuario(2L, 3)));
+        replica.obtenerUsuario(1L).block();
+        replica.obtenerUsuario(2L).block();
+
+        // El usuario 1 se sigue usando, el 2 deja de usarse
+        avanzar(RETENCION.minusMinutes(1));
+        replica.obtenerUsuario(1L).block();
+        avanzar(Duration.ofMinutes(2));
+        when(userClient.getUsersByIdsAsync(anyCollection())).thenReturn(Mono.just(Map.of(1L, usuario(1L, 2))));
+
+        // Act
+        replica.sincronizar();
+        UsuarioDTO resultado = replica.obtenerUsuario(1L).block();
+
+        // Assert
+        verify(userClient).getUsersByIdsAsync(List.of(1L));
+        assertThat(resultado.getRolId()).isEqualTo(2);
+        assertThat(meterRegistry.get("rentify.replica.size").tag("entidad", "usuario").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Sin réplica todas las consultas van al microservicio")
+    void sinReplica_SiempreConsultaEnLinea() {
+        // Arrange
+        ReplicaLecturaService sinReplica = ReplicaLecturaService.sinReplica(userClient, propertyClient);
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.just(usuario(1L, 3)));
+
+        // Act
+        sinReplica.obtenerUsuario(1L).block();
+        sinReplica.obtenerUsuario(1L).block();
+
+        // Assert
+        verify(userClient, times(2)).getUserByIdAsync(1L);
+    }
+}
@@ -0,0 +1,211 @@
+package com.rentify.applicationService.service;
+
+import com.rentify.applicationService.client.DocumentServiceClient;
+import com.rentify.applicationService.client.PropertyServiceClient;
+import com.rentify.applicationService.client.ResilienciaRegistro;
+import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.client.VerificadorTokens;
+import com.rentify.applicationService.dto.SolicitudArriendoDTO;
+import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
+import com.rentify.applicationService.repository.SolicitudArriendoRepository;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Verifica que las validaciones remotas de crearSolicitud se ejecutan en paralelo
+ * y que los listados con detalles hacen un número acotado de llamadas remotas.
+ * Cada microservicio se simula con un MockWebServer que responde con retardo.
+ */
+@DisplayName("Tests de latencia de SolicitudArriendoService")
+class SolicitudArriendoServiceLatencyTest {
+
+    private static final long RETARDO_MS = 400;
+
+    private MockWebServer userServer;
+    private MockWebServer propertyServer;
+    private MockWebServer documentServer;
+
+    private SolicitudArriendoRepository repository;
+    private SolicitudArriendoService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        userServer = iniciarServidor("{\"id\": 1, \"rolId\": 3}", RETARDO_MS);
+        propertyServer = iniciarServidor("{\"id\": 10, \"titulo\": \"Depto\"}", RETARDO_MS);
+        documentServer = iniciarServidor("true", RETARDO_MS);
+
+        repository = mock(SolicitudArriendoRepository.class);
+        when(repository.save(any(SolicitudArriendo.class))).thenAnswer(invocation -> {
+            SolicitudArriendo s = invocation.getArgument(0);
+            s.setId(100L);
+            return s;
+        });
+
+        UserServiceClient userClient = new UserServiceClient(WebClient.builder(), baseUrl(userServer),
+                ResilienciaRegistro.sinPoliticas());
+
+        PropertyServiceClient propertyClient = new PropertyServiceClient(WebClient.builder(), baseUrl(propertyServer),
+                ResilienciaRegistro.sinPoliticas());
+
+        DocumentServiceClient documentClient = new DocumentServiceClient(WebClient.builder(), baseUrl(documentServer),
+                ResilienciaRegistro.sinPoliticas());
+
+        service = new SolicitudArriendoService(
+                repository, userClient, propertyClient, documentClient, new ModelMapper(),
+                ReplicaLecturaService.sinReplica(userClient, propertyClient),
+                new CupoSolicitudesService(repository),
+                new OcupacionPropiedadesService(mock(RegistroArriendoRepository.class)),
+                mock(VerificadorTokens.class)
+        );
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        userServer.shutdown();
+        propertyServer.shutdown();
+        documentServer.shutdown();
+    }
+
+    @Test
+    @DisplayName("La latencia de validación queda acotada por la dependencia más lenta, no por la suma")
+    void crearSolicitud_ValidacionesEnParalelo() {
+        // Calentar conexiones y clases para que la medición refleje solo las llamadas
+        service.crearSolicitud(nuevaSolicitud());
+
+        long inicio = System.nanoTime();
+        SolicitudArriendoDTO result = service.crearSolicitud(nuevaSolicitud());
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(result.getId()).isEqualTo(100L);
+        // Secuencialmente serían 4 validaciones + 2 llamadas del DTO de respuesta = 6 x 400 ms.
+        // En paralelo son 2 rondas: validaciones (400 ms) y detalle de usuario/propiedad (400 ms).
+        assertThat(duracionMs)
+                .as("duración de crearSolicitud")
+                .isGreaterThanOrEqualTo(RETARDO_MS * 2)
+                .isLessThan(RETARDO_MS * 3);
+    }
+
+    @Test
+    @DisplayName("Un rechazo remoto rápido no espera a las dependencias lentas")
+    void crearSolicitud_FallaRapidoAnteRechazo() throws IOException {
+        documentServer.shutdown();
+        documentServer = iniciarServidor("false", 0);
+        userServer.shutdown();
+        userServer = iniciarServidor("{\"id\": 1, \"rolId\": 3}", RETARDO_MS * 5);
+
+        PropertyServiceClient propertyClient = new PropertyServiceClient(WebClient.builder(), baseUrl(propertyServer),
+                ResilienciaRegistro.sinPoliticas());
+        UserServiceClient userClient = new UserServiceClient(WebClient.builder(), baseUrl(userServer),
+                ResilienciaRegistro.sinPoliticas());
+        DocumentServiceClient documentClient = new DocumentServiceClient(WebClient.builder(), baseUrl(documentServer),
+                ResilienciaRegistro.sinPoliticas());
+        service = new SolicitudArriendoService(
+                repository, userClient, propertyClient, documentClient, new ModelMapper(),
+                ReplicaLecturaService.sinReplica(userClient, propertyClient),
+                new CupoSolicitudesService(repository),
+                new OcupacionPropiedadesService(mock(RegistroArriendoRepository.class)),
+                mock(VerificadorTokens.class)
+        );
+
+        long inicio = System.nanoTime();
+        assertThatThrownBy(() -> service.crearSolicitud(nuevaSolicitud()))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("documentos");
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(duracionMs).isLessThan(RETARDO_MS * 5);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("listarTodas con detalles hace llamadas por ID distinto y una sola a Property Service")
+    void listarTodas_ConDetalles_LlamadasAcotadas() throws IOException {
+        propertyServer.shutdown();
+        propertyServer = iniciarServidor("[{\"id\": 10, \"titulo\": \"Depto\"}, {\"id\": 11, \"titulo\": \"Casa\"}]", RETARDO_MS);
+        PropertyServiceClient propertyClient = new PropertyServiceClient(WebClient.builder(), baseUrl(propertyServer),
+                ResilienciaRegistro.sinPoliticas());
+        UserServiceClient userClient = new UserServiceClient(WebClient.builder(), baseUrl(userServer),
+                ResilienciaRegistro.sinPoliticas());
+        service = new SolicitudArriendoService(
+                repository, userClient, propertyClient, mock(DocumentServiceClient.class), new ModelMapper(),
+                ReplicaLecturaService.sinReplica(userClient, propertyClient),
+                new CupoSolicitudesService(repository),
+                new OcupacionPropiedadesService(mock(RegistroArriendoRepository.class)),
+                mock(VerificadorTokens.class)
+        );
+
+        // 200 solicitudes de un mismo usuario sobre 2 propiedades
+        List<SolicitudArriendo> solicitudes = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            solicitudes.add(SolicitudArriendo.builder()
+                    .id(i).usuarioId(1L).propiedadId(10L + i % 2).estado("PENDIENTE").build());
+        }
+        Pageable pageable = PageRequest.of(0, 200);
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(solicitudes, pageable, solicitudes.size()));
+
+        // Calentar conexiones y clases para que la medición refleje solo las llamadas
+        service.listarTodas(true, pageable);
+        int llamadasUsuarioPrevias = userServer.getRequestCount();
+        int llamadasPropiedadPrevias = propertyServer.getRequestCount();
+
+        long inicio = System.nanoTime();
+        List<SolicitudArriendoDTO> result = service.listarTodas(true, pageable).getContent();
+        long duracionMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertThat(result).hasSize(200);
+        assertThat(result).allSatisfy(dto -> assertThat(dto.getPropiedad()).isNotNull());
+        assertThat(userServer.getRequestCount() - llamadasUsuarioPrevias).isEqualTo(1);
+        assertThat(propertyServer.getRequestCount() - llamadasPropiedadPrevias).isEqualTo(1);
+        // User y Property Service se consultan en paralelo
+        assertThat(duracionMs).isLessThan(RETARDO_MS * 2);
+    }
+
+    private SolicitudArriendoDTO nuevaSolicitud() {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(1L);
+        dto.setPropiedadId(10L);
+        return dto;
+    }
+
+    private static MockWebServer iniciarServidor(String body, long retardoMs) throws IOException {
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse()
+                        .setBody(body)
+                        .addHeader("Content-Type", "application/json")
+                        .setHeadersDelay(retardoMs, TimeUnit.MILLISECONDS);
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static String baseUrl(MockWebServer server) {
+        String url = server.url("/").toString();
+        return url.substring(0, url.length() - 1);
+    }
+}
@@ -3,17 +3,33 @@ package com.rentify.applicationService.service;
 import com.rentify.applicationService.client.DocumentServiceClient;
 import com.rentify.applicationService.client.PropertyServiceClient;
 import com.rentify.applicationService.client.UserServiceClient;
+import com.rentify.applicationService.client.VerificadorTokens;
+import com.rentify.applicationService.client.VerificadorTokens.UsuarioToken;
+import com.rentify.applicationService.dto.CambioEstadoLoteDTO;
+import com.rentify.applicationService.dto.PropiedadDTO;
+import com.rentify.applicationService.dto.ResultadoCambioEstadoDTO;
 import com.rentify.applicationService.dto.SolicitudArriendoDTO;
 import com.rentify.applicationService.dto.UsuarioDTO;
 import com.rentify.applicationService.exception.BusinessValidationException;
+import com.rentify.applicationService.model.RegistroArriendo;
 import com.rentify.applicationService.model.SolicitudArriendo;
+import com.rentify.applicationService.repository.RegistroArriendoRepository;
 import com.rentify.applicationService.repository.SolicitudArriendoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.modelmapper.ModelMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Mono;
 
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +41,8 @@ public class SolicitudArriendoServiceTest {
     private PropertyServiceClient propertyClient;
     private DocumentServiceClient documentClient;
     private ModelMapper mapper;
+    private OcupacionPropiedadesService ocupacion;
+    private VerificadorTokens verificadorTokens;
     private SolicitudArriendoService service;
 
     @BeforeEach
@@ -37,8 +55,14 @@ public class SolicitudArriendoServiceTest {
         // Crear un ModelMapper real
         mapper = new ModelMapper();
 
+        ocupacion = new OcupacionPropiedadesService(mock(RegistroArriendoRepository.class));
+        verificadorTokens = mock(VerificadorTokens.class);
         service = new SolicitudArriendoService(
-                repository, userClient, propertyClient, documentClient, mapper
+                repository, userClient, propertyClient, documentClient, mapper,
+                ReplicaLecturaService.sinReplica(userClient, propertyClient),
+                new CupoSolicitudesService(repository),
+                ocupacion,
+                verificadorTokens
         );
     }
 
@@ -52,17 +76,14 @@ public class SolicitudArriendoServiceTest {
         UsuarioDTO usuario = new UsuarioDTO();
         usuario.setId(1L);
         usuario.setRolId(3); // ARRIENDATARIO
-        when(userClient.getUserById(1L)).thenReturn(usuario);
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.just(usuario));
 
         // 🔑 MOCK AÑADIDO (Solución del error "Propiedad no existe")
         // Simula que la propiedad SÍ existe. Esto es VITAL para que el servicio no lance la excepción.
-        when(propertyClient.existsProperty(10L)).thenReturn(true);
-
-        // Mock de propiedad disponible (Validación 6)
-        when(propertyClient.isPropertyAvailable(10L)).thenReturn(true);
+        when(propertyClient.existsPropertyAsync(10L)).thenReturn(Mono.just(true));
 
         // Mock de documentos aprobados
-        when(documentClient.hasApprovedDocuments(1L)).thenReturn(true);
+        when(documentClient.hasApprovedDocumentsAsync(1L)).thenReturn(Mono.just(true));
 
         // Mock del repositorio
         when(repository.save(any(SolicitudArriendo.class)))
@@ -82,16 +103,164 @@ public class SolicitudArriendoServiceTest {
         verify(repository, times(1)).save(any());
     }
 
+    @Test
+    void crearSolicitud_conTokenDelUsuario_noConsultaUserService() {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(1L);
+        dto.setPropiedadId(10L);
+
+        when(verificadorTokens.paraUsuario(1L))
+                .thenReturn(Optional.of(new UsuarioToken(1L, 3L, "ARRIENDATARIO", 1L, "ACTIVO")));
+        when(propertyClient.existsPropertyAsync(10L)).thenReturn(Mono.just(true));
+        when(documentClient.hasApprovedDocumentsAsync(1L)).thenReturn(Mono.just(true));
+        when(repository.save(any(SolicitudArriendo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.empty());
+
+        service.crearSolicitud(dto);
+
+        verify(repository, times(1)).save(any());
+        // La única consulta es la de los detalles de la respuesta, no la de validación
+        verify(userClient, times(1)).getUserByIdAsync(1L);
+    }
+
+    @Test
+    void crearSolicitud_conTokenDePropietario_rechazaSinConsultarUserService() {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(2L);
+        dto.setPropiedadId(10L);
+
+        when(verificadorTokens.paraUsuario(2L))
+                .thenReturn(Optional.of(new UsuarioToken(2L, 2L, "PROPIETARIO", 1L, "ACTIVO")));
+        when(propertyClient.existsPropertyAsync(10L)).thenReturn(Mono.just(true));
+        when(documentClient.hasApprovedDocumentsAsync(2L)).thenReturn(Mono.just(true));
+
+        BusinessValidationException error = assertThrows(BusinessValidationException.class,
+                () -> service.crearSolicitud(dto));
+        assertTrue(error.getMessage().contains("ARRIENDATARIO"), error.getMessage());
+        verify(userClient, never()).getUserByIdAsync(any());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void crearSolicitud_propiedadOcupada() {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(1L);
+        dto.setPropiedadId(10L);
+
+        UsuarioDTO usuario = new UsuarioDTO();
+        usuario.setId(1L);
+        usuario.setRolId(3);
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.just(usuario));
+        when(propertyClient.existsPropertyAsync(10L)).thenReturn(Mono.just(true));
+        when(documentClient.hasApprovedDocumentsAsync(1L)).thenReturn(Mono.just(true));
+
+        RegistroArriendo vigente = new RegistroArriendo();
+        vigente.setId(5L);
+        vigente.setFechaInicio(new Date());
+        ocupacion.reconstruir();
+        ocupacion.registroCreado(vigente, 10L);
+
+        BusinessValidationException error = assertThrows(BusinessValidationException.class,
+                () -> service.crearSolicitud(dto));
+        assertEquals("La propiedad no está disponible para arriendo", error.getMessage());
+        verify(repository, never()).save(any());
+    }
+
     @Test
     void crearSolicitud_usuarioNoExiste() {
         SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
         dto.setUsuarioId(1L);
         dto.setPropiedadId(10L);
 
-        when(userClient.getUserById(1L)).thenReturn(null);
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.empty());
+        when(propertyClient.existsPropertyAsync(10L)).thenReturn(Mono.just(true));
+        when(documentClient.hasApprovedDocumentsAsync(1L)).thenReturn(Mono.just(true));
 
         assertThrows(BusinessValidationException.class,
                 () -> service.crearSolicitud(dto));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void crearSolicitud_limiteLocalAlcanzado_noEsperaValidacionesRemotas() {
+        SolicitudArriendoDTO dto = new SolicitudArriendoDTO();
+        dto.setUsuarioId(1L);
+        dto.setPropiedadId(10L);
+
+        // Las validaciones remotas nunca responden: el rechazo local no debe esperarlas
+        when(userClient.getUserByIdAsync(1L)).thenReturn(Mono.never());
+        when(propertyClient.existsPropertyAsync(10L)).thenReturn(Mono.never());
+        when(documentClient.hasApprovedDocumentsAsync(1L)).thenReturn(Mono.never());
+        when(repository.countByUsuarioIdAndEstadoIn(1L, List.of("RECIBIDA", "PENDIENTE"))).thenReturn(3L);
+
+        BusinessValidationException ex = assertThrows(BusinessValidationException.class,
+                () -> service.crearSolicitud(dto));
+
+        assertTrue(ex.getMessage().contains("solicitudes activas"));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void listarTodas_conDetalles_resuelveUsuariosYPropiedadesPorLote() {
+        Pageable pageable = PageRequest.of(0, 3);
+        when(repository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(
+                solicitud(1L, 1L, 10L),
+                solicitud(2L, 1L, 20L),
+                solicitud(3L, 2L, 10L)
+        ), pageable, 7));
+
+        UsuarioDTO usuario = new UsuarioDTO();
+        usuario.setId(1L);
+        PropiedadDTO propiedad = new PropiedadDTO();
+        propiedad.setId(10L);
+        when(userClient.getUsersByIdsAsync(Set.of(1L, 2L))).thenReturn(Mono.just(Map.of(1L, usuario)));
+        when(propertyClient.getPropertiesByIdsAsync(Set.of(10L, 20L))).thenReturn(Mono.just(Map.of(10L, propiedad)));
+
+        Page<SolicitudArriendoDTO> pagina = service.listarTodas(true, pageable);
+        List<SolicitudArriendoDTO> result = pagina.getContent();
+
+        assertEquals(3, result.size());
+        assertEquals(7, pagina.getTotalElements());
+        assertSame(usuario, result.get(0).getUsuario());
+        assertSame(propiedad, result.get(0).getPropiedad());
+        assertNull(result.get(1).getPropiedad());
+        assertNull(result.get(2).getUsuario());
+        verify(userClient, times(1)).getUsersByIdsAsync(any());
+        verify(propertyClient, times(1)).getPropertiesByIdsAsync(any());
+        verify(userClient, never()).getUserByIdAsync(any());
+        verify(propertyClient, never()).getPropertyByIdAsync(any());
+    }
+
+    @Test
+    void obtenerPorUsuario_paginado_usaLaConsultaPorPagina() {
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("fechaSolicitud"));
+        when(repository.findByUsuarioId(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(solicitud(1L, 1L, 10L), solicitud(2L, 1L, 20L)), pageable, 4));
+
+        Page<SolicitudArriendoDTO> pagina = service.obtenerPorUsuario(1L, pageable);
+
+        assertEquals(2, pagina.getContent().size());
+        assertEquals(4, pagina.getTotalElements());
+        verify(repository, never()).findByUsuarioId(1L);
+    }
+
+    @Test
+    void obtenerPorPropiedad_ordenNoPermitido_lanzaExcepcion() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("motivoRechazo"));
+
+        assertThrows(BusinessValidationException.class, () -> service.obtenerPorPropiedad(10L, pageable));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void obtenerPorIds_sinDetalles_unaConsulta() {
+        when(repository.findAllById(any())).thenReturn(List.of(solicitud(1L, 1L, 10L), solicitud(2L, 2L, 20L)));
+
+        Map<Long, SolicitudArriendoDTO> result = service.obtenerPorIds(List.of(1L, 2L, 2L), false);
+
+        assertEquals(Set.of(1L, 2L), result.keySet());
+        verify(repository, times(1)).findAllById(any());
+        verifyNoInteractions(userClient, propertyClient);
     }
 
     @Test
@@ -110,4 +279,66 @@ public class SolicitudArriendoServiceTest {
         assertEquals("ACEPTADA", dto.getEstado());
         verify(repository, times(1)).save(any());
     }
+
+    @Test
+    void actualizarEstadoLote_unSoloUpdateYResultadoCompacto() {
+        SolicitudArriendo aceptada = solicitud(1L, 1L, 10L);
+        aceptada.setEstado("ACEPTADA");
+        SolicitudArriendo recibida = solicitud(3L, 3L, 30L);
+        recibida.setEstado("RECIBIDA");
+        when(repository.findAllByIdParaActualizar(any())).thenReturn(
+                List.of(aceptada, solicitud(2L, 2L, 20L), recibida));
+
+        ResultadoCambioEstadoDTO resultado = service.actualizarEstadoLote(CambioEstadoLoteDTO.builder()
+                .ids(List.of(1L, 2L, 3L, 4L, 2L))
+                .estado("aceptada")
+                .build());
+
+        assertEquals("ACEPTADA", resultado.getEstado());
+        assertEquals(List.of(2L), resultado.getActualizadas());
+        assertEquals(List.of(1L), resultado.getSinCambio());
+        assertEquals(List.of(3L), resultado.getEnValidacion());
+        assertEquals(List.of(4L), resultado.getNoEncontradas());
+        assertTrue(resultado.getRechazadasAutomaticamente().isEmpty());
+        verify(repository, times(1)).actualizarEstado(List.of(2L), "ACEPTADA", null);
+        verify(repository, never()).findOtrasParaActualizar(any(), any(), any());
+        verify(repository, never()).save(any());
+        verifyNoInteractions(userClient, propertyClient, documentClient);
+    }
+
+    @Test
+    void actualizarEstadoLote_aceptarRechazaOtrasPendientesDeLaPropiedad() {
+        when(repository.findAllByIdParaActualizar(any())).thenReturn(List.of(solicitud(1L, 1L, 10L)));
+        when(repository.findOtrasParaActualizar(Set.of(10L), "PENDIENTE", List.of(1L)))
+                .thenReturn(List.of(solicitud(5L, 2L, 10L), solicitud(6L, 3L, 10L)));
+
+        ResultadoCambioEstadoDTO resultado = service.actualizarEstadoLote(CambioEstadoLoteDTO.builder()
+                .ids(List.of(1L))
+                .estado("ACEPTADA")
+                .rechazarOtrasPendientes(true)
+                .build());
+
+        assertEquals(List.of(1L), resultado.getActualizadas());
+        assertEquals(List.of(5L, 6L), resultado.getRechazadasAutomaticamente());
+        verify(repository).actualizarEstado(List.of(5L, 6L), "RECHAZADA", "Se aceptó otra solicitud para la propiedad");
+    }
+
+    @Test
+    void actualizarEstadoLote_estadoInvalido() {
+        CambioEstadoLoteDTO cambio = CambioEstadoLoteDTO.builder().ids(List.of(1L)).estado("RECIBIDA").build();
+
+        assertThrows(BusinessValidationException.class, () -> service.actualizarEstadoLote(cambio));
+        verify(repository, never()).findAllByIdParaActualizar(any());
+        verify(repository, never()).actualizarEstado(any(), any(), any());
+    }
+
+    private SolicitudArriendo solicitud(Long id, Long usuarioId, Long propiedadId) {
+        SolicitudArriendo solicitud = new SolicitudArriendo();
+        solicitud.setId(id);
+        solicitud.setUsuarioId(usuarioId);
+        solicitud.setPropiedadId(propiedadId);
+        solicitud.setEstado("PENDIENTE");
+        solicitud.setFechaSolicitud(new Date());
+        return solicitud;
+    }
 }
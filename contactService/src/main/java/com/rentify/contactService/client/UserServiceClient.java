@@ -1,25 +1,59 @@
 package com.rentify.contactService.client;
 
+import com.rentify.contactService.client.VerificadorTokens.UsuarioToken;
 import com.rentify.contactService.dto.external.UsuarioDTO;
 import com.rentify.contactService.exception.MicroserviceException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.Optional;
 
+/**
+ * Cliente para comunicación con el User Service.
+ * Si la request trae un token válido del mismo usuario, existencia, rol y estado se resuelven
+ * localmente con {@link VerificadorTokens}, sin consultar User Service.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String SERVICIO = "user-service";
 
-    @Value("${microservices.user-service.url}")
-    private String userServiceUrl;
+    private final WebClient webClient;
+    private final PoliticaResiliencia resiliencia;
+    private final String userServiceUrl;
+    private final VerificadorTokens verificadorTokens;
+
+    @Autowired
+    public UserServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${microservices.user-service.url}") String userServiceUrl,
+                             ResilienciaRegistro resilienciaRegistro,
+                             VerificadorTokens verificadorTokens) {
+        this.userServiceUrl = userServiceUrl;
+        this.webClient = webClientBuilder.clone().baseUrl(userServiceUrl).build();
+        this.resiliencia = resilienciaRegistro.para(SERVICIO);
+        this.verificadorTokens = verificadorTokens;
+    }
+
+    /**
+     * Cliente sin verificación de tokens: todas las consultas van a User Service
+     */
+    public UserServiceClient(WebClient.Builder webClientBuilder, String userServiceUrl,
+                             ResilienciaRegistro resilienciaRegistro) {
+        this(webClientBuilder, userServiceUrl, resilienciaRegistro, null);
+    }
+
+    /**
+     * Usuario del token de la request en curso, si corresponde al ID consultado
+     */
+    private Optional<UsuarioToken> delToken(Long userId) {
+        return verificadorTokens != null ? verificadorTokens.paraUsuario(userId) : Optional.empty();
+    }
 
     /**
      * Obtiene un usuario por su ID desde el User Service
@@ -30,12 +64,12 @@ public class UserServiceClient {
         try {
             log.debug("Consultando usuario con ID: {} en {}", userId, userServiceUrl);
 
-            return webClientBuilder.build()
+            return resiliencia.ejecutar(() -> webClient
                     .get()
-                    .uri(userServiceUrl + "/api/usuarios/" + userId + "?includeDetails=true")
+                    .uri("/api/usuarios/{id}?includeDetails=true", userId)
                     .retrieve()
                     .bodyToMono(UsuarioDTO.class)
-                    .timeout(Duration.ofSeconds(5))
+                    .timeout(Duration.ofSeconds(5)))
                     .onErrorResume(error -> {
                         log.error("Error al obtener usuario {}: {}", userId, error.getMessage());
                         return Mono.empty();
@@ -53,6 +87,9 @@ public class UserServiceClient {
      * @return true si el usuario existe, false en caso contrario
      */
     public boolean existsUser(Long userId) {
+        if (delToken(userId).isPresent()) {
+            return true;
+        }
         try {
             UsuarioDTO user = getUserById(userId);
             return user != null && user.getId() != null;
@@ -68,6 +105,10 @@ public class UserServiceClient {
      * @return true si el usuario es admin, false en caso contrario
      */
     public boolean isAdmin(Long userId) {
+        Optional<UsuarioToken> token = delToken(userId);
+        if (token.isPresent()) {
+            return "ADMIN".equalsIgnoreCase(token.get().rol());
+        }
         try {
             UsuarioDTO user = getUserById(userId);
             if (user == null) {
@@ -89,6 +130,10 @@ public class UserServiceClient {
      * @return Rol del usuario, o null si no se pudo obtener
      */
     public String getUserRole(Long userId) {
+        Optional<UsuarioToken> token = delToken(userId);
+        if (token.isPresent()) {
+            return token.get().rol();
+        }
         try {
             UsuarioDTO user = getUserById(userId);
             // CAMBIO: Usar el método helper getRolNombre()
@@ -105,6 +150,10 @@ public class UserServiceClient {
      * @return true si el usuario está activo, false en caso contrario
      */
     public boolean isUserActive(Long userId) {
+        Optional<UsuarioToken> token = delToken(userId);
+        if (token.isPresent()) {
+            return "ACTIVO".equalsIgnoreCase(token.get().estado());
+        }
         try {
             UsuarioDTO user = getUserById(userId);
             if (user == null) {
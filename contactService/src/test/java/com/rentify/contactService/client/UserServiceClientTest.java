@@ -1,5 +1,6 @@
 package com.rentify.contactService.client;
 
+import com.rentify.contactService.client.VerificadorTokens.UsuarioToken;
 import com.rentify.contactService.dto.external.UsuarioDTO;
 import com.rentify.contactService.exception.MicroserviceException;
 import okhttp3.mockwebserver.MockResponse;
@@ -11,9 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @DisplayName("Tests de UserServiceClient")
 class UserServiceClientTest {
@@ -28,16 +32,9 @@ class UserServiceClientTest {
 
         String baseUrl = mockWebServer.url("/").toString();
         WebClient.Builder webClientBuilder = WebClient.builder();
-        client = new UserServiceClient(webClientBuilder);
-
-        // Inyectar URL del mock usando reflexión
-        try {
-            var field = UserServiceClient.class.getDeclaredField("userServiceUrl");
-            field.setAccessible(true);
-            field.set(client, baseUrl.substring(0, baseUrl.length() - 1));
-        } catch (Exception e) {
-            throw new RuntimeException("Error configurando test", e);
-        }
+        // Apuntar el cliente al mock server
+        client = new UserServiceClient(webClientBuilder, baseUrl.substring(0, baseUrl.length() - 1),
+                ResilienciaRegistro.sinPoliticas());
     }
 
     @AfterEach
@@ -324,4 +321,22 @@ class UserServiceClientTest {
         // Assert
         assertThat(isActive).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("isAdmin/isUserActive - Con token del mismo usuario no consultan User Service")
+    void isAdmin_ConTokenDelUsuario_NoConsultaUserService() {
+        // Arrange
+        VerificadorTokens verificador = mock(VerificadorTokens.class);
+        when(verificador.paraUsuario(5L))
+                .thenReturn(Optional.of(new UsuarioToken(5L, 1L, "ADMIN", 1L, "ACTIVO")));
+        String baseUrl = mockWebServer.url("/").toString();
+        UserServiceClient conTokens = new UserServiceClient(WebClient.builder(),
+                baseUrl.substring(0, baseUrl.length() - 1), ResilienciaRegistro.sinPoliticas(), verificador);
+
+        // Act & Assert
+        assertThat(conTokens.isAdmin(5L)).isTrue();
+        assertThat(conTokens.isUserActive(5L)).isTrue();
+        assertThat(conTokens.getUserRole(5L)).isEqualTo("ADMIN");
+        assertThat(mockWebServer.getRequestCount()).isZero();
+    }
+}
@@ -0,0 +1,201 @@
+package com.rentify.contactService.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.contactService.client.VerificadorTokens.UsuarioToken;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests de VerificadorTokens")
+class VerificadorTokensTest {
+
+    private static final Instant AHORA = Instant.parse("2025-03-01T12:00:00Z");
+    private static final String EMISOR = "rentify-userservice";
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger descargas = new AtomicInteger();
+    private KeyPair claves;
+    private VerificadorTokens verificador;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generador = KeyPairGenerator.getInstance("RSA");
+        generador.initialize(2048);
+        claves = generador.generateKeyPair();
+        String publicadas = jwks("k1", claves);
+        verificador = new VerificadorTokens(() -> {
+            descargas.incrementAndGet();
+            return publicadas;
+        }, EMISOR, Duration.ofMinutes(1), Clock.fixed(AHORA, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    // ==================== Emisión de tokens como User Service ====================
+
+    private String jwks(String kid, KeyPair par) throws Exception {
+        RSAPublicKey publica = (RSAPublicKey) par.getPublic();
+        Map<String, Object> jwk = Map.of("kty", "RSA", "alg", "RS256", "kid", kid,
+                "n", base64(publica.getModulus()), "e", base64(publica.getPublicExponent()));
+        return objectMapper.writeValueAsString(Map.of("keys", List.of(jwk)));
+    }
+
+    private static String base64(BigInteger valor) {
+        byte[] bytes = valor.toByteArray();
+        return BASE64URL.encodeToString(bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes);
+    }
+
+    private String token(String kid, KeyPair par, String emisor, Instant expira) throws Exception {
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("iss", emisor);
+        claims.put("sub", "5");
+        claims.put("rolId", 1);
+        claims.put("rol", "ADMIN");
+        claims.put("estadoId", 1);
+        claims.put("estado", "ACTIVO");
+        claims.put("exp", expira.getEpochSecond());
+
+        String contenido = BASE64URL.encodeToString(objectMapper.writeValueAsBytes(
+                Map.of("alg", "RS256", "typ", "JWT", "kid", kid)))
+                + "." + BASE64URL.encodeToString(objectMapper.writeValueAsBytes(claims));
+        Signature firma = Signature.getInstance("SHA256withRSA");
+        firma.initSign(par.getPrivate());
+        firma.update(contenido.getBytes(StandardCharsets.US_ASCII));
+        return contenido + "." + BASE64URL.encodeToString(firma.sign());
+    }
+
+    private String tokenValido() throws Exception {
+        return token("k1", claves, EMISOR, AHORA.plusSeconds(600));
+    }
+
+    // ==================== Tests ====================
+
+    @Test
+    @DisplayName("Un token válido entrega usuario, rol y estado sin volver a descargar las claves")
+    void verificar_TokenValido() throws Exception {
+        // Act
+        UsuarioToken usuario = verificador.verificar(tokenValido()).orElseThrow();
+        verificador.verificar(tokenValido());
+
+        // Assert
+        assertThat(usuario).isEqualTo(new UsuarioToken(5L, 1L, "ADMIN", 1L, "ACTIVO"));
+        assertThat(descargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Rechaza tokens vencidos, de otro emisor, adulterados o firmados con otra clave")
+    void verificar_TokensInvalidos() throws Exception {
+        // Arrange
+        KeyPair otra = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        String[] partes = tokenValido().split("\\.");
+        String adulterado = partes[0] + "." + BASE64URL.encodeToString(
+                "{\"iss\":\"rentify-userservice\",\"sub\":\"5\",\"rol\":\"ADMIN\",\"exp\":9999999999}"
+                        .getBytes(StandardCharsets.UTF_8)) + "." + partes[2];
+
+        // Act & Assert
+        assertThat(verificador.verificar(token("k1", claves, EMISOR, AHORA.minusSeconds(120)))).isEmpty();
+        assertThat(verificador.verificar(token("k1", claves, "otro", AHORA.plusSeconds(600)))).isEmpty();
+        assertThat(verificador.verificar(adulterado)).isEmpty();
+        assertThat(verificador.verificar(token("k1", otra, EMISOR, AHORA.plusSeconds(600)))).isEmpty();
+        assertThat(verificador.verificar("no-es-un-token")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Un kid desconocido descarga las claves como máximo una vez por intervalo")
+    void verificar_KidDesconocido_RefrescoAcotado() throws Exception {
+        // Act
+        verificador.verificar(tokenValido());
+        verificador.verificar(token("k2", claves, EMISOR, AHORA.plusSeconds(600)));
+        verificador.verificar(token("k3", claves, EMISOR, AHORA.plusSeconds(600)));
+
+        // Assert
+        assertThat(descargas).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Las requests que llegan durante una descarga esperan esa misma descarga")
+    void verificar_DescargaEnCurso_SeComparte() throws Exception {
+        // Arrange - la descarga queda detenida hasta que todas las requests están esperando
+        CountDownLatch liberar = new CountDownLatch(1);
+        String publicadas = jwks("k1", claves);
+        VerificadorTokens lento = new VerificadorTokens(() -> {
+            descargas.incrementAndGet();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return publicadas;
+        }, EMISOR, Duration.ofMinutes(1), Clock.fixed(AHORA, ZoneOffset.UTC));
+        String token = tokenValido();
+        ExecutorService requests = Executors.newFixedThreadPool(8);
+
+        try {
+            // Act
+            List<Future<Optional<UsuarioToken>>> resultados = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                resultados.add(requests.submit(() -> lento.verificar(token)));
+            }
+            Thread.sleep(200);
+            liberar.countDown();
+
+            // Assert
+            for (Future<Optional<UsuarioToken>> resultado : resultados) {
+                assertThat(resultado.get(5, TimeUnit.SECONDS)).map(UsuarioToken::usuarioId).contains(5L);
+            }
+            assertThat(descargas).hasValue(1);
+        } finally {
+            requests.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Lee el token del header Authorization y solo lo usa para el mismo usuario")
+    void paraUsuario_DesdeHeaderAuthorization() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + tokenValido());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act & Assert
+        assertThat(verificador.paraUsuario(5L)).map(UsuarioToken::rol).contains("ADMIN");
+        assertThat(verificador.paraUsuario(6L)).isEmpty();
+
+        RequestContextHolder.resetRequestAttributes();
+        assertThat(verificador.paraUsuario(5L)).as("fuera de una request").isEmpty();
+    }
+}
@@ -0,0 +1,381 @@
+package com.rentify.documentService.client;
+
+import com.rentify.documentService.constants.DocumentConstants.Limites;
+import com.rentify.documentService.exception.MicroserviceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Políticas de resiliencia para las llamadas a un microservicio (una instancia por servicio remoto).
+ *
+ * Cada intento pasa por:
+ * - Bulkhead: limita las llamadas concurrentes; el excedente se rechaza sin esperar.
+ * - Circuit breaker: se abre cuando el porcentaje de fallos en la ventana supera el umbral,
+ *   rechaza llamadas mientras está abierto y luego deja pasar algunas llamadas de prueba
+ *   (semi-abierto) para decidir si cierra o vuelve a abrir.
+ * - Hedging (opcional): si el intento tarda más que el p95 observado, lanza un segundo
+ *   intento y se queda con la primera respuesta.
+ *
+ * Los errores transitorios (conexión, 5xx) se reintentan con backoff exponencial y jitter,
+ * mientras no haya pasado el plazo de reintentos desde la primera llamada. Los timeouts no se
+ * reintentan por defecto: un servicio detenido costaría un timeout completo por intento y
+ * multiplicaría la carga sobre él. Las respuestas 4xx no cuentan como fallo ni se reintentan.
+ *
+ * Métricas:
+ * - rentify.client.circuit.state: 0 cerrado, 1 abierto, 2 semi-abierto (tag servicio)
+ * - rentify.client.rejections: llamadas rechazadas (tags servicio, motivo)
+ * - rentify.client.retries / rentify.client.hedges: reintentos y segundos intentos (tag servicio)
+ */
+@Slf4j
+public class PoliticaResiliencia {
+
+    public enum EstadoCircuito { CERRADO, ABIERTO, SEMI_ABIERTO }
+
+    private static final int MUESTRAS_LATENCIA = 100;
+    private static final int MINIMO_MUESTRAS_HEDGING = 20;
+
+    /**
+     * Permiso de un intento: si entró como llamada de prueba y en qué ciclo del circuito
+     * (cada cambio de estado inicia uno nuevo). El resultado solo se registra en su ciclo.
+     */
+    private record Permiso(boolean prueba, long ciclo) {}
+
+    @Getter
+    @Builder
+    public static class Configuracion {
+        @Builder.Default
+        private final boolean habilitada = true;
+
+        @Builder.Default
+        private final int ventanaLlamadas = 20;
+        @Builder.Default
+        private final int minimoLlamadas = 10;
+        @Builder.Default
+        private final int umbralFallos = 50;
+        @Builder.Default
+        private final Duration esperaAbierto = Duration.ofSeconds(30);
+        @Builder.Default
+        private final int llamadasPrueba = 3;
+
+        @Builder.Default
+        private final int maxConcurrentes = 25;
+
+        @Builder.Default
+        private final int maxReintentos = 2;
+        @Builder.Default
+        private final Duration backoffInicial = Duration.ofMillis(100);
+        @Builder.Default
+        private final Duration backoffMaximo = Duration.ofSeconds(1);
+        @Builder.Default
+        private final double jitter = 0.5;
+        @Builder.Default
+        private final boolean reintentarTimeouts = false;
+        @Builder.Default
+        private final Duration plazoReintentos = Duration.ofSeconds(Limites.TIMEOUT_SECONDS);
+
+        @Builder.Default
+        private final boolean hedging = false;
+        @Builder.Default
+        private final Duration hedgingRetardoMinimo = Duration.ofMillis(50);
+    }
+
+    private final String servicio;
+    private final Configuracion config;
+    private final LongSupplier reloj;
+    private final Semaphore bulkhead;
+
+    // Estado del circuit breaker (protegido por this; nunca se bloquea dentro)
+    private EstadoCircuito estado = EstadoCircuito.CERRADO;
+    private final boolean[] ventana;
+    private int posicion;
+    private int registradas;
+    private int fallos;
+    private long abiertoHastaNanos;
+    private int pruebasEnCurso;
+    private int pruebasExitosas;
+    private long ciclo;
+
+    private final long[] latencias = new long[MUESTRAS_LATENCIA];
+    private int latenciasRegistradas;
+
+    private final Counter rechazosCircuito;
+    private final Counter rechazosBulkhead;
+    private final Counter reintentos;
+    private final Counter hedges;
+
+    public PoliticaResiliencia(String servicio, Configuracion config, MeterRegistry meterRegistry) {
+        this(servicio, config, meterRegistry, System::nanoTime);
+    }
+
+    PoliticaResiliencia(String servicio, Configuracion config, MeterRegistry meterRegistry, LongSupplier reloj) {
+        this.servicio = servicio;
+        this.config = config;
+        this.reloj = reloj;
+        this.bulkhead = new Semaphore(config.getMaxConcurrentes());
+        this.ventana = new boolean[config.getVentanaLlamadas()];
+
+        Gauge.builder("rentify.client.circuit.state", this, p -> p.getEstado().ordinal())
+                .description("Estado del circuit breaker: 0 cerrado, 1 abierto, 2 semi-abierto")
+                .tag("servicio", servicio)
+                .register(meterRegistry);
+        this.rechazosCircuito = rechazos(meterRegistry, "circuito_abierto");
+        this.rechazosBulkhead = rechazos(meterRegistry, "bulkhead");
+        this.reintentos = Counter.builder("rentify.client.retries")
+                .description("Reintentos de llamadas a otros microservicios")
+                .tag("servicio", servicio)
+                .register(meterRegistry);
+        this.hedges = Counter.builder("rentify.client.hedges")
+                .description("Segundos intentos lanzados por hedging")
+                .tag("servicio", servicio)
+                .register(meterRegistry);
+    }
+
+    private Counter rechazos(MeterRegistry meterRegistry, String motivo) {
+        return Counter.builder("rentify.client.rejections")
+                .description("Llamadas rechazadas sin contactar al microservicio")
+                .tag("servicio", servicio)
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta una llamada idempotente (GET o consulta) aplicando todas las políticas.
+     */
+    public <T> Mono<T> ejecutar(Supplier<Mono<T>> llamada) {
+        if (!config.isHabilitada()) {
+            return Mono.defer(llamada);
+        }
+
+        return Mono.defer(() -> {
+            long inicio = reloj.getAsLong();
+            return conHedging(() -> intento(llamada))
+                    .retryWhen(Retry.backoff(config.getMaxReintentos(), config.getBackoffInicial())
+                            .maxBackoff(config.getBackoffMaximo())
+                            .jitter(config.getJitter())
+                            .filter(error -> reintentable(error, inicio))
+                            .doBeforeRetry(senal -> {
+                                reintentos.increment();
+                                log.debug("Reintentando llamada a {} (intento {}): {}",
+                                        servicio, senal.totalRetries() + 1, senal.failure().getMessage());
+                            })
+                            .onRetryExhaustedThrow((spec, senal) -> senal.failure()));
+        });
+    }
+
+    /**
+     * Un error transitorio se reintenta si no es un timeout (salvo que se configure) y
+     * aún no pasa el plazo de reintentos desde la primera llamada.
+     */
+    private boolean reintentable(Throwable error, long inicio) {
+        if (!esTransitorio(error)) {
+            return false;
+        }
+        if (error instanceof TimeoutException && !config.isReintentarTimeouts()) {
+            return false;
+        }
+        return reloj.getAsLong() - inicio < config.getPlazoReintentos().toNanos();
+    }
+
+    /**
+     * Un intento protegido por bulkhead y circuit breaker.
+     */
+    private <T> Mono<T> intento(Supplier<Mono<T>> llamada) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                rechazosBulkhead.increment();
+                return Mono.error(new MicroserviceException(
+                        String.format("Llamada a %s rechazada: demasiadas llamadas concurrentes", servicio)));
+            }
+            Permiso permiso = permitirLlamada();
+            if (permiso == null) {
+                bulkhead.release();
+                rechazosCircuito.increment();
+                return Mono.error(new MicroserviceException(
+                        String.format("Llamada a %s rechazada: circuito abierto", servicio)));
+            }
+
+            long inicio = reloj.getAsLong();
+            return Mono.defer(llamada)
+                    .doOnSuccess(valor -> {
+                        registrarLatencia(reloj.getAsLong() - inicio);
+                        registrarResultado(permiso, false);
+                    })
+                    .doOnError(error -> registrarResultado(permiso, cuentaComoFallo(error)))
+                    .doOnCancel(() -> liberarPrueba(permiso))
+                    .doFinally(senal -> bulkhead.release());
+        });
+    }
+
+    private <T> Mono<T> conHedging(Supplier<Mono<T>> intento) {
+        if (!config.isHedging()) {
+            return intento.get();
+        }
+
+        return Mono.defer(() -> {
+            Duration retardo = retardoHedging();
+            if (retardo == null) {
+                return intento.get();
+            }
+            Mono<T> secundario = Mono.delay(retardo)
+                    .then(Mono.defer(() -> {
+                        hedges.increment();
+                        return intento.get();
+                    }));
+            return Mono.firstWithSignal(intento.get(), secundario);
+        });
+    }
+
+    // ==================== Circuit breaker ====================
+
+    public synchronized EstadoCircuito getEstado() {
+        if (estado == EstadoCircuito.ABIERTO && reloj.getAsLong() >= abiertoHastaNanos) {
+            pasarASemiAbierto();
+        }
+        return estado;
+    }
+
+    /**
+     * Retorna el permiso del intento, o null si el circuito lo rechaza
+     */
+    private synchronized Permiso permitirLlamada() {
+        switch (getEstado()) {
+            case CERRADO:
+                return new Permiso(false, ciclo);
+            case SEMI_ABIERTO:
+                if (pruebasEnCurso < config.getLlamadasPrueba()) {
+                    pruebasEnCurso++;
+                    return new Permiso(true, ciclo);
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private synchronized void registrarResultado(Permiso permiso, boolean fallo) {
+        // Un intento iniciado en otro estado (por ejemplo, cerrado antes de abrirse) no cuenta
+        if (permiso.ciclo() != ciclo) {
+            return;
+        }
+        if (permiso.prueba()) {
+            if (fallo) {
+                abrir();
+            } else if (++pruebasExitosas >= config.getLlamadasPrueba()) {
+                cerrar();
+            }
+            return;
+        }
+
+        if (registradas == ventana.length) {
+            fallos -= ventana[posicion] ? 1 : 0;
+        } else {
+            registradas++;
+        }
+        ventana[posicion] = fallo;
+        fallos += fallo ? 1 : 0;
+        posicion = (posicion + 1) % ventana.length;
+
+        if (registradas >= config.getMinimoLlamadas() && fallos * 100 >= config.getUmbralFallos() * registradas) {
+            abrir();
+        }
+    }
+
+    /**
+     * Una prueba cancelada (por ejemplo, la perdedora del hedging) libera su lugar sin resultado
+     */
+    private synchronized void liberarPrueba(Permiso permiso) {
+        if (permiso.prueba() && permiso.ciclo() == ciclo && pruebasEnCurso > 0) {
+            pruebasEnCurso--;
+        }
+    }
+
+    private void abrir() {
+        log.warn("Circuito hacia {} abierto por {} ms", servicio, config.getEsperaAbierto().toMillis());
+        estado = EstadoCircuito.ABIERTO;
+        ciclo++;
+        abiertoHastaNanos = reloj.getAsLong() + config.getEsperaAbierto().toNanos();
+        reiniciarVentana();
+    }
+
+    private void pasarASemiAbierto() {
+        log.info("Circuito hacia {} semi-abierto: probando con {} llamadas", servicio, config.getLlamadasPrueba());
+        estado = EstadoCircuito.SEMI_ABIERTO;
+        ciclo++;
+        pruebasEnCurso = 0;
+        pruebasExitosas = 0;
+    }
+
+    private void cerrar() {
+        log.info("Circuito hacia {} cerrado", servicio);
+        estado = EstadoCircuito.CERRADO;
+        ciclo++;
+        reiniciarVentana();
+    }
+
+    private void reiniciarVentana() {
+        Arrays.fill(ventana, false);
+        posicion = 0;
+        registradas = 0;
+        fallos = 0;
+    }
+
+    // ==================== Hedging ====================
+
+    private synchronized void registrarLatencia(long nanos) {
+        latencias[latenciasRegistradas % MUESTRAS_LATENCIA] = nanos;
+        latenciasRegistradas++;
+    }
+
+    /**
+     * Retardo antes del segundo intento: p95 de las últimas latencias (mínimo configurable).
+     * Retorna null mientras no haya muestras suficientes.
+     */
+    synchronized Duration retardoHedging() {
+        int muestras = Math.min(latenciasRegistradas, MUESTRAS_LATENCIA);
+        if (muestras < MINIMO_MUESTRAS_HEDGING) {
+            return null;
+        }
+        long[] ordenadas = Arrays.copyOf(latencias, muestras);
+        Arrays.sort(ordenadas);
+        Duration p95 = Duration.ofNanos(ordenadas[(int) Math.ceil(muestras * 0.95) - 1]);
+        return p95.compareTo(config.getHedgingRetardoMinimo()) > 0 ? p95 : config.getHedgingRetardoMinimo();
+    }
+
+    // ==================== Clasificación de errores ====================
+
+    /**
+     * Timeouts, errores de conexión y respuestas 5xx: cuentan como fallo del microservicio.
+     * Los timeouts solo se reintentan con reintentarTimeouts.
+     */
+    static boolean esTransitorio(Throwable error) {
+        if (error instanceof WebClientResponseException respuesta) {
+            return respuesta.getStatusCode().is5xxServerError();
+        }
+        return error instanceof TimeoutException || error instanceof WebClientRequestException;
+    }
+
+    /**
+     * Las respuestas 4xx indican un problema del request, no del microservicio.
+     */
+    private static boolean cuentaComoFallo(Throwable error) {
+        if (error instanceof WebClientResponseException respuesta) {
+            return respuesta.getStatusCode().is5xxServerError();
+        }
+        return true;
+    }
+}
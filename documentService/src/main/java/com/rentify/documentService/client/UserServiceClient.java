@@ -2,7 +2,6 @@ package com.rentify.documentService.client;
 
 import com.rentify.documentService.dto.external.UsuarioDTO;
 import com.rentify.documentService.exception.MicroserviceException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -17,14 +16,22 @@ import java.time.Duration;
  * Proporciona métodos para consultar información de usuarios.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String SERVICIO = "user-service";
 
-    @Value("${microservices.user-service.url}")
-    private String userServiceUrl;
+    private final WebClient webClient;
+    private final PoliticaResiliencia resiliencia;
+    private final String userServiceUrl;
+
+    public UserServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${microservices.user-service.url}") String userServiceUrl,
+                             ResilienciaRegistro resilienciaRegistro) {
+        this.userServiceUrl = userServiceUrl;
+        this.webClient = webClientBuilder.clone().baseUrl(userServiceUrl).build();
+        this.resiliencia = resilienciaRegistro.para(SERVICIO);
+    }
 
     /**
      * Obtiene un usuario por su ID desde User Service.
@@ -36,12 +43,12 @@ public class UserServiceClient {
         try {
             log.debug("Consultando usuario con ID: {} en URL: {}", userId, userServiceUrl);
 
-            UsuarioDTO usuario = webClientBuilder.build()
+            UsuarioDTO usuario = resiliencia.ejecutar(() -> webClient
                     .get()
-                    .uri(userServiceUrl + "/api/usuarios/" + userId)
+                    .uri("/api/usuarios/{id}", userId)
                     .retrieve()
                     .bodyToMono(UsuarioDTO.class)
-                    .timeout(Duration.ofSeconds(10)) // Aumentado a 10 segundos
+                    .timeout(Duration.ofSeconds(10)))
                     .onErrorResume(WebClientResponseException.NotFound.class, error -> {
                         log.warn("Usuario {} no encontrado en User Service (404)", userId);
                         return Mono.empty();
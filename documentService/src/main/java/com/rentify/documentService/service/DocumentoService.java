@@ -1,6 +1,8 @@
 package com.rentify.documentService.service;
 
 import com.rentify.documentService.client.UserServiceClient;
+import com.rentify.documentService.client.VerificadorTokens;
+import com.rentify.documentService.client.VerificadorTokens.UsuarioToken;
 import com.rentify.documentService.constants.DocumentConstants.*;
 import com.rentify.documentService.dto.ActualizarEstadoRequest;
 import com.rentify.documentService.dto.DocumentoDTO;
@@ -40,6 +42,7 @@ public class DocumentoService {
     private final TipoDocumentoRepository tipoDocumentoRepository;
     private final UserServiceClient userServiceClient;
     private final ModelMapper modelMapper;
+    private final VerificadorTokens verificadorTokens;
 
     // IDs de estados (deben coincidir con la BD)
     private static final Long ESTADO_PENDIENTE = 1L;
@@ -58,18 +61,16 @@ public class DocumentoService {
         log.info("Creando nuevo documento para usuario {} de tipo {}",
                 documentoDTO.getUsuarioId(), documentoDTO.getTipoDocId());
 
-        // 1. Validar que el usuario existe
-        UsuarioDTO usuario = userServiceClient.getUserById(documentoDTO.getUsuarioId());
-        if (usuario == null) {
-            throw new BusinessValidationException(
-                    String.format(Mensajes.USUARIO_NO_EXISTE, documentoDTO.getUsuarioId())
-            );
-        }
+        // 1. Validar que el usuario existe y obtener su rol: con un token valido del mismo
+        //    usuario se lee del token, sin consultar User Service
+        String rol = verificadorTokens.paraUsuario(documentoDTO.getUsuarioId())
+                .map(UsuarioToken::rol)
+                .orElseGet(() -> obtenerRolRemoto(documentoDTO.getUsuarioId()));
 
         // 2. Validar rol del usuario
-        if (!Roles.puedeSubirDocumentos(usuario.getRol().getNombre())) {
+        if (!Roles.puedeSubirDocumentos(rol)) {
             throw new BusinessValidationException(
-                    String.format(Mensajes.USUARIO_NO_PUEDE_SUBIR, usuario.getRol())
+                    String.format(Mensajes.USUARIO_NO_PUEDE_SUBIR, rol)
             );
         }
 
@@ -142,8 +143,8 @@ public class DocumentoService {
     public List<DocumentoDTO> obtenerPorUsuario(Long usuarioId, boolean includeDetails) {
         log.debug("Obteniendo documentos del usuario: {}", usuarioId);
 
-        // Verificar que el usuario existe
-        if (!userServiceClient.existsUser(usuarioId)) {
+        // Verificar que el usuario existe (un token valido del mismo usuario lo acredita)
+        if (verificadorTokens.paraUsuario(usuarioId).isEmpty() && !userServiceClient.existsUser(usuarioId)) {
             throw new ResourceNotFoundException(
                     String.format(Mensajes.USUARIO_NO_EXISTE, usuarioId)
             );
@@ -274,6 +275,19 @@ public class DocumentoService {
         log.info("Documento {} eliminado exitosamente", id);
     }
 
+    /**
+     * Rol del usuario consultado a User Service. Falla si el usuario no existe.
+     */
+    private String obtenerRolRemoto(Long usuarioId) {
+        UsuarioDTO usuario = userServiceClient.getUserById(usuarioId);
+        if (usuario == null) {
+            throw new BusinessValidationException(
+                    String.format(Mensajes.USUARIO_NO_EXISTE, usuarioId)
+            );
+        }
+        return usuario.getRol() != null ? usuario.getRol().getNombre() : null;
+    }
+
     /**
      * Convierte una entidad Documento a DTO.
      */
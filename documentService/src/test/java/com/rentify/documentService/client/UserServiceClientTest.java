@@ -33,16 +33,9 @@ class UserServiceClientTest {
 
         String baseUrl = mockWebServer.url("/").toString();
         WebClient.Builder webClientBuilder = WebClient.builder();
-        client = new UserServiceClient(webClientBuilder);
-
-        // Inyectar URL del mock usando reflexión
-        try {
-            var field = UserServiceClient.class.getDeclaredField("userServiceUrl");
-            field.setAccessible(true);
-            field.set(client, baseUrl.substring(0, baseUrl.length() - 1));
-        } catch (Exception e) {
-            throw new RuntimeException("Error configurando test", e);
-        }
+        // Apuntar el cliente al mock server
+        client = new UserServiceClient(webClientBuilder, baseUrl.substring(0, baseUrl.length() - 1),
+                ResilienciaRegistro.sinPoliticas());
     }
 
     @AfterEach
@@ -1,6 +1,8 @@
 package com.rentify.documentService.service;
 
 import com.rentify.documentService.client.UserServiceClient;
+import com.rentify.documentService.client.VerificadorTokens;
+import com.rentify.documentService.client.VerificadorTokens.UsuarioToken;
 import com.rentify.documentService.dto.DocumentoDTO;
 import com.rentify.documentService.dto.external.UsuarioDTO;
 import com.rentify.documentService.exception.BusinessValidationException;
@@ -41,6 +43,7 @@ class DocumentoServiceTest {
     @Mock private TipoDocumentoRepository tipoDocumentoRepository;
     @Mock private UserServiceClient userServiceClient;
     @Mock private ModelMapper modelMapper;
+    @Mock private VerificadorTokens verificadorTokens;
 
     // Instancia de la clase a probar, inyectando los mocks
     @InjectMocks private DocumentoService documentoService;
@@ -109,6 +112,25 @@ class DocumentoServiceTest {
         verify(documentoRepository, times(1)).save(any(Documento.class));
     }
 
+    @Test
+    @DisplayName("crearDocumento: Con token valido del usuario no consulta User Service")
+    void crearDocumento_ConToken_NoConsultaUserService() {
+        // GIVEN
+        when(verificadorTokens.paraUsuario(USUARIO_ID))
+                .thenReturn(Optional.of(new UsuarioToken(USUARIO_ID, 3L, Roles.ARRIENDATARIO, 1L, "ACTIVO")));
+        when(documentoRepository.countByUsuarioId(USUARIO_ID)).thenReturn(0L);
+        when(estadoRepository.findById(ESTADO_ID)).thenReturn(Optional.of(estadoPendiente));
+        when(tipoDocumentoRepository.findById(TIPO_DOC_ID)).thenReturn(Optional.of(tipoDNI));
+        when(documentoRepository.save(any(Documento.class))).thenReturn(documentoEntidad);
+
+        // WHEN
+        documentoService.crearDocumento(documentoDTO);
+
+        // THEN - la unica consulta es la de los detalles de la respuesta, no la de validacion
+        verify(userServiceClient, times(1)).getUserById(USUARIO_ID);
+        verify(documentoRepository, times(1)).save(any(Documento.class));
+    }
+
     @Test
     @DisplayName("crearDocumento: Falla si el rol del usuario no puede subir documentos")
     void crearDocumento_Falla_RolNoAutorizado() {
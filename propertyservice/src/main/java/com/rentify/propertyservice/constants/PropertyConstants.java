@@ -51,6 +51,7 @@ public final class PropertyConstants {
         public static final int MIN_BANOS = 0;
         public static final int MAX_BANOS = 20;
         public static final int CODIGO_LENGTH = 10;
+        public static final int MAX_IDS_POR_LOTE = 500;
 
         private Limites() {}
     }
@@ -99,6 +100,9 @@ public final class PropertyConstants {
         // Validaciones de negocio
         public static final String PROPIEDAD_YA_ARRENDADA = "La propiedad ya está arrendada y no puede ser modificada";
         public static final String DATOS_INCOMPLETOS = "Faltan datos obligatorios para crear la propiedad";
+        public static final String CAMPO_INVALIDO = "El campo '%s' no existe en la propiedad";
+        public static final String LOTE_MUY_GRANDE = "No se pueden consultar más de %d propiedades por solicitud";
+        public static final String ROL_NO_AUTORIZADO = "El rol %s no puede crear, modificar ni eliminar propiedades";
 
         private Mensajes() {}
     }
@@ -6,6 +6,7 @@ import com.rentify.propertyservice.model.Region;
 import com.rentify.propertyservice.repository.ComunaRepository;
 import com.rentify.propertyservice.repository.RegionRepository;
 import com.rentify.propertyservice.service.PropertyService;
+import com.rentify.propertyservice.service.UbicacionJerarquiaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -34,6 +35,7 @@ public class ComunaController {
     private final RegionRepository regionRepository;
     private final ModelMapper modelMapper;
     private final PropertyService propertyService; // <-- INYECCIÓN DEL SERVICIO
+    private final UbicacionJerarquiaService ubicacionJerarquiaService;
 
     @PostMapping
     @Operation(summary = "Crear comuna", description = "Crea una nueva comuna")
@@ -49,6 +51,7 @@ public class ComunaController {
                 .build();
 
         Comuna saved = comunaRepository.save(comuna);
+        ubicacionJerarquiaService.invalidar();
         return ResponseEntity.created(URI.create("/api/comunas/" + saved.getId()))
                 .body(convertToDTO(saved));
     }
@@ -107,6 +110,7 @@ public class ComunaController {
                         c.setRegion(region);
                     }
                     Comuna updated = comunaRepository.save(c);
+                    ubicacionJerarquiaService.invalidar();
                     return ResponseEntity.ok(convertToDTO(updated));
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -124,6 +128,7 @@ public class ComunaController {
         }
 
         comunaRepository.deleteById(id);
+        ubicacionJerarquiaService.invalidar();
         return ResponseEntity.noContent().build();
     }
 
@@ -1,6 +1,11 @@
 package com.rentify.propertyservice.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.rentify.propertyservice.dto.PropertyDTO;
+import com.rentify.propertyservice.dto.PropertyFields;
 import com.rentify.propertyservice.service.PropertyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -29,6 +34,7 @@ import java.util.List;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final ObjectMapper objectMapper;
 
     /**
      * Crea una nueva propiedad.
@@ -55,6 +61,7 @@ public class PropertyController {
      * Obtiene todas las propiedades.
      *
      * @param includeDetails Incluir detalles de tipo, comuna, fotos y categorías
+     * @param fields Selección de campos a retornar (opcional)
      * @return Lista de propiedades
      */
     @GetMapping
@@ -62,11 +69,19 @@ public class PropertyController {
             summary = "Listar todas las propiedades",
             description = "Retorna todas las propiedades registradas en el sistema"
     )
-    public ResponseEntity<List<PropertyDTO>> listar(
+    public ResponseEntity<?> listar(
             @Parameter(description = "Incluir detalles de relaciones (tipo, comuna, fotos, categorías)")
-            @RequestParam(defaultValue = "false") boolean includeDetails) {
+            @RequestParam(defaultValue = "false") boolean includeDetails,
+            @Parameter(description = "Campos a incluir separados por coma (ej: id,titulo,precioMensual). " +
+                    "Si se indica, reemplaza a includeDetails y solo se cargan las relaciones pedidas")
+            @RequestParam(required = false) String fields) {
 
-        log.debug("Endpoint GET /api/propiedades - Listar todas (includeDetails: {})", includeDetails);
+        log.debug("Endpoint GET /api/propiedades - Listar todas (includeDetails: {}, fields: {})", includeDetails, fields);
+
+        PropertyFields campos = PropertyFields.parse(fields);
+        if (campos != null) {
+            return ResponseEntity.ok(seleccionarCampos(propertyService.listarTodas(campos), campos));
+        }
 
         List<PropertyDTO> propiedades = propertyService.listarTodas(includeDetails);
 
@@ -78,6 +93,7 @@ public class PropertyController {
      *
      * @param id ID de la propiedad
      * @param includeDetails Incluir detalles de relaciones
+     * @param fields Selección de campos a retornar (opcional)
      * @return Propiedad encontrada
      */
     @GetMapping("/{id}")
@@ -85,24 +101,68 @@ public class PropertyController {
             summary = "Obtener propiedad por ID",
             description = "Retorna los detalles de una propiedad específica"
     )
-    public ResponseEntity<PropertyDTO> obtenerPorId(
+    public ResponseEntity<?> obtenerPorId(
             @Parameter(description = "ID de la propiedad", example = "1")
             @PathVariable Long id,
             @Parameter(description = "Incluir detalles de relaciones")
-            @RequestParam(defaultValue = "true") boolean includeDetails) {
+            @RequestParam(defaultValue = "true") boolean includeDetails,
+            @Parameter(description = "Campos a incluir separados por coma (ej: id,titulo,precioMensual). " +
+                    "Si se indica, reemplaza a includeDetails y solo se cargan las relaciones pedidas")
+            @RequestParam(required = false) String fields) {
+
+        log.debug("Endpoint GET /api/propiedades/{} - Obtener por ID (includeDetails: {}, fields: {})", id, includeDetails, fields);
 
-        log.debug("Endpoint GET /api/propiedades/{} - Obtener por ID (includeDetails: {})", id, includeDetails);
+        PropertyFields campos = PropertyFields.parse(fields);
+        if (campos != null) {
+            return ResponseEntity.ok(seleccionarCampos(propertyService.obtenerPorId(id, campos), campos));
+        }
 
         PropertyDTO propiedad = propertyService.obtenerPorId(id, includeDetails);
 
         return ResponseEntity.ok(propiedad);
     }
 
+    /**
+     * Obtiene varias propiedades por ID en una sola solicitud.
+     * Pensado para que otros microservicios enriquezcan listados sin una llamada por fila.
+     *
+     * @param ids IDs de las propiedades (los inexistentes se omiten)
+     * @param includeDetails Incluir detalles de relaciones
+     * @param fields Selección de campos a retornar (opcional)
+     * @return Propiedades encontradas
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Obtener propiedades por lote",
+            description = "Retorna las propiedades cuyos IDs se envían en el cuerpo (máximo 500)"
+    )
+    public ResponseEntity<?> obtenerPorIds(
+            @RequestBody List<Long> ids,
+            @Parameter(description = "Incluir detalles de relaciones")
+            @RequestParam(defaultValue = "true") boolean includeDetails,
+            @Parameter(description = "Campos a incluir separados por coma (ej: id,titulo,precioMensual). " +
+                    "Si se indica, reemplaza a includeDetails y solo se cargan las relaciones pedidas")
+            @RequestParam(required = false) String fields) {
+
+        log.debug("Endpoint POST /api/propiedades/batch - Obtener {} propiedades (includeDetails: {}, fields: {})",
+                ids.size(), includeDetails, fields);
+
+        PropertyFields campos = PropertyFields.parse(fields);
+        if (campos != null) {
+            return ResponseEntity.ok(seleccionarCampos(propertyService.obtenerPorIds(ids, campos), campos));
+        }
+
+        List<PropertyDTO> propiedades = propertyService.obtenerPorIds(ids, includeDetails);
+
+        return ResponseEntity.ok(propiedades);
+    }
+
     /**
      * Obtiene una propiedad por su código único.
      *
      * @param codigo Código de la propiedad
      * @param includeDetails Incluir detalles de relaciones
+     * @param fields Selección de campos a retornar (opcional)
      * @return Propiedad encontrada
      */
     @GetMapping("/codigo/{codigo}")
@@ -110,13 +170,21 @@ public class PropertyController {
             summary = "Obtener propiedad por código",
             description = "Retorna una propiedad específica usando su código único"
     )
-    public ResponseEntity<PropertyDTO> obtenerPorCodigo(
+    public ResponseEntity<?> obtenerPorCodigo(
             @Parameter(description = "Código único de la propiedad", example = "DP001")
             @PathVariable String codigo,
             @Parameter(description = "Incluir detalles de relaciones")
-            @RequestParam(defaultValue = "true") boolean includeDetails) {
+            @RequestParam(defaultValue = "true") boolean includeDetails,
+            @Parameter(description = "Campos a incluir separados por coma (ej: id,titulo,precioMensual). " +
+                    "Si se indica, reemplaza a includeDetails y solo se cargan las relaciones pedidas")
+            @RequestParam(required = false) String fields) {
 
-        log.debug("Endpoint GET /api/propiedades/codigo/{} - Obtener por código (includeDetails: {})", codigo, includeDetails);
+        log.debug("Endpoint GET /api/propiedades/codigo/{} - Obtener por código (includeDetails: {}, fields: {})", codigo, includeDetails, fields);
+
+        PropertyFields campos = PropertyFields.parse(fields);
+        if (campos != null) {
+            return ResponseEntity.ok(seleccionarCampos(propertyService.obtenerPorCodigo(codigo, campos), campos));
+        }
 
         PropertyDTO propiedad = propertyService.obtenerPorCodigo(codigo, includeDetails);
 
@@ -180,6 +248,7 @@ public class PropertyController {
      * @param nBanos Número de baños
      * @param petFriendly Acepta mascotas
      * @param includeDetails Incluir detalles
+     * @param fields Selección de campos a retornar (opcional)
      * @return Lista de propiedades que cumplen los filtros
      */
     @GetMapping("/buscar")
@@ -187,7 +256,7 @@ public class PropertyController {
             summary = "Buscar propiedades con filtros",
             description = "Busca propiedades aplicando múltiples filtros opcionales"
     )
-    public ResponseEntity<List<PropertyDTO>> buscarConFiltros(
+    public ResponseEntity<?> buscarConFiltros(
             @Parameter(description = "ID de la comuna (opcional)")
             @RequestParam(required = false) Long comunaId,
 
@@ -210,10 +279,22 @@ public class PropertyController {
             @RequestParam(required = false) Boolean petFriendly,
 
             @Parameter(description = "Incluir detalles de relaciones")
-            @RequestParam(defaultValue = "false") boolean includeDetails) {
+            @RequestParam(defaultValue = "false") boolean includeDetails,
+
+            @Parameter(description = "Campos a incluir separados por coma (ej: id,titulo,precioMensual). " +
+                    "Si se indica, reemplaza a includeDetails y solo se cargan las relaciones pedidas")
+            @RequestParam(required = false) String fields) {
 
         log.debug("Endpoint GET /api/propiedades/buscar - Búsqueda con filtros");
 
+        PropertyFields campos = PropertyFields.parse(fields);
+        if (campos != null) {
+            List<PropertyDTO> propiedades = propertyService.buscarConFiltros(
+                    tipoId, comunaId, minPrecio, maxPrecio, nHabit, nBanos, petFriendly, campos
+            );
+            return ResponseEntity.ok(seleccionarCampos(propiedades, campos));
+        }
+
         List<PropertyDTO> propiedades = propertyService.buscarConFiltros(
                 tipoId, comunaId, minPrecio, maxPrecio, nHabit, nBanos, petFriendly, includeDetails
         );
@@ -242,4 +323,19 @@ public class PropertyController {
 
         return ResponseEntity.ok(existe);
     }
-}
\ No newline at end of file
+
+    /**
+     * Serializa solo los atributos pedidos en la selección de campos.
+     */
+    private JsonNode seleccionarCampos(PropertyDTO propiedad, PropertyFields campos) {
+        ObjectNode nodo = objectMapper.valueToTree(propiedad);
+        nodo.retain(campos.getCampos());
+        return nodo;
+    }
+
+    private JsonNode seleccionarCampos(List<PropertyDTO> propiedades, PropertyFields campos) {
+        ArrayNode nodos = objectMapper.createArrayNode();
+        propiedades.forEach(p -> nodos.add(seleccionarCampos(p, campos)));
+        return nodos;
+    }
+}
@@ -1,8 +1,11 @@
 package com.rentify.propertyservice.controller;
 
 import com.rentify.propertyservice.dto.RegionDTO;
+import com.rentify.propertyservice.exception.ResourceNotFoundException;
 import com.rentify.propertyservice.model.Region;
 import com.rentify.propertyservice.repository.RegionRepository;
+import com.rentify.propertyservice.service.UbicacionJerarquiaService;
+import com.rentify.propertyservice.service.UbicacionJerarquiaService.JerarquiaSnapshot;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,11 +13,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +38,7 @@ public class RegionController {
 
     private final RegionRepository regionRepository;
     private final ModelMapper modelMapper;
+    private final UbicacionJerarquiaService ubicacionJerarquiaService;
 
     @PostMapping
     @Operation(summary = "Crear región", description = "Crea una nueva región")
@@ -37,6 +47,7 @@ public class RegionController {
 
         Region region = modelMapper.map(regionDTO, Region.class);
         Region saved = regionRepository.save(region);
+        ubicacionJerarquiaService.invalidar();
 
         return ResponseEntity.created(URI.create("/api/regiones/" + saved.getId()))
                 .body(modelMapper.map(saved, RegionDTO.class));
@@ -54,6 +65,41 @@ public class RegionController {
         return ResponseEntity.ok(regiones);
     }
 
+    @GetMapping("/jerarquia")
+    @Operation(summary = "Obtener jerarquía región → comunas",
+            description = "Retorna todas las regiones con sus comunas en una sola respuesta precomprimida. " +
+                    "Usa ETag para revalidación; la versión inmutable está en Content-Location")
+    public ResponseEntity<byte[]> obtenerJerarquia(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        log.debug("Obteniendo jerarquía de regiones y comunas");
+
+        JerarquiaSnapshot snapshot = ubicacionJerarquiaService.obtenerSnapshot();
+        if (request.checkNotModified(etag(snapshot, aceptaGzip(acceptEncoding)))) {
+            return null;
+        }
+
+        return respuestaJerarquia(snapshot, acceptEncoding, CacheControl.noCache().cachePublic());
+    }
+
+    @GetMapping("/jerarquia/{version}")
+    @Operation(summary = "Obtener versión inmutable de la jerarquía",
+            description = "Retorna la jerarquía para una versión específica, cacheable indefinidamente")
+    public ResponseEntity<byte[]> obtenerJerarquiaVersionada(
+            @Parameter(description = "Versión (hash del contenido) de la jerarquía")
+            @PathVariable String version,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("Obteniendo jerarquía versión: {}", version);
+
+        JerarquiaSnapshot snapshot = ubicacionJerarquiaService.obtenerSnapshot();
+        if (!snapshot.getVersion().equals(version)) {
+            throw new ResourceNotFoundException("La versión " + version + " de la jerarquía ya no está vigente");
+        }
+
+        return respuestaJerarquia(snapshot, acceptEncoding,
+                CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable());
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener región por ID")
     public ResponseEntity<RegionDTO> obtenerPorId(
@@ -78,6 +124,7 @@ public class RegionController {
                 .map(r -> {
                     r.setNombre(regionDTO.getNombre());
                     Region updated = regionRepository.save(r);
+                    ubicacionJerarquiaService.invalidar();
                     return ResponseEntity.ok(modelMapper.map(updated, RegionDTO.class));
                 })
                 .orElseGet(() -> ResponseEntity.notFound().build());
@@ -95,6 +142,68 @@ public class RegionController {
         }
 
         regionRepository.deleteById(id);
+        ubicacionJerarquiaService.invalidar();
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<byte[]> respuestaJerarquia(JerarquiaSnapshot snapshot,
+                                                      String acceptEncoding,
+                                                      CacheControl cacheControl) {
+        boolean gzip = aceptaGzip(acceptEncoding);
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .eTag(etag(snapshot, gzip))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .header(HttpHeaders.CONTENT_LOCATION, "/api/regiones/jerarquia/" + snapshot.getVersion());
+
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return builder.body(snapshot.getJson());
+    }
+
+    /**
+     * ETag fuerte por representación: cada codificación tiene bytes distintos, así que
+     * la versión gzip lleva el sufijo -gz
+     */
+    private static String etag(JerarquiaSnapshot snapshot, boolean gzip) {
+        return "\"" + snapshot.getVersion() + (gzip ? "-gz" : "") + "\"";
+    }
+
+    /**
+     * Indica si Accept-Encoding admite gzip con q &gt; 0 (explícito o por "*")
+     */
+    static boolean aceptaGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double calidadGzip = null;
+        Double calidadComodin = null;
+        for (String elemento : acceptEncoding.split(",")) {
+            String[] partes = elemento.split(";");
+            String codificacion = partes[0].trim().toLowerCase(Locale.ROOT);
+            double calidad = 1.0;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        calidad = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        calidad = 0;
+                    }
+                }
+            }
+            if (codificacion.equals("gzip") || codificacion.equals("x-gzip")) {
+                calidadGzip = calidad;
+            } else if (codificacion.equals("*")) {
+                calidadComodin = calidad;
+            }
+        }
+        if (calidadGzip != null) {
+            return calidadGzip > 0;
+        }
+        return calidadComodin != null && calidadComodin > 0;
+    }
+}
@@ -0,0 +1,81 @@
+package com.rentify.propertyservice.dto;
+
+import com.rentify.propertyservice.constants.PropertyConstants;
+import com.rentify.propertyservice.exception.BusinessValidationException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Selección de campos (sparse fieldset) solicitada con el parámetro {@code fields}.
+ *
+ * Determina qué relaciones carga PropertyService y qué atributos de {@link PropertyDTO}
+ * se escriben en la respuesta. Los nombres corresponden a las propiedades JSON del DTO.
+ */
+public final class PropertyFields {
+
+    public static final Set<String> CAMPOS_VALIDOS = Set.of(
+            "id", "codigo", "titulo", "precioMensual", "divisa", "m2", "nHabit", "nBanos",
+            "petFriendly", "direccion", "fcreacion", "tipoId", "comunaId",
+            "tipo", "comuna", "fotos", "categorias"
+    );
+
+    private final Set<String> campos;
+
+    private PropertyFields(Set<String> campos) {
+        this.campos = Collections.unmodifiableSet(campos);
+    }
+
+    /**
+     * Interpreta una lista de campos separada por comas (ej: "id,titulo,precioMensual").
+     *
+     * @return la selección, o null si no se indicaron campos (respuesta completa)
+     * @throws BusinessValidationException si algún campo no existe en PropertyDTO
+     */
+    public static PropertyFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+
+        Set<String> campos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            String nombre = campo.trim();
+            if (nombre.isEmpty()) {
+                continue;
+            }
+            if (!CAMPOS_VALIDOS.contains(nombre)) {
+                throw new BusinessValidationException(
+                        String.format(PropertyConstants.Mensajes.CAMPO_INVALIDO, nombre)
+                );
+            }
+            campos.add(nombre);
+        }
+
+        return campos.isEmpty() ? null : new PropertyFields(campos);
+    }
+
+    public Set<String> getCampos() {
+        return campos;
+    }
+
+    public boolean incluye(String campo) {
+        return campos.contains(campo);
+    }
+
+    public boolean requiereTipo() {
+        return campos.contains("tipo");
+    }
+
+    public boolean requiereComuna() {
+        return campos.contains("comuna");
+    }
+
+    public boolean requiereFotos() {
+        return campos.contains("fotos");
+    }
+
+    public boolean requiereCategorias() {
+        return campos.contains("categorias");
+    }
+}
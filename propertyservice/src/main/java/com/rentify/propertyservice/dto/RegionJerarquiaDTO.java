@@ -0,0 +1,47 @@
+package com.rentify.propertyservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO para la jerarquía región → comunas usada por los selectores de ubicación.
+ * Solo contiene id y nombre para mantener el payload compacto.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Región con sus comunas")
+public class RegionJerarquiaDTO {
+
+    @Schema(description = "ID único de la región", example = "1")
+    private Long id;
+
+    @Schema(description = "Nombre de la región", example = "Región Metropolitana")
+    private String nombre;
+
+    @Schema(description = "Comunas de la región ordenadas por nombre")
+    @Builder.Default
+    private List<ComunaItem> comunas = new ArrayList<>();
+
+    /**
+     * Comuna dentro de la jerarquía (sin referencia a la región).
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "Comuna dentro de la jerarquía")
+    public static class ComunaItem {
+
+        @Schema(description = "ID único de la comuna", example = "1")
+        private Long id;
+
+        @Schema(description = "Nombre de la comuna", example = "Providencia")
+        private String nombre;
+    }
+}
@@ -2,6 +2,7 @@ package com.rentify.propertyservice.repository;
 
 import com.rentify.propertyservice.model.Comuna;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,6 +24,12 @@ public interface ComunaRepository extends JpaRepository<Comuna, Long> {
      */
     List<Comuna> findByRegionId(Long regionId);
 
+    /**
+     * Obtiene todas las comunas con su región en una sola consulta, ordenadas por nombre.
+     */
+    @Query("SELECT c FROM Comuna c JOIN FETCH c.region ORDER BY c.nombre")
+    List<Comuna> findAllWithRegion();
+
     /**
      * Verifica si existe una comuna con el nombre dado.
      */
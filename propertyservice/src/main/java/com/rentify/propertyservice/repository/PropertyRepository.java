@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -85,6 +86,17 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
             @Param("petFriendly") Boolean petFriendly
     );
 
+    /**
+     * Obtiene varias propiedades por ID en una sola consulta,
+     * cargando tipo, comuna y región para evitar consultas por fila.
+     */
+    @Query("SELECT p FROM Property p " +
+            "JOIN FETCH p.tipo " +
+            "JOIN FETCH p.comuna c " +
+            "JOIN FETCH c.region " +
+            "WHERE p.id IN :ids")
+    List<Property> findAllByIdWithUbicacion(@Param("ids") Collection<Long> ids);
+
     /**
      * Cuenta propiedades por comuna.
      */
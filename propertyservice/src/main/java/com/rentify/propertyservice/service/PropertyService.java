@@ -1,5 +1,6 @@
 package com.rentify.propertyservice.service;
 
+import com.rentify.propertyservice.client.VerificadorTokens;
 import com.rentify.propertyservice.constants.PropertyConstants;
 import com.rentify.propertyservice.dto.*;
 import com.rentify.propertyservice.exception.BusinessValidationException;
@@ -14,7 +15,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,10 +34,25 @@ public class PropertyService {
     private final RegionRepository regionRepository;
     private final CategoriaRepository categoriaRepository;
     private final ModelMapper modelMapper;
+    private final VerificadorTokens verificadorTokens;
+
+    /**
+     * Si la request trae un token de User Service, el rol del usuario debe permitir la operación.
+     * El rol se lee del token verificado localmente; sin token no se valida el rol.
+     */
+    private void validarRol(Predicate<String> permitido) {
+        verificadorTokens.delRequest()
+                .filter(usuario -> !permitido.test(usuario.rol()))
+                .ifPresent(usuario -> {
+                    throw new BusinessValidationException(
+                            String.format(PropertyConstants.Mensajes.ROL_NO_AUTORIZADO, usuario.rol()));
+                });
+    }
 
     @Transactional
     public PropertyDTO crearProperty(PropertyDTO propertyDTO) {
         log.info("Creando nueva propiedad con código: {}", propertyDTO.getCodigo());
+        validarRol(PropertyConstants.Roles::puedeCrearPropiedad);
 
         if (propertyRepository.existsByCodigo(propertyDTO.getCodigo())) {
             throw new BusinessValidationException(
@@ -121,6 +142,18 @@ public class PropertyService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Lista propiedades cargando solo las relaciones incluidas en la selección de campos.
+     */
+    @Transactional(readOnly = true)
+    public List<PropertyDTO> listarTodas(PropertyFields campos) {
+        log.debug("Listando todas las propiedades (fields: {})", campos.getCampos());
+
+        return propertyRepository.findAll().stream()
+                .map(p -> convertToDTO(p, campos))
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public PropertyDTO obtenerPorId(Long id) {
         return obtenerPorId(id, false);
@@ -138,6 +171,57 @@ public class PropertyService {
         return convertToDTO(property, includeDetails);
     }
 
+    @Transactional(readOnly = true)
+    public PropertyDTO obtenerPorId(Long id, PropertyFields campos) {
+        log.debug("Obteniendo propiedad con ID: {} (fields: {})", id, campos.getCampos());
+
+        Property property = propertyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format(PropertyConstants.Mensajes.PROPIEDAD_NO_ENCONTRADA, id)
+                ));
+
+        return convertToDTO(property, campos);
+    }
+
+    /**
+     * Obtiene varias propiedades por ID en una sola consulta.
+     * Los IDs inexistentes se omiten del resultado.
+     */
+    @Transactional(readOnly = true)
+    public List<PropertyDTO> obtenerPorIds(Collection<Long> ids, boolean includeDetails) {
+        log.debug("Obteniendo {} propiedades por lote (includeDetails: {})", ids.size(), Boolean.valueOf(includeDetails));
+
+        return buscarPorIds(ids).stream()
+                .map(p -> convertToDTO(p, includeDetails))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<PropertyDTO> obtenerPorIds(Collection<Long> ids, PropertyFields campos) {
+        log.debug("Obteniendo {} propiedades por lote (fields: {})", ids.size(), campos.getCampos());
+
+        return buscarPorIds(ids).stream()
+                .map(p -> convertToDTO(p, campos))
+                .collect(Collectors.toList());
+    }
+
+    private List<Property> buscarPorIds(Collection<Long> ids) {
+        Set<Long> distintos = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        if (distintos.size() > PropertyConstants.Limites.MAX_IDS_POR_LOTE) {
+            throw new BusinessValidationException(
+                    String.format(PropertyConstants.Mensajes.LOTE_MUY_GRANDE, PropertyConstants.Limites.MAX_IDS_POR_LOTE)
+            );
+        }
+        if (distintos.isEmpty()) {
+            return List.of();
+        }
+
+        return propertyRepository.findAllByIdWithUbicacion(distintos);
+    }
+
     @Transactional(readOnly = true)
     public PropertyDTO obtenerPorCodigo(String codigo) {
         return obtenerPorCodigo(codigo, false);
@@ -155,9 +239,22 @@ public class PropertyService {
         return convertToDTO(property, includeDetails);
     }
 
+    @Transactional(readOnly = true)
+    public PropertyDTO obtenerPorCodigo(String codigo, PropertyFields campos) {
+        log.debug("Obteniendo propiedad con código: {} (fields: {})", codigo, campos.getCampos());
+
+        Property property = propertyRepository.findByCodigo(codigo)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "La propiedad con código " + codigo + " no existe"
+                ));
+
+        return convertToDTO(property, campos);
+    }
+
     @Transactional
     public PropertyDTO actualizar(Long id, PropertyDTO propertyDTO) {
         log.info("Actualizando propiedad con ID: {}", id);
+        validarRol(PropertyConstants.Roles::puedeModificarPropiedad);
 
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException(
@@ -227,6 +324,7 @@ public class PropertyService {
     @Transactional
     public void eliminar(Long id) {
         log.info("Eliminando propiedad con ID: {}", id);
+        validarRol(PropertyConstants.Roles::puedeModificarPropiedad);
 
         if (!propertyRepository.existsById(id)) {
             throw new ResourceNotFoundException(
@@ -261,6 +359,29 @@ public class PropertyService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public List<PropertyDTO> buscarConFiltros(
+            Long tipoId,
+            Long comunaId,
+            BigDecimal minPrecio,
+            BigDecimal maxPrecio,
+            Integer nHabit,
+            Integer nBanos,
+            Boolean petFriendly,
+            PropertyFields campos) {
+
+        log.debug("Buscando propiedades con filtros - tipo: {}, comuna: {}, fields: {}",
+                tipoId, comunaId, campos.getCampos());
+
+        List<Property> properties = propertyRepository.findByFilters(
+                comunaId, tipoId, minPrecio, maxPrecio, nHabit, nBanos, petFriendly
+        );
+
+        return properties.stream()
+                .map(p -> convertToDTO(p, campos))
+                .collect(Collectors.toList());
+    }
+
     @Transactional(readOnly = true)
     public boolean existsProperty(Long id) {
         return propertyRepository.existsById(id);
@@ -341,26 +462,55 @@ public class PropertyService {
             TipoDTO tipoDTO = modelMapper.map(property.getTipo(), TipoDTO.class);
             dto.setTipo(tipoDTO);
 
-            ComunaDTO comunaDTO = new ComunaDTO();
-            comunaDTO.setId(property.getComuna().getId());
-            comunaDTO.setNombre(property.getComuna().getNombre());
-            comunaDTO.setRegionId(property.getComuna().getRegion().getId());
+            dto.setComuna(convertComunaToDTO(property.getComuna()));
+            dto.setFotos(convertFotosToDTO(property.getFotos()));
+            dto.setCategorias(convertCategoriasToDTO(property.getCategorias()));
+        }
 
-            RegionDTO regionDTO = modelMapper.map(property.getComuna().getRegion(), RegionDTO.class);
-            comunaDTO.setRegion(regionDTO);
-            dto.setComuna(comunaDTO);
+        return dto;
+    }
 
-            List<FotoDTO> fotosDTO = property.getFotos().stream()
-                    .map(f -> modelMapper.map(f, FotoDTO.class))
-                    .collect(Collectors.toList());
-            dto.setFotos(fotosDTO);
+    /**
+     * Convierte una propiedad inicializando solo las relaciones pedidas en la selección de campos.
+     * Los campos escalares y los IDs de tipo/comuna no requieren consultas adicionales.
+     */
+    private PropertyDTO convertToDTO(Property property, PropertyFields campos) {
+        PropertyDTO dto = convertToDTO(property, false);
 
-            List<CategoriaDTO> categoriasDTO = property.getCategorias().stream()
-                    .map(c -> modelMapper.map(c, CategoriaDTO.class))
-                    .collect(Collectors.toList());
-            dto.setCategorias(categoriasDTO);
+        if (campos.requiereTipo()) {
+            dto.setTipo(modelMapper.map(property.getTipo(), TipoDTO.class));
+        }
+        if (campos.requiereComuna()) {
+            dto.setComuna(convertComunaToDTO(property.getComuna()));
+        }
+        if (campos.requiereFotos()) {
+            dto.setFotos(convertFotosToDTO(property.getFotos()));
+        }
+        if (campos.requiereCategorias()) {
+            dto.setCategorias(convertCategoriasToDTO(property.getCategorias()));
         }
 
         return dto;
     }
+
+    private ComunaDTO convertComunaToDTO(Comuna comuna) {
+        ComunaDTO comunaDTO = new ComunaDTO();
+        comunaDTO.setId(comuna.getId());
+        comunaDTO.setNombre(comuna.getNombre());
+        comunaDTO.setRegionId(comuna.getRegion().getId());
+        comunaDTO.setRegion(modelMapper.map(comuna.getRegion(), RegionDTO.class));
+        return comunaDTO;
+    }
+
+    private List<FotoDTO> convertFotosToDTO(List<Foto> fotos) {
+        return fotos.stream()
+                .map(f -> modelMapper.map(f, FotoDTO.class))
+                .collect(Collectors.toList());
+    }
+
+    private List<CategoriaDTO> convertCategoriasToDTO(List<Categoria> categorias) {
+        return categorias.stream()
+                .map(c -> modelMapper.map(c, CategoriaDTO.class))
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
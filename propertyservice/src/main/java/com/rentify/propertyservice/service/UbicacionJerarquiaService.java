@@ -0,0 +1,141 @@
+package com.rentify.propertyservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.propertyservice.dto.RegionJerarquiaDTO;
+import com.rentify.propertyservice.model.Comuna;
+import com.rentify.propertyservice.model.Region;
+import com.rentify.propertyservice.repository.ComunaRepository;
+import com.rentify.propertyservice.repository.RegionRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mantiene en memoria la jerarquía región → comunas ya serializada y comprimida.
+ *
+ * La jerarquía se construye una sola vez y se reutiliza en cada request hasta que
+ * {@link #invalidar()} es llamado por los controllers que modifican regiones o comunas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UbicacionJerarquiaService {
+
+    private final RegionRepository regionRepository;
+    private final ComunaRepository comunaRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile JerarquiaSnapshot snapshot;
+
+    /**
+     * Retorna la jerarquía vigente, reconstruyéndola solo si fue invalidada.
+     */
+    public JerarquiaSnapshot obtenerSnapshot() {
+        JerarquiaSnapshot actual = snapshot;
+        if (actual != null && actual.getGeneracion() == generacion.get()) {
+            return actual;
+        }
+
+        synchronized (this) {
+            long generacionActual = generacion.get();
+            actual = snapshot;
+            if (actual == null || actual.getGeneracion() != generacionActual) {
+                actual = construir(generacionActual);
+                snapshot = actual;
+            }
+            return actual;
+        }
+    }
+
+    /**
+     * Marca la jerarquía como obsoleta. La siguiente lectura la reconstruye.
+     */
+    public void invalidar() {
+        log.debug("Invalidando jerarquía de regiones y comunas");
+        generacion.incrementAndGet();
+    }
+
+    private JerarquiaSnapshot construir(long generacionActual) {
+        log.info("Construyendo jerarquía de regiones y comunas");
+
+        Map<Long, RegionJerarquiaDTO> regiones = new LinkedHashMap<>();
+        for (Region region : regionRepository.findAll(Sort.by("id"))) {
+            regiones.put(region.getId(), RegionJerarquiaDTO.builder()
+                    .id(region.getId())
+                    .nombre(region.getNombre())
+                    .build());
+        }
+
+        for (Comuna comuna : comunaRepository.findAllWithRegion()) {
+            RegionJerarquiaDTO region = regiones.get(comuna.getRegion().getId());
+            if (region != null) {
+                region.getComunas().add(new RegionJerarquiaDTO.ComunaItem(comuna.getId(), comuna.getNombre()));
+            }
+        }
+
+        byte[] json = serializar(List.copyOf(regiones.values()));
+        byte[] gzip = comprimirGzip(json);
+        String version = calcularHash(json);
+
+        log.info("Jerarquía construida: {} regiones, {} bytes ({} bytes gzip), versión {}",
+                regiones.size(), json.length, gzip.length, version);
+
+        return new JerarquiaSnapshot(generacionActual, version, json, gzip);
+    }
+
+    private byte[] serializar(List<RegionJerarquiaDTO> regiones) {
+        try {
+            return objectMapper.writeValueAsBytes(regiones);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la jerarquía de ubicaciones", e);
+        }
+    }
+
+    private static byte[] comprimirGzip(byte[] datos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(datos.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            gzip.write(datos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return salida.toByteArray();
+    }
+
+    private static String calcularHash(byte[] datos) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(datos);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Representación inmutable de la jerarquía: JSON plano, JSON gzip y su versión (hash del contenido).
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class JerarquiaSnapshot {
+        private final long generacion;
+        private final String version;
+        private final byte[] json;
+        private final byte[] gzip;
+    }
+}
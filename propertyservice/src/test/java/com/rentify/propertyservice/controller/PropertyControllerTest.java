@@ -2,6 +2,7 @@ package com.rentify.propertyservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rentify.propertyservice.dto.PropertyDTO;
+import com.rentify.propertyservice.dto.PropertyFields;
 import com.rentify.propertyservice.exception.ResourceNotFoundException;
 import com.rentify.propertyservice.service.PropertyService;
 import org.junit.jupiter.api.BeforeEach;
@@ -147,6 +148,37 @@ class PropertyControllerTest {
         verify(propertyService, times(1)).listarTodas(false);
     }
 
+    @Test
+    @DisplayName("GET /api/propiedades?fields - Debe retornar solo los campos solicitados")
+    void listar_ConFields_RetornaSoloCampos() throws Exception {
+        // Arrange
+        when(propertyService.listarTodas(any(PropertyFields.class)))
+                .thenReturn(List.of(propertyDTO));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/propiedades")
+                        .param("fields", "id,titulo,precioMensual"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].titulo").value("Dpto 2D/2B Providencia"))
+                .andExpect(jsonPath("$[0].precioMensual").exists())
+                .andExpect(jsonPath("$[0].codigo").doesNotExist())
+                .andExpect(jsonPath("$[0].comuna").doesNotExist());
+
+        verify(propertyService, never()).listarTodas(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("GET /api/propiedades?fields - Debe retornar 400 con un campo inexistente")
+    void listar_FieldsInvalido_Returns400() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/propiedades")
+                        .param("fields", "id,noExiste"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(propertyService);
+    }
+
     // ==================== Tests GET/{id} ====================
 
     @Test
@@ -179,6 +211,24 @@ class PropertyControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("POST /api/propiedades/batch - Debe retornar las propiedades del lote")
+    void obtenerPorIds_Lote_Returns200() throws Exception {
+        // Arrange
+        when(propertyService.obtenerPorIds(List.of(1L, 2L), true))
+                .thenReturn(List.of(propertyDTO));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/propiedades/batch")
+                        .contentType("application/json")
+                        .content("[1, 2]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].codigo").value("DP001"));
+
+        verify(propertyService, times(1)).obtenerPorIds(List.of(1L, 2L), true);
+    }
+
     // ==================== Tests GET/codigo/{codigo} ====================
 
     @Test
@@ -0,0 +1,94 @@
+package com.rentify.propertyservice.controller;
+
+import com.rentify.propertyservice.repository.RegionRepository;
+import com.rentify.propertyservice.service.UbicacionJerarquiaService;
+import com.rentify.propertyservice.service.UbicacionJerarquiaService.JerarquiaSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests de la jerarquía de regiones en RegionController
+ */
+@WebMvcTest(RegionController.class)
+@DisplayName("Tests de RegionController")
+class RegionControllerTest {
+
+    private static final byte[] JSON = "[]".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] GZIP = {31, -117, 8, 0};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private RegionRepository regionRepository;
+
+    @MockitoBean
+    private ModelMapper modelMapper;
+
+    @MockitoBean
+    private UbicacionJerarquiaService ubicacionJerarquiaService;
+
+    @BeforeEach
+    void setUp() {
+        when(ubicacionJerarquiaService.obtenerSnapshot()).thenReturn(new JerarquiaSnapshot(1L, "abc123", JSON, GZIP));
+    }
+
+    @Test
+    @DisplayName("GET /api/regiones/jerarquia - Cada codificación tiene su propio ETag")
+    void obtenerJerarquia_EtagPorCodificacion() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/regiones/jerarquia").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123-gz\""))
+                .andExpect(content().bytes(GZIP));
+
+        mockMvc.perform(get("/api/regiones/jerarquia"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"abc123\""))
+                .andExpect(content().bytes(JSON));
+    }
+
+    @Test
+    @DisplayName("GET /api/regiones/jerarquia - El ETag de gzip no valida la representación sin comprimir")
+    void obtenerJerarquia_IfNoneMatchPorCodificacion() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/regiones/jerarquia")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc123-gz\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/regiones/jerarquia")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"abc123-gz\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(JSON));
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding respeta los valores q")
+    void aceptaGzip_ValoresQ() {
+        // Act & Assert
+        assertThat(RegionController.aceptaGzip("gzip;q=0")).isFalse();
+        assertThat(RegionController.aceptaGzip("gzip; q=0.0, identity")).isFalse();
+        assertThat(RegionController.aceptaGzip("br, gzip;q=0.5")).isTrue();
+        assertThat(RegionController.aceptaGzip("*")).isTrue();
+        assertThat(RegionController.aceptaGzip("*;q=1, gzip;q=0")).isFalse();
+        assertThat(RegionController.aceptaGzip("identity")).isFalse();
+        assertThat(RegionController.aceptaGzip(null)).isFalse();
+    }
+}
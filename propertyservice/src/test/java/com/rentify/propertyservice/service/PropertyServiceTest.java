@@ -1,5 +1,7 @@
 package com.rentify.propertyservice.service;
 
+import com.rentify.propertyservice.client.VerificadorTokens;
+import com.rentify.propertyservice.client.VerificadorTokens.UsuarioToken;
 import com.rentify.propertyservice.constants.PropertyConstants;
 import com.rentify.propertyservice.dto.*;
 import com.rentify.propertyservice.exception.BusinessValidationException;
@@ -53,6 +55,9 @@ class PropertyServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private VerificadorTokens verificadorTokens;
+
     @InjectMocks
     private PropertyService propertyService;
 
@@ -167,6 +172,23 @@ class PropertyServiceTest {
         verify(propertyRepository, never()).save(any());
     }
 
+    @Test
+    @DisplayName("crearProperty/eliminar - Con token de un ARRIENDATARIO se rechazan sin tocar la BD")
+    void crearProperty_TokenArriendatario_ThrowsException() {
+        // Arrange
+        when(verificadorTokens.delRequest())
+                .thenReturn(Optional.of(new UsuarioToken(9L, 3L, PropertyConstants.Roles.ARRIENDATARIO, 1L, "ACTIVO")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> propertyService.crearProperty(propertyDTO))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("ARRIENDATARIO");
+        assertThatThrownBy(() -> propertyService.eliminar(1L))
+                .isInstanceOf(BusinessValidationException.class);
+
+        verifyNoInteractions(propertyRepository);
+    }
+
     @Test
     @DisplayName("crearProperty - Debe lanzar excepción si divisa es inválida")
     void crearProperty_DivisaInvalida_ThrowsException() {
@@ -261,6 +283,50 @@ class PropertyServiceTest {
         assertThat(resultado).hasSize(1);
     }
 
+    @Test
+    @DisplayName("listarTodas - Con selección de campos escalares no debe mapear relaciones")
+    void listarTodas_CamposEscalares_NoCargaRelaciones() {
+        // Arrange
+        when(propertyRepository.findAll()).thenReturn(List.of(propertyEntity));
+
+        // Act
+        List<PropertyDTO> resultado = propertyService.listarTodas(PropertyFields.parse("id,titulo,precioMensual"));
+
+        // Assert
+        assertThat(resultado).hasSize(1);
+        assertThat(resultado.get(0).getTitulo()).isEqualTo("Dpto 2D/2B");
+        assertThat(resultado.get(0).getTipo()).isNull();
+        assertThat(resultado.get(0).getComuna()).isNull();
+        assertThat(resultado.get(0).getFotos()).isNull();
+        verifyNoInteractions(modelMapper);
+    }
+
+    @Test
+    @DisplayName("obtenerPorId - Con selección de campos debe cargar solo las relaciones pedidas")
+    void obtenerPorId_CamposConComuna_CargaSoloComuna() {
+        // Arrange
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(propertyEntity));
+        when(modelMapper.map(region, RegionDTO.class)).thenReturn(regionDTO);
+
+        // Act
+        PropertyDTO resultado = propertyService.obtenerPorId(1L, PropertyFields.parse("id,comuna"));
+
+        // Assert
+        assertThat(resultado.getComuna().getNombre()).isEqualTo("Providencia");
+        assertThat(resultado.getTipo()).isNull();
+        assertThat(resultado.getCategorias()).isNull();
+        verify(modelMapper, never()).map(tipo, TipoDTO.class);
+    }
+
+    @Test
+    @DisplayName("PropertyFields.parse - Debe rechazar campos inexistentes")
+    void parseCampos_CampoInvalido_ThrowsException() {
+        // Act & Assert
+        assertThatThrownBy(() -> PropertyFields.parse("id,clave"))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("clave");
+    }
+
     // ==================== Tests de Obtención ====================
 
     @Test
@@ -292,6 +358,37 @@ class PropertyServiceTest {
                 .hasMessageContaining("no existe");
     }
 
+    @Test
+    @DisplayName("obtenerPorIds - Debe resolver IDs repetidos con una sola consulta")
+    void obtenerPorIds_IdsRepetidos_UnaConsulta() {
+        // Arrange
+        when(propertyRepository.findAllByIdWithUbicacion(anyCollection())).thenReturn(List.of(propertyEntity));
+
+        // Act
+        List<PropertyDTO> resultado = propertyService.obtenerPorIds(
+                List.of(1L, 1L, 999L), PropertyFields.parse("id,codigo"));
+
+        // Assert
+        assertThat(resultado).extracting(PropertyDTO::getCodigo).containsExactly("DP001");
+        verify(propertyRepository, times(1)).findAllByIdWithUbicacion(argThat(ids -> ids.size() == 2));
+        verify(propertyRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("obtenerPorIds - Debe rechazar lotes sobre el máximo permitido")
+    void obtenerPorIds_LoteMuyGrande_ThrowsException() {
+        // Arrange
+        List<Long> ids = java.util.stream.LongStream
+                .rangeClosed(1, PropertyConstants.Limites.MAX_IDS_POR_LOTE + 1)
+                .boxed()
+                .toList();
+
+        // Act & Assert
+        assertThatThrownBy(() -> propertyService.obtenerPorIds(ids, false))
+                .isInstanceOf(BusinessValidationException.class);
+        verifyNoInteractions(propertyRepository);
+    }
+
     @Test
     @DisplayName("obtenerPorCodigo - Debe retornar propiedad cuando existe")
     void obtenerPorCodigo_PropiedadExiste_ReturnsDto() {
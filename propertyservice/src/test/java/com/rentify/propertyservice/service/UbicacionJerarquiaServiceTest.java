@@ -0,0 +1,112 @@
+package com.rentify.propertyservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.propertyservice.model.Comuna;
+import com.rentify.propertyservice.model.Region;
+import com.rentify.propertyservice.repository.ComunaRepository;
+import com.rentify.propertyservice.repository.RegionRepository;
+import com.rentify.propertyservice.service.UbicacionJerarquiaService.JerarquiaSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests unitarios para UbicacionJerarquiaService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de UbicacionJerarquiaService")
+class UbicacionJerarquiaServiceTest {
+
+    @Mock
+    private RegionRepository regionRepository;
+
+    @Mock
+    private ComunaRepository comunaRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UbicacionJerarquiaService service;
+
+    private Region metropolitana;
+    private Region valparaiso;
+
+    @BeforeEach
+    void setUp() {
+        service = new UbicacionJerarquiaService(regionRepository, comunaRepository, objectMapper);
+
+        metropolitana = Region.builder().id(1L).nombre("Región Metropolitana").build();
+        valparaiso = Region.builder().id(2L).nombre("Región de Valparaíso").build();
+
+        when(regionRepository.findAll(any(Sort.class))).thenReturn(List.of(metropolitana, valparaiso));
+        when(comunaRepository.findAllWithRegion()).thenReturn(List.of(
+                Comuna.builder().id(10L).nombre("Providencia").region(metropolitana).build(),
+                Comuna.builder().id(20L).nombre("Viña del Mar").region(valparaiso).build()
+        ));
+    }
+
+    @Test
+    @DisplayName("obtenerSnapshot - Debe agrupar comunas bajo su región")
+    void obtenerSnapshot_AgrupaComunasPorRegion() throws Exception {
+        // Act
+        JerarquiaSnapshot snapshot = service.obtenerSnapshot();
+
+        // Assert
+        JsonNode json = objectMapper.readTree(snapshot.getJson());
+        assertThat(json).hasSize(2);
+        assertThat(json.get(0).get("nombre").asText()).isEqualTo("Región Metropolitana");
+        assertThat(json.get(0).get("comunas").get(0).get("nombre").asText()).isEqualTo("Providencia");
+        assertThat(json.get(1).get("comunas").get(0).get("id").asLong()).isEqualTo(20L);
+        assertThat(snapshot.getVersion()).hasSize(32);
+    }
+
+    @Test
+    @DisplayName("obtenerSnapshot - La versión gzip debe descomprimir al mismo JSON")
+    void obtenerSnapshot_GzipEquivalente() throws Exception {
+        // Act
+        JerarquiaSnapshot snapshot = service.obtenerSnapshot();
+
+        // Assert
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.getGzip()))) {
+            assertThat(gzip.readAllBytes()).isEqualTo(snapshot.getJson());
+        }
+    }
+
+    @Test
+    @DisplayName("obtenerSnapshot - Debe reutilizar la jerarquía hasta que se invalide")
+    void obtenerSnapshot_ReutilizaHastaInvalidar() {
+        // Act
+        JerarquiaSnapshot primero = service.obtenerSnapshot();
+        JerarquiaSnapshot segundo = service.obtenerSnapshot();
+
+        // Assert
+        assertThat(segundo).isSameAs(primero);
+        verify(comunaRepository, times(1)).findAllWithRegion();
+
+        // Act - invalidar tras agregar una comuna
+        when(comunaRepository.findAllWithRegion()).thenReturn(List.of(
+                Comuna.builder().id(10L).nombre("Providencia").region(metropolitana).build(),
+                Comuna.builder().id(11L).nombre("Ñuñoa").region(metropolitana).build(),
+                Comuna.builder().id(20L).nombre("Viña del Mar").region(valparaiso).build()
+        ));
+        service.invalidar();
+        JerarquiaSnapshot tercero = service.obtenerSnapshot();
+
+        // Assert
+        assertThat(tercero).isNotSameAs(primero);
+        assertThat(tercero.getVersion()).isNotEqualTo(primero.getVersion());
+        verify(comunaRepository, times(2)).findAllWithRegion();
+    }
+}
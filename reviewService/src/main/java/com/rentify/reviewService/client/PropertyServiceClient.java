@@ -2,7 +2,6 @@ package com.rentify.reviewService.client;
 
 import com.rentify.reviewService.dto.external.PropiedadDTO;
 import com.rentify.reviewService.exception.MicroserviceException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -16,14 +15,20 @@ import java.time.Duration;
  * Maneja todas las peticiones relacionadas con propiedades.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class PropertyServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String SERVICIO = "property-service";
 
-    @Value("${microservices.property-service.url}")
-    private String propertyServiceUrl;
+    private final WebClient webClient;
+    private final PoliticaResiliencia resiliencia;
+
+    public PropertyServiceClient(WebClient.Builder webClientBuilder,
+                                 @Value("${microservices.property-service.url}") String propertyServiceUrl,
+                                 ResilienciaRegistro resilienciaRegistro) {
+        this.webClient = webClientBuilder.clone().baseUrl(propertyServiceUrl).build();
+        this.resiliencia = resilienciaRegistro.para(SERVICIO);
+    }
 
     /**
      * Obtiene información completa de una propiedad por su ID.
@@ -32,12 +37,12 @@ public class PropertyServiceClient {
      */
     public PropiedadDTO getPropertyById(Long propertyId) {
         try {
-            return webClientBuilder.build()
+            return resiliencia.ejecutar(() -> webClient
                     .get()
-                    .uri(propertyServiceUrl + "/api/propiedades/" + propertyId)
+                    .uri("/api/propiedades/{id}", propertyId)
                     .retrieve()
                     .bodyToMono(PropiedadDTO.class)
-                    .timeout(Duration.ofSeconds(5))
+                    .timeout(Duration.ofSeconds(5)))
                     .onErrorResume(error -> {
                         log.error("Error al obtener propiedad {}: {}", propertyId, error.getMessage());
                         return Mono.empty();
@@ -0,0 +1,84 @@
+package com.rentify.reviewService.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Crea y mantiene una {@link PoliticaResiliencia} por microservicio remoto.
+ *
+ * La configuración se lee de resiliencia.&lt;servicio&gt;.&lt;clave&gt; y, si no existe,
+ * de resiliencia.&lt;clave&gt;. Ejemplo: resiliencia.user-service.hedging.habilitado=true
+ */
+@Component
+public class ResilienciaRegistro {
+
+    private static final String PREFIJO = "resiliencia.";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, PoliticaResiliencia> politicas = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResilienciaRegistro(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this(environment, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    private ResilienciaRegistro(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Registro sin políticas: las llamadas se ejecutan tal cual (usado en tests de clientes).
+     */
+    public static ResilienciaRegistro sinPoliticas() {
+        return new ResilienciaRegistro(null, new SimpleMeterRegistry());
+    }
+
+    public PoliticaResiliencia para(String servicio) {
+        return politicas.computeIfAbsent(servicio,
+                s -> new PoliticaResiliencia(s, configuracion(s), meterRegistry));
+    }
+
+    private PoliticaResiliencia.Configuracion configuracion(String servicio) {
+        if (environment == null) {
+            return PoliticaResiliencia.Configuracion.builder().habilitada(false).build();
+        }
+
+        PoliticaResiliencia.Configuracion porDefecto = PoliticaResiliencia.Configuracion.builder().build();
+        return PoliticaResiliencia.Configuracion.builder()
+                .habilitada(valor(servicio, "habilitada", Boolean.class, porDefecto.isHabilitada()))
+                .ventanaLlamadas(valor(servicio, "circuito.ventana", Integer.class, porDefecto.getVentanaLlamadas()))
+                .minimoLlamadas(valor(servicio, "circuito.minimo-llamadas", Integer.class, porDefecto.getMinimoLlamadas()))
+                .umbralFallos(valor(servicio, "circuito.umbral-fallos", Integer.class, porDefecto.getUmbralFallos()))
+                .esperaAbierto(milisegundos(servicio, "circuito.espera-abierto-ms", porDefecto.getEsperaAbierto()))
+                .llamadasPrueba(valor(servicio, "circuito.llamadas-prueba", Integer.class, porDefecto.getLlamadasPrueba()))
+                .maxConcurrentes(valor(servicio, "bulkhead.max-concurrentes", Integer.class, porDefecto.getMaxConcurrentes()))
+                .maxReintentos(valor(servicio, "reintentos.max", Integer.class, porDefecto.getMaxReintentos()))
+                .backoffInicial(milisegundos(servicio, "reintentos.backoff-inicial-ms", porDefecto.getBackoffInicial()))
+                .backoffMaximo(milisegundos(servicio, "reintentos.backoff-maximo-ms", porDefecto.getBackoffMaximo()))
+                .jitter(valor(servicio, "reintentos.jitter", Double.class, porDefecto.getJitter()))
+                .reintentarTimeouts(valor(servicio, "reintentos.timeouts", Boolean.class, porDefecto.isReintentarTimeouts()))
+                .plazoReintentos(milisegundos(servicio, "reintentos.plazo-ms", porDefecto.getPlazoReintentos()))
+                .hedging(valor(servicio, "hedging.habilitado", Boolean.class, porDefecto.isHedging()))
+                .hedgingRetardoMinimo(milisegundos(servicio, "hedging.retardo-minimo-ms", porDefecto.getHedgingRetardoMinimo()))
+                .build();
+    }
+
+    private <T> T valor(String servicio, String clave, Class<T> tipo, T porDefecto) {
+        T especifico = environment.getProperty(PREFIJO + servicio + "." + clave, tipo);
+        return especifico != null ? especifico : environment.getProperty(PREFIJO + clave, tipo, porDefecto);
+    }
+
+    private Duration milisegundos(String servicio, String clave, Duration porDefecto) {
+        return Duration.ofMillis(valor(servicio, clave, Long.class, porDefecto.toMillis()));
+    }
+}
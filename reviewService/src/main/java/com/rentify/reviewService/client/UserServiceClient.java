@@ -2,7 +2,6 @@ package com.rentify.reviewService.client;
 
 import com.rentify.reviewService.dto.external.UsuarioDTO;
 import com.rentify.reviewService.exception.MicroserviceException;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -16,14 +15,20 @@ import java.time.Duration;
  * Maneja todas las peticiones relacionadas con usuarios.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class UserServiceClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final String SERVICIO = "user-service";
 
-    @Value("${microservices.user-service.url}")
-    private String userServiceUrl;
+    private final WebClient webClient;
+    private final PoliticaResiliencia resiliencia;
+
+    public UserServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${microservices.user-service.url}") String userServiceUrl,
+                             ResilienciaRegistro resilienciaRegistro) {
+        this.webClient = webClientBuilder.clone().baseUrl(userServiceUrl).build();
+        this.resiliencia = resilienciaRegistro.para(SERVICIO);
+    }
 
     /**
      * Obtiene información completa de un usuario por su ID.
@@ -32,12 +37,12 @@ public class UserServiceClient {
      */
     public UsuarioDTO getUserById(Long userId) {
         try {
-            return webClientBuilder.build()
+            return resiliencia.ejecutar(() -> webClient
                     .get()
-                    .uri(userServiceUrl + "/api/usuarios/" + userId)
+                    .uri("/api/usuarios/{id}", userId)
                     .retrieve()
                     .bodyToMono(UsuarioDTO.class)
-                    .timeout(Duration.ofSeconds(5))
+                    .timeout(Duration.ofSeconds(5)))
                     .onErrorResume(error -> {
                         log.error("Error al obtener usuario {}: {}", userId, error.getMessage());
                         return Mono.empty();
@@ -6,7 +6,6 @@ import io.swagger.v3.oas.models.info.Info;
 import org.modelmapper.ModelMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.reactive.function.client.WebClient;
 
 /**
  * Configuración principal de la aplicación ReviewService.
@@ -24,15 +23,6 @@ public class AppConfig {
         return new ModelMapper();
     }
 
-    /**
-     * Bean de WebClient.Builder para comunicación con otros microservicios.
-     * @return builder configurado de WebClient
-     */
-    @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
-    }
-
     /**
      * Configuración de OpenAPI/Swagger para documentación de la API.
      * @return configuración personalizada de OpenAPI
@@ -0,0 +1,42 @@
+package com.rentify.reviewService.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Modo de ejecución con hilos virtuales.
+ *
+ * Se activa con spring.threads.virtual.enabled=true (variable VIRTUAL_THREADS_ENABLED).
+ * En Java 21+ Spring Boot ejecuta los requests de Tomcat y el task executor de @Async
+ * sobre hilos virtuales, de modo que un .block() esperando a otro microservicio no
+ * retiene un hilo del pool de Tomcat. En Java 17 la propiedad se ignora y se informa al iniciar.
+ *
+ * Los clientes HTTP no bloquean dentro de bloques synchronized, por lo que no fijan
+ * (pinning) el hilo portador.
+ */
+@Configuration
+@Slf4j
+public class VirtualThreadsConfig {
+
+    private final Environment environment;
+
+    public VirtualThreadsConfig(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void informarModoEjecucion() {
+        boolean solicitado = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+
+        if (Threading.VIRTUAL.isActive(environment)) {
+            log.info("Requests y tareas @Async se ejecutan sobre hilos virtuales");
+        } else if (solicitado) {
+            log.warn("spring.threads.virtual.enabled=true requiere Java 21+ (actual: {}); se usan hilos de plataforma",
+                    Runtime.version().feature());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.rentify.reviewService.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Configuración del cliente HTTP hacia otros microservicios.
+ *
+ * Todas las llamadas comparten un pool de conexiones Reactor Netty con límites,
+ * cola de espera y desalojo de conexiones inactivas. El pool se separa por host remoto,
+ * por lo que cada microservicio (User, Property) tiene sus propias conexiones.
+ *
+ * Métricas del pool (Actuator /actuator/metrics): reactor.netty.connection.provider.*
+ */
+@Configuration
+public class WebClientConfig {
+
+    @Value("${webclient.timeout.connection:5000}")
+    private int connectionTimeout;
+
+    @Value("${webclient.timeout.response:10000}")
+    private long responseTimeout;
+
+    @Value("${webclient.pool.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${webclient.pool.pending-acquire-max-count:200}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${webclient.pool.pending-acquire-timeout:5000}")
+    private long pendingAcquireTimeout;
+
+    @Value("${webclient.pool.max-idle-time:30000}")
+    private long maxIdleTime;
+
+    @Value("${webclient.pool.max-life-time:300000}")
+    private long maxLifeTime;
+
+    @Value("${webclient.pool.evict-in-background:60000}")
+    private long evictInBackground;
+
+    @Value("${webclient.http2.enabled:false}")
+    private boolean http2;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider connectionProvider() {
+        return ConnectionProvider.builder("rentify-http")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeout))
+                .maxIdleTime(Duration.ofMillis(maxIdleTime))
+                .maxLifeTime(Duration.ofMillis(maxLifeTime))
+                .evictInBackground(Duration.ofMillis(evictInBackground))
+                .metrics(true)
+                .build();
+    }
+
+    /**
+     * Builder base de los clientes. Cada cliente construye una única instancia de WebClient
+     * con la URL de su microservicio y la reutiliza en todas sus llamadas.
+     * @return WebClient.Builder configurado con el pool de conexiones
+     */
+    @Bean
+    public WebClient.Builder webClientBuilder(ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeout)
+                .responseTimeout(Duration.ofMillis(responseTimeout))
+                .keepAlive(true);
+
+        if (http2) {
+            // HTTP/2 sin TLS (h2c) con fallback a HTTP/1.1 si el servidor no lo soporta
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient));
+    }
+}
@@ -2,6 +2,8 @@ package com.rentify.reviewService.service;
 
 import com.rentify.reviewService.client.PropertyServiceClient;
 import com.rentify.reviewService.client.UserServiceClient;
+import com.rentify.reviewService.client.VerificadorTokens;
+import com.rentify.reviewService.client.VerificadorTokens.UsuarioToken;
 import com.rentify.reviewService.constants.ReviewConstants.*;
 import com.rentify.reviewService.dto.ReviewDTO;
 import com.rentify.reviewService.dto.external.PropiedadDTO;
@@ -38,22 +40,21 @@ public class ReviewServiceImpl implements ReviewService {
     private final UserServiceClient userServiceClient;
     private final PropertyServiceClient propertyServiceClient;
     private final ModelMapper modelMapper;
+    private final VerificadorTokens verificadorTokens;
 
     @Override
     @Transactional
     public ReviewDTO crearResena(ReviewDTO reviewDTO) {
         log.info("Creando nueva reseña para usuario {}", reviewDTO.getUsuarioId());
 
-        // 1. Validar que el usuario existe
-        UsuarioDTO usuario = userServiceClient.getUserById(reviewDTO.getUsuarioId());
-        if (usuario == null) {
-            throw new BusinessValidationException(
-                    String.format(Mensajes.USUARIO_NO_EXISTE, reviewDTO.getUsuarioId())
-            );
-        }
+        // 1. Validar que el usuario existe y obtener su rol: con un token válido del mismo
+        //    usuario se lee del token, sin consultar User Service
+        String rol = verificadorTokens.paraUsuario(reviewDTO.getUsuarioId())
+                .map(UsuarioToken::rol)
+                .orElseGet(() -> obtenerRolRemoto(reviewDTO.getUsuarioId()));
 
         // 2. Validar rol del usuario
-        if (!Roles.puedeCrearResena(usuario.getRol())) {
+        if (!Roles.puedeCrearResena(rol)) {
             throw new BusinessValidationException(Mensajes.ROL_INVALIDO_RESENA);
         }
 
@@ -72,7 +73,7 @@ public class ReviewServiceImpl implements ReviewService {
 
         // 5. Validar según el tipo de reseña
         if (reviewDTO.getPropiedadId() != null) {
-            validarResenaPropiedad(reviewDTO, usuario);
+            validarResenaPropiedad(reviewDTO);
         } else if (reviewDTO.getUsuarioResenadoId() != null) {
             validarResenaUsuario(reviewDTO);
         } else {
@@ -110,7 +111,7 @@ public class ReviewServiceImpl implements ReviewService {
     /**
      * Validaciones específicas para reseñas de propiedades.
      */
-    private void validarResenaPropiedad(ReviewDTO reviewDTO, UsuarioDTO usuario) {
+    private void validarResenaPropiedad(ReviewDTO reviewDTO) {
         // Validar que la propiedad existe
         if (!propertyServiceClient.existsProperty(reviewDTO.getPropiedadId())) {
             throw new BusinessValidationException(
@@ -130,6 +131,19 @@ public class ReviewServiceImpl implements ReviewService {
         }
     }
 
+    /**
+     * Rol del usuario consultado a User Service. Falla si el usuario no existe.
+     */
+    private String obtenerRolRemoto(Long usuarioId) {
+        UsuarioDTO usuario = userServiceClient.getUserById(usuarioId);
+        if (usuario == null) {
+            throw new BusinessValidationException(
+                    String.format(Mensajes.USUARIO_NO_EXISTE, usuarioId)
+            );
+        }
+        return usuario.getRol();
+    }
+
     /**
      * Validaciones específicas para reseñas de usuarios.
      */
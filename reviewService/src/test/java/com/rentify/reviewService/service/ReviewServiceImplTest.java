@@ -2,6 +2,8 @@ package com.rentify.reviewService.service;
 
 import com.rentify.reviewService.client.PropertyServiceClient;
 import com.rentify.reviewService.client.UserServiceClient;
+import com.rentify.reviewService.client.VerificadorTokens;
+import com.rentify.reviewService.client.VerificadorTokens.UsuarioToken;
 import com.rentify.reviewService.dto.ReviewDTO;
 import com.rentify.reviewService.dto.external.UsuarioDTO;
 import com.rentify.reviewService.exception.BusinessValidationException;
@@ -48,6 +50,9 @@ class ReviewServiceImplTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private VerificadorTokens verificadorTokens;
+
     @InjectMocks
     private ReviewServiceImpl service;
 
@@ -111,6 +116,28 @@ class ReviewServiceImplTest {
         verify(reviewRepository, times(1)).save(any(Review.class));
     }
 
+    @Test
+    @DisplayName("Con token válido del autor, el rol se lee del token sin consultar User Service")
+    void crearResena_ConToken_NoConsultaUserService() {
+        // Arrange
+        when(verificadorTokens.paraUsuario(1L))
+                .thenReturn(Optional.of(new UsuarioToken(1L, 3L, "ARRIENDATARIO", 1L, "ACTIVO")));
+        when(tipoResenaRepository.findById(1L)).thenReturn(Optional.of(tipoResena));
+        when(propertyServiceClient.existsProperty(1L)).thenReturn(true);
+        when(reviewRepository.existsByUsuarioIdAndPropiedadId(1L, 1L)).thenReturn(false);
+        when(propertyServiceClient.isPropertyOwner(1L, 1L)).thenReturn(false);
+        when(modelMapper.map(any(ReviewDTO.class), eq(Review.class))).thenReturn(reviewEntity);
+        when(reviewRepository.save(any(Review.class))).thenReturn(reviewEntity);
+        when(modelMapper.map(any(Review.class), eq(ReviewDTO.class))).thenReturn(reviewDTO);
+
+        // Act
+        service.crearResena(reviewDTO);
+
+        // Assert - la única consulta es la de los detalles de la respuesta, no la de validación
+        verify(userServiceClient, times(1)).getUserById(1L);
+        verify(reviewRepository).save(any(Review.class));
+    }
+
     @Test
     @DisplayName("Debe lanzar excepción cuando el usuario no existe")
     void crearResena_UsuarioNoExiste_ThrowsException() {
@@ -0,0 +1,155 @@
+package com.rentify.userservice.config;
+
+import com.rentify.userservice.dto.UsuarioResumenDTO;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificación binaria de los resúmenes de usuario, para clientes que envían
+ * Accept: application/x-rentify-usuario-resumen.
+ *
+ * Formato (big-endian, como DataOutputStream): un byte de versión (1), un int con la cantidad de
+ * resúmenes y, por cada uno, id, rolId y estadoId como long (0 = sin valor), seguidos del nombre
+ * del rol y el nombre para mostrar como UTF (largo de 2 bytes + UTF-8 modificado, "" = sin valor).
+ * Un resumen ocupa unos 50 bytes, contra unos 90 en JSON, y se decodifica sin un parser.
+ *
+ * Un resumen individual se codifica igual que una lista de uno.
+ */
+@Component
+public class UsuarioResumenBinarioConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-rentify-usuario-resumen";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private static final byte VERSION = 1;
+
+    public UsuarioResumenBinarioConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return UsuarioResumenDTO.class.equals(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return esResumen(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return esResumen(type != null ? type : clazz) && canWrite(mediaType);
+    }
+
+    /**
+     * UsuarioResumenDTO o List&lt;UsuarioResumenDTO&gt;
+     */
+    private static boolean esResumen(Type type) {
+        if (UsuarioResumenDTO.class.equals(type)) {
+            return true;
+        }
+        return type instanceof ParameterizedType lista
+                && lista.getRawType() instanceof Class<?> raw
+                && List.class.isAssignableFrom(raw)
+                && UsuarioResumenDTO.class.equals(lista.getActualTypeArguments()[0]);
+    }
+
+    // ==================== Escritura ====================
+
+    @Override
+    protected void writeInternal(Object objeto, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException {
+        List<?> resumenes = objeto instanceof List<?> lista ? lista : List.of(objeto);
+        escribir(resumenes, outputMessage.getBody());
+    }
+
+    /**
+     * Codifica los resúmenes en el flujo
+     */
+    public static void escribir(List<?> resumenes, OutputStream salida) throws IOException {
+        DataOutputStream datos = new DataOutputStream(salida);
+        datos.writeByte(VERSION);
+        datos.writeInt(resumenes.size());
+        for (Object objeto : resumenes) {
+            UsuarioResumenDTO resumen = (UsuarioResumenDTO) objeto;
+            datos.writeLong(valor(resumen.getId()));
+            datos.writeLong(valor(resumen.getRolId()));
+            datos.writeLong(valor(resumen.getEstadoId()));
+            datos.writeUTF(resumen.getRol() != null ? resumen.getRol() : "");
+            datos.writeUTF(resumen.getNombre() != null ? resumen.getNombre() : "");
+        }
+        datos.flush();
+    }
+
+    private static long valor(Long id) {
+        return id != null ? id : 0L;
+    }
+
+    // ==================== Lectura ====================
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException {
+        List<UsuarioResumenDTO> resumenes = leer(inputMessage.getBody());
+        if (UsuarioResumenDTO.class.equals(type)) {
+            if (resumenes.size() != 1) {
+                throw new HttpMessageNotReadableException(
+                        "Se esperaba un resumen de usuario y llegaron " + resumenes.size(), inputMessage);
+            }
+            return resumenes.get(0);
+        }
+        return resumenes;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    /**
+     * Decodifica los resúmenes del flujo
+     */
+    public static List<UsuarioResumenDTO> leer(InputStream entrada) throws IOException {
+        DataInputStream datos = new DataInputStream(entrada);
+        byte version = datos.readByte();
+        if (version != VERSION) {
+            throw new IOException("Versión de resumen de usuario no soportada: " + version);
+        }
+        int cantidad = datos.readInt();
+        List<UsuarioResumenDTO> resumenes = new ArrayList<>(Math.max(0, Math.min(cantidad, 1024)));
+        for (int i = 0; i < cantidad; i++) {
+            resumenes.add(UsuarioResumenDTO.builder()
+                    .id(id(datos.readLong()))
+                    .rolId(id(datos.readLong()))
+                    .estadoId(id(datos.readLong()))
+                    .rol(texto(datos.readUTF()))
+                    .nombre(texto(datos.readUTF()))
+                    .build());
+        }
+        return resumenes;
+    }
+
+    private static Long id(long valor) {
+        return valor != 0 ? valor : null;
+    }
+
+    private static String texto(String valor) {
+        return valor.isEmpty() ? null : valor;
+    }
+}
@@ -75,6 +75,7 @@ public final class UserConstants {
         public static final int MIN_LENGTH_PASSWORD = 8;
         public static final int PUNTOS_INICIALES = 0;
         public static final int PUNTOS_POR_REFERIDO = 100;
+        public static final int MAX_USUARIOS_POR_LOTE = 500;
 
         private Validaciones() {}
     }
@@ -88,7 +89,9 @@ public final class UserConstants {
         public static final String USUARIO_EMAIL_NO_ENCONTRADO = "Usuario con email %s no encontrado";
         public static final String EMAIL_DUPLICADO = "El email %s ya está registrado";
         public static final String RUT_DUPLICADO = "El RUT %s ya está registrado";
+        public static final String DATOS_DUPLICADOS = "Ya existe un usuario con el mismo email, RUT o código de referido";
         public static final String EDAD_INSUFICIENTE = "Debe ser mayor de %d años para registrarse";
+        public static final String MAX_USUARIOS_LOTE_SUPERADO = "No se pueden consultar más de %d usuarios por request";
 
         // Errores de rol
         public static final String ROL_NO_ENCONTRADO = "Rol con ID %d no encontrado";
@@ -100,6 +103,8 @@ public final class UserConstants {
         public static final String CREDENCIALES_INVALIDAS = "Email o contraseña incorrectos";
         public static final String CUENTA_INACTIVA = "La cuenta está inactiva. Contacte al administrador";
         public static final String CUENTA_SUSPENDIDA = "La cuenta está suspendida. Contacte al administrador";
+        public static final String DEMASIADOS_INTENTOS = "Demasiados intentos de login. Intente nuevamente en %d segundos";
+        public static final String SERVICIO_SATURADO = "El servicio de autenticación está saturado. Intente nuevamente en unos segundos";
 
         // Errores de estado
         public static final String ESTADO_INVALIDO = "El estado con ID %d no es válido";
@@ -0,0 +1,40 @@
+package com.rentify.userservice.controller;
+
+import com.rentify.userservice.service.TokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Controller de autenticación entre microservicios
+ * Endpoints: GET /api/auth/claves
+ */
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+@Tag(name = "Autenticación", description = "Claves públicas para verificar los tokens emitidos en el login")
+public class AuthController {
+
+    private final TokenService tokenService;
+
+    /**
+     * Claves públicas de firma de tokens (JWK Set)
+     * GET /api/auth/claves
+     */
+    @GetMapping("/claves")
+    @Operation(summary = "Claves públicas de los tokens",
+            description = "Retorna las claves públicas RS256 con las que los demás microservicios verifican los tokens")
+    public ResponseEntity<Map<String, Object>> clavesPublicas() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic())
+                .body(tokenService.clavesPublicas());
+    }
+}
@@ -1,16 +1,21 @@
 package com.rentify.userservice.controller;
 
+import com.rentify.userservice.config.UsuarioResumenBinarioConverter;
 import com.rentify.userservice.dto.UsuarioDTO;
+import com.rentify.userservice.dto.UsuarioResumenDTO;
 import com.rentify.userservice.dto.UsuarioUpdateDTO;
 import com.rentify.userservice.dto.LoginDTO;
 import com.rentify.userservice.dto.LoginResponseDTO;
+import com.rentify.userservice.service.TokenService;
 import com.rentify.userservice.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -27,6 +32,7 @@ import java.util.List;
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final TokenService tokenService;
 
     /**
      * Registra un nuevo usuario
@@ -48,13 +54,21 @@ public class UsuarioController {
      */
     @PostMapping("/login")
     @Operation(summary = "Login de usuario",
-            description = "Autentica un usuario con email y contrasena")
+            description = "Autentica un usuario con email y contrasena. Retorna un token firmado " +
+                    "que los demas microservicios verifican sin consultar User Service")
     public ResponseEntity<LoginResponseDTO> login(
-            @Valid @RequestBody LoginDTO loginDTO) {
-        UsuarioDTO usuario = usuarioService.login(loginDTO);
+            @Valid @RequestBody LoginDTO loginDTO,
+            HttpServletRequest request) {
+        UsuarioDTO usuario = usuarioService.login(loginDTO, request.getRemoteAddr());
+        String token = tokenService.emitir(usuario);
+        // La contrasena no se devuelve al cliente
+        usuario.setClave(null);
         LoginResponseDTO response = LoginResponseDTO.builder()
                 .mensaje("Login exitoso")
                 .usuario(usuario)
+                .token(token)
+                .tipoToken("Bearer")
+                .expiraEn(tokenService.getDuracion().toSeconds())
                 .build();
         return ResponseEntity.ok(response);
     }
@@ -86,6 +100,48 @@ public class UsuarioController {
         return ResponseEntity.ok(usuarioService.obtenerPorId(id, includeDetails));
     }
 
+    /**
+     * Obtiene varios usuarios por sus IDs en una sola llamada
+     * POST /api/usuarios/batch
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Obtener usuarios por lote",
+            description = "Obtiene hasta 500 usuarios por sus IDs con una sola consulta. " +
+                    "Respeta el orden recibido, no repite IDs y omite los que no existen")
+    public ResponseEntity<List<UsuarioDTO>> obtenerPorIds(
+            @RequestBody List<Long> ids,
+            @RequestParam(defaultValue = "true") boolean includeDetails) {
+        return ResponseEntity.ok(usuarioService.obtenerPorIds(ids, includeDetails));
+    }
+
+    /**
+     * Obtiene el resumen de un usuario (ID, rol, estado y nombre), para validaciones entre microservicios
+     * GET /api/usuarios/{id}/resumen
+     */
+    @GetMapping(value = "/{id}/resumen",
+            produces = {MediaType.APPLICATION_JSON_VALUE, UsuarioResumenBinarioConverter.MEDIA_TYPE_VALUE})
+    @Operation(summary = "Obtener resumen de usuario",
+            description = "Obtiene solo ID, rol, estado y nombre para mostrar, sin datos personales. " +
+                    "Con Accept: " + UsuarioResumenBinarioConverter.MEDIA_TYPE_VALUE + " responde en binario")
+    public ResponseEntity<UsuarioResumenDTO> obtenerResumen(
+            @Parameter(description = "ID del usuario", example = "1")
+            @PathVariable Long id) {
+        return ResponseEntity.ok(usuarioService.obtenerResumen(id));
+    }
+
+    /**
+     * Obtiene el resumen de varios usuarios en una sola llamada
+     * POST /api/usuarios/resumen/batch
+     */
+    @PostMapping(value = "/resumen/batch",
+            produces = {MediaType.APPLICATION_JSON_VALUE, UsuarioResumenBinarioConverter.MEDIA_TYPE_VALUE})
+    @Operation(summary = "Obtener resúmenes de usuarios por lote",
+            description = "Obtiene el resumen de hasta 500 usuarios con una sola consulta, en el orden recibido. " +
+                    "Con Accept: " + UsuarioResumenBinarioConverter.MEDIA_TYPE_VALUE + " responde en binario")
+    public ResponseEntity<List<UsuarioResumenDTO>> obtenerResumenes(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(usuarioService.obtenerResumenes(ids));
+    }
+
     /**
      * Obtiene un usuario por su email
      * GET /api/usuarios/email/{email}
@@ -16,4 +16,13 @@ public class LoginResponseDTO {
 
     @Schema(description = "Información completa del usuario autenticado")
     private UsuarioDTO usuario;
+
+    @Schema(description = "Token firmado para autenticarse ante los demás microservicios (header Authorization: Bearer)")
+    private String token;
+
+    @Schema(description = "Tipo de token", example = "Bearer")
+    private String tipoToken;
+
+    @Schema(description = "Segundos de validez del token", example = "900")
+    private Long expiraEn;
 }
\ No newline at end of file
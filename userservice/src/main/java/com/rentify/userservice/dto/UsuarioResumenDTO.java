@@ -0,0 +1,28 @@
+package com.rentify.userservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Resumen de un usuario para validaciones entre microservicios (sin datos personales)")
+public class UsuarioResumenDTO {
+
+    @Schema(description = "ID del usuario", example = "1")
+    private Long id;
+
+    @Schema(description = "ID del rol", example = "3")
+    private Long rolId;
+
+    @Schema(description = "Nombre del rol", example = "ARRIENDATARIO")
+    private String rol;
+
+    @Schema(description = "ID del estado", example = "1")
+    private Long estadoId;
+
+    @Schema(description = "Nombre para mostrar (primer nombre y apellido)", example = "Juan Pérez")
+    private String nombre;
+}
@@ -0,0 +1,22 @@
+package com.rentify.userservice.exception;
+
+/**
+ * Excepción lanzada cuando se supera el límite de intentos de login por email o por IP
+ * HTTP Status: 429 TOO MANY REQUESTS
+ */
+public class DemasiadosIntentosException extends RuntimeException {
+
+    /**
+     * Segundos hasta que se libera un nuevo intento
+     */
+    private final long reintentarEnSegundos;
+
+    public DemasiadosIntentosException(String message, long reintentarEnSegundos) {
+        super(message);
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
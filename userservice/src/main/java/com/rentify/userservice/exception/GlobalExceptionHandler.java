@@ -1,6 +1,10 @@
 package com.rentify.userservice.exception;
 
+import com.rentify.userservice.constants.UserConstants.Mensajes;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -8,6 +12,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -20,6 +25,10 @@ import java.util.Map;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final String SQL_STATE_CLAVE_DUPLICADA = "23505";
+    private static final String SQL_STATE_INTEGRIDAD = "23000";
+    private static final int MYSQL_ENTRADA_DUPLICADA = 1062;
+
     /**
      * Maneja excepciones cuando no se encuentra un recurso
      * HTTP Status: 404 NOT FOUND
@@ -74,6 +83,85 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
     }
 
+    /**
+     * Maneja excepciones por exceso de intentos de login
+     * HTTP Status: 429 TOO MANY REQUESTS (con Retry-After)
+     */
+    @ExceptionHandler(DemasiadosIntentosException.class)
+    public ResponseEntity<ErrorResponse> handleDemasiadosIntentos(DemasiadosIntentosException ex) {
+        log.warn("Intentos de login limitados: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getReintentarEnSegundos()))
+                .body(error);
+    }
+
+    /**
+     * Maneja excepciones por saturación del servicio
+     * HTTP Status: 503 SERVICE UNAVAILABLE
+     */
+    @ExceptionHandler(ServicioSaturadoException.class)
+    public ResponseEntity<ErrorResponse> handleServicioSaturado(ServicioSaturadoException ex) {
+        log.error("Servicio saturado: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error("Service Unavailable")
+                .message(ex.getMessage())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    /**
+     * Maneja violaciones de restricciones únicas al guardar (por ejemplo, un email registrado
+     * al mismo tiempo desde otra instancia, que los filtros de UnicidadService aún no conocen)
+     * HTTP Status: 400 BAD REQUEST
+     * Cualquier otra violación de integridad (nulos, claves foráneas) sigue como error inesperado.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!esClaveDuplicada(ex)) {
+            return handleGenericException(ex);
+        }
+        log.error("Violación de restricción única: {}", ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Business Validation Error")
+                .message(Mensajes.DATOS_DUPLICADOS)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Busca en las causas el SQLException de una clave duplicada: SQLState 23505 (H2, PostgreSQL)
+     * o 23000 con el código de MySQL para entradas duplicadas
+     */
+    private static boolean esClaveDuplicada(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable causa = ex.getCause(); causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql) {
+                return SQL_STATE_CLAVE_DUPLICADA.equals(sql.getSQLState())
+                        || (SQL_STATE_INTEGRIDAD.equals(sql.getSQLState())
+                        && sql.getErrorCode() == MYSQL_ENTRADA_DUPLICADA);
+            }
+        }
+        return false;
+    }
+
     /**
      * Maneja errores de validación de campos (@Valid)
      * HTTP Status: 400 BAD REQUEST
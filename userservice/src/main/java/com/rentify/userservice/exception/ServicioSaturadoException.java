@@ -0,0 +1,17 @@
+package com.rentify.userservice.exception;
+
+/**
+ * Excepción lanzada cuando el servicio no puede atender la operación por saturación
+ * Ejemplo: pool de hash de contraseñas con la cola llena
+ * HTTP Status: 503 SERVICE UNAVAILABLE
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    public ServicioSaturadoException(String message) {
+        super(message);
+    }
+
+    public ServicioSaturadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
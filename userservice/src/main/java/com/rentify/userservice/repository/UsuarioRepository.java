@@ -1,9 +1,15 @@
 package com.rentify.userservice.repository;
 
 import com.rentify.userservice.model.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +19,27 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
+    /**
+     * Proyección con las columnas necesarias para el resumen del usuario
+     */
+    interface Resumen {
+        Long getId();
+        Long getRolId();
+        Long getEstadoId();
+        String getPnombre();
+        String getPapellido();
+    }
+
+    /**
+     * Proyección con las columnas únicas del usuario, para cargar los filtros de UnicidadService
+     */
+    interface ClavesUnicas {
+        Long getId();
+        String getEmail();
+        String getRut();
+        String getCodigoRef();
+    }
+
     /**
      * Busca un usuario por su email
      * @param email Email del usuario
@@ -83,4 +110,45 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      * @return Lista de usuarios que cumplen ambas condiciones
      */
     List<Usuario> findByRolIdAndEstadoId(Long rolId, Long estadoId);
-}
\ No newline at end of file
+
+    /**
+     * Reemplaza la contraseña guardada solo si no cambió desde que se leyó
+     * @param id ID del usuario
+     * @param anterior Valor leído al autenticar
+     * @param nueva Nuevo hash
+     * @return 1 si se actualizó, 0 si la contraseña ya había cambiado
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Usuario u SET u.clave = :nueva WHERE u.id = :id AND u.clave = :anterior")
+    int actualizarClave(@Param("id") Long id, @Param("anterior") String anterior, @Param("nueva") String nueva);
+
+    /**
+     * Lee solo las columnas del resumen de un usuario
+     * @param id ID del usuario
+     * @return Optional con el resumen si existe
+     */
+    @Query("SELECT u.id AS id, u.rolId AS rolId, u.estadoId AS estadoId, u.pnombre AS pnombre, " +
+            "u.papellido AS papellido FROM Usuario u WHERE u.id = :id")
+    Optional<Resumen> findResumenById(@Param("id") Long id);
+
+    /**
+     * Lee solo las columnas del resumen de varios usuarios (una consulta IN)
+     * @param ids IDs de los usuarios
+     * @return Resúmenes de los usuarios que existen, sin orden garantizado
+     */
+    @Query("SELECT u.id AS id, u.rolId AS rolId, u.estadoId AS estadoId, u.pnombre AS pnombre, " +
+            "u.papellido AS papellido FROM Usuario u WHERE u.id IN :ids")
+    List<Resumen> findResumenByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Lee email, RUT y código de referido de los usuarios con ID mayor al dado, ordenados por ID
+     * (paginación por clave, sin OFFSET)
+     * @param desde Último ID leído (0 para empezar)
+     * @param pagina Tamaño del lote (se usa solo la primera página)
+     * @return Columnas únicas del lote
+     */
+    @Query("SELECT u.id AS id, u.email AS email, u.rut AS rut, u.codigoRef AS codigoRef " +
+            "FROM Usuario u WHERE u.id > :desde ORDER BY u.id")
+    List<ClavesUnicas> findClavesUnicasDesde(@Param("desde") Long desde, Pageable pagina);
+}
@@ -0,0 +1,156 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.constants.UserConstants.Mensajes;
+import com.rentify.userservice.dto.EstadoDTO;
+import com.rentify.userservice.dto.RolDTO;
+import com.rentify.userservice.exception.ResourceNotFoundException;
+import com.rentify.userservice.model.Estado;
+import com.rentify.userservice.model.Rol;
+import com.rentify.userservice.repository.EstadoRepository;
+import com.rentify.userservice.repository.RolRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Copia en memoria de los roles y estados, para no consultarlos por cada usuario convertido a DTO.
+ *
+ * La copia es inmutable y se reemplaza completa: se carga al iniciar (después de los datos maestros
+ * de DataInitializerConfig) y se recarga después del commit de RolService.crearRol y
+ * EstadoService.crearEstado. Si se pide un ID que no está (por ejemplo, creado desde otra instancia),
+ * se recarga una vez, como máximo cada catalogo.recarga-minima-ms.
+ *
+ * Cada consulta retorna una copia del DTO, así quien lo modifique no altera la copia compartida.
+ */
+@Service
+@Slf4j
+public class CatalogoService {
+
+    /**
+     * Roles y estados por ID
+     */
+    private record Snapshot(Map<Long, RolDTO> roles, Map<Long, EstadoDTO> estados) {}
+
+    private final RolRepository rolRepository;
+    private final EstadoRepository estadoRepository;
+    private final long recargaMinimaNanos;
+    private final LongSupplier reloj;
+
+    private volatile Snapshot snapshot;
+    private long ultimaRecarga;
+
+    @Autowired
+    public CatalogoService(RolRepository rolRepository, EstadoRepository estadoRepository,
+                           @Value("${catalogo.recarga-minima-ms:5000}") long recargaMinimaMs) {
+        this(rolRepository, estadoRepository, recargaMinimaMs * 1_000_000, System::nanoTime);
+    }
+
+    CatalogoService(RolRepository rolRepository, EstadoRepository estadoRepository,
+                    long recargaMinimaNanos, LongSupplier reloj) {
+        this.rolRepository = rolRepository;
+        this.estadoRepository = estadoRepository;
+        this.recargaMinimaNanos = recargaMinimaNanos;
+        this.reloj = reloj;
+    }
+
+    // ==================== Consulta ====================
+
+    /**
+     * Busca un rol por ID sin consultar la base de datos
+     */
+    public Optional<RolDTO> buscarRol(Long id) {
+        return buscar(id, Snapshot::roles).map(rol -> new RolDTO(rol.getId(), rol.getNombre()));
+    }
+
+    /**
+     * Busca un estado por ID sin consultar la base de datos
+     */
+    public Optional<EstadoDTO> buscarEstado(Long id) {
+        return buscar(id, Snapshot::estados).map(estado -> new EstadoDTO(estado.getId(), estado.getNombre()));
+    }
+
+    /**
+     * Obtiene un rol por ID o lanza ResourceNotFoundException, como RolService.obtenerPorId
+     */
+    public RolDTO obtenerRol(Long id) {
+        return buscarRol(id).orElseThrow(() -> new ResourceNotFoundException(
+                String.format(Mensajes.ROL_NO_ENCONTRADO, id)
+        ));
+    }
+
+    private <T> Optional<T> buscar(Long id, Function<Snapshot, Map<Long, T>> mapa) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        Snapshot actual = snapshot != null ? snapshot : cargar();
+        T valor = mapa.apply(actual).get(id);
+        if (valor == null && recargarSiCorresponde()) {
+            valor = mapa.apply(snapshot).get(id);
+        }
+        return Optional.ofNullable(valor);
+    }
+
+    // ==================== Recarga ====================
+
+    /**
+     * Carga los roles y estados al terminar el inicio de la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        recargar();
+    }
+
+    /**
+     * Recarga la copia después del commit de la transacción en curso, o de inmediato si no hay una
+     */
+    public void recargarDespuesDelCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recargar();
+                }
+            });
+        } else {
+            recargar();
+        }
+    }
+
+    /**
+     * Lee todos los roles y estados y reemplaza la copia
+     */
+    public void recargar() {
+        cargar();
+    }
+
+    private synchronized Snapshot cargar() {
+        Map<Long, RolDTO> roles = rolRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Rol::getId, rol -> new RolDTO(rol.getId(), rol.getNombre())));
+        Map<Long, EstadoDTO> estados = estadoRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Estado::getId,
+                        estado -> new EstadoDTO(estado.getId(), estado.getNombre())));
+        snapshot = new Snapshot(roles, estados);
+        ultimaRecarga = reloj.getAsLong();
+        log.debug("Catálogo recargado: {} roles, {} estados", roles.size(), estados.size());
+        return snapshot;
+    }
+
+    private synchronized boolean recargarSiCorresponde() {
+        if (reloj.getAsLong() - ultimaRecarga < recargaMinimaNanos) {
+            return false;
+        }
+        cargar();
+        return true;
+    }
+}
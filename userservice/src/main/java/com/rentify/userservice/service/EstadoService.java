@@ -25,6 +25,7 @@ public class EstadoService {
 
     private final EstadoRepository estadoRepository;
     private final ModelMapper modelMapper;
+    private final CatalogoService catalogoService;
 
     /**
      * Crea un nuevo estado
@@ -44,6 +45,7 @@ public class EstadoService {
         Estado saved = estadoRepository.save(estado);
 
         log.info("Estado creado exitosamente con ID: {}", saved.getId());
+        catalogoService.recargarDespuesDelCommit();
         return modelMapper.map(saved, EstadoDTO.class);
     }
 
@@ -0,0 +1,80 @@
+package com.rentify.userservice.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para varios hilos.
+ *
+ * podriaContener retorna false solo si el valor nunca se agregó; true puede ser un falso positivo,
+ * con una probabilidad cercana a la configurada mientras no se superen los elementos esperados.
+ * Los bits se marcan con CAS, así agregar y consultar no necesitan un lock.
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long cantidadBits;
+    private final int cantidadHashes;
+    private final long esperados;
+
+    FiltroBloom(long esperados, double falsosPositivos) {
+        this.esperados = Math.max(1, esperados);
+        long m = (long) Math.ceil(-this.esperados * Math.log(falsosPositivos) / (Math.log(2) * Math.log(2)));
+        int palabras = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64));
+        this.bits = new AtomicLongArray(palabras);
+        this.cantidadBits = (long) palabras * 64;
+        this.cantidadHashes = (int) Math.max(1, Math.round((double) cantidadBits / this.esperados * Math.log(2)));
+    }
+
+    void agregar(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            long mascara = 1L << bit;
+            int palabra = (int) (bit >>> 6);
+            if ((bits.get(palabra) & mascara) == 0) {
+                bits.getAndAccumulate(palabra, mascara, (actual, m) -> actual | m);
+            }
+        }
+    }
+
+    boolean podriaContener(String valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1) | 1;
+        for (int i = 0; i < cantidadHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, cantidadBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Elementos para los que se dimensionó el filtro
+     */
+    long esperados() {
+        return esperados;
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre los caracteres, mezclado para repartir los bits bajos
+     */
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    /**
+     * Finalizador de SplitMix64
+     */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
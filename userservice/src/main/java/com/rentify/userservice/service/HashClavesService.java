@@ -0,0 +1,263 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.constants.UserConstants.Mensajes;
+import com.rentify.userservice.exception.ServicioSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hash y verificación de contraseñas en un pool de hilos dedicado y acotado.
+ *
+ * Las contraseñas se guardan como pbkdf2-sha256$iteraciones$salt$hash (salt y hash en base64).
+ * Cada hash cuesta decenas de milisegundos de CPU, así que no se calcula en los hilos de Tomcat:
+ * se encola en un pool de seguridad.claves.hilos hilos con una cola de seguridad.claves.cola
+ * tareas. Si la cola está llena, o la tarea no termina en seguridad.claves.espera-maxima-ms,
+ * se responde 503 en vez de acumular requests esperando CPU.
+ *
+ * Las contraseñas guardadas antes de este formato (texto plano) o con menos iteraciones que las
+ * configuradas se siguen aceptando; requiereActualizacion indica cuándo reemplazarlas.
+ *
+ * Métricas: rentify.login.hash.pool.activos, rentify.login.hash.pool.cola,
+ * rentify.login.hash.pool.rechazados y rentify.login.hash.espera (tiempo en cola).
+ */
+@Service
+@Slf4j
+public class HashClavesService {
+
+    public static final String PREFIJO = "pbkdf2-sha256";
+    private static final String ALGORITMO = "PBKDF2WithHmacSHA256";
+    private static final String SEPARADOR = "$";
+    private static final int BYTES_SALT = 16;
+    private static final int BITS_HASH = 256;
+
+    private final int iteraciones;
+    private final long esperaMaximaMs;
+    private final ThreadPoolExecutor pool;
+    private final SecureRandom random = new SecureRandom();
+
+    private final Counter rechazados;
+    private final Timer espera;
+
+    private volatile String hashFicticio;
+
+    @Autowired
+    public HashClavesService(@Value("${seguridad.claves.iteraciones:210000}") int iteraciones,
+                             @Value("${seguridad.claves.hilos:0}") int hilos,
+                             @Value("${seguridad.claves.cola:64}") int cola,
+                             @Value("${seguridad.claves.espera-maxima-ms:5000}") long esperaMaximaMs,
+                             ObjectProvider<MeterRegistry> meterRegistry) {
+        this(iteraciones, hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors(), cola, esperaMaximaMs,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    HashClavesService(int iteraciones, int hilos, int cola, long esperaMaximaMs, MeterRegistry meterRegistry) {
+        this.iteraciones = iteraciones;
+        this.esperaMaximaMs = esperaMaximaMs;
+
+        AtomicInteger numero = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola),
+                tarea -> {
+                    Thread hilo = new Thread(tarea, "hash-claves-" + numero.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rechazados = Counter.builder("rentify.login.hash.pool.rechazados")
+                .description("Operaciones de hash rechazadas por tener la cola llena")
+                .register(meterRegistry);
+        this.espera = Timer.builder("rentify.login.hash.espera")
+                .description("Tiempo que una operación de hash espera en la cola antes de ejecutarse")
+                .register(meterRegistry);
+        Gauge.builder("rentify.login.hash.pool.activos", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Hilos del pool de hash ocupados")
+                .register(meterRegistry);
+        Gauge.builder("rentify.login.hash.pool.cola", pool, p -> p.getQueue().size())
+                .description("Operaciones de hash esperando un hilo")
+                .register(meterRegistry);
+
+        log.info("Pool de hash de contraseñas: {} hilos, cola de {}, {} iteraciones PBKDF2", hilos, cola, iteraciones);
+    }
+
+    // ==================== API asíncrona ====================
+
+    /**
+     * Calcula el hash de la contraseña en el pool. Si la cola está llena, el futuro falla con
+     * ServicioSaturadoException.
+     */
+    public CompletableFuture<String> hashAsync(String clave) {
+        return enPool(() -> calcularHash(clave));
+    }
+
+    /**
+     * Verifica la contraseña contra el valor guardado (hash o texto plano heredado) en el pool.
+     */
+    public CompletableFuture<Boolean> verificarAsync(String clave, String almacenada) {
+        return enPool(() -> coincide(clave, almacenada));
+    }
+
+    // ==================== API bloqueante ====================
+
+    /**
+     * Calcula el hash de la contraseña y espera el resultado
+     */
+    public String hash(String clave) {
+        return esperar(hashAsync(clave));
+    }
+
+    /**
+     * Verifica la contraseña y espera el resultado
+     */
+    public boolean verificar(String clave, String almacenada) {
+        return esperar(verificarAsync(clave, almacenada));
+    }
+
+    /**
+     * Verifica la contraseña contra un hash que no corresponde a ningún usuario. Se usa cuando el
+     * email no existe, para que la respuesta tarde lo mismo que con una contraseña incorrecta.
+     */
+    public void verificarFicticio(String clave) {
+        if (hashFicticio == null) {
+            hashFicticio = hash("rentify-" + random.nextLong());
+        }
+        verificar(clave, hashFicticio);
+    }
+
+    /**
+     * Indica si el valor guardado debe reemplazarse por un hash con la configuración actual:
+     * texto plano heredado, formato desconocido o menos iteraciones que las configuradas.
+     */
+    public boolean requiereActualizacion(String almacenada) {
+        if (almacenada == null) {
+            return false;
+        }
+        String[] partes = partes(almacenada);
+        if (partes == null) {
+            return true;
+        }
+        try {
+            return Integer.parseInt(partes[1]) < iteraciones;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        pool.shutdownNow();
+    }
+
+    // ==================== Pool ====================
+
+    private <T> CompletableFuture<T> enPool(Supplier<T> operacion) {
+        long encolado = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                espera.record(System.nanoTime() - encolado, TimeUnit.NANOSECONDS);
+                return operacion.get();
+            }, pool);
+        } catch (RejectedExecutionException e) {
+            rechazados.increment();
+            log.warn("Pool de hash saturado: {} activos, {} en cola", pool.getActiveCount(), pool.getQueue().size());
+            return CompletableFuture.failedFuture(new ServicioSaturadoException(Mensajes.SERVICIO_SATURADO, e));
+        }
+    }
+
+    private <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.get(esperaMaximaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(false);
+            log.warn("Operación de hash sin terminar después de {} ms", esperaMaximaMs);
+            throw new ServicioSaturadoException(Mensajes.SERVICIO_SATURADO, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServicioSaturadoException(Mensajes.SERVICIO_SATURADO, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // ==================== PBKDF2 ====================
+
+    private String calcularHash(String clave) {
+        byte[] salt = new byte[BYTES_SALT];
+        random.nextBytes(salt);
+        Base64.Encoder base64 = Base64.getEncoder();
+        return String.join(SEPARADOR, PREFIJO, String.valueOf(iteraciones),
+                base64.encodeToString(salt), base64.encodeToString(pbkdf2(clave, salt, iteraciones)));
+    }
+
+    private boolean coincide(String clave, String almacenada) {
+        if (clave == null || almacenada == null) {
+            return false;
+        }
+        String[] partes = partes(almacenada);
+        if (partes == null) {
+            // Contraseña heredada en texto plano: comparación en tiempo constante
+            return MessageDigest.isEqual(clave.getBytes(StandardCharsets.UTF_8),
+                    almacenada.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] esperado = base64.decode(partes[3]);
+            byte[] calculado = pbkdf2(clave, base64.decode(partes[2]), Integer.parseInt(partes[1]));
+            return MessageDigest.isEqual(esperado, calculado);
+        } catch (IllegalArgumentException e) {
+            log.warn("Hash de contraseña con formato inválido: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Separa un valor pbkdf2-sha256$iteraciones$salt$hash. Retorna null si no tiene ese formato.
+     */
+    private static String[] partes(String almacenada) {
+        if (!almacenada.startsWith(PREFIJO + SEPARADOR)) {
+            return null;
+        }
+        String[] partes = almacenada.split("\\$");
+        return partes.length == 4 ? partes : null;
+    }
+
+    private static byte[] pbkdf2(String clave, byte[] salt, int iteraciones) {
+        PBEKeySpec spec = new PBEKeySpec(clave.toCharArray(), salt, iteraciones, BITS_HASH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITMO).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo calcular el hash de la contraseña", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
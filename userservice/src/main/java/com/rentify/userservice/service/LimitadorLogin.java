@@ -0,0 +1,204 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.constants.UserConstants.Mensajes;
+import com.rentify.userservice.exception.DemasiadosIntentosException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite de intentos de login en memoria, con un token bucket por email y otro por IP.
+ *
+ * Cada intento consume una ficha de ambos; si alguno está vacío el intento se rechaza con 429
+ * antes de buscar al usuario o calcular un hash, así un ataque de credential stuffing no puede
+ * ocupar el pool de hash. Las fichas se recargan de forma continua hasta la capacidad. Un login
+ * exitoso libera el bucket de su email.
+ *
+ * Cada mapa guarda a lo más seguridad.login.max-entradas buckets: al llenarse solo se descartan los
+ * que ya se recargaron por completo (equivalen a uno nuevo), nunca uno que está limitando. Si aun así
+ * no hay espacio, un email nuevo queda sujeto solo al límite de su IP y una IP nueva se rechaza.
+ *
+ * Métrica: rentify.login.limitados (tag por: email, ip).
+ */
+@Component
+@Slf4j
+public class LimitadorLogin {
+
+    /**
+     * Capacidad del bucket y fichas que recupera por minuto
+     */
+    record Limite(int capacidad, int porMinuto) {
+
+        /**
+         * Nanosegundos que tarda un bucket vacío en recargarse por completo
+         */
+        long nanosParaLlenar() {
+            return TimeUnit.MINUTES.toNanos(1) * capacidad / porMinuto;
+        }
+    }
+
+    private static final String IP_DESCONOCIDA = "desconocida";
+
+    /**
+     * Resultado de consumir cuando la clave no tiene bucket y el mapa no tiene espacio para uno
+     */
+    private static final long SIN_ESPACIO = -1;
+
+    private final Limite limiteEmail;
+    private final Limite limiteIp;
+    private final int maxEntradas;
+    private final LongSupplier reloj;
+
+    private final Map<String, Bucket> porEmail = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> porIp = new ConcurrentHashMap<>();
+
+    private final Counter limitadosEmail;
+    private final Counter limitadosIp;
+
+    @Autowired
+    public LimitadorLogin(@Value("${seguridad.login.limite-email.capacidad:5}") int capacidadEmail,
+                          @Value("${seguridad.login.limite-email.por-minuto:5}") int porMinutoEmail,
+                          @Value("${seguridad.login.limite-ip.capacidad:30}") int capacidadIp,
+                          @Value("${seguridad.login.limite-ip.por-minuto:30}") int porMinutoIp,
+                          @Value("${seguridad.login.max-entradas:10000}") int maxEntradas,
+                          ObjectProvider<MeterRegistry> meterRegistry) {
+        this(new Limite(capacidadEmail, porMinutoEmail), new Limite(capacidadIp, porMinutoIp), maxEntradas,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new), System::nanoTime);
+    }
+
+    LimitadorLogin(Limite limiteEmail, Limite limiteIp, int maxEntradas,
+                   MeterRegistry meterRegistry, LongSupplier reloj) {
+        this.limiteEmail = limiteEmail;
+        this.limiteIp = limiteIp;
+        this.maxEntradas = maxEntradas;
+        this.reloj = reloj;
+        this.limitadosEmail = limitados(meterRegistry, "email");
+        this.limitadosIp = limitados(meterRegistry, "ip");
+    }
+
+    private static Counter limitados(MeterRegistry meterRegistry, String por) {
+        return Counter.builder("rentify.login.limitados")
+                .description("Intentos de login rechazados por superar el límite")
+                .tag("por", por)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra un intento de login. Lanza DemasiadosIntentosException si el email o la IP
+     * superaron su límite.
+     */
+    public void registrarIntento(String email, String ip) {
+        long ahora = reloj.getAsLong();
+        long esperaIp = consumir(porIp, ip != null ? ip : IP_DESCONOCIDA, limiteIp, ahora);
+        long esperaEmail = consumir(porEmail, normalizar(email), limiteEmail, ahora);
+
+        if (esperaIp == SIN_ESPACIO) {
+            log.warn("Sin espacio para limitar la IP {}: se rechaza el intento", ip);
+            esperaIp = limiteIp.nanosParaLlenar();
+        }
+        if (esperaEmail == SIN_ESPACIO) {
+            log.warn("Sin espacio para limitar el email {}: solo aplica el límite de la IP", email);
+            esperaEmail = 0;
+        }
+
+        if (esperaIp > 0) {
+            limitadosIp.increment();
+            log.warn("Límite de intentos de login superado para la IP {}", ip);
+        }
+        if (esperaEmail > 0) {
+            limitadosEmail.increment();
+            log.warn("Límite de intentos de login superado para el email {}", email);
+        }
+        long espera = Math.max(esperaIp, esperaEmail);
+        if (espera > 0) {
+            long segundos = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(espera + TimeUnit.SECONDS.toNanos(1) - 1));
+            throw new DemasiadosIntentosException(String.format(Mensajes.DEMASIADOS_INTENTOS, segundos), segundos);
+        }
+    }
+
+    /**
+     * Libera el bucket del email después de un login exitoso
+     */
+    public void loginExitoso(String email) {
+        porEmail.remove(normalizar(email));
+    }
+
+    private static String normalizar(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Consume una ficha del bucket de la clave. Retorna 0 si había ficha, los nanosegundos
+     * que faltan para la siguiente, o SIN_ESPACIO si no se pudo crear el bucket.
+     */
+    private long consumir(Map<String, Bucket> buckets, String clave, Limite limite, long ahora) {
+        Bucket bucket = buckets.get(clave);
+        if (bucket == null) {
+            if (buckets.size() >= maxEntradas) {
+                // Descartar un bucket que no está lleno le devolvería sus fichas a quien lo agotó
+                buckets.values().removeIf(b -> b.lleno(ahora));
+                if (buckets.size() >= maxEntradas) {
+                    return SIN_ESPACIO;
+                }
+            }
+            bucket = buckets.computeIfAbsent(clave, c -> new Bucket(limite, ahora));
+        }
+        return bucket.consumir(ahora);
+    }
+
+    /**
+     * Cantidad de emails e IPs con bucket en memoria
+     */
+    int tamano() {
+        return porEmail.size() + porIp.size();
+    }
+
+    /**
+     * Token bucket con recarga continua
+     */
+    private static final class Bucket {
+        private static final double NANOS_POR_MINUTO = TimeUnit.MINUTES.toNanos(1);
+
+        private final int capacidad;
+        private final int porMinuto;
+        private double fichas;
+        private long actualizado;
+
+        private Bucket(Limite limite, long ahora) {
+            this.capacidad = limite.capacidad();
+            this.porMinuto = limite.porMinuto();
+            this.fichas = limite.capacidad();
+            this.actualizado = ahora;
+        }
+
+        private synchronized long consumir(long ahora) {
+            recargar(ahora);
+            if (fichas >= 1) {
+                fichas -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) ((1 - fichas) * NANOS_POR_MINUTO / porMinuto));
+        }
+
+        private synchronized boolean lleno(long ahora) {
+            recargar(ahora);
+            return fichas >= capacidad;
+        }
+
+        private void recargar(long ahora) {
+            fichas = Math.min(capacidad, fichas + (ahora - actualizado) * (double) porMinuto / NANOS_POR_MINUTO);
+            actualizado = ahora;
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class RolService {
 
     private final RolRepository rolRepository;
     private final ModelMapper modelMapper;
+    private final CatalogoService catalogoService;
 
     /**
      * Crea un nuevo rol
@@ -54,6 +55,7 @@ public class RolService {
         Rol saved = rolRepository.save(rol);
 
         log.info("Rol creado exitosamente con ID: {}", saved.getId());
+        catalogoService.recargarDespuesDelCommit();
         return modelMapper.map(saved, RolDTO.class);
     }
 
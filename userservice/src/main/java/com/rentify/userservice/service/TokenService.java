@@ -0,0 +1,174 @@
+package com.rentify.userservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.userservice.dto.UsuarioDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emisión de tokens firmados de corta duración para el usuario autenticado.
+ *
+ * El token tiene el formato de un JWT firmado con RS256 (header.payload.firma en base64url) y lleva
+ * el ID del usuario (sub), su rol y su estado. Los demás microservicios lo verifican localmente con
+ * la clave pública publicada en GET /api/auth/claves, sin consultar GET /api/usuarios/{id}.
+ *
+ * Las claves se leen de tokens.clave-privada (PKCS#8) y tokens.clave-publica (X.509), en base64.
+ * Si no están configuradas se genera un par al iniciar: sirve para desarrollo, pero los tokens no
+ * sobreviven un reinicio ni se comparten entre instancias.
+ */
+@Service
+@Slf4j
+public class TokenService {
+
+    public static final String ALGORITMO = "RS256";
+    private static final String ALGORITMO_FIRMA = "SHA256withRSA";
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper;
+    private final String emisor;
+    private final Duration duracion;
+    private final KeyPair claves;
+    private final String kid;
+    private final Clock reloj;
+
+    @Autowired
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${tokens.emisor:rentify-userservice}") String emisor,
+                        @Value("${tokens.duracion-segundos:900}") long duracionSegundos,
+                        @Value("${tokens.clave-privada:}") String clavePrivada,
+                        @Value("${tokens.clave-publica:}") String clavePublica) {
+        this(objectMapper, emisor, Duration.ofSeconds(duracionSegundos),
+                cargarClaves(clavePrivada, clavePublica), Clock.systemUTC());
+    }
+
+    TokenService(ObjectMapper objectMapper, String emisor, Duration duracion, KeyPair claves, Clock reloj) {
+        this.objectMapper = objectMapper;
+        this.emisor = emisor;
+        this.duracion = duracion;
+        this.claves = claves;
+        this.kid = calcularKid((RSAPublicKey) claves.getPublic());
+        this.reloj = reloj;
+    }
+
+    /**
+     * Emite un token para el usuario. Requiere el DTO con detalles para incluir los nombres de rol y estado.
+     */
+    public String emitir(UsuarioDTO usuario) {
+        long ahora = reloj.instant().getEpochSecond();
+
+        Map<String, Object> header = new LinkedHashMap<>();
+        header.put("alg", ALGORITMO);
+        header.put("typ", "JWT");
+        header.put("kid", kid);
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("iss", emisor);
+        payload.put("sub", String.valueOf(usuario.getId()));
+        payload.put("rolId", usuario.getRolId());
+        payload.put("rol", usuario.getRol() != null ? usuario.getRol().getNombre() : null);
+        payload.put("estadoId", usuario.getEstadoId());
+        payload.put("estado", usuario.getEstado() != null ? usuario.getEstado().getNombre() : null);
+        payload.put("iat", ahora);
+        payload.put("exp", ahora + duracion.toSeconds());
+
+        String contenido = base64(header) + "." + base64(payload);
+        try {
+            Signature firma = Signature.getInstance(ALGORITMO_FIRMA);
+            firma.initSign(claves.getPrivate());
+            firma.update(contenido.getBytes(StandardCharsets.US_ASCII));
+            return contenido + "." + BASE64URL.encodeToString(firma.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo firmar el token", e);
+        }
+    }
+
+    /**
+     * Duración de los tokens emitidos
+     */
+    public Duration getDuracion() {
+        return duracion;
+    }
+
+    /**
+     * Claves públicas vigentes en formato JWK Set, para que los demás microservicios verifiquen los tokens
+     */
+    public Map<String, Object> clavesPublicas() {
+        RSAPublicKey publica = (RSAPublicKey) claves.getPublic();
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "RSA");
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITMO);
+        jwk.put("kid", kid);
+        jwk.put("n", base64(publica.getModulus()));
+        jwk.put("e", base64(publica.getPublicExponent()));
+        return Map.of("keys", List.of(jwk));
+    }
+
+    private String base64(Map<String, Object> json) {
+        try {
+            return BASE64URL.encodeToString(objectMapper.writeValueAsBytes(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el token", e);
+        }
+    }
+
+    /**
+     * Entero sin signo en big-endian, como lo exige JWK
+     */
+    private static String base64(BigInteger valor) {
+        byte[] bytes = valor.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return BASE64URL.encodeToString(bytes);
+    }
+
+    private static String calcularKid(RSAPublicKey publica) {
+        try {
+            byte[] huella = MessageDigest.getInstance("SHA-256").digest(publica.getEncoded());
+            return BASE64URL.encodeToString(Arrays.copyOf(huella, 12));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo calcular el identificador de la clave", e);
+        }
+    }
+
+    private static KeyPair cargarClaves(String clavePrivada, String clavePublica) {
+        try {
+            KeyFactory rsa = KeyFactory.getInstance("RSA");
+            if (clavePrivada.isBlank() || clavePublica.isBlank()) {
+                log.warn("tokens.clave-privada/tokens.clave-publica no configuradas: se genera un par de claves " +
+                        "temporal y los tokens emitidos no serán válidos tras un reinicio");
+                KeyPairGenerator generador = KeyPairGenerator.getInstance("RSA");
+                generador.initialize(2048);
+                return generador.generateKeyPair();
+            }
+            return new KeyPair(
+                    rsa.generatePublic(new X509EncodedKeySpec(Base64.getMimeDecoder().decode(clavePublica))),
+                    rsa.generatePrivate(new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(clavePrivada))));
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Claves de firma de tokens inválidas", e);
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.constants.UserConstants.Validaciones;
+import com.rentify.userservice.repository.UsuarioRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Pre-verificación en memoria de email, RUT y código de referido únicos, para que el registro
+ * no consulte la base de datos en el caso común de un valor que nunca se usó.
+ *
+ * Cada campo tiene un filtro de Bloom que se carga después del inicio (en segundo plano, por lotes
+ * de IDs) y se actualiza con cada registro y cambio de email. Si el filtro dice que el valor no
+ * existe, no existe; si dice que podría existir, el llamador consulta la base de datos como antes.
+ * Mientras no termina la primera carga todo se consulta en la base de datos. Las restricciones
+ * únicas de la tabla siguen siendo la fuente de verdad: un valor insertado desde otra instancia
+ * entre dos cargas se detecta al guardar.
+ *
+ * También mantiene un pool de códigos de referido generados en segundo plano y reservados en el
+ * filtro, así registrar un usuario no reintenta existsByCodigoRef. Los filtros se reconstruyen
+ * cuando los valores agregados superan su capacidad.
+ *
+ * Métricas: rentify.registro.unicidad (tags campo, resultado: omitida, consulta) y
+ * rentify.registro.codigos.disponibles.
+ */
+@Service
+@Slf4j
+public class UnicidadService {
+
+    private static final String CARACTERES_CODIGO = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    private static final int MAX_DESCARTES_SEGUIDOS = 100;
+
+    /**
+     * Un filtro por campo, reemplazados juntos
+     */
+    private record Filtros(FiltroBloom emails, FiltroBloom ruts, FiltroBloom codigos) {}
+
+    private final UsuarioRepository usuarioRepository;
+    private final long capacidadMinima;
+    private final double falsosPositivos;
+    private final int loteCarga;
+    private final Executor fondo;
+
+    private final BlockingQueue<String> codigos;
+    private final AtomicBoolean reconstruyendo = new AtomicBoolean();
+    private final AtomicBoolean rellenando = new AtomicBoolean();
+    private final AtomicLong agregados = new AtomicLong();
+
+    private volatile Filtros filtros;
+    private volatile Filtros siguientes;
+
+    private final Counter emailsOmitidos;
+    private final Counter emailsConsultados;
+    private final Counter rutsOmitidos;
+    private final Counter rutsConsultados;
+
+    @Autowired
+    public UnicidadService(UsuarioRepository usuarioRepository,
+                           @Value("${unicidad.capacidad-minima:100000}") long capacidadMinima,
+                           @Value("${unicidad.falsos-positivos:0.01}") double falsosPositivos,
+                           @Value("${unicidad.pool-codigos:256}") int tamanoPool,
+                           @Value("${unicidad.lote-carga:5000}") int loteCarga,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this(usuarioRepository, capacidadMinima, falsosPositivos, tamanoPool, loteCarga,
+                meterRegistry.getIfAvailable(SimpleMeterRegistry::new),
+                Executors.newSingleThreadExecutor(tarea -> {
+                    Thread hilo = new Thread(tarea, "unicidad-fondo");
+                    hilo.setDaemon(true);
+                    return hilo;
+                }));
+    }
+
+    UnicidadService(UsuarioRepository usuarioRepository, long capacidadMinima, double falsosPositivos,
+                    int tamanoPool, int loteCarga, MeterRegistry meterRegistry, Executor fondo) {
+        this.usuarioRepository = usuarioRepository;
+        this.capacidadMinima = capacidadMinima;
+        this.falsosPositivos = falsosPositivos;
+        this.loteCarga = loteCarga;
+        this.fondo = fondo;
+        this.codigos = new ArrayBlockingQueue<>(Math.max(1, tamanoPool));
+        this.emailsOmitidos = verificaciones(meterRegistry, "email", "omitida");
+        this.emailsConsultados = verificaciones(meterRegistry, "email", "consulta");
+        this.rutsOmitidos = verificaciones(meterRegistry, "rut", "omitida");
+        this.rutsConsultados = verificaciones(meterRegistry, "rut", "consulta");
+        Gauge.builder("rentify.registro.codigos.disponibles", codigos, BlockingQueue::size)
+                .description("Códigos de referido generados y sin usar")
+                .register(meterRegistry);
+    }
+
+    private static Counter verificaciones(MeterRegistry meterRegistry, String campo, String resultado) {
+        return Counter.builder("rentify.registro.unicidad")
+                .description("Verificaciones de unicidad resueltas en memoria o en la base de datos")
+                .tag("campo", campo)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    // ==================== Consulta ====================
+
+    /**
+     * false si el email seguro no está registrado; true si hay que consultar la base de datos
+     */
+    public boolean emailPodriaExistir(String email) {
+        return podriaExistir(Filtros::emails, normalizarEmail(email), emailsConsultados, emailsOmitidos);
+    }
+
+    /**
+     * false si el RUT seguro no está registrado; true si hay que consultar la base de datos
+     */
+    public boolean rutPodriaExistir(String rut) {
+        return podriaExistir(Filtros::ruts, normalizarRut(rut), rutsConsultados, rutsOmitidos);
+    }
+
+    private boolean podriaExistir(Function<Filtros, FiltroBloom> filtro, String valor,
+                                  Counter consultados, Counter omitidos) {
+        Filtros actuales = filtros;
+        boolean podria = actuales == null || valor == null || filtro.apply(actuales).podriaContener(valor);
+        (podria ? consultados : omitidos).increment();
+        return podria;
+    }
+
+    /**
+     * Toma un código de referido del pool, o vacío si no hay (el llamador lo genera consultando
+     * la base de datos)
+     */
+    public Optional<String> tomarCodigoReferido() {
+        String codigo = codigos.poll();
+        if (codigos.size() <= codigos.remainingCapacity()) {
+            rellenarEnSegundoPlano();
+        }
+        return Optional.ofNullable(codigo);
+    }
+
+    // ==================== Escritura ====================
+
+    /**
+     * Agrega los valores de un usuario recién registrado
+     */
+    public void registrar(String email, String rut, String codigoRef) {
+        agregar(Filtros::emails, normalizarEmail(email));
+        agregar(Filtros::ruts, normalizarRut(rut));
+        agregar(Filtros::codigos, codigoRef);
+        Filtros actuales = filtros;
+        if (actuales != null && agregados.incrementAndGet() > actuales.emails().esperados()) {
+            log.info("Filtros de unicidad sobre su capacidad ({}), se reconstruyen", actuales.emails().esperados());
+            reconstruirEnSegundoPlano();
+        }
+    }
+
+    /**
+     * Agrega el nuevo email de un usuario que lo cambió
+     */
+    public void registrarEmail(String email) {
+        agregar(Filtros::emails, normalizarEmail(email));
+    }
+
+    private void agregar(Function<Filtros, FiltroBloom> filtro, String valor) {
+        if (valor == null) {
+            return;
+        }
+        // Primero el filtro en construcción, así no se pierde si se publica entre ambas líneas
+        Filtros enConstruccion = siguientes;
+        if (enConstruccion != null) {
+            filtro.apply(enConstruccion).agregar(valor);
+        }
+        Filtros actuales = filtros;
+        if (actuales != null) {
+            filtro.apply(actuales).agregar(valor);
+        }
+    }
+
+    // ==================== Carga y pool ====================
+
+    /**
+     * Carga los filtros y el pool de códigos después del inicio de la aplicación
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        reconstruirEnSegundoPlano();
+    }
+
+    private void reconstruirEnSegundoPlano() {
+        if (!reconstruyendo.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            fondo.execute(() -> {
+                try {
+                    reconstruir();
+                } finally {
+                    reconstruyendo.set(false);
+                }
+                rellenarPool();
+            });
+        } catch (RuntimeException e) {
+            reconstruyendo.set(false);
+            log.warn("No se pudo programar la carga de los filtros de unicidad: {}", e.getMessage());
+        }
+    }
+
+    private void rellenarEnSegundoPlano() {
+        if (filtros == null || !rellenando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            fondo.execute(() -> {
+                try {
+                    rellenarPool();
+                } finally {
+                    rellenando.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            rellenando.set(false);
+            log.warn("No se pudo programar el relleno de códigos de referido: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Lee email, RUT y código de todos los usuarios por lotes de IDs y reemplaza los filtros
+     */
+    void reconstruir() {
+        long inicio = System.nanoTime();
+        long capacidad = Math.max(capacidadMinima, 2 * usuarioRepository.count());
+        Filtros nuevos = new Filtros(new FiltroBloom(capacidad, falsosPositivos),
+                new FiltroBloom(capacidad, falsosPositivos), new FiltroBloom(capacidad, falsosPositivos));
+        siguientes = nuevos;
+        try {
+            long cargados = 0;
+            Long desde = 0L;
+            List<UsuarioRepository.ClavesUnicas> lote;
+            do {
+                lote = usuarioRepository.findClavesUnicasDesde(desde, PageRequest.of(0, loteCarga));
+                for (UsuarioRepository.ClavesUnicas claves : lote) {
+                    agregarA(nuevos.emails(), normalizarEmail(claves.getEmail()));
+                    agregarA(nuevos.ruts(), normalizarRut(claves.getRut()));
+                    agregarA(nuevos.codigos(), claves.getCodigoRef());
+                    desde = claves.getId();
+                }
+                cargados += lote.size();
+            } while (lote.size() == loteCarga);
+
+            // Los códigos del pool siguen reservados
+            codigos.forEach(nuevos.codigos()::agregar);
+            agregados.set(cargados + codigos.size());
+            filtros = nuevos;
+            log.info("Filtros de unicidad cargados: {} usuarios, capacidad {}, {} ms",
+                    cargados, capacidad, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.warn("No se pudieron cargar los filtros de unicidad, se sigue consultando la base de datos: {}",
+                    e.getMessage());
+        } finally {
+            siguientes = null;
+        }
+    }
+
+    private static void agregarA(FiltroBloom filtro, String valor) {
+        if (valor != null) {
+            filtro.agregar(valor);
+        }
+    }
+
+    /**
+     * Genera códigos que el filtro confirma como no usados hasta llenar el pool
+     */
+    void rellenarPool() {
+        int descartesSeguidos = 0;
+        while (codigos.remainingCapacity() > 0) {
+            Filtros actuales = filtros;
+            if (actuales == null) {
+                return;
+            }
+            String codigo = nuevoCodigo();
+            if (actuales.codigos().podriaContener(codigo)) {
+                if (++descartesSeguidos >= MAX_DESCARTES_SEGUIDOS) {
+                    log.warn("Filtro de códigos de referido saturado, se detiene el relleno del pool");
+                    return;
+                }
+                continue;
+            }
+            descartesSeguidos = 0;
+            agregar(Filtros::codigos, codigo);
+            agregados.incrementAndGet();
+            codigos.offer(codigo);
+        }
+    }
+
+    private static String nuevoCodigo() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        char[] codigo = new char[Validaciones.LONGITUD_CODIGO_REF];
+        for (int i = 0; i < codigo.length; i++) {
+            codigo[i] = CARACTERES_CODIGO.charAt(random.nextInt(CARACTERES_CODIGO.length()));
+        }
+        return new String(codigo);
+    }
+
+    /**
+     * Indica si la primera carga de los filtros terminó
+     */
+    boolean cargado() {
+        return filtros != null;
+    }
+
+    int codigosDisponibles() {
+        return codigos.size();
+    }
+
+    // ==================== Normalización ====================
+
+    // Las bases de datos comparan con o sin mayúsculas según la collation; normalizar solo
+    // puede agregar falsos positivos, nunca ocultar un duplicado
+
+    private static String normalizarEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static String normalizarRut(String rut) {
+        return rut != null ? rut.trim().toUpperCase(Locale.ROOT) : null;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        if (fondo instanceof ExecutorService servicio) {
+            servicio.shutdownNow();
+        }
+    }
+}
@@ -5,12 +5,16 @@ import com.rentify.userservice.dto.UsuarioDTO;
 import com.rentify.userservice.dto.UsuarioUpdateDTO;
 import com.rentify.userservice.dto.LoginDTO;
 import com.rentify.userservice.dto.RolDTO;
-import com.rentify.userservice.dto.EstadoDTO;
+import com.rentify.userservice.dto.UsuarioResumenDTO;
 import com.rentify.userservice.exception.AuthenticationException;
 import com.rentify.userservice.exception.BusinessValidationException;
+import com.rentify.userservice.exception.DemasiadosIntentosException;
 import com.rentify.userservice.exception.ResourceNotFoundException;
+import com.rentify.userservice.exception.ServicioSaturadoException;
 import com.rentify.userservice.model.Usuario;
 import com.rentify.userservice.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -21,8 +25,14 @@ import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -35,17 +45,22 @@ import java.util.stream.Collectors;
 public class UsuarioService {
 
     private final UsuarioRepository usuarioRepository;
-    private final RolService rolService;
-    private final EstadoService estadoService;
+    private final CatalogoService catalogoService;
     private final ModelMapper modelMapper;
+    private final HashClavesService hashClaves;
+    private final LimitadorLogin limitadorLogin;
+    private final MeterRegistry meterRegistry;
+    private final UnicidadService unicidad;
 
     // Formato de fecha usado en DTOs
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     /**
-     * Registra un nuevo usuario en el sistema
+     * Registra un nuevo usuario en el sistema.
+     * Sin transacción, como el login: el hash de la clave corre en el pool de HashClavesService y no
+     * debe retener una conexión mientras espera. Las validaciones van antes para no gastar CPU en un
+     * registro que se va a rechazar; el save abre su propia transacción.
      */
-    @Transactional
     public UsuarioDTO registrarUsuario(UsuarioDTO usuarioDTO) {
         log.info("Registrando nuevo usuario: {}", usuarioDTO.getEmail());
 
@@ -56,22 +71,24 @@ public class UsuarioService {
         }
         validarEdadMinima(fechaNacimiento);
 
-        // 2. Validar email unico
-        if (usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
+        // 2. Validar email unico (solo se consulta la BD si el filtro no lo descarta)
+        if (unicidad.emailPodriaExistir(usuarioDTO.getEmail())
+                && usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
             throw new BusinessValidationException(
                     String.format(Mensajes.EMAIL_DUPLICADO, usuarioDTO.getEmail())
             );
         }
 
         // 3. Validar RUT unico
-        if (usuarioRepository.existsByRut(usuarioDTO.getRut())) {
+        if (unicidad.rutPodriaExistir(usuarioDTO.getRut())
+                && usuarioRepository.existsByRut(usuarioDTO.getRut())) {
             throw new BusinessValidationException(
                     String.format(Mensajes.RUT_DUPLICADO, usuarioDTO.getRut())
             );
         }
 
-        // 4. Generar codigo de referido unico
-        String codigoRef = generarCodigoReferido();
+        // 4. Tomar un codigo de referido unico del pool, o generarlo si esta vacio
+        String codigoRef = unicidad.tomarCodigoReferido().orElseGet(this::generarCodigoReferido);
 
         // 5. Detectar si es correo DUOC (beneficio 20% descuento)
         boolean isDuocEmail = usuarioDTO.getEmail().toLowerCase().endsWith(Validaciones.DOMINIO_DUOC);
@@ -83,7 +100,7 @@ public class UsuarioService {
         Long rolId = usuarioDTO.getRolId() != null ? usuarioDTO.getRolId() : 3L;
 
         // 8. Validar que el rol existe
-        rolService.obtenerPorId(rolId);
+        catalogoService.obtenerRol(rolId);
 
         // 9. Manejar segundo nombre opcional (puede ser null o vacío)
         String snombre = usuarioDTO.getSnombre();
@@ -91,7 +108,10 @@ public class UsuarioService {
             snombre = "";
         }
 
-        // 10. Guardar usuario
+        // 10. Hash de la clave (fuera de cualquier transacción)
+        String claveHash = hashClaves.hash(usuarioDTO.getClave());
+
+        // 11. Guardar usuario
         Usuario usuario = new Usuario();
         usuario.setPnombre(usuarioDTO.getPnombre());
         usuario.setSnombre(snombre);  // Puede ser vacío
@@ -100,7 +120,7 @@ public class UsuarioService {
         usuario.setEmail(usuarioDTO.getEmail());
         usuario.setRut(usuarioDTO.getRut());
         usuario.setNtelefono(usuarioDTO.getNtelefono());
-        usuario.setClave(usuarioDTO.getClave());
+        usuario.setClave(claveHash);
         usuario.setPuntos(Validaciones.PUNTOS_INICIALES);
         usuario.setDuocVip(isDuocEmail);
         usuario.setCodigoRef(codigoRef);
@@ -110,6 +130,7 @@ public class UsuarioService {
         usuario.setRolId(rolId);
 
         Usuario saved = usuarioRepository.save(usuario);
+        unicidad.registrar(saved.getEmail(), saved.getRut(), saved.getCodigoRef());
 
         log.info("Usuario registrado exitosamente con ID: {} - DUOC VIP: {}",
                 saved.getId(), Boolean.valueOf(saved.getDuocVip()));
@@ -120,21 +141,60 @@ public class UsuarioService {
     /**
      * Autentica un usuario (login)
      */
-    @Transactional(readOnly = true)
     public UsuarioDTO login(LoginDTO loginDTO) {
+        return login(loginDTO, null);
+    }
+
+    /**
+     * Autentica un usuario (login) desde la IP dada.
+     * Sin transacción: la verificación de la contraseña corre en el pool de HashClavesService y no
+     * debe retener una conexión mientras espera. Registra rentify.login.duracion (tag resultado).
+     */
+    public UsuarioDTO login(LoginDTO loginDTO, String ip) {
+        long inicio = System.nanoTime();
+        String resultado = "error";
+        try {
+            UsuarioDTO usuario = autenticar(loginDTO, ip);
+            resultado = "exitoso";
+            return usuario;
+        } catch (DemasiadosIntentosException e) {
+            resultado = "limitado";
+            throw e;
+        } catch (ServicioSaturadoException e) {
+            resultado = "saturado";
+            throw e;
+        } catch (AuthenticationException e) {
+            resultado = "rechazado";
+            throw e;
+        } finally {
+            Timer.builder("rentify.login.duracion")
+                    .description("Duración del login, incluida la espera del pool de hash")
+                    .tag("resultado", resultado)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private UsuarioDTO autenticar(LoginDTO loginDTO, String ip) {
         log.info("Intento de login para email: {}", loginDTO.getEmail());
 
-        // 1. Buscar usuario por email
-        Usuario usuario = usuarioRepository.findByEmail(loginDTO.getEmail())
-                .orElseThrow(() -> new AuthenticationException(Mensajes.CREDENCIALES_INVALIDAS));
+        // 1. Limitar intentos por email e IP antes de gastar CPU en el hash
+        limitadorLogin.registrarIntento(loginDTO.getEmail(), ip);
 
-        // 2. Verificar contrasena (en produccion usar BCrypt)
-        if (!usuario.getClave().equals(loginDTO.getClave())) {
+        // 2. Buscar usuario por email (si no existe se verifica igual, para no revelarlo por el tiempo de respuesta)
+        Usuario usuario = usuarioRepository.findByEmail(loginDTO.getEmail()).orElse(null);
+        if (usuario == null) {
+            hashClaves.verificarFicticio(loginDTO.getClave());
+            throw new AuthenticationException(Mensajes.CREDENCIALES_INVALIDAS);
+        }
+
+        // 3. Verificar contrasena
+        if (!hashClaves.verificar(loginDTO.getClave(), usuario.getClave())) {
             log.warn("Intento de login fallido para email: {}", loginDTO.getEmail());
             throw new AuthenticationException(Mensajes.CREDENCIALES_INVALIDAS);
         }
 
-        // 3. Verificar estado de la cuenta
+        // 4. Verificar estado de la cuenta
         if (usuario.getEstadoId().equals(Estados.INACTIVO)) {
             throw new AuthenticationException(Mensajes.CUENTA_INACTIVA);
         }
@@ -143,10 +203,34 @@ public class UsuarioService {
             throw new AuthenticationException(Mensajes.CUENTA_SUSPENDIDA);
         }
 
+        // 5. Reemplazar contrasenas en texto plano o con pocas iteraciones, sin demorar la respuesta
+        limitadorLogin.loginExitoso(loginDTO.getEmail());
+        if (hashClaves.requiereActualizacion(usuario.getClave())) {
+            actualizarHash(usuario, loginDTO.getClave());
+        }
+
         log.info("Login exitoso para usuario: {} (ID: {})", usuario.getEmail(), usuario.getId());
         return convertToDTO(usuario, true);
     }
 
+    /**
+     * Calcula el nuevo hash en el pool y lo guarda al terminar. Si falla, se reintenta en el próximo login.
+     */
+    private void actualizarHash(Usuario usuario, String clave) {
+        Long id = usuario.getId();
+        String anterior = usuario.getClave();
+        hashClaves.hashAsync(clave)
+                .thenAccept(nueva -> {
+                    if (usuarioRepository.actualizarClave(id, anterior, nueva) > 0) {
+                        log.info("Contraseña del usuario {} actualizada al hash vigente", id);
+                    }
+                })
+                .exceptionally(e -> {
+                    log.warn("No se pudo actualizar el hash de la contraseña del usuario {}: {}", id, e.getMessage());
+                    return null;
+                });
+    }
+
     /**
      * Obtiene todos los usuarios
      */
@@ -171,6 +255,72 @@ public class UsuarioService {
         return convertToDTO(usuario, includeDetails);
     }
 
+    /**
+     * Obtiene varios usuarios por ID con una sola consulta (IN), en el orden recibido y sin repetir.
+     * Los IDs que no existen se omiten. Los detalles de rol y estado salen del catálogo en memoria.
+     */
+    @Transactional(readOnly = true)
+    public List<UsuarioDTO> obtenerPorIds(List<Long> ids, boolean includeDetails) {
+        Set<Long> distintos = idsDelLote(ids);
+        if (distintos.isEmpty()) {
+            return List.of();
+        }
+        log.debug("Obteniendo {} usuarios por lote", distintos.size());
+
+        Map<Long, Usuario> porId = usuarioRepository.findAllById(distintos).stream()
+                .collect(Collectors.toMap(Usuario::getId, Function.identity()));
+        return distintos.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(u -> convertToDTO(u, includeDetails))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Obtiene el resumen de un usuario (ID, rol, estado y nombre) leyendo solo esas columnas
+     */
+    @Transactional(readOnly = true)
+    public UsuarioResumenDTO obtenerResumen(Long id) {
+        return usuarioRepository.findResumenById(id)
+                .map(this::convertToResumen)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        String.format(Mensajes.USUARIO_NO_ENCONTRADO, id)
+                ));
+    }
+
+    /**
+     * Obtiene el resumen de varios usuarios con una sola consulta, en el orden recibido y sin repetir
+     */
+    @Transactional(readOnly = true)
+    public List<UsuarioResumenDTO> obtenerResumenes(List<Long> ids) {
+        Set<Long> distintos = idsDelLote(ids);
+        if (distintos.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UsuarioRepository.Resumen> porId = usuarioRepository.findResumenByIdIn(distintos).stream()
+                .collect(Collectors.toMap(UsuarioRepository.Resumen::getId, Function.identity()));
+        return distintos.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResumen)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * IDs distintos y no nulos del lote, en el orden recibido. Valida el tamaño máximo.
+     */
+    private Set<Long> idsDelLote(List<Long> ids) {
+        Set<Long> distintos = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (distintos.size() > Validaciones.MAX_USUARIOS_POR_LOTE) {
+            throw new BusinessValidationException(
+                    String.format(Mensajes.MAX_USUARIOS_LOTE_SUPERADO, Validaciones.MAX_USUARIOS_POR_LOTE)
+            );
+        }
+        return distintos;
+    }
+
     /**
      * Obtiene un usuario por su email
      */
@@ -190,7 +340,7 @@ public class UsuarioService {
     @Transactional(readOnly = true)
     public List<UsuarioDTO> obtenerPorRol(Long rolId, boolean includeDetails) {
         log.debug("Obteniendo usuarios con rol ID: {}", rolId);
-        rolService.obtenerPorId(rolId);
+        catalogoService.obtenerRol(rolId);
 
         return usuarioRepository.findByRolId(rolId).stream()
                 .map(u -> convertToDTO(u, includeDetails))
@@ -230,12 +380,14 @@ public class UsuarioService {
 
         // Si se cambia el email, validar unicidad y recalcular DUOC VIP
         if (!usuario.getEmail().equals(updateDTO.getEmail())) {
-            if (usuarioRepository.existsByEmail(updateDTO.getEmail())) {
+            if (unicidad.emailPodriaExistir(updateDTO.getEmail())
+                    && usuarioRepository.existsByEmail(updateDTO.getEmail())) {
                 throw new BusinessValidationException(
                         String.format(Mensajes.EMAIL_DUPLICADO, updateDTO.getEmail())
                 );
             }
             usuario.setEmail(updateDTO.getEmail());
+            unicidad.registrarEmail(updateDTO.getEmail());
             boolean isDuocEmail = updateDTO.getEmail().toLowerCase().endsWith(Validaciones.DOMINIO_DUOC);
             usuario.setDuocVip(isDuocEmail);
             log.info("Email actualizado a: {} - DUOC VIP: {}", updateDTO.getEmail(), isDuocEmail);
@@ -243,7 +395,7 @@ public class UsuarioService {
 
         // Actualizar rol si se proporciona
         if (updateDTO.getRolId() != null) {
-            rolService.obtenerPorId(updateDTO.getRolId());
+            catalogoService.obtenerRol(updateDTO.getRolId());
             usuario.setRolId(updateDTO.getRolId());
             log.info("Rol actualizado a: {}", updateDTO.getRolId());
         }
@@ -288,12 +440,14 @@ public class UsuarioService {
 
         // Si se cambia el email, validar que no exista
         if (!usuario.getEmail().equals(usuarioDTO.getEmail())) {
-            if (usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
+            if (unicidad.emailPodriaExistir(usuarioDTO.getEmail())
+                    && usuarioRepository.existsByEmail(usuarioDTO.getEmail())) {
                 throw new BusinessValidationException(
                         String.format(Mensajes.EMAIL_DUPLICADO, usuarioDTO.getEmail())
                 );
             }
             usuario.setEmail(usuarioDTO.getEmail());
+            unicidad.registrarEmail(usuarioDTO.getEmail());
             boolean isDuocEmail = usuarioDTO.getEmail().toLowerCase().endsWith(Validaciones.DOMINIO_DUOC);
             usuario.setDuocVip(isDuocEmail);
         }
@@ -317,7 +471,7 @@ public class UsuarioService {
                 ));
 
         // Validar que el rol existe
-        rolService.obtenerPorId(nuevoRolId);
+        catalogoService.obtenerRol(nuevoRolId);
 
         usuario.setRolId(nuevoRolId);
         usuario.setFactualizacion(LocalDate.now());
@@ -387,6 +541,19 @@ public class UsuarioService {
 
     // ==================== METODOS PRIVADOS ====================
 
+    /**
+     * Convierte la proyección de resumen a DTO, con el nombre del rol desde el catálogo
+     */
+    private UsuarioResumenDTO convertToResumen(UsuarioRepository.Resumen resumen) {
+        return UsuarioResumenDTO.builder()
+                .id(resumen.getId())
+                .rolId(resumen.getRolId())
+                .rol(catalogoService.buscarRol(resumen.getRolId()).map(RolDTO::getNombre).orElse(null))
+                .estadoId(resumen.getEstadoId())
+                .nombre(resumen.getPnombre() + " " + resumen.getPapellido())
+                .build();
+    }
+
     /**
      * Convierte una entidad Usuario a DTO
      */
@@ -401,7 +568,6 @@ public class UsuarioService {
         dto.setEmail(usuario.getEmail());
         dto.setRut(usuario.getRut());
         dto.setNtelefono(usuario.getNtelefono());
-        dto.setClave(usuario.getClave());
         dto.setDuocVip(usuario.getDuocVip());
         dto.setPuntos(usuario.getPuntos());
         dto.setCodigoRef(usuario.getCodigoRef());
@@ -411,23 +577,13 @@ public class UsuarioService {
         dto.setRolId(usuario.getRolId());
 
         if (includeDetails) {
-            try {
-                if (usuario.getRolId() != null) {
-                    RolDTO rol = rolService.obtenerPorId(usuario.getRolId());
-                    dto.setRol(rol);
-                }
-            } catch (Exception e) {
-                log.warn("No se pudo obtener informacion del rol {} para usuario {}",
-                        usuario.getRolId(), usuario.getId());
-            }
-
-            try {
-                EstadoDTO estado = estadoService.obtenerPorId(usuario.getEstadoId());
-                dto.setEstado(estado);
-            } catch (Exception e) {
-                log.warn("No se pudo obtener informacion del estado {} para usuario {}",
-                        usuario.getEstadoId(), usuario.getId());
-            }
+            // Roles y estados desde la copia en memoria, sin una consulta por usuario
+            catalogoService.buscarRol(usuario.getRolId()).ifPresentOrElse(dto::setRol,
+                    () -> log.warn("No se pudo obtener informacion del rol {} para usuario {}",
+                            usuario.getRolId(), usuario.getId()));
+            catalogoService.buscarEstado(usuario.getEstadoId()).ifPresentOrElse(dto::setEstado,
+                    () -> log.warn("No se pudo obtener informacion del estado {} para usuario {}",
+                            usuario.getEstadoId(), usuario.getId()));
         }
 
         return dto;
@@ -446,7 +602,8 @@ public class UsuarioService {
     }
 
     /**
-     * Genera un codigo de referido unico de 9 caracteres
+     * Genera un codigo de referido unico de 9 caracteres consultando la BD
+     * (cuando el pool de UnicidadService esta vacio o aun no se carga)
      */
     private String generarCodigoReferido() {
         String caracteres = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
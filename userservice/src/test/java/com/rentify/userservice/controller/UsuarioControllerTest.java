@@ -1,10 +1,12 @@
 package com.rentify.userservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.userservice.config.UsuarioResumenBinarioConverter;
 import com.rentify.userservice.dto.*;
 import com.rentify.userservice.exception.AuthenticationException;
 import com.rentify.userservice.exception.BusinessValidationException;
 import com.rentify.userservice.exception.ResourceNotFoundException;
+import com.rentify.userservice.service.TokenService;
 import com.rentify.userservice.service.UsuarioService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -15,10 +17,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -38,6 +43,9 @@ class UsuarioControllerTest {
     @MockitoBean
     private UsuarioService usuarioService;
 
+    @MockitoBean
+    private TokenService tokenService;
+
     private UsuarioDTO usuarioDTO;
     private LoginDTO loginDTO;
 
@@ -69,6 +77,18 @@ class UsuarioControllerTest {
                 .email("juan.perez@email.com")
                 .clave("password123")
                 .build();
+
+        when(tokenService.getDuracion()).thenReturn(Duration.ofMinutes(15));
+    }
+
+    private UsuarioResumenDTO resumen() {
+        return UsuarioResumenDTO.builder()
+                .id(1L)
+                .rolId(3L)
+                .rol("ARRIENDATARIO")
+                .estadoId(1L)
+                .nombre("Juan Pérez")
+                .build();
     }
 
     // ==================== TESTS DE REGISTRO ====================
@@ -187,7 +207,7 @@ class UsuarioControllerTest {
     @DisplayName("POST /api/usuarios/login - Debe autenticar usuario exitosamente")
     void login_CredencialesValidas_Returns200() throws Exception {
         // Arrange
-        when(usuarioService.login(any(LoginDTO.class))).thenReturn(usuarioDTO);
+        when(usuarioService.login(any(LoginDTO.class), any())).thenReturn(usuarioDTO);
 
         // Act & Assert
         mockMvc.perform(post("/api/usuarios/login")
@@ -197,14 +217,34 @@ class UsuarioControllerTest {
                 .andExpect(jsonPath("$.mensaje").value("Login exitoso"))
                 .andExpect(jsonPath("$.usuario.email").value("juan.perez@email.com"));
 
-        verify(usuarioService, times(1)).login(any(LoginDTO.class));
+        verify(usuarioService, times(1)).login(any(LoginDTO.class), any());
+    }
+
+    @Test
+    @DisplayName("POST /api/usuarios/login - Debe retornar el token firmado y no la contraseña")
+    void login_CredencialesValidas_RetornaToken() throws Exception {
+        // Arrange
+        when(usuarioService.login(any(LoginDTO.class), any())).thenReturn(usuarioDTO);
+        when(tokenService.emitir(usuarioDTO)).thenReturn("header.payload.firma");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/usuarios/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginDTO)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("header.payload.firma"))
+                .andExpect(jsonPath("$.tipoToken").value("Bearer"))
+                .andExpect(jsonPath("$.expiraEn").value(900))
+                .andExpect(jsonPath("$.usuario.clave").doesNotExist());
+
+        verify(tokenService).emitir(usuarioDTO);
     }
 
     @Test
     @DisplayName("POST /api/usuarios/login - Debe retornar 401 cuando las credenciales son inválidas")
     void login_CredencialesInvalidas_Returns401() throws Exception {
         // Arrange
-        when(usuarioService.login(any(LoginDTO.class)))
+        when(usuarioService.login(any(LoginDTO.class), any()))
                 .thenThrow(new AuthenticationException("Email o contraseña incorrectos"));
 
         // Act & Assert
@@ -213,7 +253,7 @@ class UsuarioControllerTest {
                         .content(objectMapper.writeValueAsString(loginDTO)))
                 .andExpect(status().isUnauthorized());
 
-        verify(usuarioService, times(1)).login(any(LoginDTO.class));
+        verify(usuarioService, times(1)).login(any(LoginDTO.class), any());
     }
 
     @Test
@@ -228,7 +268,7 @@ class UsuarioControllerTest {
                         .content(objectMapper.writeValueAsString(loginInvalido)))
                 .andExpect(status().isBadRequest());
 
-        verify(usuarioService, never()).login(any());
+        verify(usuarioService, never()).login(any(), any());
     }
 
     // ==================== TESTS DE CONSULTAS ====================
@@ -296,6 +336,83 @@ class UsuarioControllerTest {
         verify(usuarioService, times(1)).obtenerPorId(999L, true);
     }
 
+    @Test
+    @DisplayName("POST /api/usuarios/batch - Debe retornar los usuarios en el orden pedido")
+    void obtenerPorIds_Returns200() throws Exception {
+        // Arrange
+        UsuarioDTO otro = UsuarioDTO.builder().id(7L).email("otro@email.com").rolId(2L).build();
+        when(usuarioService.obtenerPorIds(List.of(7L, 1L), true)).thenReturn(List.of(otro, usuarioDTO));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/usuarios/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[7, 1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[1].id").value(1));
+
+        verify(usuarioService, times(1)).obtenerPorIds(List.of(7L, 1L), true);
+    }
+
+    @Test
+    @DisplayName("POST /api/usuarios/batch - Debe retornar 400 si se piden demasiados usuarios")
+    void obtenerPorIds_DemasiadosIds_Returns400() throws Exception {
+        // Arrange
+        when(usuarioService.obtenerPorIds(any(), eq(false)))
+                .thenThrow(new BusinessValidationException("No se pueden consultar más de 500 usuarios por request"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/usuarios/batch")
+                        .param("includeDetails", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 3]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/usuarios/{id}/resumen - Debe retornar solo ID, rol, estado y nombre")
+    void obtenerResumen_Json_Returns200() throws Exception {
+        // Arrange
+        when(usuarioService.obtenerResumen(1L)).thenReturn(resumen());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/usuarios/1/resumen"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.rol").value("ARRIENDATARIO"))
+                .andExpect(jsonPath("$.nombre").value("Juan Pérez"))
+                .andExpect(jsonPath("$.email").doesNotExist())
+                .andExpect(jsonPath("$.clave").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("POST /api/usuarios/resumen/batch - Debe responder en binario si se pide")
+    void obtenerResumenes_Binario_Returns200() throws Exception {
+        // Arrange
+        UsuarioResumenDTO sinRol = UsuarioResumenDTO.builder().id(7L).estadoId(2L).nombre("Ana Soto").build();
+        when(usuarioService.obtenerResumenes(List.of(1L, 7L))).thenReturn(List.of(resumen(), sinRol));
+
+        // Act
+        byte[] cuerpo = mockMvc.perform(post("/api/usuarios/resumen/batch")
+                        .accept(UsuarioResumenBinarioConverter.MEDIA_TYPE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 7]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(UsuarioResumenBinarioConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        List<UsuarioResumenDTO> resumenes = UsuarioResumenBinarioConverter.leer(new ByteArrayInputStream(cuerpo));
+        assertThat(resumenes).extracting(UsuarioResumenDTO::getId).containsExactly(1L, 7L);
+        assertThat(resumenes.get(0).getRol()).isEqualTo("ARRIENDATARIO");
+        assertThat(resumenes.get(0).getNombre()).isEqualTo("Juan Pérez");
+        assertThat(resumenes.get(1).getRolId()).isNull();
+        assertThat(resumenes.get(1).getRol()).isNull();
+        assertThat(cuerpo.length).isLessThan(objectMapper.writeValueAsBytes(resumenes).length);
+    }
+
     @Test
     @DisplayName("GET /api/usuarios/email/{email} - Debe retornar usuario por email")
     void obtenerPorEmail_UsuarioExiste_Returns200() throws Exception {
@@ -1,16 +1,20 @@
 package com.rentify.userservice.exception;
 
+import com.rentify.userservice.constants.UserConstants.Mensajes;
 import com.rentify.userservice.controller.UsuarioController;
 import com.rentify.userservice.dto.UsuarioDTO;
+import com.rentify.userservice.service.TokenService;
 import com.rentify.userservice.service.UsuarioService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.time.LocalDate;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -30,6 +34,9 @@ class GlobalExceptionHandlerTest {
     @MockitoBean
     private UsuarioService usuarioService;
 
+    @MockitoBean
+    private TokenService tokenService;
+
     @Test
     @DisplayName("Debe manejar ResourceNotFoundException y retornar 404")
     void handleResourceNotFoundException_Returns404() throws Exception {
@@ -81,11 +88,45 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.message").value("El email ya está registrado"));
     }
 
+    @Test
+    @DisplayName("Debe manejar una violación de restricción única y retornar 400")
+    void handleDataIntegrityViolation_Returns400() throws Exception {
+        // Arrange
+        when(usuarioService.registrarUsuario(any(UsuarioDTO.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLIntegrityConstraintViolationException(
+                                "Duplicate entry 'juan.perez@email.com' for key 'usuarios.email'", "23000", 1062)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pnombre\":\"Juan\",\"papellido\":\"Pérez\",\"fnacimiento\":\"1995-05-15\",\"email\":\"juan.perez@email.com\",\"rut\":\"12345678-9\",\"ntelefono\":\"987654321\",\"clave\":\"password123\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value(Mensajes.DATOS_DUPLICADOS));
+    }
+
+    @Test
+    @DisplayName("Una violación de integridad que no es de unicidad se trata como error inesperado (500)")
+    void handleDataIntegrityViolation_NoUnica_Returns500() throws Exception {
+        // Arrange - columna NOT NULL (MySQL 1048)
+        when(usuarioService.registrarUsuario(any(UsuarioDTO.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new SQLIntegrityConstraintViolationException("Column 'rol_id' cannot be null", "23000", 1048)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"pnombre\":\"Juan\",\"papellido\":\"Pérez\",\"fnacimiento\":\"1995-05-15\",\"email\":\"juan.perez@email.com\",\"rut\":\"12345678-9\",\"ntelefono\":\"987654321\",\"clave\":\"password123\"}"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value(500));
+    }
+
     @Test
     @DisplayName("Debe manejar AuthenticationException y retornar 401")
     void handleAuthenticationException_Returns401() throws Exception {
         // Arrange
-        when(usuarioService.login(any()))
+        when(usuarioService.login(any(), any()))
                 .thenThrow(new AuthenticationException("Email o contraseña incorrectos"));
 
         // Act & Assert
@@ -98,6 +139,23 @@ class GlobalExceptionHandlerTest {
                 .andExpect(jsonPath("$.message").value("Email o contraseña incorrectos"));
     }
 
+    @Test
+    @DisplayName("Debe manejar DemasiadosIntentosException y retornar 429 con Retry-After")
+    void handleDemasiadosIntentosException_Returns429() throws Exception {
+        // Arrange
+        when(usuarioService.login(any(), any()))
+                .thenThrow(new DemasiadosIntentosException("Demasiados intentos de login. Intente nuevamente en 12 segundos", 12));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/usuarios/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"test@email.com\",\"clave\":\"wrongpass\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+    }
+
     @Test
     @DisplayName("Debe manejar MethodArgumentNotValidException y retornar 400 con detalles de validación")
     void handleMethodArgumentNotValidException_Returns400WithDetails() throws Exception {
@@ -0,0 +1,97 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.dto.RolDTO;
+import com.rentify.userservice.exception.ResourceNotFoundException;
+import com.rentify.userservice.model.Estado;
+import com.rentify.userservice.model.Rol;
+import com.rentify.userservice.repository.EstadoRepository;
+import com.rentify.userservice.repository.RolRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de CatalogoService")
+class CatalogoServiceTest {
+
+    private static final Duration RECARGA_MINIMA = Duration.ofSeconds(5);
+
+    @Mock
+    private RolRepository rolRepository;
+
+    @Mock
+    private EstadoRepository estadoRepository;
+
+    private final AtomicLong reloj = new AtomicLong();
+    private CatalogoService catalogo;
+
+    @BeforeEach
+    void setUp() {
+        catalogo = new CatalogoService(rolRepository, estadoRepository, RECARGA_MINIMA.toNanos(), reloj::get);
+        when(rolRepository.findAll()).thenReturn(List.of(
+                Rol.builder().id(1L).nombre("ADMIN").build(),
+                Rol.builder().id(3L).nombre("ARRIENDATARIO").build()));
+        when(estadoRepository.findAll()).thenReturn(List.of(Estado.builder().id(1L).nombre("ACTIVO").build()));
+    }
+
+    @Test
+    @DisplayName("Las consultas se resuelven desde la copia cargada una sola vez")
+    void buscar_UsaCopiaEnMemoria() {
+        // Act
+        catalogo.recargar();
+        for (int i = 0; i < 10; i++) {
+            catalogo.buscarRol(3L);
+            catalogo.buscarEstado(1L);
+        }
+
+        // Assert
+        assertThat(catalogo.obtenerRol(1L).getNombre()).isEqualTo("ADMIN");
+        assertThat(catalogo.buscarEstado(1L)).get().extracting("nombre").isEqualTo("ACTIVO");
+        verify(rolRepository, times(1)).findAll();
+        verify(estadoRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Modificar un DTO retornado no altera la copia compartida")
+    void buscarRol_RetornaCopia() {
+        // Arrange
+        RolDTO rol = catalogo.obtenerRol(1L);
+
+        // Act
+        rol.setNombre("OTRO");
+
+        // Assert
+        assertThat(catalogo.obtenerRol(1L).getNombre()).isEqualTo("ADMIN");
+    }
+
+    @Test
+    @DisplayName("Un ID desconocido recarga la copia como máximo una vez por intervalo")
+    void obtenerRol_Desconocido_RecargaLimitada() {
+        // Arrange
+        catalogo.recargar();
+        when(rolRepository.findAll()).thenReturn(List.of(
+                Rol.builder().id(1L).nombre("ADMIN").build(),
+                Rol.builder().id(2L).nombre("PROPIETARIO").build()));
+
+        // Act & Assert - dentro del intervalo no se recarga
+        assertThatThrownBy(() -> catalogo.obtenerRol(2L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Rol con ID 2 no encontrado");
+
+        reloj.addAndGet(RECARGA_MINIMA.toNanos());
+        assertThat(catalogo.obtenerRol(2L).getNombre()).isEqualTo("PROPIETARIO");
+        assertThatThrownBy(() -> catalogo.obtenerRol(9L)).isInstanceOf(ResourceNotFoundException.class);
+        verify(rolRepository, times(2)).findAll();
+    }
+}
@@ -34,6 +34,9 @@ class EstadoServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private CatalogoService catalogoService;
+
     @InjectMocks
     private EstadoService estadoService;
 
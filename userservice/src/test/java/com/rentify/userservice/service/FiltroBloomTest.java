@@ -0,0 +1,49 @@
+package com.rentify.userservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests de FiltroBloom")
+class FiltroBloomTest {
+
+    private static final int ELEMENTOS = 20_000;
+
+    @Test
+    @DisplayName("Nunca descarta un valor agregado y los falsos positivos quedan cerca del objetivo")
+    void podriaContener_SinFalsosNegativos() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(ELEMENTOS, 0.01);
+        for (int i = 0; i < ELEMENTOS; i++) {
+            filtro.agregar("usuario" + i + "@email.com");
+        }
+
+        // Act
+        int falsosNegativos = 0;
+        int falsosPositivos = 0;
+        for (int i = 0; i < ELEMENTOS; i++) {
+            if (!filtro.podriaContener("usuario" + i + "@email.com")) {
+                falsosNegativos++;
+            }
+            if (filtro.podriaContener("otro" + i + "@email.com")) {
+                falsosPositivos++;
+            }
+        }
+
+        // Assert
+        assertThat(falsosNegativos).isZero();
+        assertThat((double) falsosPositivos / ELEMENTOS).isLessThan(0.02);
+    }
+
+    @Test
+    @DisplayName("Un filtro vacío descarta cualquier valor")
+    void podriaContener_FiltroVacio() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(100, 0.01);
+
+        // Act & Assert
+        assertThat(filtro.podriaContener("juan@email.com")).isFalse();
+        assertThat(filtro.podriaContener("")).isFalse();
+    }
+}
@@ -0,0 +1,92 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.exception.ServicioSaturadoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests de HashClavesService")
+class HashClavesServiceTest {
+
+    private static final int ITERACIONES = 1000;
+
+    private MeterRegistry meterRegistry;
+    private HashClavesService hashClaves;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hashClaves = new HashClavesService(ITERACIONES, 2, 8, 5000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashClaves.cerrar();
+    }
+
+    @Test
+    @DisplayName("El hash lleva salt propio y solo verifica la contraseña correcta")
+    void hash_Verificar() {
+        // Act
+        String hash = hashClaves.hash("Miauu123!");
+        String otro = hashClaves.hash("Miauu123!");
+
+        // Assert
+        assertThat(hash).startsWith(HashClavesService.PREFIJO + "$" + ITERACIONES + "$").isNotEqualTo(otro);
+        assertThat(hashClaves.verificar("Miauu123!", hash)).isTrue();
+        assertThat(hashClaves.verificar("Miauu124!", hash)).isFalse();
+        assertThat(hashClaves.requiereActualizacion(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Acepta contraseñas heredadas en texto plano y hashes con pocas iteraciones, y pide actualizarlas")
+    void verificar_Heredadas_RequierenActualizacion() {
+        // Arrange
+        HashClavesService anterior = new HashClavesService(ITERACIONES / 2, 1, 1, 5000, new SimpleMeterRegistry());
+        String hashDebil = anterior.hash("Admin123!");
+        anterior.cerrar();
+
+        // Act & Assert
+        assertThat(hashClaves.verificar("Admin123!", "Admin123!")).isTrue();
+        assertThat(hashClaves.verificar("admin123!", "Admin123!")).isFalse();
+        assertThat(hashClaves.requiereActualizacion("Admin123!")).isTrue();
+
+        assertThat(hashClaves.verificar("Admin123!", hashDebil)).isTrue();
+        assertThat(hashClaves.requiereActualizacion(hashDebil)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Con la cola llena rechaza de inmediato con ServicioSaturadoException")
+    void hashAsync_ColaLlena_Rechaza() {
+        // Arrange - un hilo y una cola de uno, con hashes lentos
+        MeterRegistry registro = new SimpleMeterRegistry();
+        HashClavesService lento = new HashClavesService(2_000_000, 1, 1, 5000, registro);
+        List<CompletableFuture<String>> futuros = new ArrayList<>();
+
+        try {
+            // Act
+            for (int i = 0; i < 4; i++) {
+                futuros.add(lento.hashAsync("Miauu123!"));
+            }
+
+            // Assert
+            assertThat(futuros).filteredOn(CompletableFuture::isCompletedExceptionally).hasSizeGreaterThanOrEqualTo(2);
+            assertThatThrownBy(futuros.get(3)::join).hasCauseInstanceOf(ServicioSaturadoException.class);
+            assertThat(registro.get("rentify.login.hash.pool.rechazados").counter().count())
+                    .isGreaterThanOrEqualTo(2);
+            assertThat(registro.get("rentify.login.hash.pool.cola").gauge().value()).isEqualTo(1);
+        } finally {
+            lento.cerrar();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.exception.DemasiadosIntentosException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de LimitadorLogin con un reloj controlado
+ */
+@DisplayName("Tests de LimitadorLogin")
+class LimitadorLoginTest {
+
+    private final AtomicLong reloj = new AtomicLong();
+    private MeterRegistry meterRegistry;
+    private LimitadorLogin limitador;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limitador = new LimitadorLogin(new LimitadorLogin.Limite(3, 6), new LimitadorLogin.Limite(10, 10), 100,
+                meterRegistry, reloj::get);
+    }
+
+    private void avanzar(Duration tiempo) {
+        reloj.addAndGet(tiempo.toNanos());
+    }
+
+    private double limitados(String por) {
+        return meterRegistry.get("rentify.login.limitados").tag("por", por).counter().count();
+    }
+
+    @Test
+    @DisplayName("Agotado el bucket del email rechaza con el tiempo de espera y se recarga con el tiempo")
+    void registrarIntento_EmailAgotado_RechazaYSeRecarga() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limitador.registrarIntento("juan@email.com", "10.0.0." + i);
+        }
+
+        // Act & Assert - 6 fichas por minuto: una cada 10 segundos
+        assertThatThrownBy(() -> limitador.registrarIntento("JUAN@email.com ", "10.0.0.9"))
+                .isInstanceOf(DemasiadosIntentosException.class)
+                .extracting(e -> ((DemasiadosIntentosException) e).getReintentarEnSegundos())
+                .isEqualTo(10L);
+        assertThat(limitados("email")).isEqualTo(1);
+
+        avanzar(Duration.ofSeconds(10));
+        assertThatCode(() -> limitador.registrarIntento("juan@email.com", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Una IP que prueba muchos emails queda limitada aunque cada email tenga fichas")
+    void registrarIntento_IpAgotada_Rechaza() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            limitador.registrarIntento("usuario" + i + "@email.com", "10.0.0.1");
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> limitador.registrarIntento("otro@email.com", "10.0.0.1"))
+                .isInstanceOf(DemasiadosIntentosException.class);
+        assertThatCode(() -> limitador.registrarIntento("otro@email.com", "10.0.0.2")).doesNotThrowAnyException();
+        assertThat(limitados("ip")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Un login exitoso libera el bucket del email y los mapas no superan el máximo")
+    void loginExitoso_LiberaYMapasAcotados() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limitador.registrarIntento("juan@email.com", "10.0.0." + i);
+        }
+
+        // Act - cada intento deja de limitar (se recarga) antes del siguiente
+        limitador.loginExitoso("juan@email.com");
+        for (int i = 0; i < 300; i++) {
+            limitador.registrarIntento("usuario" + i + "@email.com", "10.0.1." + i);
+            avanzar(Duration.ofSeconds(10));
+        }
+
+        // Assert
+        assertThatCode(() -> limitador.registrarIntento("juan@email.com", "10.0.0.1")).doesNotThrowAnyException();
+        assertThat(limitador.tamano()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Con el mapa lleno, un email nuevo no desplaza el bucket de un email limitado")
+    void registrarIntento_MapaLleno_EmailLimitadoSigueLimitado() {
+        // Arrange - mapas de una sola entrada, ocupada por la víctima que agotó su bucket
+        LimitadorLogin chico = new LimitadorLogin(new LimitadorLogin.Limite(3, 6), new LimitadorLogin.Limite(10, 10), 1,
+                meterRegistry, reloj::get);
+        for (int i = 0; i < 3; i++) {
+            chico.registrarIntento("victima@email.com", "10.0.0.1");
+        }
+
+        // Act - un email nuevo solo queda sujeto al límite de la IP
+        assertThatCode(() -> chico.registrarIntento("atacante@email.com", "10.0.0.1")).doesNotThrowAnyException();
+
+        // Assert
+        assertThatThrownBy(() -> chico.registrarIntento("victima@email.com", "10.0.0.1"))
+                .isInstanceOf(DemasiadosIntentosException.class);
+    }
+
+    @Test
+    @DisplayName("Con el mapa de IPs lleno de buckets que limitan, una IP nueva se rechaza")
+    void registrarIntento_MapaIpLleno_RechazaIpNueva() {
+        // Arrange
+        for (int i = 0; i < 100; i++) {
+            limitador.registrarIntento("usuario" + i + "@email.com", "10.0.1." + i);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> limitador.registrarIntento("otro@email.com", "10.0.2.1"))
+                .isInstanceOf(DemasiadosIntentosException.class);
+        avanzar(Duration.ofSeconds(6));
+        assertThatCode(() -> limitador.registrarIntento("otro@email.com", "10.0.2.1")).doesNotThrowAnyException();
+    }
+}
@@ -33,6 +33,9 @@ class RolServiceTest {
     @Mock
     private ModelMapper modelMapper;
 
+    @Mock
+    private CatalogoService catalogoService;
+
     @InjectMocks
     private RolService rolService;
 
@@ -0,0 +1,114 @@
+package com.rentify.userservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rentify.userservice.dto.EstadoDTO;
+import com.rentify.userservice.dto.RolDTO;
+import com.rentify.userservice.dto.UsuarioDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyFactory;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests de TokenService")
+class TokenServiceTest {
+
+    private static final Instant AHORA = Instant.parse("2025-03-01T12:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private TokenService tokenService;
+    private UsuarioDTO usuario;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generador = KeyPairGenerator.getInstance("RSA");
+        generador.initialize(2048);
+        tokenService = new TokenService(objectMapper, "rentify-userservice", Duration.ofMinutes(15),
+                generador.generateKeyPair(), Clock.fixed(AHORA, ZoneOffset.UTC));
+
+        usuario = UsuarioDTO.builder()
+                .id(7L)
+                .rolId(1L)
+                .rol(RolDTO.builder().id(1L).nombre("ADMIN").build())
+                .estadoId(1L)
+                .estado(EstadoDTO.builder().id(1L).nombre("ACTIVO").build())
+                .build();
+    }
+
+    private JsonNode decodificar(String parte) throws Exception {
+        return objectMapper.readTree(Base64.getUrlDecoder().decode(parte));
+    }
+
+    /**
+     * Reconstruye la clave pública desde el JWK Set, como lo hacen los demás microservicios
+     */
+    @SuppressWarnings("unchecked")
+    private PublicKey clavePublicada() throws Exception {
+        Map<String, Object> jwk = ((List<Map<String, Object>>) tokenService.clavesPublicas().get("keys")).get(0);
+        BigInteger n = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("n")));
+        BigInteger e = new BigInteger(1, Base64.getUrlDecoder().decode((String) jwk.get("e")));
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(n, e));
+    }
+
+    @Test
+    @DisplayName("El token lleva usuario, rol, estado y vencimiento")
+    void emitir_IncluyeDatosDelUsuario() throws Exception {
+        // Act
+        String[] partes = tokenService.emitir(usuario).split("\\.");
+
+        // Assert
+        assertThat(partes).hasSize(3);
+        JsonNode header = decodificar(partes[0]);
+        assertThat(header.get("alg").asText()).isEqualTo("RS256");
+        assertThat(header.get("kid").asText()).isNotBlank();
+
+        JsonNode claims = decodificar(partes[1]);
+        assertThat(claims.get("iss").asText()).isEqualTo("rentify-userservice");
+        assertThat(claims.get("sub").asText()).isEqualTo("7");
+        assertThat(claims.get("rolId").asLong()).isEqualTo(1L);
+        assertThat(claims.get("rol").asText()).isEqualTo("ADMIN");
+        assertThat(claims.get("estadoId").asLong()).isEqualTo(1L);
+        assertThat(claims.get("estado").asText()).isEqualTo("ACTIVO");
+        assertThat(claims.get("iat").asLong()).isEqualTo(AHORA.getEpochSecond());
+        assertThat(claims.get("exp").asLong()).isEqualTo(AHORA.plus(Duration.ofMinutes(15)).getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("La firma se verifica con la clave publicada y no admite cambios en el contenido")
+    void emitir_FirmaVerificableConClavePublicada() throws Exception {
+        // Arrange
+        String[] partes = tokenService.emitir(usuario).split("\\.");
+        PublicKey clave = clavePublicada();
+        String adulterado = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(partes[1]), StandardCharsets.UTF_8)
+                        .replace("\"rolId\":1", "\"rolId\":2").getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThat(verificar(clave, partes[0] + "." + partes[1], partes[2])).isTrue();
+        assertThat(verificar(clave, partes[0] + "." + adulterado, partes[2])).isFalse();
+        assertThat(((List<?>) tokenService.clavesPublicas().get("keys"))).hasSize(1);
+    }
+
+    private static boolean verificar(PublicKey clave, String contenido, String firma) throws Exception {
+        Signature verificador = Signature.getInstance("SHA256withRSA");
+        verificador.initVerify(clave);
+        verificador.update(contenido.getBytes(StandardCharsets.US_ASCII));
+        return verificador.verify(Base64.getUrlDecoder().decode(firma));
+    }
+}
@@ -0,0 +1,122 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de UnicidadService")
+class UnicidadServiceTest {
+
+    private static final int POOL = 8;
+    private static final int LOTE = 2;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    private UnicidadService unicidad;
+
+    @BeforeEach
+    void setUp() {
+        // Ejecutor síncrono: la carga y el relleno del pool ocurren en la misma llamada
+        unicidad = new UnicidadService(usuarioRepository, 1000, 0.01, POOL, LOTE,
+                new SimpleMeterRegistry(), Runnable::run);
+    }
+
+    private static UsuarioRepository.ClavesUnicas claves(long id, String email, String rut, String codigo) {
+        return new UsuarioRepository.ClavesUnicas() {
+            public Long getId() { return id; }
+            public String getEmail() { return email; }
+            public String getRut() { return rut; }
+            public String getCodigoRef() { return codigo; }
+        };
+    }
+
+    private void cargar(List<UsuarioRepository.ClavesUnicas> usuarios) {
+        when(usuarioRepository.count()).thenReturn((long) usuarios.size());
+        when(usuarioRepository.findClavesUnicasDesde(anyLong(), any())).thenAnswer(invocacion -> {
+            long desde = invocacion.getArgument(0);
+            return usuarios.stream().filter(u -> u.getId() > desde).limit(LOTE).toList();
+        });
+        unicidad.cargarAlIniciar();
+    }
+
+    @Test
+    @DisplayName("Antes de cargar los filtros todo se consulta en la base de datos")
+    void podriaExistir_SinCargar_Consulta() {
+        // Act & Assert
+        assertThat(unicidad.emailPodriaExistir("nuevo@email.com")).isTrue();
+        assertThat(unicidad.rutPodriaExistir("11111111-1")).isTrue();
+        assertThat(unicidad.tomarCodigoReferido()).isEmpty();
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    @DisplayName("La carga lee los usuarios por lotes de ID y solo los valores existentes requieren consulta")
+    void cargar_PorLotes() {
+        // Arrange
+        cargar(List.of(
+                claves(1L, "juan@email.com", "12345678-9", "ABC123XYZ"),
+                claves(2L, "maria@duocuc.cl", "98765432-1", "QWE456RTY"),
+                claves(5L, "pedro@email.com", "11222333-k", "ZXC789VBN")));
+
+        // Act & Assert
+        assertThat(unicidad.cargado()).isTrue();
+        assertThat(unicidad.emailPodriaExistir(" Juan@Email.com")).isTrue();
+        assertThat(unicidad.rutPodriaExistir("11222333-K")).isTrue();
+        assertThat(unicidad.emailPodriaExistir("nuevo@email.com")).isFalse();
+        assertThat(unicidad.rutPodriaExistir("55555555-5")).isFalse();
+        verify(usuarioRepository).findClavesUnicasDesde(0L, PageRequest.of(0, LOTE));
+        verify(usuarioRepository).findClavesUnicasDesde(2L, PageRequest.of(0, LOTE));
+    }
+
+    @Test
+    @DisplayName("Registrar un usuario o cambiar su email lo agrega a los filtros")
+    void registrar_ActualizaFiltros() {
+        // Arrange
+        cargar(List.of());
+
+        // Act
+        unicidad.registrar("ana@email.com", "22222222-2", "AAA111BBB");
+        unicidad.registrarEmail("ana.nueva@email.com");
+
+        // Assert
+        assertThat(unicidad.emailPodriaExistir("ana@email.com")).isTrue();
+        assertThat(unicidad.emailPodriaExistir("ana.nueva@email.com")).isTrue();
+        assertThat(unicidad.rutPodriaExistir("22222222-2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("El pool entrega códigos distintos, de los existentes no usados, y se rellena solo")
+    void tomarCodigoReferido_DelPool() {
+        // Arrange
+        cargar(List.of(claves(1L, "juan@email.com", "12345678-9", "ABC123XYZ")));
+        assertThat(unicidad.codigosDisponibles()).isEqualTo(POOL);
+
+        // Act
+        Set<String> entregados = new HashSet<>();
+        for (int i = 0; i < POOL * 3; i++) {
+            entregados.add(unicidad.tomarCodigoReferido().orElseThrow());
+        }
+
+        // Assert
+        assertThat(entregados).hasSize(POOL * 3)
+                .allMatch(codigo -> codigo.matches("[A-Z0-9]{9}"))
+                .doesNotContain("ABC123XYZ");
+        assertThat(unicidad.codigosDisponibles()).isGreaterThan(0);
+        verify(usuarioRepository, never()).existsByCodigoRef(any());
+    }
+}
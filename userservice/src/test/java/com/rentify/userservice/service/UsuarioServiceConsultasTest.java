@@ -0,0 +1,166 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.dto.EstadoDTO;
+import com.rentify.userservice.dto.RolDTO;
+import com.rentify.userservice.dto.UsuarioDTO;
+import com.rentify.userservice.dto.UsuarioResumenDTO;
+import com.rentify.userservice.exception.BusinessValidationException;
+import com.rentify.userservice.exception.ResourceNotFoundException;
+import com.rentify.userservice.model.Usuario;
+import com.rentify.userservice.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests de las consultas de usuarios de UsuarioService
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de consultas de UsuarioService")
+class UsuarioServiceConsultasTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private CatalogoService catalogoService;
+
+    @Mock
+    private UnicidadService unicidad;
+
+    @Mock
+    private HashClavesService hashClaves;
+
+    @Mock
+    private LimitadorLogin limitadorLogin;
+
+    private UsuarioService usuarioService;
+
+    @BeforeEach
+    void setUp() {
+        usuarioService = new UsuarioService(usuarioRepository, catalogoService, new ModelMapper(),
+                hashClaves, limitadorLogin, new SimpleMeterRegistry(), unicidad);
+    }
+
+    private static Usuario usuario(long id) {
+        return Usuario.builder()
+                .id(id)
+                .pnombre("Usuario" + id)
+                .papellido("Pérez")
+                .email("usuario" + id + "@email.com")
+                .fnacimiento(LocalDate.of(1995, 5, 15))
+                .estadoId(1L)
+                .rolId(3L)
+                .build();
+    }
+
+    @Test
+    @DisplayName("El lote respeta el orden pedido, no repite IDs y omite los inexistentes")
+    void obtenerPorIds_OrdenYSinRepetidos() {
+        // Arrange - el repositorio retorna en otro orden
+        when(usuarioRepository.findAllById(any())).thenReturn(List.of(usuario(1L), usuario(9L), usuario(5L)));
+
+        // Act
+        List<UsuarioDTO> resultado = usuarioService.obtenerPorIds(Arrays.asList(5L, 1L, 404L, 5L, null, 9L), false);
+
+        // Assert
+        assertThat(resultado).extracting(UsuarioDTO::getId).containsExactly(5L, 1L, 9L);
+        verify(usuarioRepository, times(1)).findAllById(Set.of(5L, 1L, 404L, 9L));
+        verifyNoInteractions(catalogoService);
+    }
+
+    @Test
+    @DisplayName("Con detalles, rol y estado salen del catálogo en una sola consulta a usuarios")
+    void obtenerPorIds_ConDetalles_UnaSolaConsulta() {
+        // Arrange
+        List<Long> ids = LongStream.rangeClosed(1, 300).boxed().toList();
+        when(usuarioRepository.findAllById(anyIterable()))
+                .thenReturn(ids.stream().map(UsuarioServiceConsultasTest::usuario).toList());
+        when(catalogoService.buscarRol(3L)).thenReturn(Optional.of(new RolDTO(3L, "ARRIENDATARIO")));
+        when(catalogoService.buscarEstado(1L)).thenReturn(Optional.of(new EstadoDTO(1L, "ACTIVO")));
+
+        // Act
+        List<UsuarioDTO> resultado = usuarioService.obtenerPorIds(ids, true);
+
+        // Assert
+        assertThat(resultado).hasSize(300);
+        assertThat(resultado.get(299).getRol().getNombre()).isEqualTo("ARRIENDATARIO");
+        assertThat(resultado.get(0).getEstado().getNombre()).isEqualTo("ACTIVO");
+        verify(usuarioRepository, times(1)).findAllById(anyIterable());
+        verify(usuarioRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Rechaza lotes de más de 500 usuarios y no consulta con un lote vacío")
+    void obtenerPorIds_Limites() {
+        List<Long> demasiados = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        assertThatThrownBy(() -> usuarioService.obtenerPorIds(demasiados, false))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessageContaining("500");
+        assertThat(usuarioService.obtenerPorIds(List.of(), true)).isEmpty();
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    private static UsuarioRepository.Resumen proyeccion(long id, Long rolId) {
+        return new UsuarioRepository.Resumen() {
+            public Long getId() { return id; }
+            public Long getRolId() { return rolId; }
+            public Long getEstadoId() { return 1L; }
+            public String getPnombre() { return "Usuario" + id; }
+            public String getPapellido() { return "Pérez"; }
+        };
+    }
+
+    @Test
+    @DisplayName("El resumen se arma desde la proyección y el nombre del rol desde el catálogo")
+    void obtenerResumen_DesdeProyeccion() {
+        // Arrange
+        when(usuarioRepository.findResumenById(1L)).thenReturn(Optional.of(proyeccion(1L, 3L)));
+        when(catalogoService.buscarRol(3L)).thenReturn(Optional.of(new RolDTO(3L, "ARRIENDATARIO")));
+
+        // Act
+        UsuarioResumenDTO resumen = usuarioService.obtenerResumen(1L);
+
+        // Assert
+        assertThat(resumen.getRol()).isEqualTo("ARRIENDATARIO");
+        assertThat(resumen.getNombre()).isEqualTo("Usuario1 Pérez");
+        assertThat(resumen.getEstadoId()).isEqualTo(1L);
+        verify(usuarioRepository, never()).findById(any());
+        assertThatThrownBy(() -> usuarioService.obtenerResumen(2L)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Los resúmenes por lote respetan el orden pedido con una sola consulta")
+    void obtenerResumenes_OrdenPedido() {
+        // Arrange
+        when(usuarioRepository.findResumenByIdIn(any()))
+                .thenReturn(List.of(proyeccion(1L, 3L), proyeccion(2L, null)));
+
+        // Act
+        List<UsuarioResumenDTO> resumenes = usuarioService.obtenerResumenes(List.of(2L, 3L, 1L));
+
+        // Assert
+        assertThat(resumenes).extracting(UsuarioResumenDTO::getId).containsExactly(2L, 1L);
+        assertThat(resumenes.get(0).getRol()).isNull();
+        verify(usuarioRepository, times(1)).findResumenByIdIn(any());
+    }
+}
@@ -0,0 +1,153 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.dto.LoginDTO;
+import com.rentify.userservice.dto.UsuarioDTO;
+import com.rentify.userservice.exception.AuthenticationException;
+import com.rentify.userservice.exception.DemasiadosIntentosException;
+import com.rentify.userservice.model.Usuario;
+import com.rentify.userservice.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.modelmapper.ModelMapper;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests del login de UsuarioService con HashClavesService y LimitadorLogin reales
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests de login de UsuarioService")
+class UsuarioServiceLoginTest {
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private CatalogoService catalogoService;
+
+    @Mock
+    private UnicidadService unicidad;
+
+    private MeterRegistry meterRegistry;
+    private HashClavesService hashClaves;
+    private UsuarioService usuarioService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        hashClaves = new HashClavesService(1000, 2, 8, 5000, meterRegistry);
+        LimitadorLogin limitador = new LimitadorLogin(new LimitadorLogin.Limite(2, 1),
+                new LimitadorLogin.Limite(100, 100), 100, meterRegistry, System::nanoTime);
+        usuarioService = new UsuarioService(usuarioRepository, catalogoService, new ModelMapper(),
+                hashClaves, limitador, meterRegistry, unicidad);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashClaves.cerrar();
+    }
+
+    private Usuario usuario(String clave) {
+        return Usuario.builder()
+                .id(1L)
+                .pnombre("Juan")
+                .papellido("Pérez")
+                .email("juan@email.com")
+                .clave(clave)
+                .fnacimiento(LocalDate.of(1995, 5, 15))
+                .estadoId(1L)
+                .rolId(3L)
+                .build();
+    }
+
+    private LoginDTO login(String clave) {
+        return LoginDTO.builder().email("juan@email.com").clave(clave).build();
+    }
+
+    private long logins(String resultado) {
+        return meterRegistry.get("rentify.login.duracion").tag("resultado", resultado).timer().count();
+    }
+
+    @Test
+    @DisplayName("Login con contraseña heredada en texto plano la reemplaza por un hash")
+    void login_ClaveTextoPlano_ActualizaHash() {
+        // Arrange
+        when(usuarioRepository.findByEmail("juan@email.com")).thenReturn(Optional.of(usuario("Miauu123!")));
+
+        // Act
+        UsuarioDTO resultado = usuarioService.login(login("Miauu123!"), "10.0.0.1");
+
+        // Assert
+        assertThat(resultado.getId()).isEqualTo(1L);
+        assertThat(resultado.getClave()).isNull();
+        ArgumentCaptor<String> nueva = ArgumentCaptor.forClass(String.class);
+        verify(usuarioRepository, timeout(2000)).actualizarClave(eq(1L), eq("Miauu123!"), nueva.capture());
+        assertThat(hashClaves.verificar("Miauu123!", nueva.getValue())).isTrue();
+        assertThat(logins("exitoso")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Login con hash vigente no lo reescribe")
+    void login_HashVigente_NoActualiza() {
+        // Arrange
+        when(usuarioRepository.findByEmail("juan@email.com"))
+                .thenReturn(Optional.of(usuario(hashClaves.hash("Miauu123!"))));
+
+        // Act
+        usuarioService.login(login("Miauu123!"), "10.0.0.1");
+
+        // Assert
+        verify(usuarioRepository, never()).actualizarClave(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Contraseña incorrecta o email inexistente se rechazan sin actualizar nada")
+    void login_CredencialesInvalidas_Rechaza() {
+        // Arrange
+        when(usuarioRepository.findByEmail("juan@email.com")).thenReturn(Optional.of(usuario("Miauu123!")));
+        when(usuarioRepository.findByEmail("nadie@email.com")).thenReturn(Optional.empty());
+        LoginDTO inexistente = LoginDTO.builder().email("nadie@email.com").clave("Miauu123!").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> usuarioService.login(login("Miauu124!"), "10.0.0.1"))
+                .isInstanceOf(AuthenticationException.class);
+        assertThatThrownBy(() -> usuarioService.login(inexistente, "10.0.0.1"))
+                .isInstanceOf(AuthenticationException.class);
+        verify(usuarioRepository, never()).actualizarClave(any(), any(), any());
+        assertThat(logins("rechazado")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Superado el límite del email se rechaza sin consultar la base de datos")
+    void login_LimiteSuperado_NoConsulta() {
+        // Arrange
+        when(usuarioRepository.findByEmail("juan@email.com")).thenReturn(Optional.of(usuario("Miauu123!")));
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> usuarioService.login(login("incorrecta"), "10.0.0.1"))
+                    .isInstanceOf(AuthenticationException.class);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> usuarioService.login(login("Miauu123!"), "10.0.0.2"))
+                .isInstanceOf(DemasiadosIntentosException.class);
+        verify(usuarioRepository, times(2)).findByEmail("juan@email.com");
+        assertThat(logins("limitado")).isEqualTo(1);
+    }
+}
@@ -0,0 +1,154 @@
+package com.rentify.userservice.service;
+
+import com.rentify.userservice.dto.EstadoDTO;
+import com.rentify.userservice.dto.RolDTO;
+import com.rentify.userservice.dto.UsuarioDTO;
+import com.rentify.userservice.model.Usuario;
+import com.rentify.userservice.repository.UsuarioRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.modelmapper.ModelMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Benchmark del registro de usuarios con una base de datos simulada que tarda RETARDO_MS por consulta.
+ *
+ * Compara el registro sin filtros cargados (existsByEmail, existsByRut y existsByCodigoRef en cada
+ * registro) con el registro apoyado en los filtros y el pool de códigos de UnicidadService, y
+ * registra el throughput de cada uno. Fuera de mvn test; se ejecuta con -Pbenchmark.
+ */
+@Tag("benchmark")
+@Slf4j
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Benchmark de registro de usuarios")
+class UsuarioServiceRegistroLoadTest {
+
+    private static final int REGISTROS = 400;
+    private static final int HILOS = 8;
+    private static final long RETARDO_MS = 5;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private CatalogoService catalogoService;
+
+    @Mock
+    private HashClavesService hashClaves;
+
+    @Mock
+    private LimitadorLogin limitadorLogin;
+
+    private final AtomicLong ids = new AtomicLong();
+    private ExecutorService clientes;
+
+    @BeforeEach
+    void setUp() {
+        Answer<Boolean> consultaLenta = invocacion -> {
+            TimeUnit.MILLISECONDS.sleep(RETARDO_MS);
+            return false;
+        };
+        lenient().when(usuarioRepository.existsByEmail(anyString())).thenAnswer(consultaLenta);
+        lenient().when(usuarioRepository.existsByRut(anyString())).thenAnswer(consultaLenta);
+        lenient().when(usuarioRepository.existsByCodigoRef(anyString())).thenAnswer(consultaLenta);
+        when(usuarioRepository.save(any(Usuario.class))).thenAnswer(invocacion -> {
+            Usuario usuario = invocacion.getArgument(0);
+            usuario.setId(ids.incrementAndGet());
+            return usuario;
+        });
+        lenient().when(usuarioRepository.findClavesUnicasDesde(anyLong(), any())).thenReturn(List.of());
+        when(catalogoService.obtenerRol(3L)).thenReturn(new RolDTO(3L, "ARRIENDATARIO"));
+        when(catalogoService.buscarRol(3L)).thenReturn(Optional.of(new RolDTO(3L, "ARRIENDATARIO")));
+        when(catalogoService.buscarEstado(1L)).thenReturn(Optional.of(new EstadoDTO(1L, "ACTIVO")));
+        when(hashClaves.hash(anyString())).thenReturn("hash");
+        clientes = Executors.newFixedThreadPool(HILOS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        clientes.shutdownNow();
+    }
+
+    private UsuarioService servicio(UnicidadService unicidad) {
+        return new UsuarioService(usuarioRepository, catalogoService, new ModelMapper(),
+                hashClaves, limitadorLogin, new SimpleMeterRegistry(), unicidad);
+    }
+
+    private long registrar(UsuarioService servicio, int desde) throws Exception {
+        long inicio = System.nanoTime();
+        List<Future<UsuarioDTO>> registros = new ArrayList<>(REGISTROS);
+        for (int i = desde; i < desde + REGISTROS; i++) {
+            UsuarioDTO usuario = UsuarioDTO.builder()
+                    .pnombre("Usuario")
+                    .papellido("Prueba")
+                    .fnacimiento("1995-05-15")
+                    .email("usuario" + i + "@email.com")
+                    .rut(i + "-9")
+                    .ntelefono("987654321")
+                    .clave("Miauu123!")
+                    .build();
+            registros.add(clientes.submit(() -> servicio.registrarUsuario(usuario)));
+        }
+        for (Future<UsuarioDTO> registro : registros) {
+            assertThat(registro.get(30, TimeUnit.SECONDS).getCodigoRef()).hasSize(9);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+    }
+
+    @Test
+    @DisplayName("Con filtros cargados el registro no consulta la base de datos por unicidad")
+    void registrar_ConFiltrosVsSinFiltros() throws Exception {
+        // Arrange
+        ExecutorService fondo = Executors.newSingleThreadExecutor();
+        UnicidadService sinCargar = new UnicidadService(usuarioRepository, 10_000, 0.01, 256, 5000,
+                new SimpleMeterRegistry(), fondo);
+        UnicidadService cargada = new UnicidadService(usuarioRepository, 10_000, 0.01, 256, 5000,
+                new SimpleMeterRegistry(), fondo);
+        cargada.cargarAlIniciar();
+        fondo.submit(() -> { }).get(10, TimeUnit.SECONDS);
+
+        try {
+            // Calentamiento (JIT, ModelMapper) fuera de la medición
+            registrar(servicio(cargada), -REGISTROS);
+            clearInvocations(usuarioRepository);
+
+            // Act
+            long sinFiltrosMs = registrar(servicio(sinCargar), 0);
+            clearInvocations(usuarioRepository);
+            long conFiltrosMs = registrar(servicio(cargada), REGISTROS);
+
+            // Assert
+            verify(usuarioRepository, never()).existsByEmail(anyString());
+            verify(usuarioRepository, never()).existsByRut(anyString());
+            verify(usuarioRepository, atMost(REGISTROS / 10)).existsByCodigoRef(anyString());
+            log.info("Registro de {} usuarios con {} hilos: sin filtros {} ms ({} reg/s), con filtros {} ms ({} reg/s)",
+                    REGISTROS, HILOS, sinFiltrosMs, REGISTROS * 1000 / Math.max(1, sinFiltrosMs),
+                    conFiltrosMs, REGISTROS * 1000 / Math.max(1, conFiltrosMs));
+        } finally {
+            fondo.shutdownNow();
+        }
+    }
+}